@@ -0,0 +1,101 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.services.expense.ExpenseService;
+import com.FinFlow.FinanceManager.services.income.IncomeService;
+
+/**
+ * Seeds the application under test with users and a year of transactions each.
+ * <p>
+ * Transactions go through the expense and income services, one transaction per user, so
+ * categories, histograms and the analytics store are maintained exactly as in production.
+ * All users share one password whose bcrypt hash is computed once; logins still pay for
+ * the hash check.
+ * </p>
+ */
+public class DatabaseSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSeeder.class);
+
+    static final String PASSWORD = "load-test";
+
+    /** Also used by the posts of the load, so they never create categories. */
+    static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Health", "Leisure", "Utilities",
+            "Education", "Gifts"};
+
+    private final UserRepository userRepository;
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.expenseService = context.getBean(ExpenseService.class);
+        this.incomeService = context.getBean(IncomeService.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    public List<VirtualUser> seed(int users, int transactionsPerUser, RandomGenerator random) {
+        long start = System.nanoTime();
+        String encodedPassword = new BCryptPasswordEncoder().encode(PASSWORD);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<VirtualUser> population = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String username = "load-" + runId + "-" + i;
+            VirtualUser virtualUser = transactionTemplate.execute(status -> {
+                User user = new User();
+                user.setUsername(username);
+                user.setEmail(username + "@example.com");
+                user.setPassword(encodedPassword);
+                user = userRepository.save(user);
+                VirtualUser seeded = new VirtualUser(user.getId(), username, PASSWORD);
+                for (int t = 0; t < transactionsPerUser; t++) {
+                    seedTransaction(user, seeded, random);
+                }
+                return seeded;
+            });
+            population.add(virtualUser);
+        }
+        logger.info("Seeded {} users with {} transactions each in {} ms", users, transactionsPerUser,
+                (System.nanoTime() - start) / 1_000_000);
+        return population;
+    }
+
+    private void seedTransaction(User user, VirtualUser seeded, RandomGenerator random) {
+        LocalDate date = LocalDate.now().minusDays(random.nextInt(365));
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        if (random.nextInt(5) == 0) {
+            IncomeDTO income = new IncomeDTO();
+            income.setTitle("Seeded income");
+            income.setCategory(category);
+            income.setDate(date);
+            income.setAmount(500 + random.nextInt(5000));
+            income.setUser(user);
+            incomeService.postIncome(income);
+        } else {
+            ExpenseDTO expense = new ExpenseDTO();
+            expense.setTitle("Seeded expense");
+            expense.setCategory(category);
+            expense.setDate(date);
+            expense.setAmount(1 + random.nextInt(500));
+            expense.setUser(user);
+            seeded.getExpenseIds().add(expenseService.postExpense(expense).getId());
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes of the calls of one {@link Operation}.
+ * <p>
+ * Latencies are kept exactly, in microseconds, and measured from the moment a call was
+ * scheduled to be sent, not from when it was actually sent, so a stalled client or server
+ * shows up in the percentiles instead of silently lowering the offered load.
+ * </p>
+ * Responses are classified as successful (2xx), shed (429 and 503, i.e. the rate and
+ * concurrency limiters at work), other errors (remaining statuses and transport failures),
+ * and dropped: arrivals never sent because too many calls were already in flight.
+ */
+public class EndpointStats {
+
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private long ok;
+    private long shed;
+    private long errors;
+    private long dropped;
+
+    public synchronized void record(long latencyNanos, int status) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyNanos / 1_000;
+        if (status >= 200 && status < 300) {
+            ok++;
+        } else if (status == 429 || status == 503) {
+            shed++;
+        } else {
+            errors++;
+        }
+    }
+
+    public synchronized void recordDropped() {
+        dropped++;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted, ok, shed, errors, dropped);
+    }
+
+    /**
+     * Immutable view of the statistics at one point in time.
+     */
+    public static class Snapshot {
+
+        private final long[] sortedMicros;
+        private final long ok;
+        private final long shed;
+        private final long errors;
+        private final long dropped;
+
+        Snapshot(long[] sortedMicros, long ok, long shed, long errors, long dropped) {
+            this.sortedMicros = sortedMicros;
+            this.ok = ok;
+            this.shed = shed;
+            this.errors = errors;
+            this.dropped = dropped;
+        }
+
+        /**
+         * Merges snapshots, e.g. of all operations into a total.
+         */
+        public static Snapshot merge(Iterable<Snapshot> snapshots) {
+            long[] all = new long[0];
+            long ok = 0;
+            long shed = 0;
+            long errors = 0;
+            long dropped = 0;
+            for (Snapshot snapshot : snapshots) {
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + snapshot.sortedMicros.length);
+                System.arraycopy(snapshot.sortedMicros, 0, all, offset, snapshot.sortedMicros.length);
+                ok += snapshot.ok;
+                shed += snapshot.shed;
+                errors += snapshot.errors;
+                dropped += snapshot.dropped;
+            }
+            Arrays.sort(all);
+            return new Snapshot(all, ok, shed, errors, dropped);
+        }
+
+        /**
+         * @return completed calls, whatever their outcome
+         */
+        public long getCompleted() {
+            return sortedMicros.length;
+        }
+
+        public long getOk() {
+            return ok;
+        }
+
+        public long getShed() {
+            return shed;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        /**
+         * @return failed, shed and dropped calls as a share of all arrivals, between 0 and 1
+         */
+        public double getErrorRate() {
+            long arrivals = getCompleted() + dropped;
+            return arrivals == 0 ? 0 : (double) (shed + errors + dropped) / arrivals;
+        }
+
+        /**
+         * Nearest-rank percentile.
+         *
+         * @param quantile between 0 and 1
+         * @return the latency in milliseconds, or 0 without calls
+         */
+        public double percentileMs(double quantile) {
+            if (sortedMicros.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sortedMicros.length);
+            return sortedMicros[Math.max(0, Math.min(sortedMicros.length - 1, rank - 1))] / 1_000.0;
+        }
+
+        public double maxMs() {
+            return sortedMicros.length == 0 ? 0 : sortedMicros[sortedMicros.length - 1] / 1_000.0;
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.FinFlow.FinanceManager.FinanceManagerApplication;
+import com.FinFlow.FinanceManager.profiling.QueryStatistics;
+import com.FinFlow.FinanceManager.profiling.StatementSummary;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Measures how much dashboard traffic one application instance sustains.
+ * <p>
+ * For each variant of the chosen scenario, starts the application with the {@code loadtest}
+ * profile (an in-memory H2 database in MySQL mode unless {@code --spring.datasource.url} says
+ * otherwise), seeds it, offers load for the warm-up period, discards those results, and then
+ * reports the measured period. Options:
+ * </p>
+ * <ul>
+ *     <li>{@code --users=100}, {@code --transactions-per-user=60}: the seeded population</li>
+ *     <li>{@code --rate=200}: mean arrivals per second</li>
+ *     <li>{@code --warmup-seconds=15}, {@code --duration-seconds=60}</li>
+ *     <li>{@code --mix=login=5,dashboard=35,chart=15,list=25,post=10,update=6,delete=4}</li>
+ *     <li>{@code --max-in-flight=1000}, {@code --seed=42}</li>
+ *     <li>{@code --scenario=default} or {@code pool-tuning}</li>
+ * </ul>
+ * Any option with a dot in its name is an application property.
+ */
+public class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int TOP_STATEMENTS = 10;
+
+    public static void main(String[] args) {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        List<LoadTestReport> reports = new ArrayList<>();
+        for (LoadTestSettings.Variant variant : settings.getVariants()) {
+            LoadTestReport report = run(settings, variant);
+            report.print(System.out);
+            reports.add(report);
+        }
+        if (reports.size() > 1) {
+            LoadTestReport.printComparison(reports, System.out);
+        }
+    }
+
+    static LoadTestReport run(LoadTestSettings settings, LoadTestSettings.Variant variant) {
+        logger.info("Starting variant {}", variant.getName());
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FinanceManagerApplication.class)
+                .profiles("loadtest")
+                .run(applicationArgs(settings, variant))) {
+            RandomGenerator random = new SplittableRandom(settings.getRandomSeed());
+            List<VirtualUser> users = new DatabaseSeeder(context)
+                    .seed(settings.getUsers(), settings.getTransactionsPerUser(), random);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            OpenModelDriver driver = new OpenModelDriver(URI.create("http://localhost:" + port), users,
+                    settings.getMix(), settings.getRate(), settings.getMaxInFlight(), random);
+            if (!settings.getWarmup().isZero()) {
+                logger.info("Warming up for {} s", settings.getWarmup().toSeconds());
+                driver.run(settings.getWarmup());
+            }
+
+            QueryStatistics queryStatistics = context.getBeanProvider(QueryStatistics.class).getIfAvailable();
+            Statistics hibernateStatistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class).getStatistics();
+            if (queryStatistics != null) {
+                queryStatistics.reset();
+            }
+            hibernateStatistics.clear();
+
+            logger.info("Measuring for {} s", settings.getDuration().toSeconds());
+            Map<Operation, EndpointStats> stats = driver.run(settings.getDuration());
+
+            Map<Operation, EndpointStats.Snapshot> snapshots = new EnumMap<>(Operation.class);
+            stats.forEach((operation, endpoint) -> snapshots.put(operation, endpoint.snapshot()));
+            long statements;
+            List<StatementSummary> topStatements;
+            if (queryStatistics != null) {
+                // Every tracked statement, plus the overflow entry for those beyond the cap
+                int tracked = context.getEnvironment().getProperty("finflow.sql.max-statements", Integer.class, 500) + 1;
+                List<StatementSummary> all = queryStatistics.top(tracked,
+                        Comparator.comparingLong(StatementSummary::getCount));
+                statements = all.stream().mapToLong(StatementSummary::getCount).sum();
+                topStatements = all.subList(0, Math.min(TOP_STATEMENTS, all.size()));
+            } else {
+                statements = hibernateStatistics.getPrepareStatementCount();
+                topStatements = List.of();
+            }
+            return new LoadTestReport(variant.getName(), settings.getRate(), settings.getDuration(), snapshots,
+                    EndpointStats.Snapshot.merge(snapshots.values()), statements, topStatements);
+        }
+    }
+
+    /**
+     * The application arguments, with the variant's properties replacing any given explicitly.
+     */
+    private static String[] applicationArgs(LoadTestSettings settings, LoadTestSettings.Variant variant) {
+        Stream<String> given = Stream.of(settings.getApplicationArgs())
+                .filter(arg -> !variant.getProperties().containsKey(arg.substring(2).split("=", 2)[0]));
+        Stream<String> overrides = variant.getProperties().entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue());
+        return Stream.concat(given, overrides).toArray(String[]::new);
+    }
+
+}
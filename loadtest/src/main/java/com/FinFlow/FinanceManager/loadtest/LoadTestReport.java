@@ -0,0 +1,86 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.FinFlow.FinanceManager.profiling.StatementSummary;
+
+import lombok.Value;
+
+/**
+ * Results of one measured run: latency percentiles, throughput and error rates per endpoint,
+ * and the database statements the run caused.
+ */
+@Value
+public class LoadTestReport {
+
+    private static final int MAX_SQL_LENGTH = 100;
+
+    String variant;
+    double offeredRate;
+    Duration duration;
+    Map<Operation, EndpointStats.Snapshot> endpoints;
+    EndpointStats.Snapshot total;
+    /** JDBC statements executed during the run. */
+    long statements;
+    /** The most frequent statements, empty when SQL statistics are disabled. */
+    List<StatementSummary> topStatements;
+
+    public void print(PrintStream out) {
+        out.printf("%n=== %s: %.0f calls/s offered for %d s ===%n", variant, offeredRate, duration.toSeconds());
+        out.printf("%-10s %8s %8s %9s %9s %9s %9s %9s %7s %6s %6s %8s%n", "endpoint", "calls", "calls/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "ok", "shed", "error", "dropped");
+        endpoints.forEach((operation, snapshot) -> {
+            if (snapshot.getCompleted() + snapshot.getDropped() > 0) {
+                printRow(out, operation.getKey(), snapshot);
+            }
+        });
+        printRow(out, "total", total);
+        out.printf("error rate %.2f %%, %d DB statements, %.2f per call%n", total.getErrorRate() * 100,
+                statements, statementsPerCall());
+        if (!topStatements.isEmpty()) {
+            out.println("most frequent statements:");
+            for (StatementSummary statement : topStatements) {
+                out.printf("%10d  %8.2f ms mean  %s%n", statement.getCount(), statement.getMeanMs(),
+                        abbreviate(statement.getSql()));
+            }
+        }
+    }
+
+    /**
+     * Prints one line per variant, for runs of the same mix under different settings.
+     */
+    public static void printComparison(List<LoadTestReport> reports, PrintStream out) {
+        out.printf("%n=== comparison ===%n");
+        out.printf("%-16s %9s %9s %9s %9s %9s %10s%n", "variant", "calls/s", "p50 ms", "p99 ms", "max ms",
+                "errors %", "stmts/call");
+        for (LoadTestReport report : reports) {
+            EndpointStats.Snapshot total = report.getTotal();
+            out.printf("%-16s %9.1f %9.2f %9.2f %9.2f %9.2f %10.2f%n", report.getVariant(), report.throughput(total),
+                    total.percentileMs(0.5), total.percentileMs(0.99), total.maxMs(), total.getErrorRate() * 100,
+                    report.statementsPerCall());
+        }
+    }
+
+    private void printRow(PrintStream out, String name, EndpointStats.Snapshot snapshot) {
+        out.printf("%-10s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %6d %6d %8d%n", name,
+                snapshot.getCompleted(), throughput(snapshot), snapshot.percentileMs(0.5), snapshot.percentileMs(0.9),
+                snapshot.percentileMs(0.99), snapshot.percentileMs(0.999), snapshot.maxMs(), snapshot.getOk(),
+                snapshot.getShed(), snapshot.getErrors(), snapshot.getDropped());
+    }
+
+    private double throughput(EndpointStats.Snapshot snapshot) {
+        return snapshot.getCompleted() / Math.max(1e-3, duration.toMillis() / 1000.0);
+    }
+
+    private double statementsPerCall() {
+        return total.getCompleted() == 0 ? 0 : (double) statements / total.getCompleted();
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH - 3) + "...";
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import lombok.Value;
+
+/**
+ * Options of a load test run, parsed from {@code --name=value} arguments.
+ * <p>
+ * Arguments whose name contains a dot ({@code --spring.datasource.url=...},
+ * {@code --finflow.pool.controller.enabled=false}) are not load test options: they are passed
+ * on to the application under test.
+ * </p>
+ */
+@Value
+public class LoadTestSettings {
+
+    static final String DEFAULT_MIX = "login=5,dashboard=35,chart=15,list=25,post=10,update=6,delete=4";
+
+    /** Seeded users; every call is made on behalf of one of them, chosen uniformly. */
+    int users;
+    /** Expenses and incomes seeded per user, spread over the past year. */
+    int transactionsPerUser;
+    /** Mean arrival rate in calls per second, independent of how fast the server answers. */
+    double rate;
+    Duration warmup;
+    Duration duration;
+    /** Calls allowed in flight before new arrivals are dropped and counted as such. */
+    int maxInFlight;
+    long randomSeed;
+    TrafficMix mix;
+    String mixSpec;
+    /** Property sets compared one after the other, each against a freshly started application. */
+    List<Variant> variants;
+    /** Arguments passed on to the application. */
+    String[] applicationArgs;
+
+    public static LoadTestSettings parse(String... args) {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String name = arg.startsWith("--") ? arg.substring(2).split("=", 2)[0] : "";
+            if (name.contains(".")) {
+                applicationArgs.add(arg);
+            }
+        }
+        String mixSpec = option(options, "mix", DEFAULT_MIX);
+        return new LoadTestSettings(
+                Integer.parseInt(option(options, "users", "100")),
+                Integer.parseInt(option(options, "transactions-per-user", "60")),
+                Double.parseDouble(option(options, "rate", "200")),
+                Duration.ofSeconds(Long.parseLong(option(options, "warmup-seconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(option(options, "duration-seconds", "60"))),
+                Integer.parseInt(option(options, "max-in-flight", "1000")),
+                Long.parseLong(option(options, "seed", "42")),
+                TrafficMix.parse(mixSpec),
+                mixSpec,
+                Variant.forScenario(option(options, "scenario", "default")),
+                applicationArgs.toArray(new String[0]));
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Named set of application properties applied on top of the arguments.
+     */
+    @Value
+    public static class Variant {
+
+        String name;
+        Map<String, String> properties;
+
+        /**
+         * @param scenario {@code default} for a single run with the configured settings, or
+         *                 {@code pool-tuning} to compare an untuned pool and driver with the
+         *                 tuned settings, with and without the adaptive pool controller
+         */
+        static List<Variant> forScenario(String scenario) {
+            switch (scenario) {
+                case "default":
+                    return List.of(new Variant("default", Map.of()));
+                case "pool-tuning":
+                    Map<String, String> untuned = new LinkedHashMap<>();
+                    untuned.put("spring.datasource.hikari.maximum-pool-size", "10");
+                    untuned.put("spring.datasource.hikari.minimum-idle", "10");
+                    untuned.put("spring.datasource.hikari.data-source-properties.useServerPrepStmts", "false");
+                    untuned.put("spring.datasource.hikari.data-source-properties.cachePrepStmts", "false");
+                    untuned.put("spring.datasource.hikari.data-source-properties.rewriteBatchedStatements", "false");
+                    untuned.put("spring.datasource.hikari.data-source-properties.cacheResultSetMetadata", "false");
+                    untuned.put("spring.datasource.hikari.data-source-properties.cacheServerConfiguration", "false");
+                    untuned.put("spring.datasource.hikari.data-source-properties.elideSetAutoCommits", "false");
+                    untuned.put("spring.datasource.hikari.data-source-properties.useLocalSessionState", "false");
+                    untuned.put("finflow.pool.controller.enabled", "false");
+                    return List.of(
+                            new Variant("untuned", untuned),
+                            new Variant("tuned-fixed", Map.of("finflow.pool.controller.enabled", "false")),
+                            new Variant("tuned-adaptive", Map.of("finflow.pool.controller.enabled", "true")));
+                default:
+                    throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Sends the traffic mix to the application as an open workload.
+ * <p>
+ * Arrivals follow a Poisson process with the configured mean rate: the time of each call is
+ * decided up front and does not depend on when earlier calls complete, as with independent
+ * real users. A closed loop of virtual users waiting for each response would instead slow
+ * down with the server and hide its saturation point. Calls are sent asynchronously; when
+ * {@code maxInFlight} are outstanding, further arrivals are dropped and reported rather than
+ * queued in the client.
+ * </p>
+ * Updates and deletes of a user without expenses left are sent as posts.
+ */
+public class OpenModelDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelDriver.class);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<VirtualUser> users;
+    private final TrafficMix mix;
+    private final double rate;
+    private final int maxInFlight;
+    private final RandomGenerator random;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public OpenModelDriver(URI baseUri, List<VirtualUser> users, TrafficMix mix, double rate, int maxInFlight,
+                           RandomGenerator random) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUri = baseUri;
+        this.users = users;
+        this.mix = mix;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.random = random;
+    }
+
+    /**
+     * Offers load for the given duration, then waits for the calls still in flight.
+     *
+     * @return statistics per operation
+     */
+    public Map<Operation, EndpointStats> run(Duration duration) {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        while (next < end) {
+            long delay = next - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+                continue;
+            }
+            long scheduled = next;
+            next += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            Call call = newCall(mix.next(random), user);
+            EndpointStats endpoint = stats.get(call.operation);
+            if (!inFlight.tryAcquire()) {
+                endpoint.recordDropped();
+                call.abandon();
+                continue;
+            }
+            client.sendAsync(call.request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        try {
+                            endpoint.record(System.nanoTime() - scheduled, error == null ? response.statusCode() : -1);
+                            if (error == null) {
+                                call.completed(response);
+                            } else {
+                                call.abandon();
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        drain(inFlight);
+        return stats;
+    }
+
+    private void drain(Semaphore inFlight) {
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("{} calls still in flight after {} s", maxInFlight - inFlight.availablePermits(),
+                        DRAIN_TIMEOUT.toSeconds());
+                return;
+            }
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Call newCall(Operation operation, VirtualUser user) {
+        switch (operation) {
+            case LOGIN:
+                ObjectNode credentials = objectMapper.createObjectNode()
+                        .put("username", user.getUsername())
+                        .put("password", user.getPassword());
+                return new Call(operation, user, null, post("/api/users/login", credentials));
+            case DASHBOARD:
+                return new Call(operation, user, null, get("/api/stats/" + user.getId()));
+            case CHART:
+                return new Call(operation, user, null, get("/api/stats/" + user.getId() + "/chart"));
+            case LIST:
+                return new Call(operation, user, null, get("/api/expense/user/" + user.getId()));
+            case UPDATE:
+                Long updated = user.nextExpenseToUpdate();
+                if (updated != null) {
+                    HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/expense/" + updated))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString(expenseJson(user)))
+                            .build();
+                    return new Call(operation, user, null, request);
+                }
+                break;
+            case DELETE:
+                Long deleted = user.takeExpenseToDelete();
+                if (deleted != null) {
+                    HttpRequest request = HttpRequest.newBuilder(
+                                    baseUri.resolve("/api/expense/" + deleted + "?userId=" + user.getId()))
+                            .DELETE()
+                            .build();
+                    return new Call(operation, user, deleted, request);
+                }
+                break;
+            default:
+                break;
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/expense"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(expenseJson(user)))
+                .build();
+        return new Call(Operation.POST, user, null, request);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private String expenseJson(VirtualUser user) {
+        ObjectNode expense = objectMapper.createObjectNode()
+                .put("title", "Load test expense")
+                .put("category", DatabaseSeeder.CATEGORIES[random.nextInt(DatabaseSeeder.CATEGORIES.length)])
+                .put("date", LocalDate.now().minusDays(random.nextInt(30)).toString())
+                .put("amount", 1 + random.nextInt(500));
+        expense.putObject("user").put("id", user.getId());
+        return expense.toString();
+    }
+
+    /**
+     * One call and the bookkeeping of the user's expense ids it implies.
+     */
+    private class Call {
+
+        final Operation operation;
+        final VirtualUser user;
+        final Long deletedId;
+        final HttpRequest request;
+
+        Call(Operation operation, VirtualUser user, Long deletedId, HttpRequest request) {
+            this.operation = operation;
+            this.user = user;
+            this.deletedId = deletedId;
+            this.request = request;
+        }
+
+        void completed(HttpResponse<String> response) {
+            if (operation == Operation.POST && response.statusCode() == 201) {
+                try {
+                    user.getExpenseIds().offerFirst(objectMapper.readTree(response.body()).get("id").asLong());
+                } catch (Exception e) {
+                    logger.debug("Could not read the id of a created expense", e);
+                }
+            } else if (operation == Operation.DELETE && response.statusCode() >= 300 && response.statusCode() != 404) {
+                // Not deleted, e.g. shed; keep the row available for later calls.
+                abandon();
+            }
+        }
+
+        void abandon() {
+            if (deletedId != null) {
+                user.getExpenseIds().offerLast(deletedId);
+            }
+        }
+
+    }
+
+}
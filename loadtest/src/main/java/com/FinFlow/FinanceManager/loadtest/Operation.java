@@ -0,0 +1,45 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+/**
+ * Kinds of calls in the dashboard traffic mix, each mapped to one REST endpoint.
+ */
+public enum Operation {
+
+    /** {@code POST /api/users/login} */
+    LOGIN("login"),
+    /** {@code GET /api/stats/{userId}} */
+    DASHBOARD("dashboard"),
+    /** {@code GET /api/stats/{userId}/chart} */
+    CHART("chart"),
+    /** {@code GET /api/expense/user/{userId}} */
+    LIST("list"),
+    /** {@code POST /api/expense} */
+    POST("post"),
+    /** {@code PUT /api/expense/{id}} */
+    UPDATE("update"),
+    /** {@code DELETE /api/expense/{id}} */
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return the name used in the {@code mix} option and in reports
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in traffic mix: " + key);
+    }
+
+}
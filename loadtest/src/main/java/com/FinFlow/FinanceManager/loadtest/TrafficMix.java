@@ -0,0 +1,59 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice of the next {@link Operation}, parsed from a spec such as
+ * {@code login=5,dashboard=35,list=25,post=10}. Operations missing from the spec are never
+ * chosen.
+ */
+public class TrafficMix {
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+
+    public TrafficMix(Map<Operation, Double> weights) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (weights.isEmpty() || total <= 0) {
+            throw new IllegalArgumentException("The traffic mix needs at least one positive weight");
+        }
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new double[operations.length];
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]) / total;
+            cumulative[i] = sum;
+        }
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed traffic mix entry: " + entry);
+            }
+            double weight = Double.parseDouble(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in traffic mix: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        return new TrafficMix(weights);
+    }
+
+    public Operation next(RandomGenerator random) {
+        double value = random.nextDouble();
+        for (int i = 0; i < operations.length - 1; i++) {
+            if (value < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A seeded user and the ids of the expenses it currently owns, so that updates and deletes
+ * target existing rows. Ids are added when a post succeeds and taken before a delete is sent.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VirtualUser {
+
+    private final long id;
+    private final String username;
+    private final String password;
+    private final Deque<Long> expenseIds = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Takes an expense id for an update and puts it back at the other end, so successive
+     * updates spread over the user's expenses.
+     *
+     * @return an expense id, or null if the user has none left
+     */
+    public Long nextExpenseToUpdate() {
+        Long id = expenseIds.pollFirst();
+        if (id != null) {
+            expenseIds.offerLast(id);
+        }
+        return id;
+    }
+
+    /**
+     * @return an expense id removed from the user, or null if the user has none left
+     */
+    public Long takeExpenseToDelete() {
+        return expenseIds.pollLast();
+    }
+
+}
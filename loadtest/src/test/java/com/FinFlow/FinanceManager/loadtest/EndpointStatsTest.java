@@ -0,0 +1,61 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointStatsTest {
+
+    @Test
+    void snapshot_ComputesNearestRankPercentiles() {
+        EndpointStats stats = new EndpointStats();
+        for (int ms = 1; ms <= 100; ms++) {
+            stats.record(ms * 1_000_000L, 200);
+        }
+
+        EndpointStats.Snapshot snapshot = stats.snapshot();
+
+        assertEquals(100, snapshot.getCompleted());
+        assertEquals(50.0, snapshot.percentileMs(0.5));
+        assertEquals(99.0, snapshot.percentileMs(0.99));
+        assertEquals(100.0, snapshot.percentileMs(0.999));
+        assertEquals(100.0, snapshot.maxMs());
+    }
+
+    @Test
+    void snapshot_ClassifiesOutcomesAndCountsDroppedInErrorRate() {
+        EndpointStats stats = new EndpointStats();
+        stats.record(1_000_000, 201);
+        stats.record(1_000_000, 503);
+        stats.record(1_000_000, 429);
+        stats.record(1_000_000, 500);
+        stats.record(1_000_000, -1);
+        stats.recordDropped();
+
+        EndpointStats.Snapshot snapshot = stats.snapshot();
+
+        assertEquals(1, snapshot.getOk());
+        assertEquals(2, snapshot.getShed());
+        assertEquals(2, snapshot.getErrors());
+        assertEquals(1, snapshot.getDropped());
+        assertEquals(5.0 / 6, snapshot.getErrorRate(), 1e-9);
+    }
+
+    @Test
+    void merge_CombinesLatenciesAndCounts() {
+        EndpointStats fast = new EndpointStats();
+        EndpointStats slow = new EndpointStats();
+        fast.record(1_000_000, 200);
+        fast.record(2_000_000, 200);
+        slow.record(30_000_000, 500);
+
+        EndpointStats.Snapshot total = EndpointStats.Snapshot.merge(List.of(fast.snapshot(), slow.snapshot()));
+
+        assertEquals(3, total.getCompleted());
+        assertEquals(2.0, total.percentileMs(0.5));
+        assertEquals(30.0, total.maxMs());
+        assertEquals(1, total.getErrors());
+    }
+
+}
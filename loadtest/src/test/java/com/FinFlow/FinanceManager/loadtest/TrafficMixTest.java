@@ -0,0 +1,34 @@
+package com.FinFlow.FinanceManager.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficMixTest {
+
+    @Test
+    void next_FollowsWeights() {
+        TrafficMix mix = TrafficMix.parse("dashboard=3, post=1, delete=0");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(30_000, counts.get(Operation.DASHBOARD), 600);
+        assertEquals(10_000, counts.get(Operation.POST), 600);
+    }
+
+    @Test
+    void parse_RejectsUnknownOperationsAndEmptyMixes() {
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("checkout=1"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("login=0"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("login"));
+    }
+
+}
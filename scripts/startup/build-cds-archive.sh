@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+#
+# Builds an AppCDS archive for the production jar.
+#
+# The jar is extracted (CDS needs a stable classpath of plain jars), then the
+# application is started once with -Dspring.context.exit=onRefresh so every class
+# loaded up to the end of the context refresh is dumped into application.jsa.
+# The training run opens the datasource, so the database must be reachable.
+#
+# Usage: scripts/startup/build-cds-archive.sh [path/to/app.jar]
+#   (build the jar first with: ./mvnw -Pprod -DskipTests package)
+#
+set -euo pipefail
+
+JAR="${1:-target/FinanceManager-0.0.1-SNAPSHOT.jar}"
+OUT_DIR="${OUT_DIR:-target/cds}"
+
+if [[ ! -f "$JAR" ]]; then
+  echo "Jar not found: $JAR (run ./mvnw -Pprod -DskipTests package)" >&2
+  exit 1
+fi
+
+rm -rf "$OUT_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT_DIR"
+
+cd "$OUT_DIR"
+java -XX:ArchiveClassesAtExit=application.jsa \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -Dspring.profiles.active=prod \
+     -jar "$(basename "$JAR")"
+
+echo "CDS archive written to $OUT_DIR/application.jsa"
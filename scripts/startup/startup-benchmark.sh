@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-ready and resident memory of the application.
+#
+# Each run starts a fresh JVM, polls the readiness probe until it answers 200 and
+# then samples VmRSS from /proc. The median of all runs is printed last so the
+# numbers can be compared across releases.
+#
+# Usage: scripts/startup/startup-benchmark.sh [runs]
+#   MODE=plain    ./target/FinanceManager-0.0.1-SNAPSHOT.jar, default profile
+#   MODE=prod     same jar, prod profile with AOT   (./mvnw -Pprod package)
+#   MODE=prod-cds extracted jar in target/cds with the AppCDS archive
+#                 (scripts/startup/build-cds-archive.sh)
+#   PORT, JAVA_OPTS and JAR can be overridden from the environment.
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+MODE="${MODE:-prod-cds}"
+PORT="${PORT:-8080}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+READY_URL="http://localhost:${PORT}/actuator/health/readiness"
+TIMEOUT_S=120
+
+case "$MODE" in
+  plain)
+    JAR="${JAR:-target/FinanceManager-0.0.1-SNAPSHOT.jar}"
+    OPTS=""
+    ;;
+  prod)
+    JAR="${JAR:-target/FinanceManager-0.0.1-SNAPSHOT.jar}"
+    OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=prod"
+    ;;
+  prod-cds)
+    JAR="${JAR:-target/cds/FinanceManager-0.0.1-SNAPSHOT.jar}"
+    OPTS="-XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod"
+    ;;
+  *)
+    echo "Unknown MODE: $MODE" >&2
+    exit 1
+    ;;
+esac
+
+if [[ ! -f "$JAR" ]]; then
+  echo "Jar not found: $JAR" >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+rss_kb() {
+  if [[ -r "/proc/$1/status" ]]; then
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'; }
+
+READY_TIMES=()
+RSS_VALUES=()
+LOG="$(mktemp)"
+trap 'rm -f "$LOG"' EXIT
+
+echo "mode=$MODE jar=$JAR runs=$RUNS"
+printf '%-5s %14s %12s\n' "run" "ready_ms" "rss_mb"
+
+for ((run = 1; run <= RUNS; run++)); do
+  start=$(now_ms)
+  # shellcheck disable=SC2086
+  java $OPTS $JAVA_OPTS -Dserver.port="$PORT" -jar "$JAR" >"$LOG" 2>&1 &
+  pid=$!
+
+  until curl -fs -o /dev/null "$READY_URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Application exited during startup, last log lines:" >&2
+      tail -n 30 "$LOG" >&2
+      exit 1
+    fi
+    if (( $(now_ms) - start > TIMEOUT_S * 1000 )); then
+      echo "Not ready after ${TIMEOUT_S}s" >&2
+      kill "$pid"
+      exit 1
+    fi
+    sleep 0.05
+  done
+
+  ready=$(( $(now_ms) - start ))
+  rss=$(rss_kb "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  READY_TIMES+=("$ready")
+  RSS_VALUES+=("$rss")
+  printf '%-5s %14s %12s\n' "$run" "$ready" "$(( rss / 1024 ))"
+done
+
+printf '%-5s %14s %12s\n' "p50" \
+  "$(printf '%s\n' "${READY_TIMES[@]}" | median)" \
+  "$(( $(printf '%s\n' "${RSS_VALUES[@]}" | median) / 1024 ))"
@@ -0,0 +1,76 @@
+package com.FinFlow.FinanceManager.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.FinFlow.FinanceManager.config.ConcurrencyLimitInterceptor.EndpointClass;
+import com.FinFlow.FinanceManager.util.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the adaptive concurrency limiter for the REST controllers.
+ * Disabled with {@code finflow.limiter.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "finflow.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    @Value("${finflow.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${finflow.limiter.min-limit:2}")
+    private int minLimit;
+
+    @Value("${finflow.limiter.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${finflow.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${finflow.limiter.read-latency-threshold-ms:500}")
+    private long readLatencyThresholdMs;
+
+    @Value("${finflow.limiter.write-latency-threshold-ms:1000}")
+    private long writeLatencyThresholdMs;
+
+    @Value("${finflow.limiter.auth-latency-threshold-ms:1000}")
+    private long authLatencyThresholdMs;
+
+    @Value("${finflow.limiter.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+        Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+        limiters.put(EndpointClass.READ, limiter(readLatencyThresholdMs));
+        limiters.put(EndpointClass.WRITE, limiter(writeLatencyThresholdMs));
+        limiters.put(EndpointClass.AUTH, limiter(authLatencyThresholdMs));
+        return new ConcurrencyLimitInterceptor(limiters, retryAfterSeconds, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor()).addPathPatterns("/api/**");
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(long latencyThresholdMs) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio,
+                TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs));
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.FinFlow.FinanceManager.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.FinFlow.FinanceManager.controller.ExpenseController;
+import com.FinFlow.FinanceManager.controller.IncomeController;
+import com.FinFlow.FinanceManager.controller.StatsController;
+import com.FinFlow.FinanceManager.controller.UserController;
+import com.FinFlow.FinanceManager.util.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load with one {@link AdaptiveConcurrencyLimiter} per endpoint class.
+ * <p>
+ * Reads, writes and authentication get separate limits, so a slow database cannot let
+ * dashboard reads crowd out logins. Requests over the limit are answered at once with
+ * {@code 503} and {@code Retry-After} instead of waiting in the Tomcat queue. Limits and requests
+ * in flight are exported as {@code finflow.limiter.*} gauges and rejections as a counter, all
+ * tagged by class.
+ * </p>
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".acquired";
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+    private static final String CLASS = ConcurrencyLimitInterceptor.class.getName() + ".class";
+
+    private static final Set<Class<?>> LIMITED_CONTROLLERS =
+            Set.of(StatsController.class, ExpenseController.class, IncomeController.class, UserController.class);
+
+    /** Endpoint classes with independent limits. */
+    public enum EndpointClass { READ, WRITE, AUTH }
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters, long retryAfterSeconds,
+                                       MeterRegistry meterRegistry) {
+        this.limiters.putAll(limiters);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("finflow.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("class", tag).register(meterRegistry);
+            Gauge.builder("finflow.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("class", tag).register(meterRegistry);
+            FunctionCounter.builder("finflow.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("class", tag).register(meterRegistry);
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        EndpointClass endpointClass = classify(request, handler);
+        if (endpointClass == null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        int acquired = limiter.tryAcquire();
+        if (acquired < 0) {
+            logger.warn("Shedding {} request {} {}: limit {} reached", endpointClass, request.getMethod(),
+                    request.getRequestURI(), limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain");
+            response.getWriter().write("Server is busy, please retry later.");
+            return false;
+        }
+        request.setAttribute(CLASS, endpointClass);
+        request.setAttribute(ACQUIRED, acquired);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        EndpointClass endpointClass = (EndpointClass) request.getAttribute(CLASS);
+        if (endpointClass == null) {
+            return;
+        }
+        request.removeAttribute(CLASS);
+        long started = (Long) request.getAttribute(STARTED);
+        long latency = System.nanoTime() - started;
+        boolean failed = ex != null || response.getStatus() >= 500;
+        limiters.get(endpointClass).release((Integer) request.getAttribute(ACQUIRED), started, latency, failed);
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} request took {} ms, limit now {}", endpointClass,
+                    TimeUnit.NANOSECONDS.toMillis(latency), limiters.get(endpointClass).getLimit());
+        }
+    }
+
+    static EndpointClass classify(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !LIMITED_CONTROLLERS.contains(handlerMethod.getBeanType())) {
+            return null;
+        }
+        if (handlerMethod.getBeanType() == UserController.class) {
+            return EndpointClass.AUTH;
+        }
+        return HttpMethod.GET.matches(request.getMethod()) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+}
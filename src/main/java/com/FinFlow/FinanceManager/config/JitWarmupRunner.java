@@ -0,0 +1,224 @@
+package com.FinFlow.FinanceManager.config;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.services.analytics.TransactionColumnStore;
+import com.FinFlow.FinanceManager.services.breakdown.CategoryBreakdownService;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.services.expense.ExpenseService;
+import com.FinFlow.FinanceManager.services.income.IncomeService;
+import com.FinFlow.FinanceManager.services.stats.StatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Warms up the JIT before the instance reports ready.
+ * <p>
+ * Creates a synthetic user with a year of transactions and repeatedly runs the dashboard
+ * reads ({@code getStats}, {@code getChartData}, the list endpoints and the balance and
+ * breakdown queries) plus their JSON serialization, all inside one transaction that is
+ * rolled back, so nothing is ever committed and the after-commit listeners never see it; the
+ * in-memory caches that did see the user are cleared afterwards.
+ * The loop ends once a round of calls adds less than {@code quiet-compile-ms} of JIT
+ * compilation time, or when {@code max-duration-ms} is exhausted.
+ * </p>
+ * <p>
+ * Spring Boot publishes {@link ReadinessState#ACCEPTING_TRAFFIC} only after all application
+ * runners have completed, so the readiness probe keeps refusing traffic while this runs.
+ * Failures are logged and never prevent startup.
+ * </p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "finflow.warmup.enabled", havingValue = "true")
+public class JitWarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(JitWarmupRunner.class);
+
+    private static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Health", "Leisure", "Utilities"};
+
+    private final UserRepository userRepository;
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+    private final StatsService statsService;
+    private final TransactionColumnStore columnStore;
+    private final CategoryService categoryService;
+    private final CategoryBreakdownService categoryBreakdownService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int transactions;
+    private final int roundIterations;
+    private final int minIterations;
+    private final long maxDurationMs;
+    private final long quietCompileMs;
+
+    public JitWarmupRunner(UserRepository userRepository,
+                           ExpenseService expenseService,
+                           IncomeService incomeService,
+                           StatsService statsService,
+                           TransactionColumnStore columnStore,
+                           CategoryService categoryService,
+                           CategoryBreakdownService categoryBreakdownService,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${finflow.warmup.transactions:120}") int transactions,
+                           @Value("${finflow.warmup.round-iterations:50}") int roundIterations,
+                           @Value("${finflow.warmup.min-iterations:200}") int minIterations,
+                           @Value("${finflow.warmup.max-duration-ms:30000}") long maxDurationMs,
+                           @Value("${finflow.warmup.quiet-compile-ms:20}") long quietCompileMs) {
+        this.userRepository = userRepository;
+        this.expenseService = expenseService;
+        this.incomeService = incomeService;
+        this.statsService = statsService;
+        this.columnStore = columnStore;
+        this.categoryService = categoryService;
+        this.categoryBreakdownService = categoryBreakdownService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
+        this.roundIterations = Math.max(1, roundIterations);
+        this.minIterations = minIterations;
+        this.maxDurationMs = maxDurationMs;
+        this.quietCompileMs = quietCompileMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long compileStart = compilationMillis();
+        Long[] userId = new Long[1];
+        int[] iterations = new int[1];
+        try {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                userId[0] = createSyntheticUser();
+                iterations[0] = exercise(userId[0], start);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("JIT warm-up aborted after {} iterations", iterations[0], e);
+        } finally {
+            if (userId[0] != null) {
+                forget(userId[0]);
+            }
+        }
+        logger.info("JIT warm-up finished: {} iterations in {} ms, {} ms of JIT compilation",
+                iterations[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                compilationMillis() - compileStart);
+    }
+
+    /**
+     * Drops everything cached about the synthetic user. The rows are gone with the rollback, but
+     * no event announces that, so the columns and balance index, the breakdowns and the
+     * category dictionary loaded while they existed would otherwise stay in memory.
+     */
+    private void forget(Long userId) {
+        columnStore.invalidate(userId);
+        categoryBreakdownService.evictUser(userId);
+        categoryService.evictUser(userId);
+    }
+
+    private Long createSyntheticUser() {
+        User user = new User();
+        user.setUsername("warmup-" + UUID.randomUUID());
+        user.setEmail("warmup@localhost");
+        user.setPassword("-");
+        user = userRepository.save(user);
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < transactions; i++) {
+            LocalDate date = today.minusDays(i * 365L / Math.max(1, transactions));
+            String category = CATEGORIES[i % CATEGORIES.length];
+            if (i % 4 == 0) {
+                IncomeDTO income = new IncomeDTO();
+                income.setTitle("Warm-up income " + i);
+                income.setCategory(category);
+                income.setDate(date);
+                income.setAmount(1000 + i * 7);
+                income.setUser(user);
+                incomeService.postIncome(income);
+            } else {
+                ExpenseDTO expense = new ExpenseDTO();
+                expense.setTitle("Warm-up expense " + i);
+                expense.setCategory(category);
+                expense.setDate(date);
+                expense.setAmount(10 + i * 3);
+                expense.setUser(user);
+                expenseService.postExpense(expense);
+            }
+        }
+        return user.getId();
+    }
+
+    private int exercise(Long userId, long start) {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusMonths(3);
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        int iterations = 0;
+        while (System.nanoTime() < deadline) {
+            long compileBefore = compilationMillis();
+            for (int i = 0; i < roundIterations; i++) {
+                serialize(statsService.getStats(userId));
+                serialize(statsService.getChartData(userId));
+                serialize(expenseService.getExpensesByUserId(userId));
+                serialize(incomeService.getIncomesByUserId(userId));
+                serialize(statsService.getBalanceSeries(userId, from, to));
+                serialize(statsService.getCategoryBreakdown(userId, from, to));
+                serialize(statsService.getCategoryQuantiles(userId, TransactionKind.EXPENSE));
+            }
+            iterations += roundIterations;
+            if (iterations >= minIterations && compilationMillis() - compileBefore < quietCompileMs) {
+                break;
+            }
+        }
+        return iterations;
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize warm-up result", e);
+        }
+    }
+
+    /**
+     * Total JIT compilation time so far, or 0 when the JVM does not report it, in which
+     * case the warm-up stops after {@code min-iterations}.
+     */
+    private static long compilationMillis() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime()
+                : 0;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.FinFlow.FinanceManager.config;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.FinFlow.FinanceManager.util.PoolSizePolicy;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Resizes the HikariCP pool from its own usage, within {@code finflow.pool.controller.min-size}
+ * and {@code max-size}.
+ * <p>
+ * Every {@code interval-ms} it samples the active connections and waiting threads of the pool
+ * and the mean acquisition time since the previous sample (from the
+ * {@code hikaricp.connections.acquire} timer), feeds them to a {@link PoolSizePolicy} and applies
+ * the result through {@link HikariConfigMXBean#setMaximumPoolSize(int)}. The target size is
+ * exported as {@code finflow.pool.target-size} and every change is counted in
+ * {@code finflow.pool.resizes}, next to the {@code hikaricp.*} pool metrics.
+ * </p>
+ * Does nothing when the data source is not a Hikari pool. Disabled with
+ * {@code finflow.pool.controller.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "finflow.pool.controller.enabled", havingValue = "true")
+public class PoolSizeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolSizeController.class);
+
+    private final HikariDataSource hikari;
+    private final PoolSizePolicy policy;
+    private final Counter grown;
+    private final Counter shrunk;
+    private final MeterRegistry meterRegistry;
+
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+
+    public PoolSizeController(DataSource dataSource,
+                              MeterRegistry meterRegistry,
+                              @Value("${finflow.pool.controller.min-size:5}") int minSize,
+                              @Value("${finflow.pool.controller.max-size:50}") int maxSize,
+                              @Value("${finflow.pool.controller.wait-threshold-ms:5}") double waitThresholdMs,
+                              @Value("${finflow.pool.controller.shrink-after-intervals:60}") int shrinkAfterIntervals) {
+        this.hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        this.meterRegistry = meterRegistry;
+        int initialSize = hikari != null ? hikari.getMaximumPoolSize() : minSize;
+        this.policy = new PoolSizePolicy(initialSize, minSize, maxSize, waitThresholdMs, shrinkAfterIntervals);
+        this.grown = Counter.builder("finflow.pool.resizes").tag("direction", "grow")
+                .description("Pool size increases decided by the pool controller").register(meterRegistry);
+        this.shrunk = Counter.builder("finflow.pool.resizes").tag("direction", "shrink")
+                .description("Pool size decreases decided by the pool controller").register(meterRegistry);
+        Gauge.builder("finflow.pool.target-size", policy, PoolSizePolicy::getSize)
+                .description("Maximum pool size chosen by the pool controller")
+                .register(meterRegistry);
+        if (hikari == null) {
+            logger.info("Data source is not a HikariCP pool, adaptive pool sizing is disabled");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${finflow.pool.controller.interval-ms:1000}")
+    public void adjust() {
+        if (hikari == null) {
+            return;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            // The pool starts with the first connection request.
+            return;
+        }
+        int current = hikari.getMaximumPoolSize();
+        int target = policy.update(pool.getActiveConnections(), pool.getThreadsAwaitingConnection(), meanAcquireMs());
+        if (target == current) {
+            return;
+        }
+        if (target > current) {
+            hikari.setMaximumPoolSize(target);
+            grown.increment();
+        } else {
+            if (hikari.getMinimumIdle() > target) {
+                hikari.setMinimumIdle(target);
+            }
+            hikari.setMaximumPoolSize(target);
+            shrunk.increment();
+        }
+        logger.info("Resized connection pool {} from {} to {} (active={}, waiting={})",
+                hikari.getPoolName(), current, target, pool.getActiveConnections(),
+                pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Mean connection acquisition time since the previous call, or 0 without acquisitions or
+     * when the pool metrics are not registered.
+     */
+    private double meanAcquireMs() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+        if (acquire == null) {
+            return 0;
+        }
+        long count = acquire.count();
+        double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+        long deltaCount = count - lastAcquireCount;
+        double deltaMs = totalMs - lastAcquireTotalMs;
+        lastAcquireCount = count;
+        lastAcquireTotalMs = totalMs;
+        return deltaCount > 0 ? deltaMs / deltaCount : 0;
+    }
+
+}
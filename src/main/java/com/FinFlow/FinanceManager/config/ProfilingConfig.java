@@ -0,0 +1,26 @@
+package com.FinFlow.FinanceManager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.FinFlow.FinanceManager.profiling.JfrMappingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Wires the JFR instrumentation that is not part of a service: JSON serialization of
+ * response bodies. Hibernate events are registered through
+ * {@code spring.jpa.properties.hibernate.session.events.auto}.
+ */
+@Configuration
+public class ProfilingConfig {
+
+    /**
+     * Replaces Spring Boot's Jackson converter, which backs off when this bean exists.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new JfrMappingJackson2HttpMessageConverter(objectMapper);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.FinFlow.FinanceManager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.FinFlow.FinanceManager.util.TokenBuckets;
+
+/**
+ * Registers per-IP and per-user rate limiting for the REST API. Runs before the concurrency
+ * limiter so rejected clients never take a concurrency slot. Disabled with
+ * {@code finflow.ratelimit.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "finflow.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    @Value("${finflow.ratelimit.ip.capacity:200}")
+    private long ipCapacity;
+
+    @Value("${finflow.ratelimit.ip.refill-per-second:50}")
+    private double ipRefillPerSecond;
+
+    @Value("${finflow.ratelimit.user.capacity:100}")
+    private long userCapacity;
+
+    @Value("${finflow.ratelimit.user.refill-per-second:20}")
+    private double userRefillPerSecond;
+
+    @Value("${finflow.ratelimit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${finflow.ratelimit.stripes:64}")
+    private int stripes;
+
+    @Bean
+    public TokenBuckets ipTokenBuckets() {
+        return new TokenBuckets(ipCapacity, ipRefillPerSecond, maxKeys, stripes);
+    }
+
+    @Bean
+    public TokenBuckets userTokenBuckets() {
+        return new TokenBuckets(userCapacity, userRefillPerSecond, maxKeys, stripes);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(ipTokenBuckets(), userTokenBuckets()))
+                .addPathPatterns("/api/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    /**
+     * Drops buckets that have refilled completely so idle clients do not hold memory.
+     */
+    @Scheduled(fixedDelayString = "${finflow.ratelimit.eviction-ms:60000}")
+    public void evictIdleBuckets() {
+        ipTokenBuckets().evictIdle();
+        userTokenBuckets().evictIdle();
+    }
+
+}
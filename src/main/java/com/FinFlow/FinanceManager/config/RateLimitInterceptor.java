@@ -0,0 +1,96 @@
+package com.FinFlow.FinanceManager.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.FinFlow.FinanceManager.util.TokenBuckets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies per-client and per-user token buckets to the REST controllers.
+ * <p>
+ * Every request is charged to the caller's IP address and, when the path carries a
+ * {@code userId}, to that user as well, so one client cannot exhaust a user's budget from many
+ * addresses nor one address hammer many users. A request the user bucket rejects is refunded to
+ * the address, so only served requests count against it. The cost comes from
+ * {@link RateLimitCost} on the handler. Responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} for the tighter of the two buckets; rejected requests get
+ * {@code 429} with {@code Retry-After}.
+ * </p>
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final TokenBuckets ipBuckets;
+    private final TokenBuckets userBuckets;
+
+    public RateLimitInterceptor(TokenBuckets ipBuckets, TokenBuckets userBuckets) {
+        this.ipBuckets = ipBuckets;
+        this.userBuckets = userBuckets;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimitCost annotation = handlerMethod.getMethodAnnotation(RateLimitCost.class);
+        int cost = annotation == null ? 1 : annotation.value();
+
+        TokenBuckets.Result result = ipBuckets.tryConsume(request.getRemoteAddr(), cost);
+        TokenBuckets buckets = ipBuckets;
+        String userId = userId(request);
+        if (result.isAllowed() && userId != null) {
+            TokenBuckets.Result userResult = userBuckets.tryConsume(userId, cost);
+            if (!userResult.isAllowed()) {
+                // The request is not served, so the address must not pay for it.
+                ipBuckets.refund(request.getRemoteAddr(), cost);
+            }
+            if (!userResult.isAllowed() || userResult.getRemaining() < result.getRemaining()) {
+                result = userResult;
+                buckets = userBuckets;
+            }
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(buckets.getCapacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(result.getRemaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(result.getResetNanos())));
+        if (result.isAllowed()) {
+            return true;
+        }
+        logger.warn("Rate limit exceeded for {} {} from {}", request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(result.getRetryAfterNanos()))));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many requests, please retry later.");
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String userId(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables == null ? null : variables.get("userId");
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.FinFlow.FinanceManager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the transaction archiver.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,79 @@
+package com.FinFlow.FinanceManager.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import com.FinFlow.FinanceManager.profiling.ProfilingDataSource;
+import com.FinFlow.FinanceManager.profiling.QueryStatistics;
+import com.FinFlow.FinanceManager.profiling.RepositoryMethodInterceptor;
+import com.FinFlow.FinanceManager.profiling.SlowQueryEndpoint;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps the data source to record per-statement latencies, attributes statements to the
+ * repository method that issued them and exposes the {@code slowqueries} actuator endpoint.
+ * Disabled with {@code finflow.sql.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "finflow.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilingConfig {
+
+    @Value("${finflow.sql.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+
+    @Value("${finflow.sql.max-statements:500}")
+    private int maxStatements;
+
+    @Value("${finflow.sql.explain-interval-ms:600000}")
+    private long explainIntervalMs;
+
+    @Value("${finflow.sql.log-binds:false}")
+    private boolean logBinds;
+
+    @Bean
+    public QueryStatistics queryStatistics(MeterRegistry meterRegistry) {
+        return new QueryStatistics(meterRegistry, slowThresholdMs, maxStatements, explainIntervalMs, logBinds);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(QueryStatistics queryStatistics) {
+        return new SlowQueryEndpoint(queryStatistics);
+    }
+
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<QueryStatistics> queryStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, queryStatistics);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryAttributionPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryMethodInterceptor(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+}
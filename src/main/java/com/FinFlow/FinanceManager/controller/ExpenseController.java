@@ -1,5 +1,10 @@
 package com.FinFlow.FinanceManager.controller;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -7,15 +12,18 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
 import com.FinFlow.FinanceManager.entity.Expense;
 import com.FinFlow.FinanceManager.services.expense.ExpenseService;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.slf4j.Logger;
@@ -96,6 +104,31 @@ public class ExpenseController {
         return ResponseEntity.ok(expenseService.getExpensesByUserId(userId));
     }
 
+    /**
+     * Retrieves a user's largest expenses within a date range, largest first.
+     *
+     * @param userId the user ID
+     * @param from first day, inclusive (ISO format); defaults to the first day of the current month
+     * @param to last day, inclusive (ISO format); defaults to the last day of the current month
+     * @param limit the number of expenses to return
+     * @return ResponseEntity with the expenses, or 400 for an invalid range or limit
+     */
+    @GetMapping("/user/{userId}/largest")
+    public ResponseEntity<?> getLargestExpenses(@PathVariable Long userId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        LocalDate end = to != null ? to : start.withDayOfMonth(start.lengthOfMonth());
+        logger.info("Received request to get {} largest expenses for user id: {} from {} to {}", limit, userId, start, end);
+        try {
+            return ResponseEntity.ok(expenseService.getLargestExpenses(userId, start, end, limit));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid largest expenses request for user id: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
     /**
      * Updates an existing expense.
      *
@@ -111,23 +144,56 @@ public class ExpenseController {
         } catch (EntityNotFoundException ex){
             logger.warn("Expense not found for update with id: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (OptimisticLockingFailureException ex) {
+            logger.warn("Concurrent update of expense id: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("The expense was modified by another request.");
         } catch (Exception e){
             logger.error("Error updating expense with id {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while updating the expense.");
         }
     }
 
+    /**
+     * Partially updates an expense; only non-null fields are changed.
+     *
+     * @param id the expense ID
+     * @param patch the fields to change and the version last read
+     * @return 204 with the new version as ETag, 400 for an invalid patch, 404 if missing, or
+     *         409 if the expense was changed since that version
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchExpense(@PathVariable Long id, @RequestBody TransactionPatchDTO patch) {
+        logger.info("Received request to patch expense id: {} with data: {}", id, patch);
+        try {
+            long version = expenseService.patchExpense(id, patch);
+            return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid patch for expense id: {}: {}", id, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (EntityNotFoundException ex) {
+            logger.warn("Expense not found for patch with id: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (OptimisticLockingFailureException ex) {
+            logger.warn("Version conflict patching expense id: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("The expense was modified by another request.");
+        } catch (Exception e) {
+            logger.error("Error patching expense with id {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while updating the expense.");
+        }
+    }
+
     /**
      * Deletes an expense by its ID.
      *
      * @param id the expense ID
+     * @param userId if given, the expense is only deleted when it belongs to this user
      * @return ResponseEntity with status of the operation
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteExpense (@PathVariable Long id){
+    public ResponseEntity<?> deleteExpense (@PathVariable Long id, @RequestParam(required = false) Long userId){
         logger.info("Received request to delete expense id: {}", id);
         try{
-            expenseService.deleteExpense(id);
+            expenseService.deleteExpense(id, userId);
             logger.info("Expense deleted successfully: {}", id);
             return ResponseEntity.ok(null);
         } catch (EntityNotFoundException ex){
@@ -138,4 +204,51 @@ public class ExpenseController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while deleting the expense.");
         }
     }
+
+    /**
+     * Deletes several of a user's expenses by id. Ids that do not exist or belong to another user
+     * are ignored.
+     *
+     * @param userId the user ID
+     * @param ids the expense IDs
+     * @return ResponseEntity with the number of deleted expenses, or 400 for an empty or oversized list
+     */
+    @PostMapping("/user/{userId}/bulk-delete")
+    public ResponseEntity<?> deleteExpenses(@PathVariable Long userId, @RequestBody List<Long> ids) {
+        logger.info("Received request to bulk delete expenses for user id: {}", userId);
+        try {
+            return ResponseEntity.ok(expenseService.deleteExpenses(userId, ids));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid bulk delete request for user id: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (Exception e) {
+            logger.error("Error bulk deleting expenses for user id {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while deleting the expenses.");
+        }
+    }
+
+    /**
+     * Deletes all of a user's expenses dated within a range.
+     *
+     * @param userId the user ID
+     * @param from first day, inclusive (ISO format)
+     * @param to last day, inclusive (ISO format)
+     * @return ResponseEntity with the number of deleted expenses, or 400 for a reversed range
+     */
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<?> deleteExpensesBetween(@PathVariable Long userId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Received request to delete expenses for user id: {} from {} to {}", userId, from, to);
+        try {
+            return ResponseEntity.ok(expenseService.deleteExpensesBetween(userId, from, to));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid range delete request for user id: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (Exception e) {
+            logger.error("Error deleting expenses for user id {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while deleting the expenses.");
+        }
+    }
+
 }
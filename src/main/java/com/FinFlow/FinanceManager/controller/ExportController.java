@@ -0,0 +1,92 @@
+package com.FinFlow.FinanceManager.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.FinFlow.FinanceManager.config.RateLimitCost;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.services.export.ExportFormat;
+import com.FinFlow.FinanceManager.services.export.TransactionExportService;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controller for bulk export and import of a user's transactions.
+ * <p>
+ * Exports are written straight to the response body while rows are read from the database,
+ * so they are kept out of the adaptive concurrency limiter, whose latency targets are meant
+ * for interactive requests.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/export/{userId}")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private final TransactionExportService exportService;
+
+    /**
+     * Streams all of a user's expenses or incomes as a file download.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind; defaults to expenses
+     * @param format the file format; defaults to CSV
+     * @param response the response the file is written to
+     * @throws IOException if writing to the client fails
+     */
+    @RateLimitCost(20)
+    @GetMapping
+    public void export(@PathVariable Long userId,
+                       @RequestParam(defaultValue = "EXPENSE") TransactionKind kind,
+                       @RequestParam(defaultValue = "CSV") ExportFormat format,
+                       HttpServletResponse response) throws IOException {
+        logger.info("Received request to export {} for userId: {} as {}", kind, userId, format);
+        String filename = kind.name().toLowerCase() + "s-" + userId + "." + format.getExtension();
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        exportService.export(userId, kind, format, response.getOutputStream());
+    }
+
+    /**
+     * Imports a columnar export into a user's transactions.
+     *
+     * @param userId the ID of the user to import into
+     * @param body the columnar file
+     * @return ResponseEntity with the number of imported rows, 400 for a malformed file or 404 for an unknown user
+     */
+    @RateLimitCost(20)
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> importColumnar(@PathVariable Long userId, InputStream body) {
+        logger.info("Received request to import transactions for userId: {}", userId);
+        try {
+            return ResponseEntity.ok(exportService.importColumnar(userId, body));
+        } catch (EntityNotFoundException ex) {
+            logger.warn("Import for unknown userId: {}", userId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IOException ex) {
+            logger.warn("Malformed import for userId: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
+}
@@ -1,18 +1,26 @@
 package com.FinFlow.FinanceManager.controller;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
 import com.FinFlow.FinanceManager.entity.Income;
 import com.FinFlow.FinanceManager.services.income.IncomeService;
 
@@ -80,12 +88,44 @@ public class IncomeController {
         } catch (EntityNotFoundException ex) {
             logger.warn("Income not found for update: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (OptimisticLockingFailureException ex) {
+            logger.warn("Concurrent update of income id: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("The income was modified by another request.");
         } catch (Exception e) {
             logger.error("Error updating income with id {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while updating the income.");
         }
     }
 
+    /**
+     * Partially updates an income; only non-null fields are changed.
+     *
+     * @param id the income ID
+     * @param patch the fields to change and the version last read
+     * @return 204 with the new version as ETag, 400 for an invalid patch, 404 if missing, or
+     *         409 if the income was changed since that version
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchIncome(@PathVariable Long id, @RequestBody TransactionPatchDTO patch) {
+        logger.info("Received request to patch income with id: {}", id);
+        try {
+            long version = incomeService.patchIncome(id, patch);
+            return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid patch for income id: {}: {}", id, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (EntityNotFoundException ex) {
+            logger.warn("Income not found for patch: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (OptimisticLockingFailureException ex) {
+            logger.warn("Version conflict patching income id: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("The income was modified by another request.");
+        } catch (Exception e) {
+            logger.error("Error patching income with id {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while updating the income.");
+        }
+    }
+
     /**
      * Retrieves an income by its ID.
      *
@@ -118,17 +158,43 @@ public class IncomeController {
         return ResponseEntity.ok(incomeService.getIncomesByUserId(userId));
     }
 
+    /**
+     * Retrieves a user's largest incomes within a date range, largest first.
+     *
+     * @param userId the user ID
+     * @param from first day, inclusive (ISO format); defaults to the first day of the current month
+     * @param to last day, inclusive (ISO format); defaults to the last day of the current month
+     * @param limit the number of incomes to return
+     * @return ResponseEntity with the incomes, or 400 for an invalid range or limit
+     */
+    @GetMapping("/user/{userId}/largest")
+    public ResponseEntity<?> getLargestIncomes(@PathVariable Long userId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        LocalDate end = to != null ? to : start.withDayOfMonth(start.lengthOfMonth());
+        logger.info("Received request to get {} largest incomes for user id: {} from {} to {}", limit, userId, start, end);
+        try {
+            return ResponseEntity.ok(incomeService.getLargestIncomes(userId, start, end, limit));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid largest incomes request for user id: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
     /**
      * Deletes an income by its ID.
      *
      * @param id the ID of the income to delete
+     * @param userId if given, the income is only deleted when it belongs to this user
      * @return ResponseEntity with status of the operation
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteIncome(@PathVariable Long id) {
+    public ResponseEntity<?> deleteIncome(@PathVariable Long id, @RequestParam(required = false) Long userId) {
         logger.info("Received request to delete income with id: {}", id);
         try {
-            incomeService.deleteIncome(id);
+            incomeService.deleteIncome(id, userId);
             logger.info("Income deleted successfully: {}", id);
             return ResponseEntity.ok(null);
         } catch (EntityNotFoundException ex) {
@@ -140,4 +206,50 @@ public class IncomeController {
         }
     }
 
+    /**
+     * Deletes several of a user's incomes by id. Ids that do not exist or belong to another user
+     * are ignored.
+     *
+     * @param userId the user ID
+     * @param ids the income IDs
+     * @return ResponseEntity with the number of deleted incomes, or 400 for an empty or oversized list
+     */
+    @PostMapping("/user/{userId}/bulk-delete")
+    public ResponseEntity<?> deleteIncomes(@PathVariable Long userId, @RequestBody List<Long> ids) {
+        logger.info("Received request to bulk delete incomes for user id: {}", userId);
+        try {
+            return ResponseEntity.ok(incomeService.deleteIncomes(userId, ids));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid bulk delete request for user id: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (Exception e) {
+            logger.error("Error bulk deleting incomes for user id {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while deleting the incomes.");
+        }
+    }
+
+    /**
+     * Deletes all of a user's incomes dated within a range.
+     *
+     * @param userId the user ID
+     * @param from first day, inclusive (ISO format)
+     * @param to last day, inclusive (ISO format)
+     * @return ResponseEntity with the number of deleted incomes, or 400 for a reversed range
+     */
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<?> deleteIncomesBetween(@PathVariable Long userId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Received request to delete incomes for user id: {} from {} to {}", userId, from, to);
+        try {
+            return ResponseEntity.ok(incomeService.deleteIncomesBetween(userId, from, to));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid range delete request for user id: {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (Exception e) {
+            logger.error("Error deleting incomes for user id {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while deleting the incomes.");
+        }
+    }
+
 }
@@ -0,0 +1,46 @@
+package com.FinFlow.FinanceManager.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.FinFlow.FinanceManager.services.live.LiveUpdateService;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controller for live dashboard updates over Server-Sent Events.
+ * <p>
+ * Replaces polling of the stats and chart endpoints: a client opens one stream per user and
+ * receives a {@code snapshot} event followed by an {@code update} event after every write.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/stats/{userId}")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class LiveUpdateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateController.class);
+
+    private final LiveUpdateService liveUpdateService;
+
+    /**
+     * Opens a live update stream for the specified user.
+     *
+     * @param userId the ID of the user whose dashboard updates are streamed
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long userId) {
+        logger.info("Opening live dashboard stream for userId: {}", userId);
+        return liveUpdateService.subscribe(userId);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.FinFlow.FinanceManager.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.FinFlow.FinanceManager.dto.RecurringTransactionDTO;
+import com.FinFlow.FinanceManager.services.recurring.RecurringTransactionService;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for managing recurring expenses and incomes.
+ */
+@RestController
+@RequestMapping("/api/recurring")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class RecurringTransactionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionController.class);
+
+    private final RecurringTransactionService recurringTransactionService;
+
+    /**
+     * Creates a recurring transaction; occurrences dated up to today are written right away.
+     *
+     * @param dto the recurring transaction data transfer object
+     * @return ResponseEntity with the created definition, or 400 if it is invalid
+     */
+    @PostMapping
+    public ResponseEntity<?> createRecurring(@RequestBody RecurringTransactionDTO dto) {
+        logger.info("Received request to create recurring transaction: {}", dto);
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(recurringTransactionService.createRecurring(dto));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid recurring transaction: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        } catch (Exception e) {
+            logger.error("Error creating recurring transaction: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while creating the recurring transaction.");
+        }
+    }
+
+    /**
+     * Retrieves a user's recurring transactions.
+     *
+     * @param userId the user ID
+     * @return ResponseEntity with the user's definitions
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<?> getRecurringByUserId(@PathVariable Long userId) {
+        logger.info("Received request to get recurring transactions for user id: {}", userId);
+        return ResponseEntity.ok(recurringTransactionService.getRecurringByUserId(userId));
+    }
+
+    /**
+     * Deletes a recurring transaction; occurrences already written are kept.
+     *
+     * @param id the recurring transaction ID
+     * @param userId if given, the definition is only deleted when it belongs to this user
+     * @return ResponseEntity with status of the operation
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRecurring(@PathVariable Long id, @RequestParam(required = false) Long userId) {
+        logger.info("Received request to delete recurring transaction id: {}", id);
+        try {
+            recurringTransactionService.deleteRecurring(id, userId);
+            return ResponseEntity.ok(null);
+        } catch (EntityNotFoundException ex) {
+            logger.warn("Recurring transaction not found for deletion with id: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (Exception e) {
+            logger.error("Error deleting recurring transaction with id {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while deleting the recurring transaction.");
+        }
+    }
+
+}
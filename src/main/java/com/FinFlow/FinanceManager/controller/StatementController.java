@@ -0,0 +1,41 @@
+package com.FinFlow.FinanceManager.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.FinFlow.FinanceManager.services.statement.StatementService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for a user's monthly statements, which are generated by a nightly job.
+ */
+@RestController
+@RequestMapping("/api/stats/{userId}/statements")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class StatementController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementController.class);
+
+    private final StatementService statementService;
+
+    /**
+     * Retrieves the user's monthly statements, newest month first.
+     *
+     * @param userId the ID of the user
+     * @return a {@link ResponseEntity} containing the statements
+     */
+    @GetMapping
+    public ResponseEntity<?> getStatements(@PathVariable Long userId) {
+        logger.info("Fetching statements for userId: {}", userId);
+        return ResponseEntity.ok(statementService.getStatements(userId));
+    }
+
+}
@@ -1,13 +1,20 @@
 package com.FinFlow.FinanceManager.controller;
 
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.FinFlow.FinanceManager.config.RateLimitCost;
 import com.FinFlow.FinanceManager.dto.GraphDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
 import com.FinFlow.FinanceManager.services.stats.StatsService;
 
 import lombok.RequiredArgsConstructor;
@@ -42,6 +49,7 @@ public class StatsController {
      * @param userId the ID of the user whose chart data is to be retrieved
      * @return a {@link ResponseEntity} containing the {@link GraphDTO} with chart details
      */
+    @RateLimitCost(5)
     @GetMapping("/chart")
     public ResponseEntity<GraphDTO> getChartDetails(@PathVariable Long userId){
         // Log the request for chart details
@@ -55,6 +63,7 @@ public class StatsController {
      * @param userId the ID of the user whose statistics are to be retrieved
      * @return a {@link ResponseEntity} containing the statistics data
      */
+    @RateLimitCost(10)
     @GetMapping
     public ResponseEntity<?> getStats(@PathVariable Long userId){
         // Log the request for general statistics
@@ -62,4 +71,76 @@ public class StatsController {
         return ResponseEntity.ok(statsService.getStats(userId));
     }
 
+    /**
+     * Retrieves the user's balance at the end of a day.
+     *
+     * @param userId the ID of the user
+     * @param date the day (ISO format); defaults to today
+     * @return a {@link ResponseEntity} containing the balance
+     */
+    @GetMapping("/balance")
+    public ResponseEntity<?> getBalance(@PathVariable Long userId,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date){
+        LocalDate day = date != null ? date : LocalDate.now();
+        logger.info("Fetching balance for userId: {} at {}", userId, day);
+        return ResponseEntity.ok(statsService.getBalanceAt(userId, day));
+    }
+
+    /**
+     * Retrieves the user's running balance for every day of a range.
+     *
+     * @param userId the ID of the user
+     * @param from first day, inclusive (ISO format)
+     * @param to last day, inclusive (ISO format)
+     * @return a {@link ResponseEntity} containing one balance point per day, or 400 for an invalid range
+     */
+    @RateLimitCost(5)
+    @GetMapping("/balance/series")
+    public ResponseEntity<?> getBalanceSeries(@PathVariable Long userId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        try {
+            return ResponseEntity.ok(statsService.getBalanceSeries(userId, from, to));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid balance series range for userId: {}: {} to {}", userId, from, to);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves median, p90 and p99 of the user's amounts of one kind for each category.
+     *
+     * @param userId the ID of the user
+     * @param kind EXPENSE or INCOME
+     * @return a {@link ResponseEntity} containing percentiles keyed by category name
+     */
+    @RateLimitCost(3)
+    @GetMapping("/quantiles")
+    public ResponseEntity<?> getCategoryQuantiles(@PathVariable Long userId, @RequestParam TransactionKind kind){
+        logger.info("Fetching {} percentiles for userId: {}", kind, userId);
+        return ResponseEntity.ok(statsService.getCategoryQuantiles(userId, kind));
+    }
+
+    /**
+     * Retrieves per-category totals, counts and shares of the user's income and expenses.
+     *
+     * @param userId the ID of the user
+     * @param from first day, inclusive (ISO format); optional
+     * @param to last day, inclusive (ISO format); optional
+     * @return a {@link ResponseEntity} containing the breakdown, or 400 for a reversed range
+     */
+    @RateLimitCost(5)
+    @GetMapping("/categories")
+    public ResponseEntity<?> getCategoryBreakdown(@PathVariable Long userId,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        logger.info("Fetching category breakdown for userId: {} from {} to {}", userId, from, to);
+        try {
+            return ResponseEntity.ok(statsService.getCategoryBreakdown(userId, from, to));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Invalid category breakdown range for userId: {}: {} to {}", userId, from, to);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
 }
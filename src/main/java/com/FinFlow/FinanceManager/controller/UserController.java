@@ -7,6 +7,7 @@ import com.FinFlow.FinanceManager.services.user.UserService;
 import jakarta.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,7 +32,7 @@ public class UserController {
      * Registers a new user with the provided user details.
      *
      * @param userDTO the user data transfer object containing registration details
-     * @return a success message if registration is successful
+     * @return the registered user, or 409 if the username is already taken
      */
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody UserDTO userDTO) {
@@ -40,6 +41,9 @@ public class UserController {
             User user = userService.registerUser(userDTO);
             logger.info("User registered successfully: {}", userDTO.getUsername());
             return ResponseEntity.ok(user);
+        } catch (DuplicateKeyException e) {
+            logger.warn("Registration failed for user: {} - {}", userDTO.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists");
         } catch (IllegalArgumentException e) {
             logger.warn("Registration failed for user: {} - {}", userDTO.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -49,6 +53,23 @@ public class UserController {
         }
     }
 
+    /**
+     * Checks whether a username is still free to register.
+     *
+     * @param username the username to check
+     * @return true if the username is available
+     */
+    @GetMapping("/available")
+    public ResponseEntity<?> isUsernameAvailable(@RequestParam String username) {
+        logger.debug("Checking availability of username: {}", username);
+        try {
+            return ResponseEntity.ok(userService.isUsernameAvailable(username));
+        } catch (Exception e) {
+            logger.error("Error checking availability of username: {}", username, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Availability check failed");
+        }
+    }
+
     /**
      * Authenticates a user with the provided credentials.
      *
@@ -0,0 +1,21 @@
+package com.FinFlow.FinanceManager.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's balance (total income minus total expenses) at the end of a day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePointDTO {
+
+    private LocalDate date;
+
+    private long balance;
+
+}
@@ -0,0 +1,24 @@
+package com.FinFlow.FinanceManager.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Per-category income and expense totals of a user over an optional date range.
+ * Categories are ordered by total, largest first.
+ */
+@Data
+public class CategoryBreakdownDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+
+    private long incomeTotal;
+    private long expenseTotal;
+
+    private List<CategoryShareDTO> income;
+    private List<CategoryShareDTO> expense;
+
+}
@@ -0,0 +1,26 @@
+package com.FinFlow.FinanceManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total, row count and share of one category within a category breakdown.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryShareDTO {
+
+    private Integer categoryId;
+
+    private String category;
+
+    private long count;
+
+    private long total;
+
+    /** Fraction of the kind's total, between 0 and 1. */
+    private double share;
+
+}
@@ -0,0 +1,25 @@
+package com.FinFlow.FinanceManager.dto;
+
+import java.time.LocalDate;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total of one kind of transaction on one day of the dashboard chart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChartBucketDTO {
+
+    private LocalDate date;
+
+    private TransactionKind kind;
+
+    private long total;
+
+}
@@ -0,0 +1,34 @@
+package com.FinFlow.FinanceManager.dto;
+
+import java.util.List;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+
+import lombok.Data;
+
+/**
+ * Incremental dashboard update pushed to live subscribers after a write.
+ * <p>
+ * Carries the changed transaction (before/after), the user's new totals and the chart buckets
+ * whose value changed. A bulk delete sends one update with {@code deletedCount} set and no
+ * before/after, a batch insert one with {@code createdCount} set. The first message of a stream has no kind or transaction and only
+ * carries the current totals.
+ * </p>
+ */
+@Data
+public class DashboardUpdateDTO {
+
+    private TransactionKind kind;
+    private TransactionSnapshot before;
+    private TransactionSnapshot after;
+    private int deletedCount;
+    private int createdCount;
+
+    private long income;
+    private long expense;
+    private long balance;
+
+    private List<ChartBucketDTO> chart;
+
+}
@@ -13,7 +13,9 @@ public class IncomeDTO {
     private Integer amount;
     private LocalDate date;
     private String category;
+    private Integer categoryId;
     private String description;
     private User user;
+    private Long version;
 
 }
@@ -0,0 +1,24 @@
+package com.FinFlow.FinanceManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estimated median, 90th and 99th percentile of a set of amounts, within 1% relative error.
+ * Percentiles are null when the set is empty.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantilesDTO {
+
+    private long count;
+
+    private Long median;
+
+    private Long p90;
+
+    private Long p99;
+
+}
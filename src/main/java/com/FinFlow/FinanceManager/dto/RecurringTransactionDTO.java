@@ -0,0 +1,24 @@
+package com.FinFlow.FinanceManager.dto;
+
+import java.time.LocalDate;
+
+import com.FinFlow.FinanceManager.entity.RecurrenceFrequency;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+
+import lombok.Data;
+
+@Data
+public class RecurringTransactionDTO {
+
+    private TransactionKind kind;
+    private String title;
+    private String description;
+    private String category;
+    private Integer amount;
+    private RecurrenceFrequency frequency;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private User user;
+
+}
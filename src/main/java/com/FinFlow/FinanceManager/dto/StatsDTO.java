@@ -5,19 +5,27 @@ import com.FinFlow.FinanceManager.entity.Income;
 
 import lombok.Data;
 
+/**
+ * Dashboard statistics for a user. Totals are exact sums of the stored integer amounts;
+ * min/max values are null when the user has no rows of that kind. Percentiles are estimates
+ * within 1% relative error.
+ */
 @Data
 public class StatsDTO {
 
-    private Double income;
-    private Double expense;
+    private long income;
+    private long expense;
 
     private Income latestIncome;
     private Expense latestExpense;
 
-    private Double balance;
-    private Double minIncome;
-    private Double maxIncome;
-    private Double minExpense;
-    private Double maxExpense;
+    private long balance;
+    private Long minIncome;
+    private Long maxIncome;
+    private Long minExpense;
+    private Long maxExpense;
+
+    private QuantilesDTO incomeQuantiles;
+    private QuantilesDTO expenseQuantiles;
 
 }
@@ -0,0 +1,49 @@
+package com.FinFlow.FinanceManager.dto;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Partial update of an expense or income. Null fields are left unchanged; {@code version} must
+ * be the version the client last read.
+ */
+@Data
+public class TransactionPatchDTO {
+
+    private Long version;
+    private String title;
+    private String description;
+    private String category;
+    private LocalDate date;
+    private Integer amount;
+
+    /**
+     * @return the supplied fields keyed by entity attribute name
+     */
+    public Map<String, Object> toChanges() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "title", title);
+        putIfPresent(changes, "description", description);
+        putIfPresent(changes, "category", category);
+        putIfPresent(changes, "date", date);
+        putIfPresent(changes, "amount", amount);
+        return changes;
+    }
+
+    /**
+     * @return whether the patch changes a field that feeds aggregates
+     */
+    public boolean changesAggregates() {
+        return category != null || date != null || amount != null;
+    }
+
+    private static void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.FinFlow.FinanceManager.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Persisted bucket count of a user's quantile sketch for one kind and category.
+ * <p>
+ * A sketch is the set of bucket rows for (user, kind, category); see
+ * {@link com.FinFlow.FinanceManager.util.QuantileSketch} for the bucket mapping. Counts are
+ * changed with atomic increments so concurrent writes never lose updates.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "amount_histogram",
+        uniqueConstraints = @UniqueConstraint(name = "uk_histogram_bucket", columnNames = {"user_id", "kind", "category_id", "bucket"}))
+public class AmountHistogramBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionKind kind;
+
+    /** Category id, or 0 for uncategorized rows. */
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    @Column(nullable = false)
+    private Integer bucket;
+
+    @Column(name = "row_count", nullable = false)
+    private Long count;
+}
@@ -0,0 +1,73 @@
+package com.FinFlow.FinanceManager.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Cold copy of an expense or income row that was moved out of the hot tables by the archiver.
+ */
+@Entity
+@Data
+@Table(name = "transaction_archive",
+        indexes = @Index(name = "idx_archive_user_kind_date", columnList = "user_id, kind, date, amount"))
+public class ArchivedTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Id of the row in the expense or income table it was archived from. */
+    private Long sourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionKind kind;
+
+    private String title;
+    private String description;
+    private String category;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    private LocalDate date;
+    private Integer amount;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * @return a detached expense with the archived values and the original id
+     */
+    public Expense toExpense() {
+        Expense expense = new Expense();
+        expense.setId(this.sourceId);
+        expense.setTitle(this.title);
+        expense.setDescription(this.description);
+        expense.setCategory(this.category);
+        expense.setCategoryId(this.categoryId);
+        expense.setDate(this.date);
+        expense.setAmount(this.amount);
+        expense.setUser(this.user);
+        return expense;
+    }
+
+    /**
+     * @return a detached income with the archived values and the original id
+     */
+    public Income toIncome() {
+        Income income = new Income();
+        income.setId(this.sourceId);
+        income.setTitle(this.title);
+        income.setDescription(this.description);
+        income.setCategory(this.category);
+        income.setCategoryId(this.categoryId);
+        income.setDate(this.date);
+        income.setAmount(this.amount);
+        income.setUser(this.user);
+        return income;
+    }
+}
@@ -0,0 +1,26 @@
+package com.FinFlow.FinanceManager.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * A user-defined transaction category. Expenses and incomes reference it by its small
+ * integer id so grouping and comparisons work on ints rather than strings.
+ */
+@Entity
+@Data
+@Table(name = "categories",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_user_name", columnNames = {"user_id", "name"}))
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+}
@@ -1,18 +1,29 @@
 package com.FinFlow.FinanceManager.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 
 import java.time.LocalDate;
 
 @Entity
 @Data
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_expense_user_category_date", columnList = "user_id, category_id, date, amount"),
+        @Index(name = "idx_expense_user_date_amount", columnList = "user_id, date, amount")
+})
 public class Expense {
 
     @Id
@@ -22,10 +33,20 @@ public class Expense {
     private String title;
     private String description;
     private String category;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    /** Required; the services default a missing date to today when creating a row. */
+    @Column(nullable = false)
     private LocalDate date;
     private Integer amount;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    /** Optimistic lock version; rows that predate the column start at 0. */
+    @Version
+    private long version;
 }
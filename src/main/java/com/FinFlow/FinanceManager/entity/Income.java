@@ -4,16 +4,27 @@ import java.time.LocalDate;
 
 import com.FinFlow.FinanceManager.dto.IncomeDTO;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 @Entity
 @Data
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_income_user_category_date", columnList = "user_id, category_id, date, amount"),
+        @Index(name = "idx_income_user_date_amount", columnList = "user_id, date, amount")
+})
 public class Income {
 
     @Id
@@ -22,14 +33,24 @@ public class Income {
 
     private String title;
     private Integer amount;
+    /** Required; the services default a missing date to today when creating a row. */
+    @Column(nullable = false)
     private LocalDate date;
     private String category;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
     private String description;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /** Optimistic lock version; rows that predate the column start at 0. */
+    @Version
+    private long version;
+
     public IncomeDTO getIncomeDTO() {
         IncomeDTO incomeDTO = new IncomeDTO();
         incomeDTO.setId(this.id);
@@ -37,8 +58,10 @@ public class Income {
         incomeDTO.setAmount(this.amount);
         incomeDTO.setDate(this.date);
         incomeDTO.setCategory(this.category);
+        incomeDTO.setCategoryId(this.categoryId);
         incomeDTO.setDescription(this.description);
         incomeDTO.setUser(this.user);
+        incomeDTO.setVersion(this.version);
         return incomeDTO;
     }
 
@@ -0,0 +1,54 @@
+package com.FinFlow.FinanceManager.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * A user's statement for one completed month, written by the nightly statement job.
+ * <p>
+ * The closing balance is the opening balance plus the month's incomes minus its expenses;
+ * the opening balance counts every earlier transaction, archived ones included.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "monthly_statements",
+        uniqueConstraints = @UniqueConstraint(name = "uk_statement_user_month", columnNames = {"user_id", "statement_month"}))
+public class MonthlyStatement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** First day of the month the statement covers. */
+    @Column(name = "statement_month", nullable = false)
+    private LocalDate statementMonth;
+
+    @Column(name = "opening_balance", nullable = false)
+    private long openingBalance;
+
+    @Column(name = "income_total", nullable = false)
+    private long incomeTotal;
+
+    @Column(name = "income_count", nullable = false)
+    private long incomeCount;
+
+    @Column(name = "expense_total", nullable = false)
+    private long expenseTotal;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    @Column(name = "closing_balance", nullable = false)
+    private long closingBalance;
+
+    /** Category with the largest expense total in the month; null if there were no categorized expenses. */
+    @Column(name = "top_expense_category_id")
+    private Integer topExpenseCategoryId;
+}
@@ -0,0 +1,68 @@
+package com.FinFlow.FinanceManager.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Aggregate of a user's archived transactions for one month, kind and category.
+ * <p>
+ * Rows older than the archive horizon are moved out of the hot tables and rolled up here,
+ * so totals and min/max statistics keep counting them. Several summaries may exist for the
+ * same month (e.g. when back-dated rows are archived later); they are additive.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "monthly_summaries",
+        indexes = @Index(name = "idx_summary_user_kind_period", columnList = "user_id, kind, period_index"))
+public class MonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionKind kind;
+
+    /** Months since year 0, i.e. {@code year * 12 + month - 1}. */
+    @Column(name = "period_index", nullable = false)
+    private Integer periodIndex;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    private Long rowCount;
+    private Long total;
+    private Integer minAmount;
+    private Integer maxAmount;
+
+    /**
+     * @return the first day of the summarized month
+     */
+    public LocalDate getMonth() {
+        return periodIndex != null ? monthOf(periodIndex) : null;
+    }
+
+    /**
+     * @param date any day
+     * @return the period index of the month containing the date
+     */
+    public static int periodIndexOf(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * @param periodIndex a period index as returned by {@link #periodIndexOf(LocalDate)}
+     * @return the first day of that month
+     */
+    public static LocalDate monthOf(int periodIndex) {
+        return LocalDate.of(periodIndex / 12, periodIndex % 12 + 1, 1);
+    }
+}
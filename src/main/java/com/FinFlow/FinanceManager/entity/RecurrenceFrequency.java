@@ -0,0 +1,32 @@
+package com.FinFlow.FinanceManager.entity;
+
+import java.time.LocalDate;
+
+/**
+ * How often a {@link RecurringTransaction} occurs.
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Computes an occurrence from the start date rather than from the previous occurrence, so
+     * a monthly transaction started on the 31st falls on the last day of shorter months and
+     * returns to the 31st afterwards.
+     *
+     * @param start the date of the first occurrence
+     * @param index the zero-based occurrence number
+     * @return the date of that occurrence
+     */
+    public LocalDate occurrence(LocalDate start, long index) {
+        switch (this) {
+            case DAILY:
+                return start.plusDays(index);
+            case WEEKLY:
+                return start.plusWeeks(index);
+            default:
+                return start.plusMonths(index);
+        }
+    }
+}
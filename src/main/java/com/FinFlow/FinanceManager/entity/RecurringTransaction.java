@@ -0,0 +1,64 @@
+package com.FinFlow.FinanceManager.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Definition of an expense or income that repeats, such as rent, a salary or a subscription.
+ * <p>
+ * Occurrences are written to the expense or income table by the recurring transaction job
+ * once their date is reached. {@code occurrenceCount} and {@code nextDate} record how far
+ * that has got, so a job that did not run for a while resumes where it stopped.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_next_date", columnList = "next_date"),
+        @Index(name = "idx_recurring_user", columnList = "user_id")
+})
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionKind kind;
+
+    private String title;
+    private String description;
+    private String category;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /** Last day an occurrence may fall on, inclusive; null if the transaction never ends. */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    /** Number of occurrences written so far. */
+    @Column(name = "occurrence_count", nullable = false)
+    private long occurrenceCount;
+
+    /** Date of the next occurrence to write; null once the end date has passed. */
+    @Column(name = "next_date")
+    private LocalDate nextDate;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+}
@@ -0,0 +1,47 @@
+package com.FinFlow.FinanceManager.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Checkpoint of the statement job: one contiguous range of user ids for one month.
+ * <p>
+ * The ranges of a month are planned once and together cover every id, so users created
+ * after planning fall into the last, open-ended range. A range is marked completed in the
+ * same transaction that writes its statements, so an interrupted run resumes with the
+ * ranges that are still pending.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "statement_partitions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_statement_partition", columnNames = {"statement_month", "first_user_id"}))
+public class StatementPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** First day of the month the statements cover. */
+    @Column(name = "statement_month", nullable = false)
+    private LocalDate statementMonth;
+
+    @Column(name = "first_user_id", nullable = false)
+    private Long firstUserId;
+
+    /** Last user id of the range, inclusive. */
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+
+    private boolean completed;
+
+    /** Number of statements written for the range. */
+    @Column(name = "user_count")
+    private Integer userCount;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
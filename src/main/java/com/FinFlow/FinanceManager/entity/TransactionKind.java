@@ -0,0 +1,9 @@
+package com.FinFlow.FinanceManager.entity;
+
+/**
+ * Distinguishes the two kinds of money movement tracked per user.
+ */
+public enum TransactionKind {
+    EXPENSE,
+    INCOME
+}
@@ -0,0 +1,61 @@
+package com.FinFlow.FinanceManager.events;
+
+import com.FinFlow.FinanceManager.entity.Expense;
+import com.FinFlow.FinanceManager.entity.Income;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+
+import lombok.Value;
+
+/**
+ * Published after an expense or income row has been created, updated or deleted.
+ * <p>
+ * {@code before} is null for creations and {@code after} is null for deletions.
+ * In-memory indexes listen to this event to stay in sync with the database.
+ * </p>
+ */
+@Value
+public class TransactionChangedEvent {
+
+    TransactionKind kind;
+    Long userId;
+    TransactionSnapshot before;
+    TransactionSnapshot after;
+
+    public static TransactionChangedEvent created(Expense expense) {
+        return new TransactionChangedEvent(TransactionKind.EXPENSE, userIdOf(expense.getUser()), null, TransactionSnapshot.of(expense));
+    }
+
+    public static TransactionChangedEvent created(Income income) {
+        return new TransactionChangedEvent(TransactionKind.INCOME, userIdOf(income.getUser()), null, TransactionSnapshot.of(income));
+    }
+
+    public static TransactionChangedEvent updated(TransactionSnapshot before, Expense expense) {
+        return new TransactionChangedEvent(TransactionKind.EXPENSE, userIdOf(expense.getUser()), before, TransactionSnapshot.of(expense));
+    }
+
+    public static TransactionChangedEvent updated(TransactionSnapshot before, Income income) {
+        return new TransactionChangedEvent(TransactionKind.INCOME, userIdOf(income.getUser()), before, TransactionSnapshot.of(income));
+    }
+
+    public static TransactionChangedEvent updated(TransactionKind kind, Long userId, TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChangedEvent(kind, userId, before, after);
+    }
+
+    public static TransactionChangedEvent deleted(Expense expense) {
+        return new TransactionChangedEvent(TransactionKind.EXPENSE, userIdOf(expense.getUser()), TransactionSnapshot.of(expense), null);
+    }
+
+    public static TransactionChangedEvent deleted(Income income) {
+        return new TransactionChangedEvent(TransactionKind.INCOME, userIdOf(income.getUser()), TransactionSnapshot.of(income), null);
+    }
+
+    public static TransactionChangedEvent deleted(TransactionKind kind, Long userId, TransactionSnapshot before) {
+        return new TransactionChangedEvent(kind, userId, before, null);
+    }
+
+    private static Long userIdOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.FinFlow.FinanceManager.events;
+
+import java.time.LocalDate;
+
+import com.FinFlow.FinanceManager.entity.Expense;
+import com.FinFlow.FinanceManager.entity.Income;
+import com.FinFlow.FinanceManager.repository.LockedRow;
+
+import lombok.Value;
+
+/**
+ * Immutable copy of the aggregate-relevant fields of a transaction row.
+ * Captured before an entity is modified so listeners can undo its old contribution.
+ */
+@Value
+public class TransactionSnapshot {
+
+    LocalDate date;
+    Integer amount;
+    String category;
+    Integer categoryId;
+
+    public static TransactionSnapshot of(Expense expense) {
+        return new TransactionSnapshot(expense.getDate(), expense.getAmount(), expense.getCategory(), expense.getCategoryId());
+    }
+
+    public static TransactionSnapshot of(Income income) {
+        return new TransactionSnapshot(income.getDate(), income.getAmount(), income.getCategory(), income.getCategoryId());
+    }
+
+    public static TransactionSnapshot of(LockedRow row) {
+        return new TransactionSnapshot(row.getDate(), row.getAmount(), row.getCategory(), row.getCategoryId());
+    }
+
+}
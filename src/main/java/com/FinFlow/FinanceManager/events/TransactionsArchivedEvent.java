@@ -0,0 +1,22 @@
+package com.FinFlow.FinanceManager.events;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+/**
+ * Published after one month of a user's rows was moved into the archive and replaced by
+ * monthly summaries.
+ * <p>
+ * Totals are unchanged, but archived rows are now dated on the first day of their month and
+ * no longer match ranges that start later in it, so listeners caching per-row data for the
+ * user must reload it.
+ * </p>
+ */
+@Value
+public class TransactionsArchivedEvent {
+
+    Long userId;
+    LocalDate month;
+
+}
@@ -0,0 +1,24 @@
+package com.FinFlow.FinanceManager.events;
+
+import java.util.List;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+import lombok.Value;
+
+/**
+ * Published after a batch insert added several of one user's rows of one kind, such as the
+ * occurrences written by the recurring transaction job.
+ * <p>
+ * Carries a snapshot of every new row so listeners can apply their contributions in one
+ * pass instead of handling one {@link TransactionChangedEvent} per row.
+ * </p>
+ */
+@Value
+public class TransactionsCreatedEvent {
+
+    TransactionKind kind;
+    Long userId;
+    List<TransactionSnapshot> created;
+
+}
@@ -0,0 +1,23 @@
+package com.FinFlow.FinanceManager.events;
+
+import java.util.List;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+import lombok.Value;
+
+/**
+ * Published after a bulk delete removed several of one user's rows of one kind.
+ * <p>
+ * Carries a snapshot of every deleted row so listeners can undo their contributions in one
+ * pass instead of handling one {@link TransactionChangedEvent} per row.
+ * </p>
+ */
+@Value
+public class TransactionsDeletedEvent {
+
+    TransactionKind kind;
+    Long userId;
+    List<TransactionSnapshot> deleted;
+
+}
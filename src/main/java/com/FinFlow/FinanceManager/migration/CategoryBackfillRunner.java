@@ -0,0 +1,63 @@
+package com.FinFlow.FinanceManager.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.UserCategory;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One-off data migration that links existing expense and income rows to the category table.
+ * <p>
+ * For every distinct (user, category name) pair that has no {@code category_id} yet, it resolves
+ * or creates the category and sets the id with a single bulk update. The migration only touches
+ * rows without an id, so it is idempotent and cheap once the backfill is complete.
+ * </p>
+ */
+@Component
+@Order(CategoryBackfillRunner.ORDER)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "finflow.migration.category-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class CategoryBackfillRunner implements ApplicationRunner {
+
+    /** Runs before the other application runners, which expect rows to carry their category id. */
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryBackfillRunner.class);
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final CategoryService categoryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int expenses = 0;
+        for (UserCategory pair : expenseRepository.findUncategorizedPairs()) {
+            Integer categoryId = categoryService.resolveId(pair.getUserId(), pair.getCategory());
+            if (categoryId != null) {
+                expenses += expenseRepository.assignCategoryId(pair.getUserId(), pair.getCategory(), categoryId);
+            }
+        }
+        int incomes = 0;
+        for (UserCategory pair : incomeRepository.findUncategorizedPairs()) {
+            Integer categoryId = categoryService.resolveId(pair.getUserId(), pair.getCategory());
+            if (categoryId != null) {
+                incomes += incomeRepository.assignCategoryId(pair.getUserId(), pair.getCategory(), categoryId);
+            }
+        }
+        if (expenses > 0 || incomes > 0) {
+            logger.info("Category backfill linked {} expense rows and {} income rows", expenses, incomes);
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.FinFlow.FinanceManager.migration;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Managed MySQL migration that range-partitions the expense and income tables by month on {@code date}.
+ * <p>
+ * On startup each table that is not yet partitioned is converted: foreign keys are dropped
+ * (InnoDB does not support them on partitioned tables), the primary key is widened to
+ * {@code (id, date)} as MySQL requires the partition column in every unique key, and the table is
+ * split into one partition for everything older than the archive horizon, one partition per
+ * month after that, and a catch-all {@code p_future}. A daily job splits new monthly partitions
+ * off {@code p_future} so queries on recent dates are pruned to a few partitions.
+ * </p>
+ * <p>
+ * Enabled with {@code finflow.partitioning.enabled=true}; MySQL only. The entities keep their
+ * {@code user_id} foreign keys, so unpartitioned deployments retain referential integrity; only
+ * this migration removes them, and only from the tables it partitions.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "finflow.partitioning.enabled", havingValue = "true")
+public class PartitionMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMigration.class);
+
+    private static final List<String> TABLES = List.of("expense", "income");
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int horizonMonths;
+    private final int monthsAhead;
+
+    public PartitionMigration(JdbcTemplate jdbcTemplate,
+                              @Value("${finflow.archive.horizon-months:24}") int horizonMonths,
+                              @Value("${finflow.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.horizonMonths = horizonMonths;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : TABLES) {
+            if (isPartitioned(table)) {
+                continue;
+            }
+            partition(table);
+        }
+        addFuturePartitions();
+    }
+
+    /**
+     * Splits upcoming monthly partitions off {@code p_future}; safe to run repeatedly.
+     */
+    @Scheduled(cron = "${finflow.partitioning.maintenance-cron:0 0 4 * * *}")
+    public void addFuturePartitions() {
+        LocalDate last = LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead);
+        for (String table : TABLES) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            List<String> existing = jdbcTemplate.queryForList(
+                    "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                    String.class, table);
+            for (LocalDate month = LocalDate.now().withDayOfMonth(1); !month.isAfter(last); month = month.plusMonths(1)) {
+                String name = month.format(PARTITION_NAME);
+                if (existing.contains(name)) {
+                    continue;
+                }
+                jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                        + monthPartition(month) + ", PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+                logger.info("Added partition {} to table {}", name, table);
+            }
+        }
+    }
+
+    private void partition(String table) {
+        Integer undated = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE date IS NULL", Integer.class);
+        if (undated != null && undated > 0) {
+            logger.error("Cannot partition table {}: {} rows have no date", table, undated);
+            return;
+        }
+        logger.info("Partitioning table {} by month", table);
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'",
+                String.class, table);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP FOREIGN KEY " + foreignKey);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY date DATE NOT NULL, DROP PRIMARY KEY, ADD PRIMARY KEY (id, date)");
+
+        LocalDate start = LocalDate.now().withDayOfMonth(1).minusMonths(horizonMonths);
+        LocalDate end = LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead);
+        StringBuilder ddl = new StringBuilder("ALTER TABLE ").append(table)
+                .append(" PARTITION BY RANGE COLUMNS(date) (PARTITION p_archive VALUES LESS THAN ('")
+                .append(start).append("')");
+        for (LocalDate month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            ddl.append(", ").append(monthPartition(month));
+        }
+        ddl.append(", PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+        jdbcTemplate.execute(ddl.toString());
+        logger.info("Table {} partitioned from {} to {}", table, start, end);
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer partitions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                Integer.class, table);
+        return partitions != null && partitions > 0;
+    }
+
+    private static String monthPartition(LocalDate month) {
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + month.plusMonths(1) + "')";
+    }
+
+}
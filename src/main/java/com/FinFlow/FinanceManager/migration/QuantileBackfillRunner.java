@@ -0,0 +1,133 @@
+package com.FinFlow.FinanceManager.migration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.repository.AmountCount;
+import com.FinFlow.FinanceManager.repository.AmountHistogramRepository;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.util.QuantileSketch;
+
+/**
+ * One-off data migration that builds the persisted quantile sketches from existing rows.
+ * <p>
+ * Users are rebuilt in id order, a page at a time, each page in its own transaction that
+ * replaces the page's buckets with grouped counts of its hot and archived rows. A rebuild is
+ * idempotent, so a migration interrupted by a restart resumes from the first user with rows
+ * but no sketch. That point is found while the context starts, before the web server accepts
+ * requests, so live writes cannot hide a user who still needs a sketch; afterwards the
+ * sketches are maintained incrementally on every write.
+ * </p>
+ * <p>
+ * Runs after {@link CategoryBackfillRunner}, so legacy rows are counted under their category
+ * rather than as uncategorized.
+ * </p>
+ */
+@Component
+@Order(CategoryBackfillRunner.ORDER + 1)
+@ConditionalOnProperty(name = "finflow.migration.quantile-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class QuantileBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuantileBackfillRunner.class);
+
+    private final UserRepository userRepository;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final AmountHistogramRepository histogramRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int usersPerPage;
+    private final Long resumeFromUserId;
+
+    public QuantileBackfillRunner(UserRepository userRepository,
+                                  ExpenseRepository expenseRepository,
+                                  IncomeRepository incomeRepository,
+                                  ArchivedTransactionRepository archivedTransactionRepository,
+                                  AmountHistogramRepository histogramRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${finflow.migration.quantile-backfill.users-per-page:500}") int usersPerPage) {
+        this.userRepository = userRepository;
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.histogramRepository = histogramRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.usersPerPage = Math.max(1, usersPerPage);
+        this.resumeFromUserId = histogramRepository.findFirstUserIdWithoutSketch();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (resumeFromUserId == null) {
+            return;
+        }
+        long fromId = resumeFromUserId;
+        int users = 0;
+        long buckets = 0;
+        while (true) {
+            List<Long> ids = userRepository.findIdsFrom(fromId, PageRequest.of(0, usersPerPage));
+            if (ids.isEmpty()) {
+                break;
+            }
+            long first = ids.get(0);
+            long last = ids.get(ids.size() - 1);
+            buckets += transactionTemplate.execute(status -> rebuild(first, last));
+            users += ids.size();
+            fromId = last + 1;
+        }
+        logger.info("Quantile backfill rebuilt {} sketch buckets for {} users from userId {}", buckets, users,
+                resumeFromUserId);
+    }
+
+    /**
+     * Replaces the sketches of the users in {@code [first, last]} by counts of their rows.
+     * Deleting first locks the users' buckets before the counts are read, so a concurrent write
+     * either commits before and is counted, or waits for this transaction and is added on top.
+     */
+    private int rebuild(long first, long last) {
+        histogramRepository.deleteByUserIdBetween(first, last);
+        Map<BucketKey, Long> counts = new HashMap<>();
+        addAll(counts, TransactionKind.EXPENSE, expenseRepository.countAmountsByUserIdBetween(first, last));
+        addAll(counts, TransactionKind.EXPENSE,
+                archivedTransactionRepository.countAmountsByKindAndUserIdBetween(TransactionKind.EXPENSE, first, last));
+        addAll(counts, TransactionKind.INCOME, incomeRepository.countAmountsByUserIdBetween(first, last));
+        addAll(counts, TransactionKind.INCOME,
+                archivedTransactionRepository.countAmountsByKindAndUserIdBetween(TransactionKind.INCOME, first, last));
+        counts.forEach((key, count) -> histogramRepository.upsert(key.getUserId(), key.getKind().name(),
+                key.getCategoryId(), key.getBucket(), count));
+        return counts.size();
+    }
+
+    private static void addAll(Map<BucketKey, Long> counts, TransactionKind kind, List<AmountCount> amounts) {
+        for (AmountCount amount : amounts) {
+            int categoryId = amount.getCategoryId() != null ? amount.getCategoryId() : 0;
+            BucketKey key = new BucketKey(amount.getUserId(), kind, categoryId, QuantileSketch.bucketOf(amount.getAmount()));
+            counts.merge(key, amount.getCount(), Long::sum);
+        }
+    }
+
+    @lombok.Value
+    private static class BucketKey {
+        Long userId;
+        TransactionKind kind;
+        int categoryId;
+        int bucket;
+    }
+
+}
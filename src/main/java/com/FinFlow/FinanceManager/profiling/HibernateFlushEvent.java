@@ -0,0 +1,26 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one Hibernate session flush, including dirty checking.
+ */
+@Name("finflow.HibernateFlush")
+@Label("Hibernate Flush")
+@Category({"FinFlow", "Persistence"})
+@Description("A session flush with the number of entities and collections it processed")
+@StackTrace(false)
+public class HibernateFlushEvent extends Event {
+
+    @Label("Entities")
+    int entities;
+
+    @Label("Collections")
+    int collections;
+
+}
@@ -0,0 +1,32 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one JDBC interaction of a Hibernate session: acquiring a connection,
+ * executing a statement or executing a batch. Reading the result set is not included.
+ */
+@Name("finflow.Jdbc")
+@Label("JDBC")
+@Category({"FinFlow", "Persistence"})
+@Description("Connection acquisition, statement or batch execution issued by Hibernate")
+@StackTrace(false)
+public class JdbcEvent extends Event {
+
+    static final String ACQUIRE = "acquire";
+    static final String EXECUTE = "execute";
+    static final String BATCH = "batch";
+
+    @Label("Phase")
+    String phase;
+
+    JdbcEvent(String phase) {
+        this.phase = phase;
+    }
+
+}
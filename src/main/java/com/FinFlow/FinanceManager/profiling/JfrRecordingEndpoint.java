@@ -0,0 +1,196 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Actuator endpoint for on-demand JFR recordings under real load.
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} starts a recording, optionally with {@code durationSeconds}
+ *     and {@code settings} ({@code default} or {@code profile}).</li>
+ *     <li>{@code GET /actuator/jfr} reports the state of the current recording.</li>
+ *     <li>{@code DELETE /actuator/jfr} stops the recording if it is still running and returns
+ *     the {@code .jfr} file, which is deleted once downloaded.</li>
+ * </ul>
+ * Only one recording runs at a time. Its duration is capped by
+ * {@code finflow.jfr.max-duration-seconds} and its size on disk by {@code finflow.jfr.max-bytes},
+ * so a forgotten recording stops by itself. Events that capture environment variables, system
+ * properties, JVM arguments and process command lines are disabled whatever the settings, since
+ * they hold the database password and other secrets.
+ * <p>
+ * The endpoint is not exposed by default; expose it only on a management port that is not
+ * reachable from the public API.
+ * </p>
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+            "jdk.JVMInformation", "jdk.SystemProcess");
+
+    private final long defaultDurationSeconds;
+    private final long maxDurationSeconds;
+    private final long maxBytes;
+
+    private Recording recording;
+    private Path file;
+
+    public JfrRecordingEndpoint(@Value("${finflow.jfr.default-duration-seconds:60}") long defaultDurationSeconds,
+                                @Value("${finflow.jfr.max-duration-seconds:300}") long maxDurationSeconds,
+                                @Value("${finflow.jfr.max-bytes:104857600}") long maxBytes) {
+        this.defaultDurationSeconds = defaultDurationSeconds;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxBytes = maxBytes;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("durationSeconds", recording.getDuration().getSeconds());
+        status.put("maxBytes", recording.getMaxSize());
+        return status;
+    }
+
+    /**
+     * Starts a recording, discarding a previous one that was never downloaded.
+     *
+     * @param durationSeconds how long to record, capped by the configured maximum
+     * @param settings the JFR configuration, {@code default} (about 1% overhead) or {@code profile}
+     * @return the recording status, 409 if a recording is running or 400 for unknown settings
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds,
+                                                                       @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), 409);
+        }
+        discard();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown JFR settings: " + settings),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        long seconds = Math.max(1, Math.min(durationSeconds != null ? durationSeconds : defaultDurationSeconds,
+                maxDurationSeconds));
+        try {
+            file = Files.createTempFile("finflow-", ".jfr");
+            recording = new Recording(configuration);
+            recording.setName("finflow-on-demand");
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.setToDisk(true);
+            recording.setMaxSize(maxBytes);
+            recording.setDuration(Duration.ofSeconds(seconds));
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException e) {
+            discard();
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Started JFR recording with {} settings for {} s", configuration.getName(), seconds);
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * Stops the recording and hands over its file.
+     *
+     * @return the {@code .jfr} file, or 404 if no recording was started
+     */
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+        recording = null;
+        logger.info("Stopped JFR recording, {} bytes", file.toFile().length());
+        Resource resource = new TemporaryFileResource(file);
+        file = null;
+        return new WebEndpointResponse<>(resource, WebEndpointResponse.STATUS_OK);
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            deleteQuietly(file);
+            file = null;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete JFR recording {}", path, e);
+        }
+    }
+
+    /**
+     * File resource that deletes the file once its content has been read.
+     */
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deleteQuietly(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Emits {@link JdbcEvent}s and {@link HibernateFlushEvent}s for a Hibernate session.
+ * <p>
+ * Registered through {@code hibernate.session.events.auto}, which creates one instance per
+ * session; sessions are confined to one thread, so the in-flight events need no locking.
+ * </p>
+ */
+public class JfrSessionEventListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient JdbcEvent acquire;
+    private transient JdbcEvent execute;
+    private transient JdbcEvent batch;
+    private transient HibernateFlushEvent flush;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquire = start(JdbcEvent.ACQUIRE);
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquire = commit(acquire);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        execute = start(JdbcEvent.EXECUTE);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        execute = commit(execute);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batch = start(JdbcEvent.BATCH);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        batch = commit(batch);
+    }
+
+    @Override
+    public void flushStart() {
+        flush = new HibernateFlushEvent();
+        flush.begin();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        if (flush != null) {
+            flush.entities = numberOfEntities;
+            flush.collections = numberOfCollections;
+            flush.commit();
+            flush = null;
+        }
+    }
+
+    private static JdbcEvent start(String phase) {
+        JdbcEvent event = new JdbcEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    private static JdbcEvent commit(JdbcEvent event) {
+        if (event != null) {
+            event.commit();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the JSON serialization of one response body.
+ */
+@Name("finflow.JsonWrite")
+@Label("JSON Write")
+@Category({"FinFlow", "Web"})
+@Description("Jackson serialization of a response body, written to the response stream")
+@StackTrace(false)
+public class JsonWriteEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+}
@@ -0,0 +1,30 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one bcrypt hash or verification.
+ */
+@Name("finflow.PasswordHash")
+@Label("Password Hash")
+@Category({"FinFlow", "Security"})
+@Description("A bcrypt encode or match")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    public static final String ENCODE = "encode";
+    public static final String MATCH = "match";
+
+    @Label("Operation")
+    String operation;
+
+    public PasswordHashEvent(String operation) {
+        this.operation = operation;
+    }
+
+}
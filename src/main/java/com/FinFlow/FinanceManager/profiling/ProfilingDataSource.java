@@ -0,0 +1,175 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source wrapper that times every statement execution and reports it, with its bind
+ * values and calling repository method, to {@link QueryStatistics}.
+ * <p>
+ * Connections and statements are wrapped in JDK proxies that only intercept the
+ * {@code execute*} methods and parameter setters; everything else, including
+ * {@code unwrap}, goes straight to the driver objects. Time spent reading result sets is not
+ * included. The statistics are resolved lazily so that wrapping the data source does not force
+ * the metrics infrastructure to initialize early.
+ * </p>
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final ObjectProvider<QueryStatistics> statisticsProvider;
+    private volatile QueryStatistics statistics;
+
+    public ProfilingDataSource(DataSource target, ObjectProvider<QueryStatistics> statisticsProvider) {
+        super(target);
+        this.statisticsProvider = statisticsProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private void record(String sql, long nanos, List<Object> binds) {
+        QueryStatistics current = statistics;
+        if (current == null) {
+            current = statisticsProvider.getIfAvailable();
+            if (current == null) {
+                return;
+            }
+            statistics = current;
+        }
+        current.record(sql, QueryContext.currentRepositoryMethod(), nanos, binds, obtainTargetDataSource());
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                    return wrap(PreparedStatement.class, (Statement) ProfilingDataSource.invoke(target, method, args), (String) args[0]);
+                case "prepareCall":
+                    return wrap(CallableStatement.class, (Statement) ProfilingDataSource.invoke(target, method, args), (String) args[0]);
+                case "createStatement":
+                    return wrap(Statement.class, (Statement) ProfilingDataSource.invoke(target, method, args), null);
+                default:
+                    return ProfilingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Object wrap(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<Object> binds = new ArrayList<>();
+        private String batchSql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text
+                        ? text
+                        : sql != null ? sql : batchSql;
+                long start = System.nanoTime();
+                try {
+                    return ProfilingDataSource.invoke(target, method, args);
+                } finally {
+                    if (executed != null) {
+                        record(executed, System.nanoTime() - start, binds);
+                    }
+                    if (name.endsWith("Batch")) {
+                        batchSql = null;
+                    }
+                }
+            }
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    binds.clear();
+                    break;
+                case "addBatch":
+                    if (args != null && args.length == 1 && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    break;
+                default:
+                    if (sql != null && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        bind(index, "setNull".equals(name) ? null : args[1]);
+                    }
+            }
+            return ProfilingDataSource.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            while (binds.size() < index) {
+                binds.add(null);
+            }
+            binds.set(index - 1, value);
+        }
+
+    }
+
+}
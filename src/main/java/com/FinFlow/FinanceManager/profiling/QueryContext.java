@@ -0,0 +1,36 @@
+package com.FinFlow.FinanceManager.profiling;
+
+/**
+ * Tracks which repository method the current thread is executing, so that JDBC statements
+ * can be attributed to it. Statements issued outside any repository call, such as inserts
+ * flushed at commit, are unattributed.
+ */
+public final class QueryContext {
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private QueryContext() {
+    }
+
+    /**
+     * @return the current repository method as {@code Repository.method}, or null
+     */
+    public static String currentRepositoryMethod() {
+        return REPOSITORY_METHOD.get();
+    }
+
+    static String enter(String repositoryMethod) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(repositoryMethod);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(previous);
+        }
+    }
+
+}
@@ -0,0 +1,353 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.FinFlow.FinanceManager.util.QuantileSketch;
+import com.FinFlow.FinanceManager.util.SqlNormalizer;
+import com.FinFlow.FinanceManager.util.TopN;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Per-statement JDBC latency statistics, fed by {@link ProfilingDataSource}.
+ * <p>
+ * Executions are grouped by normalized statement ({@link SqlNormalizer}); each group keeps a
+ * latency sketch, its slowest execution and its share per calling repository method, and
+ * publishes a {@code finflow.sql.statement} timer tagged with the statement id and repository
+ * method. The timers carry only counts, totals and maxima: with up to {@code maxStatements}
+ * times {@value #MAX_CALLERS} of them, a percentile histogram each would multiply the series
+ * by its bucket count, and the sketch already gives percentiles through
+ * {@link SlowQueryEndpoint}. At most {@code maxStatements} groups are tracked; further
+ * statements are counted under {@value #OTHER}.
+ * </p>
+ * <p>
+ * Executions slower than the threshold are logged with the types of their bind values, or the
+ * values themselves if {@code logBinds} is set, and the fingerprint of their query plan. Plans
+ * come from an {@code EXPLAIN} run on a single background thread, at most once per statement
+ * per explain interval, so a burst of slow queries cannot add load to a struggling database.
+ * Every statement is logged at DEBUG level.
+ * </p>
+ */
+public class QueryStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatistics.class);
+
+    /** Statement group for executions beyond the tracked maximum. */
+    static final String OTHER = "(other)";
+
+    /** Caller recorded for statements issued outside any repository method. */
+    static final String UNATTRIBUTED = "-";
+
+    /** Repository methods tracked per statement; executions from further callers are not broken down. */
+    private static final int MAX_CALLERS = 32;
+
+    private static final Set<String> PLAN_COLUMNS = Set.of("select_type", "table", "type", "key", "extra", "plan");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final int maxStatements;
+    private final long explainIntervalNanos;
+    private final boolean logBinds;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalizedBySql = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public QueryStatistics(MeterRegistry meterRegistry, long slowThresholdMs, int maxStatements,
+                           long explainIntervalMs, boolean logBinds) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxStatements = maxStatements;
+        this.explainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(explainIntervalMs);
+        this.logBinds = logBinds;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "sql-explain");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records one statement execution.
+     *
+     * @param sql the SQL as sent to the driver
+     * @param repositoryMethod the calling repository method, or null
+     * @param nanos the execution time
+     * @param binds the bind values by parameter index minus one; read only during this call
+     * @param explainSource the unwrapped data source to run {@code EXPLAIN} on
+     */
+    public void record(String sql, String repositoryMethod, long nanos, List<Object> binds, DataSource explainSource) {
+        StatementStats stats = statsFor(sql);
+        String caller = repositoryMethod != null ? repositoryMethod : UNATTRIBUTED;
+        boolean slow = nanos >= slowThresholdNanos;
+        stats.record(caller, nanos, slow);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("SQL {} us [{}] caller={} binds={} {}",
+                    TimeUnit.NANOSECONDS.toMicros(nanos), stats.id, caller, describe(binds), stats.sql);
+        }
+        if (slow) {
+            onSlow(stats, sql, caller, nanos, new ArrayList<>(binds), explainSource);
+        }
+    }
+
+    /**
+     * @param limit the number of statements to return
+     * @param order the ranking, e.g. by total time
+     * @return the highest ranked statements, highest first
+     */
+    public List<StatementSummary> top(int limit, Comparator<StatementSummary> order) {
+        TopN<StatementSummary> top = new TopN<>(limit, order);
+        for (StatementStats stats : statements.values()) {
+            top.offer(stats.summary());
+        }
+        return top.toList();
+    }
+
+    /**
+     * Forgets all statistics collected so far.
+     */
+    public void reset() {
+        statements.clear();
+        normalizedBySql.clear();
+    }
+
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private StatementStats statsFor(String sql) {
+        String normalized = normalizedBySql.get(sql);
+        if (normalized == null) {
+            normalized = SqlNormalizer.normalize(sql);
+            // Raw texts vary with IN list lengths, so the cache is bounded like the statements.
+            if (normalizedBySql.size() < maxStatements * 4) {
+                normalizedBySql.put(sql, normalized);
+            }
+        }
+        StatementStats stats = statements.get(normalized);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statements.size() < maxStatements ? normalized : OTHER;
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    private void onSlow(StatementStats stats, String sql, String caller, long nanos, List<Object> binds,
+                        DataSource explainSource) {
+        long now = System.nanoTime();
+        String plan = stats.planIfFresh(now);
+        String statement = OTHER.equals(stats.sql) ? SqlNormalizer.normalize(sql) : stats.sql;
+        if (plan != null || explainSource == null || !explainable(sql, binds) || !stats.claimExplain(now)) {
+            logSlow(stats.id, statement, caller, nanos, binds, plan);
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> {
+                String fingerprint = explain(explainSource, sql, binds);
+                String previous = stats.setPlan(fingerprint, System.nanoTime());
+                if (previous != null && fingerprint != null && !previous.equals(fingerprint)) {
+                    logger.warn("Query plan of statement {} changed from {} to {}", stats.id, previous, fingerprint);
+                }
+                logSlow(stats.id, statement, caller, nanos, binds, fingerprint);
+            });
+        } catch (RejectedExecutionException e) {
+            logSlow(stats.id, statement, caller, nanos, binds, null);
+        }
+    }
+
+    private void logSlow(String id, String statement, String caller, long nanos, List<Object> binds, String plan) {
+        logger.warn("Slow SQL {} ms [{}] plan={} caller={} binds={} {}",
+                TimeUnit.NANOSECONDS.toMillis(nanos), id, plan != null ? plan : "n/a", caller,
+                describe(binds), statement);
+    }
+
+    private static boolean explainable(String sql, List<Object> binds) {
+        String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (!verb.startsWith("select") && !verb.startsWith("update") && !verb.startsWith("delete")) {
+            return false;
+        }
+        return binds.stream().noneMatch(bind -> bind instanceof InputStream || bind instanceof Reader);
+    }
+
+    /**
+     * Runs {@code EXPLAIN} with the original binds and fingerprints the access path: the
+     * select type, table, access type, index and extra columns, ignoring row estimates. For
+     * databases that return the plan as text, the whole text is used.
+     */
+    private String explain(DataSource dataSource, String sql, List<Object> binds) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < binds.size(); i++) {
+                statement.setObject(i + 1, binds.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                while (rows.next()) {
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        if (PLAN_COLUMNS.contains(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT))) {
+                            plan.append(rows.getString(column)).append('|');
+                        }
+                    }
+                    plan.append('\n');
+                }
+            }
+            return SqlNormalizer.fingerprint(plan.toString());
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("Could not explain statement: {}", sql, e);
+            return null;
+        }
+    }
+
+    private String describe(List<Object> binds) {
+        List<String> values = new ArrayList<>(binds.size());
+        for (Object bind : binds) {
+            if (!logBinds) {
+                values.add(bind == null ? "null" : bind.getClass().getSimpleName());
+            } else if (bind instanceof byte[] bytes) {
+                values.add("<" + bytes.length + " bytes>");
+            } else if (bind instanceof InputStream || bind instanceof Reader) {
+                values.add("<stream>");
+            } else {
+                values.add(String.valueOf(bind));
+            }
+        }
+        return values.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Statistics of one normalized statement. Executions update it under its own lock.
+     */
+    private class StatementStats {
+
+        final String sql;
+        final String id;
+        private final QuantileSketch micros = new QuantileSketch();
+        private final Map<String, Caller> callers = new LinkedHashMap<>();
+        private long count;
+        private long slowCount;
+        private long totalNanos;
+        private long maxNanos;
+        private String plan;
+        private long planCheckedAt;
+        private boolean planChecked;
+
+        StatementStats(String sql) {
+            this.sql = sql;
+            this.id = OTHER.equals(sql) ? OTHER : SqlNormalizer.fingerprint(sql).substring(0, 12);
+        }
+
+        void record(String caller, long nanos, boolean slow) {
+            Caller stats;
+            synchronized (this) {
+                count++;
+                totalNanos += nanos;
+                maxNanos = Math.max(maxNanos, nanos);
+                if (slow) {
+                    slowCount++;
+                }
+                micros.add(QuantileSketch.bucketOf((int) Math.min(Integer.MAX_VALUE, nanos / 1000)), 1);
+                stats = callers.get(caller);
+                if (stats == null && callers.size() < MAX_CALLERS) {
+                    stats = new Caller(Timer.builder("finflow.sql.statement")
+                            .description("JDBC statement execution time")
+                            .tag("statement", id)
+                            .tag("repository", caller)
+                            .register(meterRegistry));
+                    callers.put(caller, stats);
+                }
+                if (stats != null) {
+                    stats.count++;
+                    stats.totalNanos += nanos;
+                }
+            }
+            if (stats != null) {
+                stats.timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        synchronized String planIfFresh(long now) {
+            return planChecked && now - planCheckedAt < explainIntervalNanos ? plan : null;
+        }
+
+        /**
+         * Reserves the next explain for the caller, so each statement is explained at most
+         * once per interval.
+         */
+        synchronized boolean claimExplain(long now) {
+            if (planChecked && now - planCheckedAt < explainIntervalNanos) {
+                return false;
+            }
+            planChecked = true;
+            planCheckedAt = now;
+            return true;
+        }
+
+        synchronized String setPlan(String fingerprint, long now) {
+            String previous = plan;
+            if (fingerprint != null) {
+                plan = fingerprint;
+            }
+            planCheckedAt = now;
+            return previous;
+        }
+
+        synchronized StatementSummary summary() {
+            Map<String, StatementSummary.CallerSummary> callerSummaries = new LinkedHashMap<>();
+            callers.forEach((caller, stats) ->
+                    callerSummaries.put(caller, new StatementSummary.CallerSummary(stats.count, millis(stats.totalNanos))));
+            return new StatementSummary(id, sql, count, slowCount, millis(totalNanos),
+                    count > 0 ? millis(totalNanos / count) : 0,
+                    quantileMillis(0.5), quantileMillis(0.95), quantileMillis(0.99),
+                    millis(maxNanos), plan, callerSummaries);
+        }
+
+        private Double quantileMillis(double quantile) {
+            Long value = micros.quantile(quantile);
+            return value != null ? value / 1000.0 : null;
+        }
+
+    }
+
+    private static class Caller {
+
+        final Timer timer;
+        long count;
+        long totalNanos;
+
+        Caller(Timer timer) {
+            this.timer = timer;
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Repository proxy advice that publishes the invoked method to {@link QueryContext} for the
+ * duration of the call. Nested repository calls take precedence until they return.
+ */
+public class RepositoryMethodInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryMethodInterceptor(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = QueryContext.enter(repository + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            QueryContext.exit(previous);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import java.security.SecureRandom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one service method call.
+ * <p>
+ * The JDBC, flush, JSON and password hashing events recorded on the same thread inside its
+ * span show where the call spent its time; what remains is mostly entity hydration and
+ * in-memory work. Users are identified by a salted hash that is stable within one JVM only,
+ * so recordings can be shared without exposing user IDs.
+ * </p>
+ */
+@Name("finflow.ServiceCall")
+@Label("Service Call")
+@Category({"FinFlow", "Service"})
+@Description("A service method call with the user and the number of rows it touched")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    private static final long SALT = new SecureRandom().nextLong();
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Hash")
+    @Description("Salted hash of the user ID, stable within one JVM")
+    long userHash;
+
+    @Label("Rows")
+    @Description("Transactions returned, aggregated or written; -1 if unknown")
+    long rows = -1;
+
+    /**
+     * Starts timing a service call. Fields are only filled in while a recording has the
+     * event enabled, so the call costs next to nothing otherwise.
+     *
+     * @param operation the service method, e.g. {@code StatsService.getStats}
+     * @param userId the ID of the user the call is for, may be null
+     * @return the started event; {@link #commit()} it in a finally block
+     */
+    public static ServiceCallEvent begin(String operation, Long userId) {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.userHash = hash(userId);
+        }
+        event.begin();
+        return event;
+    }
+
+    public void setUserId(Long userId) {
+        userHash = hash(userId);
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    private static long hash(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        long h = userId ^ SALT;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint listing the most expensive SQL statements.
+ * <ul>
+ *     <li>{@code GET /actuator/slowqueries?limit=20&sort=total} returns the top statements with
+ *     their latency percentiles, plan fingerprint and time per calling repository method.
+ *     {@code sort} is one of {@code total}, {@code mean}, {@code max}, {@code p99} or
+ *     {@code count}.</li>
+ *     <li>{@code DELETE /actuator/slowqueries} resets the statistics, e.g. before a load test.</li>
+ * </ul>
+ * The endpoint is not exposed by default; statement texts, plans and the reset operation belong
+ * on a management port that is not reachable from the public API.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 500;
+
+    private static final Map<String, Comparator<StatementSummary>> ORDERS = Map.of(
+            "total", Comparator.comparingDouble(StatementSummary::getTotalMs),
+            "mean", Comparator.comparingDouble(StatementSummary::getMeanMs),
+            "max", Comparator.comparingDouble(StatementSummary::getMaxMs),
+            "p99", Comparator.comparing(StatementSummary::getP99Ms, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "count", Comparator.comparingLong(StatementSummary::getCount));
+
+    private final QueryStatistics statistics;
+
+    public SlowQueryEndpoint(QueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public List<StatementSummary> top(@Nullable Integer limit, @Nullable String sort) {
+        Comparator<StatementSummary> order = ORDERS.get(sort != null ? sort : "total");
+        if (order == null) {
+            throw new InvalidEndpointRequestException("Unknown sort: " + sort, "sort must be one of " + ORDERS.keySet());
+        }
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new InvalidEndpointRequestException("Invalid limit: " + limit, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return statistics.top(size, order);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.FinFlow.FinanceManager.profiling;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Latency summary of one normalized statement, as reported by the {@code slowqueries}
+ * actuator endpoint. Times are in milliseconds; percentiles carry about 1% relative error.
+ */
+@Value
+public class StatementSummary {
+
+    String id;
+    String sql;
+    long count;
+    long slowCount;
+    double totalMs;
+    double meanMs;
+    Double p50Ms;
+    Double p95Ms;
+    Double p99Ms;
+    double maxMs;
+    String planFingerprint;
+    Map<String, CallerSummary> callers;
+
+    /**
+     * Share of the statement's executions issued by one repository method.
+     */
+    @Value
+    public static class CallerSummary {
+        long count;
+        double totalMs;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of how many rows of a user and category share one amount.
+ */
+public interface AmountCount {
+
+    Long getUserId();
+
+    Integer getCategoryId();
+
+    Integer getAmount();
+
+    Long getCount();
+
+}
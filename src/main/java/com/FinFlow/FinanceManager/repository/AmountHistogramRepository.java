@@ -0,0 +1,50 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.FinFlow.FinanceManager.entity.AmountHistogramBucket;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+@Repository
+public interface AmountHistogramRepository extends JpaRepository<AmountHistogramBucket, Long> {
+
+    List<AmountHistogramBucket> findByUserIdAndKind(Long userId, TransactionKind kind);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AmountHistogramBucket b SET b.count = b.count + :delta "
+            + "WHERE b.user.id = :userId AND b.kind = :kind AND b.categoryId = :categoryId AND b.bucket = :bucket")
+    int increment(Long userId, TransactionKind kind, Integer categoryId, Integer bucket, long delta);
+
+    /**
+     * Finds the lowest id of a user who has transactions with an amount but no sketch bucket at
+     * all, which is where an unfinished backfill has to resume.
+     */
+    @Query("SELECT MIN(u.id) FROM User u WHERE NOT EXISTS (SELECT b.id FROM AmountHistogramBucket b WHERE b.user = u) "
+            + "AND (EXISTS (SELECT e.id FROM Expense e WHERE e.user = u AND e.amount IS NOT NULL) "
+            + "OR EXISTS (SELECT i.id FROM Income i WHERE i.user = u AND i.amount IS NOT NULL) "
+            + "OR EXISTS (SELECT a.id FROM ArchivedTransaction a WHERE a.user = u AND a.amount IS NOT NULL))")
+    Long findFirstUserIdWithoutSketch();
+
+    @Modifying
+    @Query("DELETE FROM AmountHistogramBucket b WHERE b.user.id BETWEEN :firstUserId AND :lastUserId")
+    int deleteByUserIdBetween(Long firstUserId, Long lastUserId);
+
+    /**
+     * Adds to a bucket count, creating the bucket row if it does not exist. A concurrent first
+     * write to the same bucket is merged by the unique key instead of failing.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO amount_histogram (user_id, kind, category_id, bucket, row_count) "
+            + "VALUES (:userId, :kind, :categoryId, :bucket, :delta) "
+            + "ON DUPLICATE KEY UPDATE row_count = row_count + :delta", nativeQuery = true)
+    int upsert(Long userId, String kind, Integer categoryId, Integer bucket, long delta);
+
+}
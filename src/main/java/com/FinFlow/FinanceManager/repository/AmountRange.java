@@ -0,0 +1,13 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of the smallest and largest amount of a user's rows.
+ * Both values are null when the user has no rows.
+ */
+public interface AmountRange {
+
+    Integer getMin();
+
+    Integer getMax();
+
+}
@@ -0,0 +1,54 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.FinFlow.FinanceManager.entity.ArchivedTransaction;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    @Modifying
+    @Query("INSERT INTO ArchivedTransaction (sourceId, kind, user, title, description, category, categoryId, date, amount) "
+            + "SELECT e.id, com.FinFlow.FinanceManager.entity.TransactionKind.EXPENSE, e.user, e.title, e.description, "
+            + "e.category, e.categoryId, e.date, e.amount FROM Expense e WHERE e.date >= :from AND e.date < :to")
+    int copyExpenses(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedTransaction (sourceId, kind, user, title, description, category, categoryId, date, amount) "
+            + "SELECT i.id, com.FinFlow.FinanceManager.entity.TransactionKind.INCOME, i.user, i.title, i.description, "
+            + "i.category, i.categoryId, i.date, i.amount FROM Income i WHERE i.date >= :from AND i.date < :to")
+    int copyIncomes(LocalDate from, LocalDate to);
+
+    @Query("SELECT a.user.id AS userId, a.categoryId AS categoryId, a.amount AS amount, COUNT(a) AS count "
+            + "FROM ArchivedTransaction a WHERE a.kind = :kind AND a.user.id BETWEEN :firstUserId AND :lastUserId "
+            + "AND a.amount IS NOT NULL GROUP BY a.user.id, a.categoryId, a.amount")
+    List<AmountCount> countAmountsByKindAndUserIdBetween(TransactionKind kind, Long firstUserId, Long lastUserId);
+
+    @Query("SELECT a FROM ArchivedTransaction a WHERE a.user.id = :userId AND a.kind = :kind "
+            + "AND a.date >= :from AND a.date <= :to AND a.amount IS NOT NULL ORDER BY a.amount DESC")
+    List<ArchivedTransaction> findLargestByUserIdAndKindAndDateBetween(Long userId, TransactionKind kind,
+                                                                       LocalDate from, LocalDate to, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.sourceId AS id, a.date AS date, a.title AS title, a.description AS description, "
+            + "a.category AS category, a.amount AS amount FROM ArchivedTransaction a "
+            + "WHERE a.user.id = :userId AND a.kind = :kind ORDER BY a.date")
+    Stream<ExportRow> streamExportRowsByUserIdAndKind(Long userId, TransactionKind kind);
+
+}
@@ -0,0 +1,18 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.FinFlow.FinanceManager.entity.Category;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    List<Category> findByUserId(Long userId);
+
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+
+}
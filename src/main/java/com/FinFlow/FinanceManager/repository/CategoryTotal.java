@@ -0,0 +1,14 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of the row count and amount total of one category.
+ */
+public interface CategoryTotal {
+
+    Integer getCategoryId();
+
+    Long getCount();
+
+    Long getTotal();
+
+}
@@ -3,11 +3,22 @@ package com.FinFlow.FinanceManager.repository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.FinFlow.FinanceManager.entity.Expense;
 
@@ -16,13 +27,94 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     List<Expense> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId")
-    Double sumAllAmountsByUserId(Long userId);
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.date >= :from AND e.date <= :to "
+            + "AND e.amount IS NOT NULL ORDER BY e.amount DESC")
+    List<Expense> findLargestByUserIdAndDateBetween(Long userId, LocalDate from, LocalDate to, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId")
+    long sumAllAmountsByUserId(Long userId);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.date <= :date")
+    long sumAmountsByUserIdUpTo(Long userId, LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.date = :date")
+    long sumAmountsByUserIdAndDate(Long userId, LocalDate date);
+
+    @Query("SELECT MIN(e.amount) AS min, MAX(e.amount) AS max FROM Expense e WHERE e.user.id = :userId")
+    AmountRange findAmountRangeByUserId(Long userId);
 
     Optional<Expense> findFirstByUserIdOrderByDateDesc(Long userId);
 
     List<Expense> findByUserId(Long userId);
 
+    List<TransactionRow> findRowsByUserId(Long userId);
+
+    @Query("SELECT DISTINCT e.user.id AS userId, e.category AS category FROM Expense e WHERE e.categoryId IS NULL AND e.category IS NOT NULL")
+    List<UserCategory> findUncategorizedPairs();
+
+    @Query("SELECT e.user.id AS userId, e.categoryId AS categoryId, e.amount AS amount, COUNT(e) AS count "
+            + "FROM Expense e WHERE e.user.id BETWEEN :firstUserId AND :lastUserId AND e.amount IS NOT NULL "
+            + "GROUP BY e.user.id, e.categoryId, e.amount")
+    List<AmountCount> countAmountsByUserIdBetween(Long firstUserId, Long lastUserId);
+
+    @Query("SELECT e.categoryId AS categoryId, COUNT(e) AS count, COALESCE(SUM(e.amount), 0) AS total FROM Expense e "
+            + "WHERE e.user.id = :userId AND e.date >= :from AND e.date <= :to GROUP BY e.categoryId")
+    List<CategoryTotal> sumByCategory(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Expense e SET e.categoryId = :categoryId WHERE e.user.id = :userId AND e.category = :category AND e.categoryId IS NULL")
+    int assignCategoryId(Long userId, String category, Integer categoryId);
+
+    @Query("SELECT DISTINCT YEAR(e.date) * 12 + MONTH(e.date) - 1 FROM Expense e WHERE e.date < :to")
+    List<Integer> findPeriodIndexesDatedBefore(LocalDate to);
+
+    @Query("SELECT DISTINCT e.user.id FROM Expense e WHERE e.date >= :from AND e.date < :to")
+    List<Long> findUserIdsDatedBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.date >= :from AND e.date < :to")
+    int deleteAllDatedBetween(LocalDate from, LocalDate to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id AS id, e.user.id AS userId, e.date AS date, e.amount AS amount, e.category AS category, e.categoryId AS categoryId "
+            + "FROM Expense e WHERE e.id = :id AND (:userId IS NULL OR e.user.id = :userId)")
+    Optional<LockedRow> lockRowById(Long id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id AS id, e.user.id AS userId, e.date AS date, e.amount AS amount, e.category AS category, e.categoryId AS categoryId "
+            + "FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    List<LockedRow> lockRowsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id AS id, e.user.id AS userId, e.date AS date, e.amount AS amount, e.category AS category, e.categoryId AS categoryId "
+            + "FROM Expense e WHERE e.user.id = :userId AND e.date >= :from AND e.date <= :to AND e.id > :afterId ORDER BY e.id")
+    List<LockedRow> lockRowsByUserIdAndDateBetween(Long userId, LocalDate from, LocalDate to, Long afterId, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.id = :id")
+    int deleteRowById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    int deleteRowsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @Query("SELECT e.user.id AS userId, COALESCE(SUM(e.amount), 0) AS total FROM Expense e "
+            + "WHERE e.user.id >= :firstUserId AND e.user.id <= :lastUserId AND e.date < :before GROUP BY e.user.id")
+    List<UserTotal> sumByUserIdBetweenBefore(Long firstUserId, Long lastUserId, LocalDate before);
+
+    @Query("SELECT e.user.id AS userId, e.categoryId AS categoryId, COUNT(e) AS count, COALESCE(SUM(e.amount), 0) AS total "
+            + "FROM Expense e WHERE e.user.id >= :firstUserId AND e.user.id <= :lastUserId "
+            + "AND e.date >= :from AND e.date < :to GROUP BY e.user.id, e.categoryId")
+    List<UserCategoryTotal> sumByUserIdBetweenAndCategory(Long firstUserId, Long lastUserId, LocalDate from, LocalDate to);
 
+    // Fetch size only streams on MySQL with useCursorFetch=true on the connection URL.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id AS id, e.date AS date, e.title AS title, e.description AS description, "
+            + "e.category AS category, e.amount AS amount FROM Expense e WHERE e.user.id = :userId ORDER BY e.date")
+    Stream<ExportRow> streamExportRowsByUserId(Long userId);
 
 }
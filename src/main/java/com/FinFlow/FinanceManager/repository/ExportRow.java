@@ -0,0 +1,23 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection streamed by exports. Rows are plain tuples rather than managed entities, so the
+ * persistence context does not grow with the number of rows read.
+ */
+public interface ExportRow {
+
+    Long getId();
+
+    LocalDate getDate();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getCategory();
+
+    Integer getAmount();
+
+}
@@ -1,10 +1,21 @@
 package com.FinFlow.FinanceManager.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
 import com.FinFlow.FinanceManager.entity.Income;
@@ -16,11 +27,94 @@ public interface IncomeRepository extends JpaRepository<Income, Long>{
 
     List<Income> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
-    @Query("SELECT SUM(i.amount) FROM Income i WHERE i.user.id = :userId")
-    Double sumAllAmountsByUserId(Long userId);
+    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND i.date >= :from AND i.date <= :to "
+            + "AND i.amount IS NOT NULL ORDER BY i.amount DESC")
+    List<Income> findLargestByUserIdAndDateBetween(Long userId, LocalDate from, LocalDate to, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Income i WHERE i.user.id = :userId")
+    long sumAllAmountsByUserId(Long userId);
+
+    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Income i WHERE i.user.id = :userId AND i.date <= :date")
+    long sumAmountsByUserIdUpTo(Long userId, LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Income i WHERE i.user.id = :userId AND i.date = :date")
+    long sumAmountsByUserIdAndDate(Long userId, LocalDate date);
+
+    @Query("SELECT MIN(i.amount) AS min, MAX(i.amount) AS max FROM Income i WHERE i.user.id = :userId")
+    AmountRange findAmountRangeByUserId(Long userId);
 
     Optional<Income> findFirstByUserIdOrderByDateDesc(Long userId);
 
     List<Income> findByUserId(Long userId);
 
+    List<TransactionRow> findRowsByUserId(Long userId);
+
+    @Query("SELECT DISTINCT i.user.id AS userId, i.category AS category FROM Income i WHERE i.categoryId IS NULL AND i.category IS NOT NULL")
+    List<UserCategory> findUncategorizedPairs();
+
+    @Query("SELECT i.user.id AS userId, i.categoryId AS categoryId, i.amount AS amount, COUNT(i) AS count "
+            + "FROM Income i WHERE i.user.id BETWEEN :firstUserId AND :lastUserId AND i.amount IS NOT NULL "
+            + "GROUP BY i.user.id, i.categoryId, i.amount")
+    List<AmountCount> countAmountsByUserIdBetween(Long firstUserId, Long lastUserId);
+
+    @Query("SELECT i.categoryId AS categoryId, COUNT(i) AS count, COALESCE(SUM(i.amount), 0) AS total FROM Income i "
+            + "WHERE i.user.id = :userId AND i.date >= :from AND i.date <= :to GROUP BY i.categoryId")
+    List<CategoryTotal> sumByCategory(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Income i SET i.categoryId = :categoryId WHERE i.user.id = :userId AND i.category = :category AND i.categoryId IS NULL")
+    int assignCategoryId(Long userId, String category, Integer categoryId);
+
+    @Query("SELECT DISTINCT YEAR(i.date) * 12 + MONTH(i.date) - 1 FROM Income i WHERE i.date < :to")
+    List<Integer> findPeriodIndexesDatedBefore(LocalDate to);
+
+    @Query("SELECT DISTINCT i.user.id FROM Income i WHERE i.date >= :from AND i.date < :to")
+    List<Long> findUserIdsDatedBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM Income i WHERE i.date >= :from AND i.date < :to")
+    int deleteAllDatedBetween(LocalDate from, LocalDate to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id AS id, i.user.id AS userId, i.date AS date, i.amount AS amount, i.category AS category, i.categoryId AS categoryId "
+            + "FROM Income i WHERE i.id = :id AND (:userId IS NULL OR i.user.id = :userId)")
+    Optional<LockedRow> lockRowById(Long id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id AS id, i.user.id AS userId, i.date AS date, i.amount AS amount, i.category AS category, i.categoryId AS categoryId "
+            + "FROM Income i WHERE i.user.id = :userId AND i.id IN :ids")
+    List<LockedRow> lockRowsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id AS id, i.user.id AS userId, i.date AS date, i.amount AS amount, i.category AS category, i.categoryId AS categoryId "
+            + "FROM Income i WHERE i.user.id = :userId AND i.date >= :from AND i.date <= :to AND i.id > :afterId ORDER BY i.id")
+    List<LockedRow> lockRowsByUserIdAndDateBetween(Long userId, LocalDate from, LocalDate to, Long afterId, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM Income i WHERE i.id = :id")
+    int deleteRowById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM Income i WHERE i.user.id = :userId AND i.id IN :ids")
+    int deleteRowsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @Query("SELECT i.user.id AS userId, COALESCE(SUM(i.amount), 0) AS total FROM Income i "
+            + "WHERE i.user.id >= :firstUserId AND i.user.id <= :lastUserId AND i.date < :before GROUP BY i.user.id")
+    List<UserTotal> sumByUserIdBetweenBefore(Long firstUserId, Long lastUserId, LocalDate before);
+
+    @Query("SELECT i.user.id AS userId, i.categoryId AS categoryId, COUNT(i) AS count, COALESCE(SUM(i.amount), 0) AS total "
+            + "FROM Income i WHERE i.user.id >= :firstUserId AND i.user.id <= :lastUserId "
+            + "AND i.date >= :from AND i.date < :to GROUP BY i.user.id, i.categoryId")
+    List<UserCategoryTotal> sumByUserIdBetweenAndCategory(Long firstUserId, Long lastUserId, LocalDate from, LocalDate to);
+
+    // Fetch size only streams on MySQL with useCursorFetch=true on the connection URL.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.id AS id, i.date AS date, i.title AS title, i.description AS description, "
+            + "i.category AS category, i.amount AS amount FROM Income i WHERE i.user.id = :userId ORDER BY i.date")
+    Stream<ExportRow> streamExportRowsByUserId(Long userId);
+
 }
@@ -0,0 +1,16 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of a transaction read under a write lock before it is changed or deleted: its key
+ * plus the fields listeners need to undo its contribution, without hydrating the entity or its
+ * user.
+ */
+public interface LockedRow extends TransactionRow {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getCategory();
+
+}
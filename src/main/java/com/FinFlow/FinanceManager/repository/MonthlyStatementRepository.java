@@ -0,0 +1,22 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.FinFlow.FinanceManager.entity.MonthlyStatement;
+
+@Repository
+public interface MonthlyStatementRepository extends JpaRepository<MonthlyStatement, Long> {
+
+    List<MonthlyStatement> findByUserIdOrderByStatementMonthDesc(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyStatement s WHERE s.statementMonth = :month AND s.user.id >= :firstUserId AND s.user.id <= :lastUserId")
+    int deleteByMonthAndUserIdBetween(LocalDate month, Long firstUserId, Long lastUserId);
+
+}
@@ -0,0 +1,53 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+
+    List<MonthlySummary> findByUserId(Long userId);
+
+    @Query("SELECT COALESCE(SUM(s.total), 0) FROM MonthlySummary s WHERE s.user.id = :userId AND s.kind = :kind")
+    long sumTotalByUserIdAndKind(Long userId, TransactionKind kind);
+
+    @Query("SELECT COALESCE(SUM(s.total), 0) FROM MonthlySummary s "
+            + "WHERE s.user.id = :userId AND s.kind = :kind AND s.periodIndex <= :periodIndex")
+    long sumTotalByUserIdAndKindUpTo(Long userId, TransactionKind kind, int periodIndex);
+
+    @Query("SELECT MIN(s.minAmount) AS min, MAX(s.maxAmount) AS max FROM MonthlySummary s WHERE s.user.id = :userId AND s.kind = :kind")
+    AmountRange findAmountRangeByUserIdAndKind(Long userId, TransactionKind kind);
+
+    @Query("SELECT s.categoryId AS categoryId, COALESCE(SUM(s.rowCount), 0) AS count, COALESCE(SUM(s.total), 0) AS total "
+            + "FROM MonthlySummary s WHERE s.user.id = :userId AND s.kind = :kind "
+            + "AND s.periodIndex >= :fromPeriod AND s.periodIndex <= :toPeriod GROUP BY s.categoryId")
+    List<CategoryTotal> sumByCategory(Long userId, TransactionKind kind, int fromPeriod, int toPeriod);
+
+    @Query("SELECT s.user.id AS userId, COALESCE(SUM(CASE WHEN s.kind = com.FinFlow.FinanceManager.entity.TransactionKind.INCOME "
+            + "THEN s.total ELSE -s.total END), 0) AS total FROM MonthlySummary s "
+            + "WHERE s.user.id >= :firstUserId AND s.user.id <= :lastUserId AND s.periodIndex < :periodIndex GROUP BY s.user.id")
+    List<UserTotal> sumNetByUserIdBetweenBefore(Long firstUserId, Long lastUserId, int periodIndex);
+
+    @Modifying
+    @Query("INSERT INTO MonthlySummary (user, kind, periodIndex, categoryId, rowCount, total, minAmount, maxAmount) "
+            + "SELECT e.user, com.FinFlow.FinanceManager.entity.TransactionKind.EXPENSE, :periodIndex, e.categoryId, "
+            + "COUNT(e), SUM(e.amount), MIN(e.amount), MAX(e.amount) "
+            + "FROM Expense e WHERE e.date >= :from AND e.date < :to GROUP BY e.user, e.categoryId")
+    int summarizeExpenses(Integer periodIndex, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("INSERT INTO MonthlySummary (user, kind, periodIndex, categoryId, rowCount, total, minAmount, maxAmount) "
+            + "SELECT i.user, com.FinFlow.FinanceManager.entity.TransactionKind.INCOME, :periodIndex, i.categoryId, "
+            + "COUNT(i), SUM(i.amount), MIN(i.amount), MAX(i.amount) "
+            + "FROM Income i WHERE i.date >= :from AND i.date < :to GROUP BY i.user, i.categoryId")
+    int summarizeIncomes(Integer periodIndex, LocalDate from, LocalDate to);
+
+}
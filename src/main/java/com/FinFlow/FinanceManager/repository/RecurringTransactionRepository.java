@@ -0,0 +1,44 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.FinFlow.FinanceManager.entity.RecurringTransaction;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    List<RecurringTransaction> findByUserIdOrderByStartDate(Long userId);
+
+    /**
+     * Finds the ids of the next definitions, in id order, that have an occurrence due on or
+     * before {@code today}. Reads the {@code next_date} index without locking, so it stays cheap
+     * when nothing is due and blocks no one when a lot is.
+     */
+    @Query("SELECT r.id FROM RecurringTransaction r WHERE r.nextDate <= :today AND r.id >= :fromId ORDER BY r.id")
+    List<Long> findDueIds(LocalDate today, long fromId, Pageable page);
+
+    /**
+     * Locks the given definitions, in id order, and returns those still due on or before
+     * {@code today}. Locking by primary key touches only these rows; a locking read over the
+     * {@code next_date} range would lock every due row it scanned to sort them by id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.id IN :ids AND r.nextDate <= :today ORDER BY r.id")
+    List<RecurringTransaction> lockDue(Collection<Long> ids, LocalDate today);
+
+    @Modifying
+    @Query("DELETE FROM RecurringTransaction r WHERE r.id = :id AND (:userId IS NULL OR r.user.id = :userId)")
+    int deleteByIdAndUserId(Long id, Long userId);
+
+}
@@ -0,0 +1,29 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.FinFlow.FinanceManager.entity.StatementPartition;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface StatementPartitionRepository extends JpaRepository<StatementPartition, Long> {
+
+    List<StatementPartition> findByStatementMonthOrderByFirstUserId(LocalDate statementMonth);
+
+    @Query("SELECT p.statementMonth FROM StatementPartition p WHERE p.statementMonth >= :from "
+            + "GROUP BY p.statementMonth HAVING SUM(CASE WHEN p.completed = true THEN 0 ELSE 1 END) = 0")
+    List<LocalDate> findCompletedMonthsFrom(LocalDate from);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM StatementPartition p WHERE p.id = :id")
+    Optional<StatementPartition> lockById(Long id);
+
+}
@@ -0,0 +1,47 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Issues versioned partial updates of expense and income rows.
+ * <p>
+ * The statement sets only the given attributes plus the incremented version and matches on id
+ * and expected version, so no row is read first and a concurrent edit shows up as zero
+ * affected rows.
+ * </p>
+ */
+@Repository
+public class TransactionPatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Runs {@code UPDATE ... SET <changes>, version = version + 1 WHERE id = ? AND version = ?}.
+     * Must be called within a transaction.
+     *
+     * @param entityClass the entity type, {@code Expense} or {@code Income}
+     * @param id the row id
+     * @param version the version the caller expects the row to have
+     * @param changes new values keyed by attribute name
+     * @return the number of rows updated, 0 if the row is missing or has another version
+     */
+    public <T> int patch(Class<T> entityClass, Long id, long version, Map<String, Object> changes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = builder.createCriteriaUpdate(entityClass);
+        Root<T> root = update.from(entityClass);
+        changes.forEach(update::set);
+        update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+        update.where(builder.equal(root.get("id"), id), builder.equal(root.get("version"), version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.FinFlow.FinanceManager.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection carrying only the columns needed for aggregation,
+ * so analytics loads do not hydrate full entities.
+ */
+public interface TransactionRow {
+
+    LocalDate getDate();
+
+    Integer getAmount();
+
+    Integer getCategoryId();
+
+}
@@ -0,0 +1,12 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of a distinct (user, category name) pair.
+ */
+public interface UserCategory {
+
+    Long getUserId();
+
+    String getCategory();
+
+}
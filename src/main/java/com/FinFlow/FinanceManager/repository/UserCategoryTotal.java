@@ -0,0 +1,10 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of the row count and amount total of one category of one user.
+ */
+public interface UserCategoryTotal extends CategoryTotal {
+
+    Long getUserId();
+
+}
@@ -1,9 +1,39 @@
 package com.FinFlow.FinanceManager.repository;
 
 import com.FinFlow.FinanceManager.entity.User;
+
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // Fetch size only streams on MySQL with useCursorFetch=true on the connection URL.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamUsernames();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    Stream<Long> streamIds();
+
+    @Query("SELECT u.id FROM User u WHERE u.id >= :firstId AND u.id <= :lastId ORDER BY u.id")
+    List<Long> findIdsBetween(Long firstId, Long lastId);
+
+    @Query("SELECT u.id FROM User u WHERE u.id >= :firstId ORDER BY u.id")
+    List<Long> findIdsFrom(Long firstId, Pageable page);
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
 }
@@ -0,0 +1,14 @@
+package com.FinFlow.FinanceManager.repository;
+
+import com.FinFlow.FinanceManager.entity.User;
+import java.util.Optional;
+
+/**
+ * Custom lookups for {@link User} that go through Hibernate's natural-id API
+ * so they can be served from the second-level cache.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<User> findByUsername(String username);
+
+}
@@ -0,0 +1,42 @@
+package com.FinFlow.FinanceManager.repository;
+
+import com.FinFlow.FinanceManager.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves users by their natural id (username).
+ * <p>
+ * A derived {@code findByUsername} query always hits the database; loading through
+ * {@link Session#bySimpleNaturalId(Class)} consults the natural-id cache first and then
+ * the entity cache, so repeated logins and registration checks stay in memory.
+ * </p>
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Finds a user by username using the natural-id cache.
+     *
+     * @param username the username to look up
+     * @return the matching user, if any
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
@@ -0,0 +1,12 @@
+package com.FinFlow.FinanceManager.repository;
+
+/**
+ * Projection of one user's amount total.
+ */
+public interface UserTotal {
+
+    Long getUserId();
+
+    Long getTotal();
+
+}
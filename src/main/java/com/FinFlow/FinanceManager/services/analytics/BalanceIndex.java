@@ -0,0 +1,170 @@
+package com.FinFlow.FinanceManager.services.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick tree (binary indexed tree) over daily net amounts, keyed by epoch day.
+ * <p>
+ * Point updates and prefix sums are O(log n) in the number of days covered. The covered day
+ * range grows on demand in either direction, but never past the fixed window given at
+ * construction; growth rebuilds the tree in O(n) and reserves slack so that loading rows in
+ * arbitrary order stays amortized linear.
+ * </p>
+ * <p>
+ * Amounts dated before the window are folded into one carried total and amounts dated after it
+ * are dropped, so a single mistyped date cannot inflate the tree. Prefix sums are exact for
+ * every day inside the window and are not available outside it.
+ * </p>
+ * <p>
+ * Not thread-safe; {@link UserColumns} guards access.
+ * </p>
+ */
+public class BalanceIndex {
+
+    private static final int INITIAL_DAYS = 64;
+
+    /** First and last epoch day the tree may cover. */
+    private final int firstDay;
+    private final int lastDay;
+
+    /** Sum of all amounts dated before {@link #firstDay}. */
+    private long carried;
+
+    /** Epoch day stored at tree index 1. */
+    private int baseDay;
+
+    /** 1-based Fenwick array; tree[0] is unused. */
+    private long[] tree = new long[1];
+
+    /**
+     * @param firstDay first epoch day to index day by day, inclusive
+     * @param lastDay last epoch day to index day by day, inclusive
+     */
+    public BalanceIndex(int firstDay, int lastDay) {
+        if (firstDay > lastDay) {
+            throw new IllegalArgumentException("Balance window must not be empty");
+        }
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+    }
+
+    /**
+     * @param epochDay the day as epoch day
+     * @return true if {@link #prefix(int)} can answer for the day
+     */
+    public boolean covers(int epochDay) {
+        return epochDay >= firstDay && epochDay <= lastDay;
+    }
+
+    /**
+     * Adds a signed amount to a day.
+     *
+     * @param epochDay the day as epoch day
+     * @param delta the signed amount; positive for income, negative for expenses
+     */
+    public void add(int epochDay, long delta) {
+        if (epochDay < firstDay) {
+            carried += delta;
+            return;
+        }
+        if (epochDay > lastDay) {
+            return;
+        }
+        ensureCovers(epochDay);
+        int n = tree.length - 1;
+        for (int i = epochDay - baseDay + 1; i <= n; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @param epochDay the day as epoch day, within the window
+     * @return the sum of all amounts dated on or before the day
+     * @throws IllegalArgumentException if the day is outside the window
+     */
+    public long prefix(int epochDay) {
+        if (!covers(epochDay)) {
+            throw new IllegalArgumentException("Epoch day " + epochDay + " is outside the balance window");
+        }
+        int n = tree.length - 1;
+        if (n == 0 || epochDay < baseDay) {
+            return carried;
+        }
+        long sum = carried;
+        for (int i = Math.min(epochDay - baseDay + 1, n); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @param fromEpochDay first day, inclusive, within the window
+     * @param toEpochDay last day, inclusive, within the window
+     * @return the prefix sum for every day of the range, in order
+     */
+    public long[] series(int fromEpochDay, int toEpochDay) {
+        long[] balances = new long[Math.max(toEpochDay - fromEpochDay + 1, 0)];
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = prefix(fromEpochDay + i);
+        }
+        return balances;
+    }
+
+    /**
+     * @return the approximate heap footprint of the tree
+     */
+    public long estimatedBytes() {
+        return (long) tree.length * Long.BYTES;
+    }
+
+    private void ensureCovers(int epochDay) {
+        int n = tree.length - 1;
+        if (n == 0) {
+            baseDay = Math.max(firstDay, epochDay - INITIAL_DAYS / 2);
+            tree = new long[Math.min(INITIAL_DAYS, lastDay - baseDay + 1) + 1];
+            return;
+        }
+        int coveredLast = baseDay + n - 1;
+        if (epochDay >= baseDay && epochDay <= coveredLast) {
+            return;
+        }
+        int slack = Math.max(n / 2, INITIAL_DAYS);
+        int newBase = epochDay < baseDay ? (int) Math.max(firstDay, (long) epochDay - slack) : baseDay;
+        int newLast = epochDay > coveredLast ? (int) Math.min(lastDay, (long) epochDay + slack) : coveredLast;
+        resize(newBase, newLast - newBase + 1);
+    }
+
+    private void resize(int newBase, int newLength) {
+        long[] daily = toDaily();
+        long[] rebuilt = new long[newLength + 1];
+        System.arraycopy(daily, 1, rebuilt, baseDay - newBase + 1, daily.length - 1);
+        build(rebuilt);
+        baseDay = newBase;
+        tree = rebuilt;
+    }
+
+    /** Undoes {@link #build(long[])} in place on a copy, yielding per-day amounts. */
+    private long[] toDaily() {
+        long[] daily = Arrays.copyOf(tree, tree.length);
+        int n = daily.length - 1;
+        for (int i = n; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                daily[parent] -= daily[i];
+            }
+        }
+        return daily;
+    }
+
+    /** Turns 1-based per-day amounts into a Fenwick tree in O(n). */
+    private static void build(long[] values) {
+        int n = values.length - 1;
+        for (int i = 1; i <= n; i++) {
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                values[parent] += values[i];
+            }
+        }
+    }
+
+}
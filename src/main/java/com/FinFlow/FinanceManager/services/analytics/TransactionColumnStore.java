@@ -0,0 +1,400 @@
+package com.FinFlow.FinanceManager.services.analytics;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsArchivedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.repository.TransactionRow;
+
+/**
+ * In-process, per-user columnar copy of transaction data used by analytics queries.
+ * <p>
+ * A user's columns are loaded lazily on first access, kept in sync through
+ * {@link TransactionChangedEvent}s and evicted in least-recently-used order once the
+ * estimated footprint exceeds {@code finflow.analytics.max-bytes}.
+ * </p>
+ * <p>
+ * Events are applied after their transaction commits, so a load can already see a committed
+ * row whose event is still on its way. Every write is therefore tracked from the moment its
+ * event is published until its transaction completes, and a load that overlaps any tracked
+ * write of its user is served once but not cached; only loads that no pending event can
+ * apply to again are kept.
+ * The store can be switched off with {@code finflow.analytics.enabled=false}, in which case
+ * callers fall back to repository queries.
+ * </p>
+ * <p>
+ * Running balances are indexed day by day only within {@value #BALANCE_YEARS_BACK} years before
+ * and {@value #BALANCE_YEARS_AHEAD} years after the day the store was created, which bounds the
+ * index of every user regardless of stray dates; callers check {@link #coversBalance} and ask the
+ * repositories for days outside that window.
+ * </p>
+ */
+@Component
+public class TransactionColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionColumnStore.class);
+
+    /** Epoch day stored for rows without a date; never matches a real range. */
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** Amount stored for rows without an amount; skipped by every aggregate. */
+    static final int NO_AMOUNT = Integer.MIN_VALUE;
+
+    /** Category id stored for uncategorized rows. */
+    static final int NO_CATEGORY = 0;
+
+    static final int BALANCE_YEARS_BACK = 30;
+    static final int BALANCE_YEARS_AHEAD = 5;
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int balanceFirstDay;
+    private final int balanceLastDay;
+
+    private final LinkedHashMap<Long, Entry> users = new LinkedHashMap<>(16, 0.75f, true);
+    /** Loads in progress, shared by concurrent loaders of the same user; guarded by {@code this}. */
+    private final Map<Long, PendingLoad> loading = new HashMap<>();
+    /** Writes published in a transaction that has not completed yet, per user; guarded by {@code this}. */
+    private final Map<Long, Integer> inFlight = new HashMap<>();
+    private long totalBytes;
+
+    public TransactionColumnStore(ExpenseRepository expenseRepository,
+                                  IncomeRepository incomeRepository,
+                                  MonthlySummaryRepository monthlySummaryRepository,
+                                  @Value("${finflow.analytics.enabled:true}") boolean enabled,
+                                  @Value("${finflow.analytics.max-bytes:67108864}") long maxBytes) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        LocalDate today = LocalDate.now();
+        this.balanceFirstDay = epochDay(today.minusYears(BALANCE_YEARS_BACK));
+        this.balanceLastDay = epochDay(today.plusYears(BALANCE_YEARS_AHEAD));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return true if {@link UserColumns#balanceAt} and {@link UserColumns#balanceSeries} can
+     *         answer for every day of the range
+     */
+    public boolean coversBalance(LocalDate from, LocalDate to) {
+        return !from.isBefore(LocalDate.ofEpochDay(balanceFirstDay)) && !to.isAfter(LocalDate.ofEpochDay(balanceLastDay));
+    }
+
+    /**
+     * Returns the columns for a user, loading them from the repositories on a miss.
+     *
+     * @param userId the ID of the user
+     * @return the user's columns
+     */
+    public UserColumns get(Long userId) {
+        PendingLoad pending;
+        synchronized (this) {
+            Entry entry = users.get(userId);
+            if (entry != null) {
+                return entry.columns;
+            }
+            pending = loading.computeIfAbsent(userId, id -> new PendingLoad());
+            pending.loaders++;
+            if (inFlight.containsKey(userId)) {
+                // Possibly committed already; the load may see the row its event will add again.
+                pending.writes++;
+            }
+        }
+        UserColumns columns = null;
+        try {
+            columns = load(userId);
+        } finally {
+            synchronized (this) {
+                boolean racy = pending.writes > 0;
+                if (--pending.loaders == 0) {
+                    loading.remove(userId, pending);
+                }
+                if (columns != null && !racy) {
+                    Entry existing = users.get(userId);
+                    if (existing != null) {
+                        columns = existing.columns;
+                    } else {
+                        Entry entry = new Entry(columns, columns.estimatedBytes());
+                        users.put(userId, entry);
+                        totalBytes += entry.bytes;
+                        evictIfNeeded(userId);
+                    }
+                } else if (racy) {
+                    // A write raced with the load; serve this result once but do not cache it.
+                    logger.debug("Discarding racy analytics load for userId: {}", userId);
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Starts tracking a change as soon as it is published, ahead of its after-commit delivery.
+     *
+     * @param event the change event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionChangedPublished(TransactionChangedEvent event) {
+        trackInFlight(event.getUserId());
+    }
+
+    /**
+     * Starts tracking a bulk delete as soon as it is published.
+     *
+     * @param event the bulk delete event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionsDeletedPublished(TransactionsDeletedEvent event) {
+        trackInFlight(event.getUserId());
+    }
+
+    /**
+     * Starts tracking a batch insert as soon as it is published.
+     *
+     * @param event the batch insert event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionsCreatedPublished(TransactionsCreatedEvent event) {
+        trackInFlight(event.getUserId());
+    }
+
+    /**
+     * Applies a transaction change to the cached columns of its user, if loaded.
+     * Runs before other listeners so that they observe the updated columns.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        List<TransactionSnapshot> removed = event.getBefore() != null ? List.of(event.getBefore()) : List.of();
+        List<TransactionSnapshot> added = event.getAfter() != null ? List.of(event.getAfter()) : List.of();
+        apply(event.getUserId(), event.getKind(), removed, added);
+    }
+
+    /**
+     * Removes bulk-deleted rows from the cached columns of their user, if loaded.
+     *
+     * @param event the bulk delete event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        apply(event.getUserId(), event.getKind(), event.getDeleted(), List.of());
+    }
+
+    /**
+     * Appends batch-inserted rows to the cached columns of their user, if loaded.
+     *
+     * @param event the batch insert event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        apply(event.getUserId(), event.getKind(), List.of(), event.getCreated());
+    }
+
+    /**
+     * Drops the cached columns of a user whose old rows were archived; the reload reads them
+     * back as monthly summaries.
+     *
+     * @param event the archive event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionsArchived(TransactionsArchivedEvent event) {
+        if (enabled && event.getUserId() != null) {
+            invalidate(event.getUserId());
+        }
+    }
+
+    private void apply(Long userId, TransactionKind kind, List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        Entry entry;
+        synchronized (this) {
+            PendingLoad pending = loading.get(userId);
+            if (pending != null) {
+                pending.writes++;
+            }
+            entry = users.get(userId);
+        }
+        if (entry == null) {
+            return;
+        }
+        UserColumns columns = entry.columns;
+        for (TransactionSnapshot before : removed) {
+            columns.remove(kind, epochDay(before.getDate()), amount(before.getAmount()), categoryId(before.getCategoryId()));
+        }
+        for (TransactionSnapshot after : added) {
+            columns.add(kind, epochDay(after.getDate()), amount(after.getAmount()), categoryId(after.getCategoryId()));
+        }
+        synchronized (this) {
+            long bytes = columns.estimatedBytes();
+            if (users.get(userId) == entry && bytes != entry.bytes) {
+                totalBytes += bytes - entry.bytes;
+                entry.bytes = bytes;
+                evictIfNeeded(userId);
+            }
+        }
+    }
+
+    /**
+     * Outside a transaction the event is applied while it is published, so there is nothing to
+     * track. Inside one, the write stays in flight until the transaction completes; the
+     * synchronization runs after the after-commit listeners, which are ordered first.
+     */
+    private void trackInFlight(Long userId) {
+        if (!enabled || userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        synchronized (this) {
+            inFlight.merge(userId, 1, Integer::sum);
+            PendingLoad pending = loading.get(userId);
+            if (pending != null) {
+                pending.writes++;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (TransactionColumnStore.this) {
+                    inFlight.computeIfPresent(userId, (id, writes) -> writes > 1 ? writes - 1 : null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the cached columns of a user so they are reloaded on next access.
+     *
+     * @param userId the ID of the user
+     */
+    public synchronized void invalidate(Long userId) {
+        Entry removed = users.remove(userId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+        PendingLoad pending = loading.get(userId);
+        if (pending != null) {
+            pending.writes++;
+        }
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized boolean isLoaded(Long userId) {
+        return users.containsKey(userId);
+    }
+
+    private UserColumns load(Long userId) {
+        logger.debug("Loading analytics columns for userId: {}", userId);
+        TransactionColumns expenses = toColumns(expenseRepository.findRowsByUserId(userId));
+        TransactionColumns incomes = toColumns(incomeRepository.findRowsByUserId(userId));
+        for (MonthlySummary summary : monthlySummaryRepository.findByUserId(userId)) {
+            TransactionColumns target = summary.getKind() == TransactionKind.EXPENSE ? expenses : incomes;
+            target.addSummary(epochDay(summary.getMonth()), summary.getRowCount(),
+                    summary.getTotal() != null ? summary.getTotal() : 0L,
+                    amount(summary.getMinAmount()), amount(summary.getMaxAmount()));
+        }
+        return new UserColumns(expenses, incomes, new BalanceIndex(balanceFirstDay, balanceLastDay));
+    }
+
+    private TransactionColumns toColumns(List<TransactionRow> rows) {
+        TransactionColumns columns = new TransactionColumns(rows.size());
+        for (TransactionRow row : rows) {
+            columns.add(epochDay(row.getDate()), amount(row.getAmount()), categoryId(row.getCategoryId()));
+        }
+        return columns;
+    }
+
+    private void evictIfNeeded(Long keep) {
+        Iterator<Map.Entry<Long, Entry>> iterator = users.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, Entry> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            iterator.remove();
+            logger.debug("Evicted analytics columns for userId: {}", eldest.getKey());
+        }
+    }
+
+    static int epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+    }
+
+    private static int amount(Integer amount) {
+        return amount != null ? amount : NO_AMOUNT;
+    }
+
+    private static int categoryId(Integer categoryId) {
+        return categoryId != null ? categoryId : NO_CATEGORY;
+    }
+
+    /**
+     * Writes seen while a user's columns were loading. Every loader that overlaps a write
+     * discards its result, whichever loader registered first.
+     */
+    private static final class PendingLoad {
+        int loaders;
+        int writes;
+    }
+
+    private static final class Entry {
+        final UserColumns columns;
+        long bytes;
+
+        Entry(UserColumns columns, long bytes) {
+            this.columns = columns;
+            this.bytes = bytes;
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.FinFlow.FinanceManager.services.analytics;
+
+import java.util.Arrays;
+
+import com.FinFlow.FinanceManager.util.AmountAccumulator;
+
+/**
+ * Column-oriented storage for one user's transactions of a single kind.
+ * <p>
+ * Rows are kept as parallel primitive arrays (epoch day, amount, category id) so that
+ * aggregations run as plain loops without allocating per row. Row order is not significant:
+ * removal swaps the last row into the freed slot.
+ * </p>
+ * <p>
+ * Rows without an amount hold {@link TransactionColumnStore#NO_AMOUNT} and are skipped by every
+ * aggregate, as SQL skips null amounts.
+ * </p>
+ * <p>
+ * Archived months are held as summary entries next to the row columns; they count towards
+ * totals and min/max, and towards range sums at month granularity (by the month's first day).
+ * </p>
+ * <p>
+ * Not thread-safe; {@link UserColumns} guards access.
+ * </p>
+ */
+public class TransactionColumns {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Bytes used per row across the three int columns. */
+    static final int BYTES_PER_ROW = 3 * Integer.BYTES;
+
+    /** Bytes used per archived monthly summary. */
+    static final int BYTES_PER_SUMMARY = 3 * Integer.BYTES + 2 * Long.BYTES;
+
+    private int[] epochDays;
+    private int[] amounts;
+    private int[] categoryIds;
+    private int size;
+
+    private int[] summaryDays = new int[0];
+    private long[] summaryCounts = new long[0];
+    private long[] summaryTotals = new long[0];
+    private int[] summaryMins = new int[0];
+    private int[] summaryMaxes = new int[0];
+
+    public TransactionColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public TransactionColumns(int capacity) {
+        int initial = Math.max(capacity, INITIAL_CAPACITY);
+        this.epochDays = new int[initial];
+        this.amounts = new int[initial];
+        this.categoryIds = new int[initial];
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param epochDay the transaction date as epoch day
+     * @param amount the amount, or {@link TransactionColumnStore#NO_AMOUNT}
+     * @param categoryId the id of the category
+     */
+    public void add(int epochDay, int amount, int categoryId) {
+        if (size == epochDays.length) {
+            int newCapacity = epochDays.length + (epochDays.length >> 1);
+            epochDays = Arrays.copyOf(epochDays, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        }
+        epochDays[size] = epochDay;
+        amounts[size] = amount;
+        categoryIds[size] = categoryId;
+        size++;
+    }
+
+    /**
+     * Removes one row with exactly the given values. Rows with identical values are
+     * interchangeable for aggregation, so any match may be removed.
+     *
+     * @return true if a row was removed
+     */
+    public boolean remove(int epochDay, int amount, int categoryId) {
+        for (int i = 0; i < size; i++) {
+            if (epochDays[i] == epochDay && amounts[i] == amount && categoryIds[i] == categoryId) {
+                int last = --size;
+                epochDays[i] = epochDays[last];
+                amounts[i] = amounts[last];
+                categoryIds[i] = categoryIds[last];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds an archived monthly summary.
+     *
+     * @param monthStartEpochDay first day of the month as epoch day
+     * @param count number of archived rows
+     * @param total sum of archived amounts
+     * @param min smallest archived amount, or {@link TransactionColumnStore#NO_AMOUNT} if none
+     * @param max largest archived amount, or {@link TransactionColumnStore#NO_AMOUNT} if none
+     */
+    public void addSummary(int monthStartEpochDay, long count, long total, int min, int max) {
+        int n = summaryDays.length;
+        summaryDays = Arrays.copyOf(summaryDays, n + 1);
+        summaryCounts = Arrays.copyOf(summaryCounts, n + 1);
+        summaryTotals = Arrays.copyOf(summaryTotals, n + 1);
+        summaryMins = Arrays.copyOf(summaryMins, n + 1);
+        summaryMaxes = Arrays.copyOf(summaryMaxes, n + 1);
+        summaryDays[n] = monthStartEpochDay;
+        summaryCounts[n] = count;
+        summaryTotals[n] = total;
+        summaryMins[n] = min;
+        summaryMaxes[n] = max;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Feeds every amount into the accumulator in a single pass.
+     *
+     * @param accumulator the accumulator to add to
+     */
+    public void accumulate(AmountAccumulator accumulator) {
+        for (int i = 0; i < size; i++) {
+            if (amounts[i] != TransactionColumnStore.NO_AMOUNT) {
+                accumulator.add(amounts[i]);
+            }
+        }
+        for (int i = 0; i < summaryDays.length; i++) {
+            if (summaryMins[i] != TransactionColumnStore.NO_AMOUNT) {
+                accumulator.merge(summaryCounts[i], summaryTotals[i], summaryMins[i], summaryMaxes[i]);
+            }
+        }
+    }
+
+    /**
+     * Sums the amounts of rows whose date falls within the inclusive range.
+     *
+     * @param fromEpochDay first day of the range
+     * @param toEpochDay last day of the range
+     * @return the sum of matching amounts
+     */
+    public long sumBetween(int fromEpochDay, int toEpochDay) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            int day = epochDays[i];
+            if (day >= fromEpochDay && day <= toEpochDay && amounts[i] != TransactionColumnStore.NO_AMOUNT) {
+                total += amounts[i];
+            }
+        }
+        for (int i = 0; i < summaryDays.length; i++) {
+            int day = summaryDays[i];
+            if (day >= fromEpochDay && day <= toEpochDay) {
+                total += summaryTotals[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Adds every dated row and archived summary to a balance index.
+     *
+     * @param index the index to add to
+     * @param sign 1 to add amounts, -1 to subtract them
+     */
+    public void addTo(BalanceIndex index, int sign) {
+        for (int i = 0; i < size; i++) {
+            if (epochDays[i] != TransactionColumnStore.NO_DATE && amounts[i] != TransactionColumnStore.NO_AMOUNT) {
+                index.add(epochDays[i], (long) sign * amounts[i]);
+            }
+        }
+        for (int i = 0; i < summaryDays.length; i++) {
+            index.add(summaryDays[i], sign * summaryTotals[i]);
+        }
+    }
+
+    /**
+     * @return the approximate heap footprint of the column arrays
+     */
+    public long estimatedBytes() {
+        return (long) epochDays.length * BYTES_PER_ROW + (long) summaryDays.length * BYTES_PER_SUMMARY;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.FinFlow.FinanceManager.services.analytics;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.util.AmountAccumulator;
+
+/**
+ * Expense and income columns of a single user together with a running-balance index,
+ * guarded by this object's monitor.
+ */
+public class UserColumns {
+
+    private final TransactionColumns expenses;
+    private final TransactionColumns incomes;
+    private final BalanceIndex balance;
+
+    UserColumns(TransactionColumns expenses, TransactionColumns incomes, BalanceIndex balance) {
+        this.expenses = expenses;
+        this.incomes = incomes;
+        this.balance = balance;
+        expenses.addTo(balance, -1);
+        incomes.addTo(balance, 1);
+    }
+
+    private TransactionColumns columns(TransactionKind kind) {
+        return kind == TransactionKind.EXPENSE ? expenses : incomes;
+    }
+
+    /**
+     * @param kind the transaction kind
+     * @return count, sum, min and max over all rows of the kind
+     */
+    public synchronized AmountAccumulator stats(TransactionKind kind) {
+        AmountAccumulator accumulator = new AmountAccumulator();
+        columns(kind).accumulate(accumulator);
+        return accumulator;
+    }
+
+    /**
+     * @param kind the transaction kind
+     * @param fromEpochDay first day of the range, inclusive
+     * @param toEpochDay last day of the range, inclusive
+     * @return the sum of amounts within the range
+     */
+    public synchronized long sumBetween(TransactionKind kind, int fromEpochDay, int toEpochDay) {
+        return columns(kind).sumBetween(fromEpochDay, toEpochDay);
+    }
+
+    /**
+     * @param epochDay the day as epoch day
+     * @return total income minus total expenses dated on or before the day
+     */
+    public synchronized long balanceAt(int epochDay) {
+        return balance.prefix(epochDay);
+    }
+
+    /**
+     * @param fromEpochDay first day, inclusive
+     * @param toEpochDay last day, inclusive
+     * @return the end-of-day balance for every day of the range, in order
+     */
+    public synchronized long[] balanceSeries(int fromEpochDay, int toEpochDay) {
+        return balance.series(fromEpochDay, toEpochDay);
+    }
+
+    synchronized void add(TransactionKind kind, int epochDay, int amount, int categoryId) {
+        columns(kind).add(epochDay, amount, categoryId);
+        if (indexed(epochDay, amount)) {
+            balance.add(epochDay, signed(kind, amount));
+        }
+    }
+
+    synchronized void remove(TransactionKind kind, int epochDay, int amount, int categoryId) {
+        if (columns(kind).remove(epochDay, amount, categoryId) && indexed(epochDay, amount)) {
+            balance.add(epochDay, -signed(kind, amount));
+        }
+    }
+
+    synchronized long estimatedBytes() {
+        return expenses.estimatedBytes() + incomes.estimatedBytes() + balance.estimatedBytes();
+    }
+
+    private static boolean indexed(int epochDay, int amount) {
+        return epochDay != TransactionColumnStore.NO_DATE && amount != TransactionColumnStore.NO_AMOUNT;
+    }
+
+    private static long signed(TransactionKind kind, int amount) {
+        return kind == TransactionKind.EXPENSE ? -(long) amount : amount;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.FinFlow.FinanceManager.services.archive;
+
+import java.time.LocalDate;
+
+public interface ArchiveService {
+
+    LocalDate getCutoff();
+
+    int archiveOldTransactions();
+
+}
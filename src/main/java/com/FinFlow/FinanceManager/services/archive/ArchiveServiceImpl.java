@@ -0,0 +1,138 @@
+package com.FinFlow.FinanceManager.services.archive;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.events.TransactionsArchivedEvent;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+
+/**
+ * Moves expense and income rows older than the configured horizon into the archive table
+ * and rolls them up into {@link MonthlySummary} rows.
+ * <p>
+ * Work is done one calendar month at a time, each in its own transaction, so a large backlog
+ * never holds long locks and an interrupted run simply continues with the remaining months.
+ * Totals and min/max values are unchanged by archiving because stats read the summaries, but
+ * archived rows move to the first day of their month, so a {@link TransactionsArchivedEvent}
+ * is published for every user of an archived month once its transaction commits.
+ * </p>
+ */
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveServiceImpl.class);
+
+    /** The chart window (28 days) must always stay in the hot tables. */
+    private static final int MIN_HORIZON_MONTHS = 2;
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int horizonMonths;
+
+    public ArchiveServiceImpl(ExpenseRepository expenseRepository,
+                              IncomeRepository incomeRepository,
+                              ArchivedTransactionRepository archivedTransactionRepository,
+                              MonthlySummaryRepository monthlySummaryRepository,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${finflow.archive.enabled:false}") boolean enabled,
+                              @Value("${finflow.archive.horizon-months:24}") int horizonMonths) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.horizonMonths = Math.max(horizonMonths, MIN_HORIZON_MONTHS);
+    }
+
+    /**
+     * @return the first day that is kept in the hot tables; older rows are archived
+     */
+    public LocalDate getCutoff() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(horizonMonths);
+    }
+
+    /**
+     * Scheduled entry point; does nothing unless {@code finflow.archive.enabled} is set.
+     */
+    @Scheduled(cron = "${finflow.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOldTransactions();
+        }
+    }
+
+    /**
+     * Archives all rows dated before {@link #getCutoff()}.
+     *
+     * @return the number of rows moved out of the hot tables
+     */
+    public int archiveOldTransactions() {
+        LocalDate cutoff = getCutoff();
+        Set<Integer> periods = monthsToArchive(cutoff);
+        if (periods.isEmpty()) {
+            logger.debug("Nothing to archive before {}", cutoff);
+            return 0;
+        }
+        logger.info("Archiving {} months of transactions dated before {}", periods.size(), cutoff);
+        int moved = 0;
+        for (int periodIndex : periods) {
+            moved += archiveMonth(MonthlySummary.monthOf(periodIndex));
+        }
+        logger.info("Archived {} transactions dated before {}", moved, cutoff);
+        return moved;
+    }
+
+    private int archiveMonth(LocalDate month) {
+        LocalDate next = month.plusMonths(1);
+        int periodIndex = MonthlySummary.periodIndexOf(month);
+        Integer moved = transactionTemplate.execute(status -> {
+            Set<Long> userIds = new TreeSet<>(expenseRepository.findUserIdsDatedBetween(month, next));
+            userIds.addAll(incomeRepository.findUserIdsDatedBetween(month, next));
+            monthlySummaryRepository.summarizeExpenses(periodIndex, month, next);
+            monthlySummaryRepository.summarizeIncomes(periodIndex, month, next);
+            archivedTransactionRepository.copyExpenses(month, next);
+            archivedTransactionRepository.copyIncomes(month, next);
+            int deleted = expenseRepository.deleteAllDatedBetween(month, next)
+                    + incomeRepository.deleteAllDatedBetween(month, next);
+            // Delivered to the transactional listeners after commit, never for a rolled-back month.
+            userIds.forEach(userId -> eventPublisher.publishEvent(new TransactionsArchivedEvent(userId, month)));
+            return deleted;
+        });
+        if (moved != null && moved > 0) {
+            logger.debug("Archived {} transactions for {}", moved, month);
+        }
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Only months that actually hold rows are visited, so a single stray date decades in the
+     * past costs one grouped query rather than hundreds of empty month transactions.
+     */
+    private Set<Integer> monthsToArchive(LocalDate cutoff) {
+        Set<Integer> periods = new TreeSet<>(expenseRepository.findPeriodIndexesDatedBefore(cutoff));
+        periods.addAll(incomeRepository.findPeriodIndexesDatedBefore(cutoff));
+        return periods;
+    }
+
+}
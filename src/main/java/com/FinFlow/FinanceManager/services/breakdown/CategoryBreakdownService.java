@@ -0,0 +1,13 @@
+package com.FinFlow.FinanceManager.services.breakdown;
+
+import java.time.LocalDate;
+
+import com.FinFlow.FinanceManager.dto.CategoryBreakdownDTO;
+
+public interface CategoryBreakdownService {
+
+    CategoryBreakdownDTO getBreakdown(Long userId, LocalDate from, LocalDate to);
+
+    void evictUser(Long userId);
+
+}
@@ -0,0 +1,235 @@
+package com.FinFlow.FinanceManager.services.breakdown;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.FinFlow.FinanceManager.dto.CategoryBreakdownDTO;
+import com.FinFlow.FinanceManager.dto.CategoryShareDTO;
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsArchivedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.repository.CategoryTotal;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+
+/**
+ * Service implementation for per-category breakdowns.
+ * <p>
+ * Totals are computed by the database with {@code GROUP BY category_id} over the
+ * {@code (user_id, category_id, date, amount)} index, plus archived monthly summaries whose month
+ * starts inside the range. Results are cached per user and range until that user's next write;
+ * a generation counter keeps a computation that raced with a write from being cached.
+ * </p>
+ */
+@Service
+public class CategoryBreakdownServiceImpl implements CategoryBreakdownService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryBreakdownServiceImpl.class);
+
+    /** Bounds used when the range is open; both are valid MySQL DATE values. */
+    static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    /** Distinct ranges cached per user. */
+    private static final int MAX_RANGES_PER_USER = 8;
+
+    static final String UNCATEGORIZED = "Uncategorized";
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final CategoryService categoryService;
+    private final Map<Long, UserBreakdowns> cache;
+
+    public CategoryBreakdownServiceImpl(ExpenseRepository expenseRepository,
+                                        IncomeRepository incomeRepository,
+                                        MonthlySummaryRepository monthlySummaryRepository,
+                                        CategoryService categoryService,
+                                        @Value("${finflow.breakdown.cache.max-users:10000}") int maxUsers) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.categoryService = categoryService;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserBreakdowns> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Retrieves per-category totals, counts and shares of a user's income and expenses.
+     *
+     * @param userId the ID of the user
+     * @param from first day, inclusive; null for no lower bound
+     * @param to last day, inclusive; null for no upper bound
+     * @return the breakdown
+     */
+    public CategoryBreakdownDTO getBreakdown(Long userId, LocalDate from, LocalDate to) {
+        String range = from + ".." + to;
+        UserBreakdowns entry;
+        synchronized (cache) {
+            entry = cache.computeIfAbsent(userId, id -> new UserBreakdowns());
+        }
+        long generation;
+        synchronized (entry) {
+            CategoryBreakdownDTO cached = entry.results.get(range);
+            if (cached != null) {
+                return cached;
+            }
+            generation = entry.generation;
+        }
+
+        CategoryBreakdownDTO breakdown = compute(userId, from, to);
+        synchronized (entry) {
+            if (entry.generation == generation) {
+                entry.results.put(range, breakdown);
+            }
+        }
+        return breakdown;
+    }
+
+    /**
+     * Drops the cached breakdowns of the user whose transactions changed.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    /**
+     * Drops the cached breakdowns of the user whose transactions were bulk deleted.
+     *
+     * @param event the bulk delete event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    /**
+     * Drops the cached breakdowns of the user who received batch-inserted transactions.
+     *
+     * @param event the batch insert event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    /**
+     * Drops the cached breakdowns of the user whose old rows were archived, since ranges
+     * starting mid-month no longer include them.
+     *
+     * @param event the archive event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsArchived(TransactionsArchivedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    /**
+     * Removes a user from the cache altogether, for callers that rolled back the user's rows
+     * without publishing any event.
+     *
+     * @param userId the ID of the user
+     */
+    public void evictUser(Long userId) {
+        UserBreakdowns entry;
+        synchronized (cache) {
+            entry = cache.remove(userId);
+        }
+        clear(entry);
+    }
+
+    private void invalidate(Long userId) {
+        UserBreakdowns entry;
+        synchronized (cache) {
+            entry = cache.get(userId);
+        }
+        clear(entry);
+    }
+
+    private static void clear(UserBreakdowns entry) {
+        if (entry != null) {
+            synchronized (entry) {
+                entry.generation++;
+                entry.results.clear();
+            }
+        }
+    }
+
+    private CategoryBreakdownDTO compute(Long userId, LocalDate from, LocalDate to) {
+        logger.info("Computing category breakdown for userId: {} from {} to {}", userId, from, to);
+        LocalDate start = from != null ? from : MIN_DATE;
+        LocalDate end = to != null ? to : MAX_DATE;
+        // Summaries count on the first day of their month.
+        int fromPeriod = MonthlySummary.periodIndexOf(start) + (start.getDayOfMonth() > 1 ? 1 : 0);
+        int toPeriod = MonthlySummary.periodIndexOf(end);
+
+        CategoryBreakdownDTO breakdown = new CategoryBreakdownDTO();
+        breakdown.setFrom(from);
+        breakdown.setTo(to);
+        breakdown.setIncome(shares(incomeRepository.sumByCategory(userId, start, end),
+                monthlySummaryRepository.sumByCategory(userId, TransactionKind.INCOME, fromPeriod, toPeriod)));
+        breakdown.setExpense(shares(expenseRepository.sumByCategory(userId, start, end),
+                monthlySummaryRepository.sumByCategory(userId, TransactionKind.EXPENSE, fromPeriod, toPeriod)));
+        breakdown.setIncomeTotal(breakdown.getIncome().stream().mapToLong(CategoryShareDTO::getTotal).sum());
+        breakdown.setExpenseTotal(breakdown.getExpense().stream().mapToLong(CategoryShareDTO::getTotal).sum());
+        return breakdown;
+    }
+
+    private List<CategoryShareDTO> shares(List<CategoryTotal> hot, List<CategoryTotal> archived) {
+        Map<Integer, CategoryShareDTO> byCategory = new HashMap<>();
+        long total = 0;
+        for (List<CategoryTotal> totals : List.of(hot, archived)) {
+            for (CategoryTotal categoryTotal : totals) {
+                CategoryShareDTO share = byCategory.computeIfAbsent(categoryTotal.getCategoryId(), this::emptyShare);
+                share.setCount(share.getCount() + categoryTotal.getCount());
+                share.setTotal(share.getTotal() + categoryTotal.getTotal());
+                total += categoryTotal.getTotal();
+            }
+        }
+        List<CategoryShareDTO> shares = new ArrayList<>(byCategory.values());
+        for (CategoryShareDTO share : shares) {
+            share.setShare(total != 0 ? (double) share.getTotal() / total : 0);
+        }
+        shares.sort(Comparator.comparingLong(CategoryShareDTO::getTotal).reversed());
+        return shares;
+    }
+
+    private CategoryShareDTO emptyShare(Integer categoryId) {
+        String name = categoryService.getName(categoryId);
+        return new CategoryShareDTO(categoryId, name != null ? name : UNCATEGORIZED, 0, 0, 0);
+    }
+
+    private static final class UserBreakdowns {
+        private long generation;
+        private final Map<String, CategoryBreakdownDTO> results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CategoryBreakdownDTO> eldest) {
+                return size() > MAX_RANGES_PER_USER;
+            }
+        };
+    }
+
+}
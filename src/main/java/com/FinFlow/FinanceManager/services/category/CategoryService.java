@@ -0,0 +1,17 @@
+package com.FinFlow.FinanceManager.services.category;
+
+import java.util.List;
+
+import com.FinFlow.FinanceManager.entity.Category;
+
+public interface CategoryService {
+
+    Integer resolveId(Long userId, String name);
+
+    String getName(Integer categoryId);
+
+    List<Category> getCategoriesByUserId(Long userId);
+
+    void evictUser(Long userId);
+
+}
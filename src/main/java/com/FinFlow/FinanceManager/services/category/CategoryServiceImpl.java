@@ -0,0 +1,228 @@
+package com.FinFlow.FinanceManager.services.category;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.FinFlow.FinanceManager.entity.Category;
+import com.FinFlow.FinanceManager.repository.CategoryRepository;
+
+/**
+ * Service implementation for the per-user category dictionary.
+ * <p>
+ * Keeps a bidirectional in-memory cache (name to id per user, id to name globally) so that
+ * resolving a category on every write and naming ids in grouped reports do not hit the database.
+ * Category rows are never renamed or deleted, which keeps both directions of the cache valid.
+ * </p>
+ * Names are matched case-insensitively, like the {@code uk_category_user_name} key under MySQL's
+ * default collation. A missing category is created with an upsert that ignores a concurrent
+ * duplicate, so resolving never fails the caller's transaction. Ids resolved inside a transaction
+ * are cached only once it commits, so a rollback cannot leave an id without a row in the cache.
+ * Dictionaries are kept for the {@code finflow.categories.cache.max-users} most recently active
+ * users.
+ */
+@Service
+public class CategoryServiceImpl implements CategoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
+
+    private static final int MAX_NAME_LENGTH = 64;
+
+    private static final String INSERT_CATEGORY = "INSERT INTO categories (user_id, name) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)";
+
+    private static final String SELECT_LAST_INSERT_ID = "SELECT LAST_INSERT_ID()";
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Map<String, Integer>> idsByUser;
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${finflow.categories.cache.max-users:10000}") int maxUsers) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, Integer>> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Returns the id of the user's category with the given name, creating the category if needed.
+     *
+     * @param userId the ID of the user
+     * @param name the category name
+     * @return the category id, or null if the user or name is missing
+     */
+    public Integer resolveId(Long userId, String name) {
+        if (userId == null || name == null || name.isBlank()) {
+            return null;
+        }
+        String normalized = normalize(name);
+        String key = fold(normalized);
+        Map<String, Integer> userIds = userCategories(userId);
+        Integer id = userIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        Category existing = categoryRepository.findByUserIdAndName(userId, normalized).orElse(null);
+        if (existing != null) {
+            rememberAfterCommit(userIds, key, existing.getId(), existing.getName());
+            return existing.getId();
+        }
+        id = insert(userId, normalized);
+        logger.debug("Resolved new category '{}' to id {} for userId: {}", normalized, id, userId);
+        rememberAfterCommit(userIds, key, id, null);
+        return id;
+    }
+
+    /**
+     * Returns the name of a category by its id.
+     *
+     * @param categoryId the category id
+     * @return the category name, or null if the id is null or unknown
+     */
+    public String getName(Integer categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        String name = namesById.get(categoryId);
+        if (name != null) {
+            return name;
+        }
+        return categoryRepository.findById(categoryId)
+                .map(category -> {
+                    namesById.put(category.getId(), category.getName());
+                    return category.getName();
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves all categories of a user.
+     *
+     * @param userId the ID of the user
+     * @return the user's categories
+     */
+    public List<Category> getCategoriesByUserId(Long userId) {
+        logger.info("Retrieving categories for userId: {}", userId);
+        return categoryRepository.findByUserId(userId);
+    }
+
+    /**
+     * Drops the cached dictionary of a user, for callers that rolled back categories the cache
+     * has already seen.
+     *
+     * @param userId the ID of the user
+     */
+    public void evictUser(Long userId) {
+        Map<String, Integer> ids;
+        synchronized (idsByUser) {
+            ids = idsByUser.remove(userId);
+        }
+        if (ids != null) {
+            namesById.keySet().removeAll(ids.values());
+        }
+    }
+
+    private Map<String, Integer> userCategories(Long userId) {
+        synchronized (idsByUser) {
+            Map<String, Integer> ids = idsByUser.get(userId);
+            if (ids != null) {
+                return ids;
+            }
+        }
+        Map<String, Integer> loaded = loadUserCategories(userId);
+        synchronized (idsByUser) {
+            Map<String, Integer> ids = idsByUser.putIfAbsent(userId, loaded);
+            return ids != null ? ids : loaded;
+        }
+    }
+
+    private Map<String, Integer> loadUserCategories(Long userId) {
+        logger.debug("Loading category dictionary for userId: {}", userId);
+        Map<String, Integer> ids = new ConcurrentHashMap<>();
+        for (Category category : categoryRepository.findByUserId(userId)) {
+            ids.putIfAbsent(fold(category.getName()), category.getId());
+            namesById.put(category.getId(), category.getName());
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts the user's category, or finds the row a concurrent transaction committed first, and
+     * returns its id. The duplicate key is absorbed by the upsert instead of raising an exception,
+     * which would mark the caller's transaction rollback-only, and {@code LAST_INSERT_ID(id)}
+     * hands back the existing id where a re-read could miss it under repeatable read. Both
+     * statements must share a connection, since {@code LAST_INSERT_ID()} is per connection.
+     */
+    private Integer insert(Long userId, String name) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_CATEGORY);
+                 Statement select = connection.createStatement()) {
+                insert.setLong(1, userId);
+                insert.setString(2, name);
+                insert.executeUpdate();
+                try (ResultSet lastId = select.executeQuery(SELECT_LAST_INSERT_ID)) {
+                    lastId.next();
+                    return lastId.getInt(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Caches a resolved id once the caller's transaction commits. The row may have been inserted
+     * by that transaction, and caching it earlier would keep the id alive after a rollback.
+     */
+    private void rememberAfterCommit(Map<String, Integer> userIds, String key, Integer id, String storedName) {
+        Runnable remember = () -> {
+            userIds.putIfAbsent(key, id);
+            if (storedName != null) {
+                namesById.put(id, storedName);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember.run();
+            }
+        });
+    }
+
+    private static String normalize(String name) {
+        String trimmed = name.trim();
+        return trimmed.length() > MAX_NAME_LENGTH ? trimmed.substring(0, MAX_NAME_LENGTH) : trimmed;
+    }
+
+    /**
+     * Folds a name the way the case-insensitive collation of the unique key compares it.
+     */
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+}
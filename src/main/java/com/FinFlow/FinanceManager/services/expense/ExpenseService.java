@@ -1,8 +1,10 @@
 package com.FinFlow.FinanceManager.services.expense;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
 import com.FinFlow.FinanceManager.entity.Expense;
 
 public interface ExpenseService {
@@ -15,8 +17,18 @@ public interface ExpenseService {
 
     List<Expense> getExpensesByUserId(Long userId);
 
+    List<Expense> getLargestExpenses(Long userId, LocalDate from, LocalDate to, int limit);
+
     Expense updateExpense(Long id, ExpenseDTO expenseDTO);
 
+    long patchExpense(Long id, TransactionPatchDTO patch);
+
     void deleteExpense(Long id);
 
+    void deleteExpense(Long id, Long userId);
+
+    int deleteExpenses(Long userId, List<Long> ids);
+
+    int deleteExpensesBetween(Long userId, LocalDate from, LocalDate to);
+
 }
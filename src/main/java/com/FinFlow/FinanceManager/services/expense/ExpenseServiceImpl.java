@@ -1,20 +1,42 @@
 package com.FinFlow.FinanceManager.services.expense;
 
 import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
+import com.FinFlow.FinanceManager.entity.ArchivedTransaction;
 import com.FinFlow.FinanceManager.entity.Expense;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.profiling.ServiceCallEvent;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.LockedRow;
+import com.FinFlow.FinanceManager.repository.TransactionPatchRepository;
 import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.util.TopN;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service implementation for managing expenses.
@@ -25,7 +47,20 @@ public class ExpenseServiceImpl implements ExpenseService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExpenseServiceImpl.class);
 
+    /** Largest number of rows a top-N request may ask for. */
+    static final int MAX_TOP_LIMIT = 100;
+
+    /** Largest number of ids a bulk delete may name. */
+    static final int MAX_BULK_DELETE_IDS = 10_000;
+
+    /** Ids removed per {@code DELETE} statement in bulk deletes. */
+    static final int DELETE_BATCH_SIZE = 500;
+
     private final ExpenseRepository expenseRepository;
+    private final TransactionPatchRepository transactionPatchRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final CategoryService categoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a new expense based on the provided ExpenseDTO.
@@ -36,7 +71,9 @@ public class ExpenseServiceImpl implements ExpenseService {
     public Expense postExpense(ExpenseDTO expenseDTO) {
         logger.info("Creating new expense with title: {}", expenseDTO.getTitle());
         Expense expense = new Expense();
-        return saveOrUpdateExpense(expense, expenseDTO);
+        Expense savedExpense = saveOrUpdateExpense(expense, expenseDTO);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(savedExpense));
+        return savedExpense;
     }
 
     /**
@@ -47,15 +84,23 @@ public class ExpenseServiceImpl implements ExpenseService {
      * @return the saved or updated Expense entity
      */
     private Expense saveOrUpdateExpense(Expense expense, ExpenseDTO expenseDTO){
-        expense.setTitle(expenseDTO.getTitle());
-        expense.setDescription(expenseDTO.getDescription());
-        expense.setCategory(expenseDTO.getCategory());
-        expense.setDate(expenseDTO.getDate());
-        expense.setAmount(expenseDTO.getAmount());
-        expense.setUser(expenseDTO.getUser());
-
-        logger.debug("Saving expense: {}", expense);
-        return expenseRepository.save(expense);
+        ServiceCallEvent event = ServiceCallEvent.begin("ExpenseService.save", userIdOf(expenseDTO.getUser()));
+        try {
+            expense.setTitle(expenseDTO.getTitle());
+            expense.setDescription(expenseDTO.getDescription());
+            expense.setCategory(expenseDTO.getCategory());
+            expense.setDate(dateOrDefault(expenseDTO.getDate(), expense.getDate()));
+            expense.setAmount(expenseDTO.getAmount());
+            expense.setUser(expenseDTO.getUser());
+            expense.setCategoryId(categoryService.resolveId(userIdOf(expenseDTO.getUser()), expenseDTO.getCategory()));
+
+            logger.debug("Saving expense: {}", expense);
+            Expense saved = expenseRepository.save(expense);
+            event.setRows(1);
+            return saved;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -70,13 +115,73 @@ public class ExpenseServiceImpl implements ExpenseService {
         logger.info("Updating expense with id: {}", id);
         Optional<Expense> optionalExpense = expenseRepository.findById(id);
         if (optionalExpense.isPresent()) {
-            return saveOrUpdateExpense(optionalExpense.get(), expenseDTO);
+            TransactionSnapshot before = TransactionSnapshot.of(optionalExpense.get());
+            Expense updatedExpense = saveOrUpdateExpense(optionalExpense.get(), expenseDTO);
+            eventPublisher.publishEvent(TransactionChangedEvent.updated(before, updatedExpense));
+            return updatedExpense;
         } else {
             logger.warn("Expense not found with id: {}", id);
             throw new EntityNotFoundException("Expense not found with id: " + id);
         }
     }
 
+    /**
+     * Applies a partial update to an expense.
+     * <p>
+     * Only the supplied fields are written, by one {@code UPDATE} that also checks and bumps the
+     * version. Title and description edits need no prior read; edits to the amount, date or
+     * category first read the row's aggregate fields under a lock so listeners can move its
+     * contribution.
+     * </p>
+     *
+     * @param id the id of the expense
+     * @param patch the fields to change and the expected version
+     * @return the new version
+     * @throws IllegalArgumentException if the version or every field is missing
+     * @throws EntityNotFoundException if the expense is not found
+     * @throws ObjectOptimisticLockingFailureException if the expense has another version
+     */
+    @Transactional
+    public long patchExpense(Long id, TransactionPatchDTO patch) {
+        if (patch.getVersion() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        Map<String, Object> changes = patch.toChanges();
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        logger.info("Patching expense with id: {} at version {}", id, patch.getVersion());
+        LockedRow row = null;
+        if (patch.changesAggregates()) {
+            row = expenseRepository.lockRowById(id, null).orElse(null);
+            if (row == null) {
+                logger.warn("Expense not found with id: {}", id);
+                throw new EntityNotFoundException("Expense not found with id: " + id);
+            }
+            if (patch.getCategory() != null) {
+                changes.put("categoryId", categoryService.resolveId(row.getUserId(), patch.getCategory()));
+            }
+        }
+        if (transactionPatchRepository.patch(Expense.class, id, patch.getVersion(), changes) == 0) {
+            if (row == null && !expenseRepository.existsById(id)) {
+                logger.warn("Expense not found with id: {}", id);
+                throw new EntityNotFoundException("Expense not found with id: " + id);
+            }
+            logger.warn("Expense with id: {} is no longer at version {}", id, patch.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Expense.class, id);
+        }
+        if (row != null) {
+            TransactionSnapshot before = TransactionSnapshot.of(row);
+            TransactionSnapshot after = new TransactionSnapshot(
+                    patch.getDate() != null ? patch.getDate() : before.getDate(),
+                    patch.getAmount() != null ? patch.getAmount() : before.getAmount(),
+                    patch.getCategory() != null ? patch.getCategory() : before.getCategory(),
+                    changes.containsKey("categoryId") ? (Integer) changes.get("categoryId") : before.getCategoryId());
+            eventPublisher.publishEvent(TransactionChangedEvent.updated(TransactionKind.EXPENSE, row.getUserId(), before, after));
+        }
+        return patch.getVersion() + 1;
+    }
+
     /**
      * Retrieves all expenses, sorted by date in descending order.
      *
@@ -115,9 +220,52 @@ public class ExpenseServiceImpl implements ExpenseService {
      */
     public List<Expense> getExpensesByUserId(Long userId) {
         logger.info("Retrieving expenses for user with id: {}", userId);
-        return expenseRepository.findByUserId(userId).stream()
-                .sorted(Comparator.comparing(Expense::getDate).reversed())
-                .collect(Collectors.toList());
+        ServiceCallEvent event = ServiceCallEvent.begin("ExpenseService.getExpensesByUserId", userId);
+        try {
+            List<Expense> expenses = expenseRepository.findByUserId(userId).stream()
+                    .sorted(Comparator.comparing(Expense::getDate).reversed())
+                    .collect(Collectors.toList());
+            event.setRows(expenses.size());
+            return expenses;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Retrieves the user's largest expenses within a date range, largest first.
+     * <p>
+     * The database returns at most {@code limit} rows ordered by amount over the
+     * {@code (user_id, date, amount)} index; archived rows in the range are fetched the same way
+     * and merged with a bounded min-heap, so no full history is sorted in memory.
+     * </p>
+     *
+     * @param userId the id of the user
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param limit the number of expenses to return, 1 to {@value #MAX_TOP_LIMIT}
+     * @return up to {@code limit} expenses ordered by amount descending
+     * @throws IllegalArgumentException if the limit or range is invalid
+     */
+    public List<Expense> getLargestExpenses(Long userId, LocalDate from, LocalDate to, int limit) {
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_LIMIT);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        logger.info("Retrieving {} largest expenses for user with id: {} from {} to {}", limit, userId, from, to);
+        Pageable top = PageRequest.of(0, limit);
+        List<Expense> largest = expenseRepository.findLargestByUserIdAndDateBetween(userId, from, to, top);
+        List<ArchivedTransaction> archived = archivedTransactionRepository
+                .findLargestByUserIdAndKindAndDateBetween(userId, TransactionKind.EXPENSE, from, to, top);
+        if (!archived.isEmpty()) {
+            TopN<Expense> merged = new TopN<>(limit, Comparator.comparing(Expense::getAmount));
+            largest.forEach(merged::offer);
+            archived.forEach(row -> merged.offer(row.toExpense()));
+            largest = merged.toList();
+        }
+        return largest;
     }
 
     /**
@@ -126,16 +274,125 @@ public class ExpenseServiceImpl implements ExpenseService {
      * @param id the id of the expense to delete
      * @throws EntityNotFoundException if the expense is not found
      */
+    @Transactional
     public void deleteExpense(Long id) {
+        deleteExpense(id, null);
+    }
+
+    /**
+     * Deletes an expense by its id, optionally only if it belongs to the given user.
+     * <p>
+     * The row is locked with {@code SELECT ... FOR UPDATE} while its aggregate fields are read
+     * through a narrow projection, then removed by id. That is two statements rather than one:
+     * the listeners need the deleted amount, date and category, and MySQL has no
+     * {@code DELETE ... RETURNING}. The lock keeps the row in place until the {@code DELETE},
+     * so the locking read alone decides whether it existed.
+     * </p>
+     *
+     * @param id the id of the expense to delete
+     * @param userId the owner of the expense, or null to skip the ownership check
+     * @throws EntityNotFoundException if no matching expense exists
+     */
+    @Transactional
+    public void deleteExpense(Long id, Long userId) {
         logger.info("Deleting expense with id: {}", id);
-        Optional<Expense> optionalExpense = expenseRepository.findById(id);
-        if (optionalExpense.isPresent()) {
-            expenseRepository.deleteById(id);
-            logger.debug("Expense deleted with id: {}", id);
-        } else {
+        Optional<LockedRow> row = expenseRepository.lockRowById(id, userId);
+        if (row.isEmpty()) {
             logger.warn("Expense not found with id: {}", id);
             throw new EntityNotFoundException("Expense not found with id: " + id);
         }
+        expenseRepository.deleteRowById(id);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(TransactionKind.EXPENSE, row.get().getUserId(),
+                TransactionSnapshot.of(row.get())));
+        logger.debug("Expense deleted with id: {}", id);
+    }
+
+    /**
+     * Deletes the given expenses of a user. Ids that do not exist or belong to another user are
+     * ignored.
+     *
+     * @param userId the owner of the expenses
+     * @param ids the ids to delete, at most {@value #MAX_BULK_DELETE_IDS}
+     * @return the number of expenses deleted
+     * @throws IllegalArgumentException if no ids or too many ids are given
+     */
+    @Transactional
+    public int deleteExpenses(Long userId, List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_DELETE_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_DELETE_IDS + " ids must be given");
+        }
+        logger.info("Deleting {} expenses for user with id: {}", ids.size(), userId);
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<LockedRow> rows = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += DELETE_BATCH_SIZE) {
+            List<Long> batch = distinct.subList(i, Math.min(distinct.size(), i + DELETE_BATCH_SIZE));
+            rows.addAll(expenseRepository.lockRowsByUserIdAndIdIn(userId, batch));
+        }
+        return deleteRows(userId, rows);
+    }
+
+    /**
+     * Deletes all of a user's expenses dated within a range.
+     * <p>
+     * Rows are locked and removed {@value #DELETE_BATCH_SIZE} at a time in id order, with one
+     * event per page, so a wide range is never read back as one unbounded result set.
+     * </p>
+     *
+     * @param userId the owner of the expenses
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the number of expenses deleted
+     * @throws IllegalArgumentException if the range is reversed
+     */
+    @Transactional
+    public int deleteExpensesBetween(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        logger.info("Deleting expenses for user with id: {} from {} to {}", userId, from, to);
+        int deleted = 0;
+        Long afterId = 0L;
+        List<LockedRow> page;
+        do {
+            page = expenseRepository.lockRowsByUserIdAndDateBetween(userId, from, to, afterId, PageRequest.of(0, DELETE_BATCH_SIZE));
+            deleted += deleteRows(userId, page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (page.size() == DELETE_BATCH_SIZE);
+        return deleted;
+    }
+
+    /**
+     * Removes locked rows in batches of {@value #DELETE_BATCH_SIZE} ids per statement and
+     * publishes a single event for all of them.
+     */
+    private int deleteRows(Long userId, List<LockedRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rows.stream().map(LockedRow::getId).collect(Collectors.toList());
+        int deleted = 0;
+        for (int i = 0; i < ids.size(); i += DELETE_BATCH_SIZE) {
+            deleted += expenseRepository.deleteRowsByUserIdAndIdIn(userId, ids.subList(i, Math.min(ids.size(), i + DELETE_BATCH_SIZE)));
+        }
+        List<TransactionSnapshot> snapshots = rows.stream().map(TransactionSnapshot::of).collect(Collectors.toList());
+        eventPublisher.publishEvent(new TransactionsDeletedEvent(TransactionKind.EXPENSE, userId, snapshots));
+        logger.debug("Deleted {} expenses for user with id: {}", deleted, userId);
+        return deleted;
+    }
+
+    /**
+     * The date column is NOT NULL: a missing date keeps the row's current date on update and
+     * defaults to today on create.
+     */
+    private static LocalDate dateOrDefault(LocalDate requested, LocalDate current) {
+        if (requested != null) {
+            return requested;
+        }
+        return current != null ? current : LocalDate.now();
+    }
+
+    private static Long userIdOf(User user) {
+        return user != null ? user.getId() : null;
     }
 
 }
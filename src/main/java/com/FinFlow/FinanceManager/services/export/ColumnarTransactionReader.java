@@ -0,0 +1,141 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+/**
+ * Reads files written by {@link ColumnarTransactionWriter}, one block at a time.
+ * Malformed input is reported as an {@link IOException}.
+ */
+public class ColumnarTransactionReader {
+
+    /** Longest string accepted in a dictionary, in bytes. */
+    static final int MAX_STRING_BYTES = 1 << 16;
+
+    private final DataInputStream in;
+    private final TransactionKind kind;
+    private boolean finished;
+
+    public ColumnarTransactionReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[ColumnarTransactionWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarTransactionWriter.MAGIC)) {
+            throw new IOException("Not a FinFlow columnar export");
+        }
+        int ordinal = this.in.readUnsignedByte();
+        if (ordinal >= TransactionKind.values().length) {
+            throw new IOException("Unknown transaction kind " + ordinal);
+        }
+        this.kind = TransactionKind.values()[ordinal];
+    }
+
+    public TransactionKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the rows of the next block, or an empty list once the end marker was read
+     */
+    public List<ImportedRow> nextBlock() throws IOException {
+        if (finished) {
+            return List.of();
+        }
+        long count = readVarLong();
+        if (count == 0) {
+            finished = true;
+            return List.of();
+        }
+        if (count > ColumnarTransactionWriter.BLOCK_ROWS) {
+            throw new IOException("Block of " + count + " rows exceeds " + ColumnarTransactionWriter.BLOCK_ROWS);
+        }
+        List<ImportedRow> rows = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new ImportedRow());
+        }
+        long previousDay = 0;
+        for (ImportedRow row : rows) {
+            long value = readVarLong();
+            if (value != 0) {
+                previousDay += unZigZag(value - 1);
+                try {
+                    row.setDate(LocalDate.ofEpochDay(previousDay));
+                } catch (DateTimeException e) {
+                    throw new IOException("Date out of range", e);
+                }
+            }
+        }
+        for (ImportedRow row : rows) {
+            long value = readVarLong();
+            if (value != 0) {
+                long amount = unZigZag(value - 1);
+                if (amount != (int) amount) {
+                    throw new IOException("Amount out of range");
+                }
+                row.setAmount((int) amount);
+            }
+        }
+        readDictionaryColumn(rows, ImportedRow::setCategory);
+        readDictionaryColumn(rows, ImportedRow::setTitle);
+        readDictionaryColumn(rows, ImportedRow::setDescription);
+        return rows;
+    }
+
+    private void readDictionaryColumn(List<ImportedRow> rows, BiConsumer<ImportedRow, String> setter) throws IOException {
+        long size = readVarLong();
+        if (size > rows.size()) {
+            throw new IOException("Dictionary of " + size + " entries exceeds block size");
+        }
+        String[] dictionary = new String[(int) size];
+        for (int i = 0; i < size; i++) {
+            long length = readVarLong();
+            if (length > MAX_STRING_BYTES) {
+                throw new IOException("String of " + length + " bytes is too long");
+            }
+            byte[] bytes = new byte[(int) length];
+            in.readFully(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        for (ImportedRow row : rows) {
+            long index = readVarLong();
+            if (index > size) {
+                throw new IOException("Dictionary index " + index + " out of range");
+            }
+            if (index != 0) {
+                setter.accept(row, dictionary[(int) index - 1]);
+            }
+        }
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated columnar export");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.repository.ExportRow;
+
+/**
+ * Writes transactions in the FinFlow columnar format.
+ * <p>
+ * After a header of {@link #MAGIC} and the transaction kind, rows follow in blocks of at most
+ * {@link #BLOCK_ROWS}. Each block starts with its row count and stores every column
+ * contiguously: dates as zig-zag varint deltas, amounts as zig-zag varints, and the string
+ * columns as a per-block dictionary followed by one varint index per row. In all columns the
+ * value 0 stands for null and other values are shifted by one. A block count of 0 ends the
+ * file. Only one block of rows is held in memory at a time. Ids are not written because an
+ * import assigns new ones.
+ * </p>
+ */
+public class ColumnarTransactionWriter implements TransactionWriter {
+
+    static final byte[] MAGIC = {'F', 'F', 'C', '1'};
+
+    static final int BLOCK_ROWS = 4096;
+
+    private final DataOutputStream out;
+    private final List<ExportRow> block = new ArrayList<>(BLOCK_ROWS);
+
+    public ColumnarTransactionWriter(OutputStream out, TransactionKind kind) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.write(MAGIC);
+        this.out.writeByte(kind.ordinal());
+    }
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+        block.add(row);
+        if (block.size() == BLOCK_ROWS) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the last block and the end marker and flushes; does not close the underlying stream.
+     */
+    @Override
+    public void finish() throws IOException {
+        writeBlock();
+        writeVarLong(0);
+        out.flush();
+    }
+
+    private void writeBlock() throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+        writeVarLong(block.size());
+        long previousDay = 0;
+        for (ExportRow row : block) {
+            if (row.getDate() == null) {
+                writeVarLong(0);
+            } else {
+                long day = row.getDate().toEpochDay();
+                writeVarLong(zigZag(day - previousDay) + 1);
+                previousDay = day;
+            }
+        }
+        for (ExportRow row : block) {
+            writeVarLong(row.getAmount() == null ? 0 : zigZag(row.getAmount()) + 1);
+        }
+        writeDictionaryColumn(ExportRow::getCategory);
+        writeDictionaryColumn(ExportRow::getTitle);
+        writeDictionaryColumn(ExportRow::getDescription);
+        block.clear();
+    }
+
+    private void writeDictionaryColumn(Function<ExportRow, String> column) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (ExportRow row : block) {
+            String value = column.apply(row);
+            if (value != null) {
+                dictionary.putIfAbsent(value, dictionary.size());
+            }
+        }
+        writeVarLong(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+        for (ExportRow row : block) {
+            String value = column.apply(row);
+            writeVarLong(value == null ? 0 : dictionary.get(value) + 1);
+        }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+}
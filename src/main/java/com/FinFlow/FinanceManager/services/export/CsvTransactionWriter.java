@@ -0,0 +1,64 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.FinFlow.FinanceManager.repository.ExportRow;
+
+/**
+ * Writes transactions as RFC 4180 CSV, one row at a time.
+ */
+public class CsvTransactionWriter implements TransactionWriter {
+
+    static final String HEADER = "id,date,title,description,category,amount";
+
+    private final Writer writer;
+
+    public CsvTransactionWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+        writer.write(row.getId() != null ? row.getId().toString() : "");
+        writer.write(',');
+        writer.write(row.getDate() != null ? row.getDate().toString() : "");
+        writer.write(',');
+        writeField(row.getTitle());
+        writer.write(',');
+        writeField(row.getDescription());
+        writer.write(',');
+        writeField(row.getCategory());
+        writer.write(',');
+        writer.write(row.getAmount() != null ? row.getAmount().toString() : "");
+        writer.write("\r\n");
+    }
+
+    /**
+     * Flushes buffered rows; does not close the underlying stream.
+     */
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
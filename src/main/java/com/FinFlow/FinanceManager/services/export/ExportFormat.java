@@ -0,0 +1,30 @@
+package com.FinFlow.FinanceManager.services.export;
+
+/**
+ * File formats a user's transactions can be exported to.
+ */
+public enum ExportFormat {
+
+    /** Comma-separated values with a header row, for spreadsheets. */
+    CSV("text/csv", "csv"),
+
+    /** Compact block-columnar binary format that can be imported again. */
+    COLUMNAR("application/octet-stream", "ffc");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.time.LocalDate;
+
+import com.FinFlow.FinanceManager.repository.ExportRow;
+
+import lombok.Data;
+
+/**
+ * Row decoded from a columnar export. Carries no id; imports create new rows.
+ */
+@Data
+public class ImportedRow implements ExportRow {
+
+    private Long id;
+    private LocalDate date;
+    private String title;
+    private String description;
+    private String category;
+    private Integer amount;
+
+}
@@ -0,0 +1,15 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+public interface TransactionExportService {
+
+    long export(Long userId, TransactionKind kind, ExportFormat format, OutputStream out) throws IOException;
+
+    int importColumnar(Long userId, InputStream in) throws IOException;
+
+}
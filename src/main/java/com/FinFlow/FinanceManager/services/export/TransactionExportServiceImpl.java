@@ -0,0 +1,139 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.ExportRow;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.services.expense.ExpenseService;
+import com.FinFlow.FinanceManager.services.income.IncomeService;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams a user's transactions to CSV or the columnar format, and imports columnar files.
+ * <p>
+ * Exports read a forward-only cursor of {@link ExportRow} projections and write each row to the
+ * output as it arrives, so memory use does not depend on the size of the history. Rows already
+ * moved to the cold archive come first, then the hot table, so an export is the user's full
+ * history whether or not the archive job has run; archived rows keep their original ids. Imports
+ * decode one block at a time and commit each block in its own transaction through the regular
+ * create path, so indexes and sketches stay in step; a failure leaves earlier blocks imported.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportServiceImpl.class);
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final UserRepository userRepository;
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Writes all of a user's transactions of one kind to a stream, archived rows included,
+     * oldest first.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @param format the file format
+     * @param out the stream to write to; flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, TransactionKind kind, ExportFormat format, OutputStream out) throws IOException {
+        logger.info("Exporting {} rows for userId: {} as {}", kind, userId, format);
+        TransactionWriter writer = format == ExportFormat.CSV
+                ? new CsvTransactionWriter(out)
+                : new ColumnarTransactionWriter(out, kind);
+        // One cursor at a time: the hot rows are only queried once the archived ones are written.
+        long count = writeAll(archivedTransactionRepository.streamExportRowsByUserIdAndKind(userId, kind), writer);
+        count += writeAll(kind == TransactionKind.EXPENSE
+                ? expenseRepository.streamExportRowsByUserId(userId)
+                : incomeRepository.streamExportRowsByUserId(userId), writer);
+        writer.finish();
+        logger.info("Exported {} {} rows for userId: {}", count, kind, userId);
+        return count;
+    }
+
+    /**
+     * Creates transactions for a user from a columnar export; the kind is taken from the file.
+     *
+     * @param userId the ID of the user to import into
+     * @param in the columnar file
+     * @return the number of rows imported
+     * @throws IOException if the input is malformed or cannot be read
+     * @throws EntityNotFoundException if the user does not exist
+     */
+    public int importColumnar(Long userId, InputStream in) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        ColumnarTransactionReader reader = new ColumnarTransactionReader(in);
+        logger.info("Importing {} rows for userId: {}", reader.getKind(), userId);
+        int imported = 0;
+        for (List<ImportedRow> block = reader.nextBlock(); !block.isEmpty(); block = reader.nextBlock()) {
+            List<ImportedRow> rows = block;
+            transactionTemplate.executeWithoutResult(status -> rows.forEach(row -> importRow(user, reader.getKind(), row)));
+            imported += rows.size();
+        }
+        logger.info("Imported {} {} rows for userId: {}", imported, reader.getKind(), userId);
+        return imported;
+    }
+
+    private static long writeAll(Stream<ExportRow> rows, TransactionWriter writer) throws IOException {
+        long count = 0;
+        try (rows) {
+            for (Iterator<ExportRow> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                writer.write(iterator.next());
+            }
+        }
+        return count;
+    }
+
+    private void importRow(User user, TransactionKind kind, ImportedRow row) {
+        if (kind == TransactionKind.EXPENSE) {
+            ExpenseDTO dto = new ExpenseDTO();
+            dto.setTitle(row.getTitle());
+            dto.setDescription(row.getDescription());
+            dto.setCategory(row.getCategory());
+            dto.setDate(row.getDate());
+            dto.setAmount(row.getAmount());
+            dto.setUser(user);
+            expenseService.postExpense(dto);
+        } else {
+            IncomeDTO dto = new IncomeDTO();
+            dto.setTitle(row.getTitle());
+            dto.setDescription(row.getDescription());
+            dto.setCategory(row.getCategory());
+            dto.setDate(row.getDate());
+            dto.setAmount(row.getAmount());
+            dto.setUser(user);
+            incomeService.postIncome(dto);
+        }
+    }
+
+}
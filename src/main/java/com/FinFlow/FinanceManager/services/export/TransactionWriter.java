@@ -0,0 +1,19 @@
+package com.FinFlow.FinanceManager.services.export;
+
+import java.io.IOException;
+
+import com.FinFlow.FinanceManager.repository.ExportRow;
+
+/**
+ * Writes exported transactions to an output stream in one {@link ExportFormat}.
+ */
+interface TransactionWriter {
+
+    void write(ExportRow row) throws IOException;
+
+    /**
+     * Writes whatever is still buffered and flushes; does not close the underlying stream.
+     */
+    void finish() throws IOException;
+
+}
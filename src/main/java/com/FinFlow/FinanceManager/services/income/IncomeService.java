@@ -1,8 +1,10 @@
 package com.FinFlow.FinanceManager.services.income;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
 import com.FinFlow.FinanceManager.entity.Income;
 
 public interface IncomeService {
@@ -13,10 +15,20 @@ public interface IncomeService {
 
     List<IncomeDTO> getIncomesByUserId(Long userId);
 
+    List<IncomeDTO> getLargestIncomes(Long userId, LocalDate from, LocalDate to, int limit);
+
     Income updateIncome(Long id, IncomeDTO incomeDTO);
 
+    long patchIncome(Long id, TransactionPatchDTO patch);
+
     IncomeDTO getIncomeById(Long id);
 
     void deleteIncome(Long id);
 
+    void deleteIncome(Long id, Long userId);
+
+    int deleteIncomes(Long userId, List<Long> ids);
+
+    int deleteIncomesBetween(Long userId, LocalDate from, LocalDate to);
+
 }
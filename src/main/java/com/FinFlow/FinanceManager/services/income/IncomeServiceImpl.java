@@ -1,17 +1,39 @@
 package com.FinFlow.FinanceManager.services.income;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
+import com.FinFlow.FinanceManager.entity.ArchivedTransaction;
 import com.FinFlow.FinanceManager.entity.Income;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.profiling.ServiceCallEvent;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.LockedRow;
+import com.FinFlow.FinanceManager.repository.TransactionPatchRepository;
 import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.util.TopN;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +47,20 @@ public class IncomeServiceImpl implements IncomeService{
 
     private static final Logger logger = LoggerFactory.getLogger(IncomeServiceImpl.class);
 
+    /** Largest number of rows a top-N request may ask for. */
+    static final int MAX_TOP_LIMIT = 100;
+
+    /** Largest number of ids a bulk delete may name. */
+    static final int MAX_BULK_DELETE_IDS = 10_000;
+
+    /** Ids removed per {@code DELETE} statement in bulk deletes. */
+    static final int DELETE_BATCH_SIZE = 500;
+
     private final IncomeRepository incomeRepository;
+    private final TransactionPatchRepository transactionPatchRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final CategoryService categoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates and saves a new income.
@@ -36,7 +71,9 @@ public class IncomeServiceImpl implements IncomeService{
     public Income postIncome(IncomeDTO incomeDTO) {
         logger.info("Posting new income: {}", incomeDTO);
         Income income = new Income();
-        return saveOrUpdateIncome(income, incomeDTO);
+        Income savedIncome = saveOrUpdateIncome(income, incomeDTO);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(savedIncome));
+        return savedIncome;
     }
 
     /**
@@ -48,13 +85,21 @@ public class IncomeServiceImpl implements IncomeService{
      */
     private Income saveOrUpdateIncome(Income income, IncomeDTO incomeDTO) {
         logger.debug("Saving or updating income: {}", incomeDTO);
-        income.setTitle(incomeDTO.getTitle());
-        income.setDate(incomeDTO.getDate());
-        income.setAmount(incomeDTO.getAmount());
-        income.setCategory(incomeDTO.getCategory());
-        income.setDescription(incomeDTO.getDescription());
-        income.setUser(incomeDTO.getUser());
-        return incomeRepository.save(income);
+        ServiceCallEvent event = ServiceCallEvent.begin("IncomeService.save", userIdOf(incomeDTO.getUser()));
+        try {
+            income.setTitle(incomeDTO.getTitle());
+            income.setDate(dateOrDefault(incomeDTO.getDate(), income.getDate()));
+            income.setAmount(incomeDTO.getAmount());
+            income.setCategory(incomeDTO.getCategory());
+            income.setDescription(incomeDTO.getDescription());
+            income.setUser(incomeDTO.getUser());
+            income.setCategoryId(categoryService.resolveId(userIdOf(incomeDTO.getUser()), incomeDTO.getCategory()));
+            Income saved = incomeRepository.save(income);
+            event.setRows(1);
+            return saved;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -70,13 +115,73 @@ public class IncomeServiceImpl implements IncomeService{
         Optional<Income> optionalIncome = incomeRepository.findById(id);
         if (optionalIncome.isPresent()) {
             Income income = optionalIncome.get();
-            return saveOrUpdateIncome(income, incomeDTO);
+            TransactionSnapshot before = TransactionSnapshot.of(income);
+            Income updatedIncome = saveOrUpdateIncome(income, incomeDTO);
+            eventPublisher.publishEvent(TransactionChangedEvent.updated(before, updatedIncome));
+            return updatedIncome;
         } else {
             logger.warn("Income not found with id: {}", id);
             throw new EntityNotFoundException("Income not found with id: " + id);
         }
     }
 
+    /**
+     * Applies a partial update to an income.
+     * <p>
+     * Only the supplied fields are written, by one {@code UPDATE} that also checks and bumps the
+     * version. Title and description edits need no prior read; edits to the amount, date or
+     * category first read the row's aggregate fields under a lock so listeners can move its
+     * contribution.
+     * </p>
+     *
+     * @param id the id of the income
+     * @param patch the fields to change and the expected version
+     * @return the new version
+     * @throws IllegalArgumentException if the version or every field is missing
+     * @throws EntityNotFoundException if the income is not found
+     * @throws ObjectOptimisticLockingFailureException if the income has another version
+     */
+    @Transactional
+    public long patchIncome(Long id, TransactionPatchDTO patch) {
+        if (patch.getVersion() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        Map<String, Object> changes = patch.toChanges();
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        logger.info("Patching income with id: {} at version {}", id, patch.getVersion());
+        LockedRow row = null;
+        if (patch.changesAggregates()) {
+            row = incomeRepository.lockRowById(id, null).orElse(null);
+            if (row == null) {
+                logger.warn("Income not found with id: {}", id);
+                throw new EntityNotFoundException("Income not found with id: " + id);
+            }
+            if (patch.getCategory() != null) {
+                changes.put("categoryId", categoryService.resolveId(row.getUserId(), patch.getCategory()));
+            }
+        }
+        if (transactionPatchRepository.patch(Income.class, id, patch.getVersion(), changes) == 0) {
+            if (row == null && !incomeRepository.existsById(id)) {
+                logger.warn("Income not found with id: {}", id);
+                throw new EntityNotFoundException("Income not found with id: " + id);
+            }
+            logger.warn("Income with id: {} is no longer at version {}", id, patch.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Income.class, id);
+        }
+        if (row != null) {
+            TransactionSnapshot before = TransactionSnapshot.of(row);
+            TransactionSnapshot after = new TransactionSnapshot(
+                    patch.getDate() != null ? patch.getDate() : before.getDate(),
+                    patch.getAmount() != null ? patch.getAmount() : before.getAmount(),
+                    patch.getCategory() != null ? patch.getCategory() : before.getCategory(),
+                    changes.containsKey("categoryId") ? (Integer) changes.get("categoryId") : before.getCategoryId());
+            eventPublisher.publishEvent(TransactionChangedEvent.updated(TransactionKind.INCOME, row.getUserId(), before, after));
+        }
+        return patch.getVersion() + 1;
+    }
+
     /**
      * Retrieves all incomes, sorted by date descending.
      *
@@ -96,10 +201,17 @@ public class IncomeServiceImpl implements IncomeService{
      */
     public List<IncomeDTO> getIncomesByUserId(Long userId) {
         logger.info("Retrieving incomes for userId: {}", userId);
-        return incomeRepository.findByUserId(userId).stream()
-                .sorted(Comparator.comparing(Income::getDate).reversed())
-                .map(Income::getIncomeDTO)
-                .collect(Collectors.toList());
+        ServiceCallEvent event = ServiceCallEvent.begin("IncomeService.getIncomesByUserId", userId);
+        try {
+            List<IncomeDTO> incomes = incomeRepository.findByUserId(userId).stream()
+                    .sorted(Comparator.comparing(Income::getDate).reversed())
+                    .map(Income::getIncomeDTO)
+                    .collect(Collectors.toList());
+            event.setRows(incomes.size());
+            return incomes;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -121,20 +233,166 @@ public class IncomeServiceImpl implements IncomeService{
     }
 
     /**
-     * Deletes an income by its ID.
+     * Retrieves the user's largest incomes within a date range, largest first.
+     * <p>
+     * The database returns at most {@code limit} rows ordered by amount over the
+     * {@code (user_id, date, amount)} index; archived rows in the range are fetched the same way
+     * and merged with a bounded min-heap, so no full history is sorted in memory.
+     * </p>
      *
-     * @param id the income ID
+     * @param userId the id of the user
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param limit the number of incomes to return, 1 to {@value #MAX_TOP_LIMIT}
+     * @return up to {@code limit} incomes ordered by amount descending
+     * @throws IllegalArgumentException if the limit or range is invalid
+     */
+    public List<IncomeDTO> getLargestIncomes(Long userId, LocalDate from, LocalDate to, int limit) {
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_LIMIT);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        logger.info("Retrieving {} largest incomes for user with id: {} from {} to {}", limit, userId, from, to);
+        Pageable top = PageRequest.of(0, limit);
+        List<Income> largest = incomeRepository.findLargestByUserIdAndDateBetween(userId, from, to, top);
+        List<ArchivedTransaction> archived = archivedTransactionRepository
+                .findLargestByUserIdAndKindAndDateBetween(userId, TransactionKind.INCOME, from, to, top);
+        if (!archived.isEmpty()) {
+            TopN<Income> merged = new TopN<>(limit, Comparator.comparing(Income::getAmount));
+            largest.forEach(merged::offer);
+            archived.forEach(row -> merged.offer(row.toIncome()));
+            largest = merged.toList();
+        }
+        return largest.stream().map(Income::getIncomeDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes an income by its id.
+     *
+     * @param id the id of the income to delete
      * @throws EntityNotFoundException if the income is not found
      */
+    @Transactional
     public void deleteIncome(Long id) {
+        deleteIncome(id, null);
+    }
+
+    /**
+     * Deletes an income by its id, optionally only if it belongs to the given user.
+     * <p>
+     * The row is locked with {@code SELECT ... FOR UPDATE} while its aggregate fields are read
+     * through a narrow projection, then removed by id. That is two statements rather than one:
+     * the listeners need the deleted amount, date and category, and MySQL has no
+     * {@code DELETE ... RETURNING}. The lock keeps the row in place until the {@code DELETE},
+     * so the locking read alone decides whether it existed.
+     * </p>
+     *
+     * @param id the id of the income to delete
+     * @param userId the owner of the income, or null to skip the ownership check
+     * @throws EntityNotFoundException if no matching income exists
+     */
+    @Transactional
+    public void deleteIncome(Long id, Long userId) {
         logger.info("Deleting income with id: {}", id);
-        Optional<Income> optionalIncome = incomeRepository.findById(id);
-        if (optionalIncome.isPresent()) {
-            incomeRepository.deleteById(id);
-        } else {
+        Optional<LockedRow> row = incomeRepository.lockRowById(id, userId);
+        if (row.isEmpty()) {
             logger.warn("Income not found with id: {}", id);
             throw new EntityNotFoundException("Income not found with id: " + id);
         }
+        incomeRepository.deleteRowById(id);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(TransactionKind.INCOME, row.get().getUserId(),
+                TransactionSnapshot.of(row.get())));
+        logger.debug("Income deleted with id: {}", id);
+    }
+
+    /**
+     * Deletes the given incomes of a user. Ids that do not exist or belong to another user are
+     * ignored.
+     *
+     * @param userId the owner of the incomes
+     * @param ids the ids to delete, at most {@value #MAX_BULK_DELETE_IDS}
+     * @return the number of incomes deleted
+     * @throws IllegalArgumentException if no ids or too many ids are given
+     */
+    @Transactional
+    public int deleteIncomes(Long userId, List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_DELETE_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_DELETE_IDS + " ids must be given");
+        }
+        logger.info("Deleting {} incomes for user with id: {}", ids.size(), userId);
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<LockedRow> rows = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += DELETE_BATCH_SIZE) {
+            List<Long> batch = distinct.subList(i, Math.min(distinct.size(), i + DELETE_BATCH_SIZE));
+            rows.addAll(incomeRepository.lockRowsByUserIdAndIdIn(userId, batch));
+        }
+        return deleteRows(userId, rows);
+    }
+
+    /**
+     * Deletes all of a user's incomes dated within a range.
+     * <p>
+     * Rows are locked and removed {@value #DELETE_BATCH_SIZE} at a time in id order, with one
+     * event per page, so a wide range is never read back as one unbounded result set.
+     * </p>
+     *
+     * @param userId the owner of the incomes
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the number of incomes deleted
+     * @throws IllegalArgumentException if the range is reversed
+     */
+    @Transactional
+    public int deleteIncomesBetween(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        logger.info("Deleting incomes for user with id: {} from {} to {}", userId, from, to);
+        int deleted = 0;
+        Long afterId = 0L;
+        List<LockedRow> page;
+        do {
+            page = incomeRepository.lockRowsByUserIdAndDateBetween(userId, from, to, afterId, PageRequest.of(0, DELETE_BATCH_SIZE));
+            deleted += deleteRows(userId, page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (page.size() == DELETE_BATCH_SIZE);
+        return deleted;
+    }
+
+    /**
+     * Removes locked rows in batches of {@value #DELETE_BATCH_SIZE} ids per statement and
+     * publishes a single event for all of them.
+     */
+    private int deleteRows(Long userId, List<LockedRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rows.stream().map(LockedRow::getId).collect(Collectors.toList());
+        int deleted = 0;
+        for (int i = 0; i < ids.size(); i += DELETE_BATCH_SIZE) {
+            deleted += incomeRepository.deleteRowsByUserIdAndIdIn(userId, ids.subList(i, Math.min(ids.size(), i + DELETE_BATCH_SIZE)));
+        }
+        List<TransactionSnapshot> snapshots = rows.stream().map(TransactionSnapshot::of).collect(Collectors.toList());
+        eventPublisher.publishEvent(new TransactionsDeletedEvent(TransactionKind.INCOME, userId, snapshots));
+        logger.debug("Deleted {} incomes for user with id: {}", deleted, userId);
+        return deleted;
+    }
+
+    /**
+     * The date column is NOT NULL: a missing date keeps the row's current date on update and
+     * defaults to today on create.
+     */
+    private static LocalDate dateOrDefault(LocalDate requested, LocalDate current) {
+        if (requested != null) {
+            return requested;
+        }
+        return current != null ? current : LocalDate.now();
+    }
+
+    private static Long userIdOf(User user) {
+        return user != null ? user.getId() : null;
     }
 
 }
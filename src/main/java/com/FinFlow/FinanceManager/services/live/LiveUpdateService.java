@@ -0,0 +1,11 @@
+package com.FinFlow.FinanceManager.services.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveUpdateService {
+
+    SseEmitter subscribe(Long userId);
+
+    int getSubscriberCount(Long userId);
+
+}
@@ -0,0 +1,302 @@
+package com.FinFlow.FinanceManager.services.live;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.FinFlow.FinanceManager.dto.ChartBucketDTO;
+import com.FinFlow.FinanceManager.dto.DashboardUpdateDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.services.stats.StatsService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation that pushes dashboard updates to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber has a bounded queue drained by a small sender pool, so a write never blocks
+ * on a client's socket. A subscriber whose queue overflows is considered too slow and is
+ * disconnected; browsers reconnect automatically and receive a fresh snapshot. Updates are only
+ * computed for users with at least one subscriber, and idle streams are kept alive with
+ * periodic comments.
+ * </p>
+ */
+@Service
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateServiceImpl.class);
+
+    /** Days shown on the dashboard chart, matching the chart endpoint. */
+    static final int CHART_DAYS = 28;
+
+    private final StatsService statsService;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxSubscribersPerUser;
+    private final ExecutorService sender;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public LiveUpdateServiceImpl(StatsService statsService,
+                                 @Value("${finflow.live.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${finflow.live.queue-capacity:32}") int queueCapacity,
+                                 @Value("${finflow.live.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                                 @Value("${finflow.live.sender-threads:2}") int senderThreads) {
+        this.statsService = statsService;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-updates-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream of dashboard updates for a user; the first event carries the current totals.
+     *
+     * @param userId the ID of the user
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, queueCapacity);
+        List<Subscriber> userSubscribers = subscribers.compute(userId, (id, existing) -> {
+            List<Subscriber> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        while (userSubscribers.size() > maxSubscribersPerUser) {
+            drop(userSubscribers.get(0), "too many subscribers");
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> drop(subscriber, "timeout"));
+        emitter.onError(error -> remove(subscriber));
+        logger.info("Live dashboard subscriber added for userId: {}", userId);
+
+        DashboardUpdateDTO snapshot = new DashboardUpdateDTO();
+        setTotals(snapshot, userId);
+        snapshot.setChart(List.of());
+        enqueue(subscriber, SseEmitter.event().name("snapshot").data(snapshot));
+        return emitter;
+    }
+
+    /**
+     * @param userId the ID of the user
+     * @return the number of open streams of the user
+     */
+    public int getSubscriberCount(Long userId) {
+        List<Subscriber> userSubscribers = subscribers.get(userId);
+        return userSubscribers != null ? userSubscribers.size() : 0;
+    }
+
+    /**
+     * Pushes the change and the resulting totals to the user's subscribers, if any.
+     * Runs after the column store has applied the same event.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        List<Subscriber> userSubscribers = event.getUserId() != null ? subscribers.get(event.getUserId()) : null;
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        DashboardUpdateDTO update = new DashboardUpdateDTO();
+        update.setKind(event.getKind());
+        update.setBefore(event.getBefore());
+        update.setAfter(event.getAfter());
+        setTotals(update, event.getUserId());
+        update.setChart(changedBuckets(event.getUserId(), event.getKind(), Arrays.asList(event.getBefore(), event.getAfter())));
+        for (Subscriber subscriber : userSubscribers) {
+            enqueue(subscriber, SseEmitter.event().name("update").data(update));
+        }
+    }
+
+    /**
+     * Pushes one update for a bulk delete to the user's subscribers, if any.
+     *
+     * @param event the bulk delete event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        List<Subscriber> userSubscribers = event.getUserId() != null ? subscribers.get(event.getUserId()) : null;
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        DashboardUpdateDTO update = new DashboardUpdateDTO();
+        update.setKind(event.getKind());
+        update.setDeletedCount(event.getDeleted().size());
+        setTotals(update, event.getUserId());
+        update.setChart(changedBuckets(event.getUserId(), event.getKind(), event.getDeleted()));
+        for (Subscriber subscriber : userSubscribers) {
+            enqueue(subscriber, SseEmitter.event().name("update").data(update));
+        }
+    }
+
+    /**
+     * Pushes one update for a batch insert to the user's subscribers, if any.
+     *
+     * @param event the batch insert event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        List<Subscriber> userSubscribers = event.getUserId() != null ? subscribers.get(event.getUserId()) : null;
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        DashboardUpdateDTO update = new DashboardUpdateDTO();
+        update.setKind(event.getKind());
+        update.setCreatedCount(event.getCreated().size());
+        setTotals(update, event.getUserId());
+        update.setChart(changedBuckets(event.getUserId(), event.getKind(), event.getCreated()));
+        for (Subscriber subscriber : userSubscribers) {
+            enqueue(subscriber, SseEmitter.event().name("update").data(update));
+        }
+    }
+
+    /**
+     * Sends a comment to every open stream so proxies keep idle connections open and dead
+     * clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${finflow.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private void setTotals(DashboardUpdateDTO update, Long userId) {
+        long income = statsService.getTotal(userId, TransactionKind.INCOME);
+        long expense = statsService.getTotal(userId, TransactionKind.EXPENSE);
+        update.setIncome(income);
+        update.setExpense(expense);
+        update.setBalance(income - expense);
+    }
+
+    private List<ChartBucketDTO> changedBuckets(Long userId, TransactionKind kind, Collection<TransactionSnapshot> snapshots) {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(CHART_DAYS - 1);
+        Set<LocalDate> dates = new TreeSet<>();
+        for (TransactionSnapshot snapshot : snapshots) {
+            if (snapshot != null && snapshot.getDate() != null
+                    && !snapshot.getDate().isBefore(firstDay) && !snapshot.getDate().isAfter(today)) {
+                dates.add(snapshot.getDate());
+            }
+        }
+        List<ChartBucketDTO> buckets = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            buckets.add(new ChartBucketDTO(date, kind, statsService.getDayTotal(userId, kind, date)));
+        }
+        return buckets;
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            drop(subscriber, "slow consumer");
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder message;
+            while (!subscriber.closed.get() && (message = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Live dashboard send failed for userId: {}: {}", subscriber.userId, e.getMessage());
+            drop(subscriber, "send failed");
+        } finally {
+            subscriber.draining.set(false);
+            if (!subscriber.closed.get() && !subscriber.queue.isEmpty()) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (remove(subscriber)) {
+            logger.info("Dropping live dashboard subscriber for userId: {} ({})", subscriber.userId, reason);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriber.queue.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+        return true;
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+}
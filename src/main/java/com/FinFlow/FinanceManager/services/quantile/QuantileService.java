@@ -0,0 +1,16 @@
+package com.FinFlow.FinanceManager.services.quantile;
+
+import java.util.Map;
+
+import com.FinFlow.FinanceManager.dto.QuantilesDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+
+public interface QuantileService {
+
+    QuantilesDTO getQuantiles(Long userId, TransactionKind kind);
+
+    Map<String, QuantilesDTO> getCategoryQuantiles(Long userId, TransactionKind kind);
+
+    void record(Long userId, TransactionKind kind, Integer categoryId, Integer amount, long delta);
+
+}
@@ -0,0 +1,176 @@
+package com.FinFlow.FinanceManager.services.quantile;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.FinFlow.FinanceManager.dto.QuantilesDTO;
+import com.FinFlow.FinanceManager.entity.AmountHistogramBucket;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.repository.AmountHistogramRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.util.QuantileSketch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Service implementation for percentile statistics backed by persisted {@link QuantileSketch}es.
+ * <p>
+ * Each (user, kind, category) sketch is stored as bucket rows in {@code amount_histogram} and
+ * updated on every transaction change, so reading percentiles touches only the user's bucket
+ * rows instead of scanning transactions. Per-user percentiles merge the category sketches.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class QuantileServiceImpl implements QuantileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuantileServiceImpl.class);
+
+    /** Category id stored for uncategorized rows. */
+    static final int NO_CATEGORY = 0;
+
+    static final String UNCATEGORIZED = "Uncategorized";
+
+    private final AmountHistogramRepository histogramRepository;
+    private final CategoryService categoryService;
+
+    /**
+     * Retrieves the percentiles of all of a user's amounts of one kind.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @return the percentiles
+     */
+    public QuantilesDTO getQuantiles(Long userId, TransactionKind kind) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (AmountHistogramBucket bucket : histogramRepository.findByUserIdAndKind(userId, kind)) {
+            sketch.add(bucket.getBucket(), bucket.getCount());
+        }
+        return toDTO(sketch);
+    }
+
+    /**
+     * Retrieves the percentiles of a user's amounts of one kind for each category.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @return percentiles keyed by category name, in name order
+     */
+    public Map<String, QuantilesDTO> getCategoryQuantiles(Long userId, TransactionKind kind) {
+        Map<Integer, QuantileSketch> sketches = new TreeMap<>();
+        List<AmountHistogramBucket> buckets = histogramRepository.findByUserIdAndKind(userId, kind);
+        for (AmountHistogramBucket bucket : buckets) {
+            sketches.computeIfAbsent(bucket.getCategoryId(), id -> new QuantileSketch())
+                    .add(bucket.getBucket(), bucket.getCount());
+        }
+        Map<String, QuantilesDTO> quantiles = new TreeMap<>();
+        sketches.forEach((categoryId, sketch) -> {
+            if (sketch.getCount() > 0) {
+                String name = categoryId == NO_CATEGORY ? null : categoryService.getName(categoryId);
+                quantiles.put(name != null ? name : UNCATEGORIZED, toDTO(sketch));
+            }
+        });
+        return quantiles;
+    }
+
+    /**
+     * Adds or removes occurrences of an amount in a user's sketch.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @param categoryId the category id, or null if uncategorized
+     * @param amount the amount; ignored if null
+     * @param delta the number of occurrences to add, negative to remove
+     */
+    public void record(Long userId, TransactionKind kind, Integer categoryId, Integer amount, long delta) {
+        if (userId == null || amount == null || delta == 0) {
+            return;
+        }
+        int category = categoryId != null ? categoryId : NO_CATEGORY;
+        int bucket = QuantileSketch.bucketOf(amount);
+        if (delta > 0) {
+            // An upsert rather than insert-and-catch: a duplicate key would mark the
+            // surrounding business transaction rollback-only.
+            histogramRepository.upsert(userId, kind.name(), category, bucket, delta);
+        } else if (histogramRepository.increment(userId, kind, category, bucket, delta) == 0) {
+            logger.debug("No sketch bucket to decrement for userId: {}, {} amount {}", userId, kind, amount);
+        }
+    }
+
+    /**
+     * Keeps the persisted sketches in step with transaction writes.
+     *
+     * @param event the change event
+     */
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        TransactionSnapshot before = event.getBefore();
+        TransactionSnapshot after = event.getAfter();
+        if (before != null) {
+            record(event.getUserId(), event.getKind(), before.getCategoryId(), before.getAmount(), -1);
+        }
+        if (after != null) {
+            record(event.getUserId(), event.getKind(), after.getCategoryId(), after.getAmount(), 1);
+        }
+    }
+
+    /**
+     * Removes bulk-deleted amounts from the persisted sketches with one update per touched
+     * bucket rather than one per row.
+     *
+     * @param event the bulk delete event
+     */
+    @EventListener
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        recordAll(event.getUserId(), event.getKind(), event.getDeleted(), -1);
+    }
+
+    /**
+     * Adds batch-inserted amounts to the persisted sketches with one update per touched
+     * bucket rather than one per row.
+     *
+     * @param event the batch insert event
+     */
+    @EventListener
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        recordAll(event.getUserId(), event.getKind(), event.getCreated(), 1);
+    }
+
+    private void recordAll(Long userId, TransactionKind kind, List<TransactionSnapshot> snapshots, int sign) {
+        Map<BucketKey, Long> counts = new HashMap<>();
+        Map<BucketKey, Integer> amounts = new HashMap<>();
+        for (TransactionSnapshot snapshot : snapshots) {
+            if (snapshot.getAmount() == null) {
+                continue;
+            }
+            int category = snapshot.getCategoryId() != null ? snapshot.getCategoryId() : NO_CATEGORY;
+            BucketKey key = new BucketKey(category, QuantileSketch.bucketOf(snapshot.getAmount()));
+            counts.merge(key, 1L, Long::sum);
+            amounts.putIfAbsent(key, snapshot.getAmount());
+        }
+        counts.forEach((key, count) -> record(userId, kind, key.getCategoryId(), amounts.get(key), sign * count));
+    }
+
+    private static QuantilesDTO toDTO(QuantileSketch sketch) {
+        return new QuantilesDTO(sketch.getCount(), sketch.quantile(0.5), sketch.quantile(0.9), sketch.quantile(0.99));
+    }
+
+    @Value
+    private static class BucketKey {
+        int categoryId;
+        int bucket;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.FinFlow.FinanceManager.services.recurring;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.FinFlow.FinanceManager.dto.RecurringTransactionDTO;
+import com.FinFlow.FinanceManager.entity.RecurringTransaction;
+
+public interface RecurringTransactionService {
+
+    RecurringTransaction createRecurring(RecurringTransactionDTO dto);
+
+    List<RecurringTransaction> getRecurringByUserId(Long userId);
+
+    void deleteRecurring(Long id, Long userId);
+
+    int materializeDue(LocalDate today);
+
+}
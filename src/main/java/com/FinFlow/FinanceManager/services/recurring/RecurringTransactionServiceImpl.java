@@ -0,0 +1,291 @@
+package com.FinFlow.FinanceManager.services.recurring;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.dto.RecurringTransactionDTO;
+import com.FinFlow.FinanceManager.entity.RecurringTransaction;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.repository.RecurringTransactionRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Service implementation for recurring transactions.
+ * <p>
+ * A scheduled job writes the due occurrences of all users' definitions into the expense and
+ * income tables. Definitions are locked and processed a chunk at a time, each chunk in its own
+ * transaction; its occurrences are written with JDBC batch inserts (multi-row inserts on MySQL
+ * with {@code rewriteBatchedStatements}) and announced with one {@link TransactionsCreatedEvent}
+ * per user and kind, so aggregates are updated once per batch rather than once per row.
+ * </p>
+ * Each definition remembers its next occurrence date, so after downtime the job only walks
+ * the {@code next_date} index to the definitions that fell behind and catches up on their
+ * missed occurrences in the same batches. A chunk writes at most
+ * {@code finflow.recurring.max-rows-per-chunk} rows; a definition with a longer backlog
+ * continues in the next chunk.
+ */
+@Service
+public class RecurringTransactionServiceImpl implements RecurringTransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionServiceImpl.class);
+
+    static final String INSERT_EXPENSE = "INSERT INTO expense (title, description, category, category_id, date, amount, user_id, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    static final String INSERT_INCOME = "INSERT INTO income (title, description, category, category_id, date, amount, user_id, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final RecurringTransactionRepository recurringRepository;
+    private final CategoryService categoryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxRowsPerChunk;
+    private final int batchSize;
+
+    public RecurringTransactionServiceImpl(RecurringTransactionRepository recurringRepository,
+                                           CategoryService categoryService,
+                                           JdbcTemplate jdbcTemplate,
+                                           TransactionTemplate transactionTemplate,
+                                           ApplicationEventPublisher eventPublisher,
+                                           @Value("${finflow.recurring.enabled:true}") boolean enabled,
+                                           @Value("${finflow.recurring.chunk-size:200}") int chunkSize,
+                                           @Value("${finflow.recurring.max-rows-per-chunk:5000}") int maxRowsPerChunk,
+                                           @Value("${finflow.recurring.batch-size:500}") int batchSize) {
+        this.recurringRepository = recurringRepository;
+        this.categoryService = categoryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxRowsPerChunk = Math.max(1, maxRowsPerChunk);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Creates a recurring transaction. Occurrences dated up to today are written immediately,
+     * up to one chunk's worth; the job writes the rest.
+     *
+     * @param dto the definition
+     * @return the saved definition
+     * @throws IllegalArgumentException if a required field is missing or the end is before the start
+     */
+    @Transactional
+    public RecurringTransaction createRecurring(RecurringTransactionDTO dto) {
+        if (dto.getKind() == null || dto.getFrequency() == null || dto.getStartDate() == null || dto.getAmount() == null) {
+            throw new IllegalArgumentException("kind, frequency, startDate and amount are required");
+        }
+        if (dto.getUser() == null || dto.getUser().getId() == null) {
+            throw new IllegalArgumentException("user is required");
+        }
+        if (dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new IllegalArgumentException("'endDate' must not be before 'startDate'");
+        }
+        logger.info("Creating {} recurring {} with title: {}", dto.getFrequency(), dto.getKind(), dto.getTitle());
+        RecurringTransaction definition = new RecurringTransaction();
+        definition.setKind(dto.getKind());
+        definition.setTitle(dto.getTitle());
+        definition.setDescription(dto.getDescription());
+        definition.setCategory(dto.getCategory());
+        definition.setCategoryId(categoryService.resolveId(dto.getUser().getId(), dto.getCategory()));
+        definition.setAmount(dto.getAmount());
+        definition.setFrequency(dto.getFrequency());
+        definition.setStartDate(dto.getStartDate());
+        definition.setEndDate(dto.getEndDate());
+        definition.setUser(dto.getUser());
+        definition.setOccurrenceCount(0);
+        definition.setNextDate(dto.getStartDate());
+        RecurringTransaction saved = recurringRepository.save(definition);
+
+        LocalDate today = LocalDate.now();
+        if (!saved.getStartDate().isAfter(today)) {
+            materialize(List.of(saved), today);
+        }
+        return saved;
+    }
+
+    /**
+     * Retrieves a user's recurring transactions, ordered by start date.
+     *
+     * @param userId the ID of the user
+     * @return the user's definitions
+     */
+    public List<RecurringTransaction> getRecurringByUserId(Long userId) {
+        logger.info("Retrieving recurring transactions for user with id: {}", userId);
+        return recurringRepository.findByUserIdOrderByStartDate(userId);
+    }
+
+    /**
+     * Deletes a recurring transaction. Occurrences already written are kept.
+     *
+     * @param id the ID of the definition
+     * @param userId the owner of the definition, or null to skip the ownership check
+     * @throws EntityNotFoundException if no matching definition exists
+     */
+    @Transactional
+    public void deleteRecurring(Long id, Long userId) {
+        logger.info("Deleting recurring transaction with id: {}", id);
+        if (recurringRepository.deleteByIdAndUserId(id, userId) == 0) {
+            logger.warn("Recurring transaction not found with id: {}", id);
+            throw new EntityNotFoundException("Recurring transaction not found with id: " + id);
+        }
+    }
+
+    /**
+     * Scheduled entry point; does nothing if {@code finflow.recurring.enabled} is false. It
+     * runs shortly after startup, which catches up after downtime, and then periodically.
+     */
+    @Scheduled(initialDelayString = "${finflow.recurring.initial-delay-ms:60000}",
+            fixedDelayString = "${finflow.recurring.interval-ms:3600000}")
+    public void scheduledMaterialize() {
+        if (enabled) {
+            materializeDue(LocalDate.now());
+        }
+    }
+
+    /**
+     * Writes every occurrence dated on or before {@code today} that has not been written yet.
+     *
+     * @param today the last day to write occurrences for
+     * @return the number of expense and income rows inserted
+     */
+    public int materializeDue(LocalDate today) {
+        long start = System.nanoTime();
+        int total = 0;
+        int chunks = 0;
+        long fromId = 0;
+        while (true) {
+            long chunkFrom = fromId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = recurringRepository.findDueIds(today, chunkFrom, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                List<RecurringTransaction> due = recurringRepository.lockDue(ids, today);
+                // Definitions another run advanced between the two reads drop out of the locked read.
+                return due.isEmpty() ? new Chunk(0, ids.get(ids.size() - 1) + 1) : materialize(due, today);
+            });
+            if (chunk == null) {
+                break;
+            }
+            total += chunk.rows;
+            chunks++;
+            fromId = chunk.nextFromId;
+        }
+        if (total > 0) {
+            logger.info("Wrote {} recurring transaction occurrences up to {} in {} chunks in {} ms", total, today, chunks,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    /**
+     * Writes the due occurrences of the given definitions, which must be managed by the current
+     * transaction, and advances them.
+     */
+    private Chunk materialize(List<RecurringTransaction> definitions, LocalDate today) {
+        List<Occurrence> expenses = new ArrayList<>();
+        List<Occurrence> incomes = new ArrayList<>();
+        int budget = maxRowsPerChunk;
+        long nextFromId = definitions.get(definitions.size() - 1).getId() + 1;
+        for (RecurringTransaction definition : definitions) {
+            List<Occurrence> target = definition.getKind() == TransactionKind.EXPENSE ? expenses : incomes;
+            LocalDate next = definition.getNextDate();
+            while (next != null && !next.isAfter(today) && budget > 0) {
+                target.add(new Occurrence(definition, next));
+                budget--;
+                definition.setOccurrenceCount(definition.getOccurrenceCount() + 1);
+                next = nextOccurrence(definition);
+            }
+            definition.setNextDate(next);
+            if (next != null && !next.isAfter(today)) {
+                // Out of budget: this definition and the ones after it continue in the next chunk.
+                nextFromId = definition.getId();
+                break;
+            }
+        }
+        insert(INSERT_EXPENSE, expenses);
+        insert(INSERT_INCOME, incomes);
+        publish(TransactionKind.EXPENSE, expenses);
+        publish(TransactionKind.INCOME, incomes);
+        return new Chunk(expenses.size() + incomes.size(), nextFromId);
+    }
+
+    /**
+     * @return the date of the definition's next unwritten occurrence, or null if it is past the end date
+     */
+    static LocalDate nextOccurrence(RecurringTransaction definition) {
+        LocalDate next = definition.getFrequency().occurrence(definition.getStartDate(), definition.getOccurrenceCount());
+        return definition.getEndDate() != null && next.isAfter(definition.getEndDate()) ? null : next;
+    }
+
+    private void insert(String sql, List<Occurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, occurrences, batchSize, (statement, occurrence) -> {
+            RecurringTransaction definition = occurrence.definition;
+            statement.setString(1, definition.getTitle());
+            statement.setString(2, definition.getDescription());
+            statement.setString(3, definition.getCategory());
+            statement.setObject(4, definition.getCategoryId(), Types.INTEGER);
+            statement.setObject(5, occurrence.date);
+            statement.setInt(6, definition.getAmount());
+            statement.setLong(7, definition.getUser().getId());
+        });
+    }
+
+    private void publish(TransactionKind kind, List<Occurrence> occurrences) {
+        Map<Long, List<TransactionSnapshot>> byUser = new LinkedHashMap<>();
+        for (Occurrence occurrence : occurrences) {
+            RecurringTransaction definition = occurrence.definition;
+            byUser.computeIfAbsent(definition.getUser().getId(), id -> new ArrayList<>())
+                    .add(new TransactionSnapshot(occurrence.date, definition.getAmount(), definition.getCategory(),
+                            definition.getCategoryId()));
+        }
+        byUser.forEach((userId, created) -> eventPublisher.publishEvent(new TransactionsCreatedEvent(kind, userId, created)));
+    }
+
+    private static final class Occurrence {
+        final RecurringTransaction definition;
+        final LocalDate date;
+
+        Occurrence(RecurringTransaction definition, LocalDate date) {
+            this.definition = definition;
+            this.date = date;
+        }
+    }
+
+    private static final class Chunk {
+        final int rows;
+        final long nextFromId;
+
+        Chunk(int rows, long nextFromId) {
+            this.rows = rows;
+            this.nextFromId = nextFromId;
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.FinFlow.FinanceManager.services.statement;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.FinFlow.FinanceManager.entity.MonthlyStatement;
+
+public interface StatementService {
+
+    List<MonthlyStatement> getStatements(Long userId);
+
+    int generateStatements(LocalDate month);
+
+}
@@ -0,0 +1,365 @@
+package com.FinFlow.FinanceManager.services.statement;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.entity.MonthlyStatement;
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.entity.StatementPartition;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlyStatementRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.repository.StatementPartitionRepository;
+import com.FinFlow.FinanceManager.repository.UserCategoryTotal;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.repository.UserTotal;
+import com.FinFlow.FinanceManager.services.archive.ArchiveService;
+
+/**
+ * Service implementation for monthly statements.
+ * <p>
+ * A nightly job writes the previous month's statement of every user, and catches up on any
+ * earlier month since the archive cutoff whose statements are missing. Users are split into
+ * {@link StatementPartition}s of {@code finflow.statements.partition-size} consecutive ids,
+ * which are processed in parallel on {@code finflow.statements.parallelism} threads, each
+ * holding one pooled connection. A partition costs a fixed handful of grouped queries over
+ * the {@code (user_id, date, amount)} indexes, whatever its number of users, and its
+ * statements are written with JDBC batch inserts.
+ * </p>
+ * Each partition is written and marked completed in one transaction, so a run that is
+ * interrupted or fails on some partitions leaves the others done; the next run, or another
+ * instance, only processes the pending ones. Rerunning a partition replaces its statements.
+ */
+@Service
+public class StatementServiceImpl implements StatementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementServiceImpl.class);
+
+    static final String INSERT_STATEMENT = "INSERT INTO monthly_statements (user_id, statement_month, opening_balance, "
+            + "income_total, income_count, expense_total, expense_count, closing_balance, top_expense_category_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final MonthlyStatementRepository statementRepository;
+    private final StatementPartitionRepository partitionRepository;
+    private final ArchiveService archiveService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int parallelism;
+    private final int partitionSize;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    public StatementServiceImpl(UserRepository userRepository,
+                                ExpenseRepository expenseRepository,
+                                IncomeRepository incomeRepository,
+                                MonthlySummaryRepository monthlySummaryRepository,
+                                MonthlyStatementRepository statementRepository,
+                                StatementPartitionRepository partitionRepository,
+                                ArchiveService archiveService,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${finflow.statements.enabled:true}") boolean enabled,
+                                @Value("${finflow.statements.parallelism:4}") int parallelism,
+                                @Value("${finflow.statements.partition-size:1000}") int partitionSize,
+                                @Value("${finflow.statements.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.statementRepository = statementRepository;
+        this.partitionRepository = partitionRepository;
+        this.archiveService = archiveService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.parallelism = Math.max(1, parallelism);
+        this.partitionSize = Math.max(1, partitionSize);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Retrieves a user's statements, newest month first.
+     *
+     * @param userId the ID of the user
+     * @return the user's statements
+     */
+    public List<MonthlyStatement> getStatements(Long userId) {
+        logger.info("Retrieving statements for user with id: {}", userId);
+        return statementRepository.findByUserIdOrderByStatementMonthDesc(userId);
+    }
+
+    /**
+     * Scheduled entry point; unless {@code finflow.statements.enabled} is false, generates last
+     * month's statements and then those of every earlier month back to the archive cutoff that
+     * is not complete, such as months missed while the job was disabled or down. Complete months
+     * cost one grouped query per run.
+     */
+    @Scheduled(cron = "${finflow.statements.cron:0 0 2 * * *}")
+    public void scheduledGenerate() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate lastMonth = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+        generateStatements(lastMonth);
+        LocalDate cutoff = archiveService.getCutoff().withDayOfMonth(1);
+        Set<LocalDate> complete = new HashSet<>(partitionRepository.findCompletedMonthsFrom(cutoff));
+        for (LocalDate month = cutoff; month.isBefore(lastMonth); month = month.plusMonths(1)) {
+            if (!complete.contains(month)) {
+                generateStatements(month);
+            }
+        }
+    }
+
+    /**
+     * Writes the statements of one month for all users, resuming a previous run of the same
+     * month if there was one. Does nothing if a run is already in progress.
+     *
+     * @param month any day of the month to report
+     * @return the number of statements written by this call
+     * @throws IllegalArgumentException if the month has not ended or is already archived
+     */
+    public int generateStatements(LocalDate month) {
+        LocalDate first = month.withDayOfMonth(1);
+        if (!first.isBefore(LocalDate.now().withDayOfMonth(1))) {
+            throw new IllegalArgumentException("Statements can only be generated for completed months");
+        }
+        if (first.isBefore(archiveService.getCutoff())) {
+            throw new IllegalArgumentException("Transactions of " + first + " are archived");
+        }
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Statement generation already running, skipping {}", first);
+            return 0;
+        }
+        try {
+            return generate(first);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int generate(LocalDate month) {
+        long start = System.nanoTime();
+        List<StatementPartition> partitions = planPartitions(month);
+        List<Long> pending = partitions.stream()
+                .filter(partition -> !partition.isCompleted())
+                .map(StatementPartition::getId)
+                .collect(Collectors.toList());
+        if (pending.isEmpty()) {
+            logger.debug("Statements for {} are complete", month);
+            return 0;
+        }
+        logger.info("Generating statements for {}: {} of {} partitions pending", month, pending.size(), partitions.size());
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()), runnable -> {
+            Thread thread = new Thread(runnable, "statements-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int written = 0;
+        int failed = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>(pending.size());
+            for (Long partitionId : pending) {
+                results.add(workers.submit(() -> processPartition(partitionId, month)));
+            }
+            for (Future<Integer> result : results) {
+                try {
+                    written += result.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    logger.error("Statement partition for {} failed: {}", month, e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Statement generation for {} interrupted, pending partitions resume on the next run", month);
+        } finally {
+            workers.shutdownNow();
+        }
+        logger.info("Wrote {} statements for {} in {} ms, {} partitions failed", written, month,
+                (System.nanoTime() - start) / 1_000_000, failed);
+        return written;
+    }
+
+    /**
+     * Returns the partitions of a month, splitting the current users into ranges on the first
+     * call. The last range is open-ended so that it also covers users created later.
+     */
+    private List<StatementPartition> planPartitions(LocalDate month) {
+        List<StatementPartition> partitions = partitionRepository.findByStatementMonthOrderByFirstUserId(month);
+        if (!partitions.isEmpty()) {
+            return partitions;
+        }
+        try {
+            List<StatementPartition> planned = transactionTemplate.execute(status -> {
+                List<StatementPartition> ranges = new ArrayList<>();
+                long[] count = new long[1];
+                try (Stream<Long> ids = userRepository.streamIds()) {
+                    ids.forEach(id -> {
+                        if (count[0]++ % partitionSize == 0) {
+                            if (!ranges.isEmpty()) {
+                                ranges.get(ranges.size() - 1).setLastUserId(id - 1);
+                            }
+                            ranges.add(newPartition(month, ranges.isEmpty() ? 0L : id));
+                        }
+                    });
+                }
+                return partitionRepository.saveAll(ranges);
+            });
+            return planned != null ? planned : List.of();
+        } catch (DataIntegrityViolationException e) {
+            // Another instance planned the same month concurrently.
+            return partitionRepository.findByStatementMonthOrderByFirstUserId(month);
+        }
+    }
+
+    private static StatementPartition newPartition(LocalDate month, long firstUserId) {
+        StatementPartition partition = new StatementPartition();
+        partition.setStatementMonth(month);
+        partition.setFirstUserId(firstUserId);
+        partition.setLastUserId(Long.MAX_VALUE);
+        return partition;
+    }
+
+    /**
+     * Writes the statements of one partition and marks it completed, in one transaction. The
+     * partition row stays locked meanwhile, so another instance waits and then skips it.
+     *
+     * @return the number of statements written
+     */
+    private int processPartition(Long partitionId, LocalDate month) {
+        Integer written = transactionTemplate.execute(status -> {
+            StatementPartition partition = partitionRepository.lockById(partitionId).orElse(null);
+            if (partition == null || partition.isCompleted()) {
+                return 0;
+            }
+            Long first = partition.getFirstUserId();
+            Long last = partition.getLastUserId();
+            LocalDate next = month.plusMonths(1);
+
+            Map<Long, Totals> totals = new LinkedHashMap<>();
+            for (Long userId : userRepository.findIdsBetween(first, last)) {
+                totals.put(userId, new Totals(userId));
+            }
+            if (!totals.isEmpty()) {
+                addOpening(totals, incomeRepository.sumByUserIdBetweenBefore(first, last, month), 1);
+                addOpening(totals, expenseRepository.sumByUserIdBetweenBefore(first, last, month), -1);
+                addOpening(totals, monthlySummaryRepository.sumNetByUserIdBetweenBefore(first, last,
+                        MonthlySummary.periodIndexOf(month)), 1);
+                for (UserCategoryTotal row : incomeRepository.sumByUserIdBetweenAndCategory(first, last, month, next)) {
+                    Totals user = totals.get(row.getUserId());
+                    if (user != null) {
+                        user.addIncome(row);
+                    }
+                }
+                for (UserCategoryTotal row : expenseRepository.sumByUserIdBetweenAndCategory(first, last, month, next)) {
+                    Totals user = totals.get(row.getUserId());
+                    if (user != null) {
+                        user.addExpense(row);
+                    }
+                }
+            }
+            statementRepository.deleteByMonthAndUserIdBetween(month, first, last);
+            insert(month, totals.values());
+            partition.setCompleted(true);
+            partition.setUserCount(totals.size());
+            partition.setCompletedAt(LocalDateTime.now());
+            return totals.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    private static void addOpening(Map<Long, Totals> totals, List<UserTotal> rows, int sign) {
+        for (UserTotal row : rows) {
+            Totals user = totals.get(row.getUserId());
+            if (user != null && row.getTotal() != null) {
+                user.opening += sign * row.getTotal();
+            }
+        }
+    }
+
+    private void insert(LocalDate month, Collection<Totals> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_STATEMENT, rows, batchSize, (statement, user) -> {
+            statement.setLong(1, user.userId);
+            statement.setObject(2, month);
+            statement.setLong(3, user.opening);
+            statement.setLong(4, user.income);
+            statement.setLong(5, user.incomeCount);
+            statement.setLong(6, user.expense);
+            statement.setLong(7, user.expenseCount);
+            statement.setLong(8, user.opening + user.income - user.expense);
+            statement.setObject(9, user.topCategoryId, Types.INTEGER);
+        });
+    }
+
+    /**
+     * Running totals of one user's statement.
+     */
+    private static final class Totals {
+        final long userId;
+        long opening;
+        long income;
+        long incomeCount;
+        long expense;
+        long expenseCount;
+        Integer topCategoryId;
+        long topCategoryTotal;
+
+        Totals(long userId) {
+            this.userId = userId;
+        }
+
+        void addIncome(UserCategoryTotal row) {
+            income += row.getTotal();
+            incomeCount += row.getCount();
+        }
+
+        void addExpense(UserCategoryTotal row) {
+            expense += row.getTotal();
+            expenseCount += row.getCount();
+            Integer categoryId = row.getCategoryId();
+            if (categoryId != null && (topCategoryId == null || row.getTotal() > topCategoryTotal
+                    || row.getTotal() == topCategoryTotal && categoryId < topCategoryId)) {
+                topCategoryId = categoryId;
+                topCategoryTotal = row.getTotal();
+            }
+        }
+    }
+
+}
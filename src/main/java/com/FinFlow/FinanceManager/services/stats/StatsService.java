@@ -1,7 +1,15 @@
 package com.FinFlow.FinanceManager.services.stats;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.FinFlow.FinanceManager.dto.BalancePointDTO;
+import com.FinFlow.FinanceManager.dto.CategoryBreakdownDTO;
 import com.FinFlow.FinanceManager.dto.GraphDTO;
+import com.FinFlow.FinanceManager.dto.QuantilesDTO;
 import com.FinFlow.FinanceManager.dto.StatsDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
 
 public interface StatsService {
 
@@ -9,4 +17,16 @@ public interface StatsService {
 
     StatsDTO getStats(Long userId);
 
+    long getTotal(Long userId, TransactionKind kind);
+
+    long getDayTotal(Long userId, TransactionKind kind, LocalDate date);
+
+    long getBalanceAt(Long userId, LocalDate date);
+
+    List<BalancePointDTO> getBalanceSeries(Long userId, LocalDate from, LocalDate to);
+
+    Map<String, QuantilesDTO> getCategoryQuantiles(Long userId, TransactionKind kind);
+
+    CategoryBreakdownDTO getCategoryBreakdown(Long userId, LocalDate from, LocalDate to);
+
 }
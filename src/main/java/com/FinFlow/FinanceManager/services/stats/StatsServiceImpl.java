@@ -1,20 +1,35 @@
 package com.FinFlow.FinanceManager.services.stats;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.FinFlow.FinanceManager.dto.BalancePointDTO;
+import com.FinFlow.FinanceManager.dto.CategoryBreakdownDTO;
 import com.FinFlow.FinanceManager.dto.GraphDTO;
+import com.FinFlow.FinanceManager.dto.QuantilesDTO;
 import com.FinFlow.FinanceManager.dto.StatsDTO;
 import com.FinFlow.FinanceManager.entity.Expense;
 import com.FinFlow.FinanceManager.entity.Income;
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.profiling.ServiceCallEvent;
+import com.FinFlow.FinanceManager.repository.AmountRange;
 import com.FinFlow.FinanceManager.repository.ExpenseRepository;
 import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.services.analytics.TransactionColumnStore;
+import com.FinFlow.FinanceManager.services.analytics.UserColumns;
+import com.FinFlow.FinanceManager.services.breakdown.CategoryBreakdownService;
+import com.FinFlow.FinanceManager.services.quantile.QuantileService;
+import com.FinFlow.FinanceManager.util.AmountAccumulator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,8 +42,15 @@ public class StatsServiceImpl implements StatsService {
 
     private static final Logger logger = LoggerFactory.getLogger(StatsServiceImpl.class);
 
+    /** Longest balance series served in one request (about ten years of days). */
+    static final int MAX_SERIES_DAYS = 3660;
+
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionColumnStore columnStore;
+    private final QuantileService quantileService;
+    private final CategoryBreakdownService categoryBreakdownService;
 
     /**
      * Retrieves chart data (income and expenses) for the last 28 days for a user.
@@ -38,53 +60,68 @@ public class StatsServiceImpl implements StatsService {
      */
     public GraphDTO getChartData(Long userId) {
         logger.info("Fetching chart data for userId: {}", userId);
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(27);
+        ServiceCallEvent event = ServiceCallEvent.begin("StatsService.getChartData", userId);
+        try {
+            LocalDate endDate = LocalDate.now();
+            LocalDate startDate = endDate.minusDays(27);
 
-        GraphDTO graphDTO = new GraphDTO();
-        graphDTO.setExpenseList(expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate));
-        graphDTO.setIncomeList(incomeRepository.findByUserIdAndDateBetween(userId, startDate, endDate));
-        logger.debug("Chart data fetched for userId: {} from {} to {}", userId, startDate, endDate);
-        return graphDTO;
+            GraphDTO graphDTO = new GraphDTO();
+            graphDTO.setExpenseList(expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate));
+            graphDTO.setIncomeList(incomeRepository.findByUserIdAndDateBetween(userId, startDate, endDate));
+            event.setRows(graphDTO.getExpenseList().size() + graphDTO.getIncomeList().size());
+            logger.debug("Chart data fetched for userId: {} from {} to {}", userId, startDate, endDate);
+            return graphDTO;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
      * Retrieves statistical data for a user, including totals, latest entries, balance, and min/max values.
+     * Archived months are included through their monthly summaries.
      *
      * @param userId the ID of the user
      * @return a StatsDTO containing statistical information
      */
     public StatsDTO getStats(Long userId) {
         logger.info("Fetching statistics for userId: {}", userId);
-        Double totalIncome = incomeRepository.sumAllAmountsByUserId(userId);
-        Double totalExpense = expenseRepository.sumAllAmountsByUserId(userId);
+        ServiceCallEvent event = ServiceCallEvent.begin("StatsService.getStats", userId);
+        try {
+            return columnStore.isEnabled() ? getStatsFromColumns(userId, event) : getStatsFromRepositories(userId);
+        } finally {
+            event.commit();
+        }
+    }
 
-        Optional<Income> optionalIncome = incomeRepository.findFirstByUserIdOrderByDateDesc(userId);
-        Optional<Expense> optionalExpense = expenseRepository.findFirstByUserIdOrderByDateDesc(userId);
+    /**
+     * Computes statistics with repository queries, used when the columnar store is disabled.
+     *
+     * @param userId the ID of the user
+     * @return a StatsDTO containing statistical information
+     */
+    private StatsDTO getStatsFromRepositories(Long userId) {
+        long totalIncome = getTotalFromRepositories(userId, TransactionKind.INCOME);
+        long totalExpense = getTotalFromRepositories(userId, TransactionKind.EXPENSE);
 
         StatsDTO statsDTO = new StatsDTO();
         statsDTO.setExpense(totalExpense);
         statsDTO.setIncome(totalIncome);
-
-        optionalIncome.ifPresent(statsDTO::setLatestIncome);
-        optionalExpense.ifPresent(statsDTO::setLatestExpense);
+        setLatestEntries(statsDTO, userId);
+        setQuantiles(statsDTO, userId);
 
         statsDTO.setBalance(totalIncome - totalExpense);
 
         logger.debug("Total income: {}, Total expense: {}, Balance: {}", totalIncome, totalExpense, statsDTO.getBalance());
 
-        List<Income> incomeList = incomeRepository.findAll();
-        List<Expense> expenseList = expenseRepository.findAll();
-
-        OptionalDouble minIncome = incomeList.stream().mapToDouble(Income::getAmount).min();
-        OptionalDouble maxIncome = incomeList.stream().mapToDouble(Income::getAmount).max();
-        OptionalDouble minExpense = expenseList.stream().mapToDouble(Expense::getAmount).min();
-        OptionalDouble maxExpense = expenseList.stream().mapToDouble(Expense::getAmount).max();
+        AmountRange incomeRange = incomeRepository.findAmountRangeByUserId(userId);
+        AmountRange expenseRange = expenseRepository.findAmountRangeByUserId(userId);
+        AmountRange archivedIncomeRange = monthlySummaryRepository.findAmountRangeByUserIdAndKind(userId, TransactionKind.INCOME);
+        AmountRange archivedExpenseRange = monthlySummaryRepository.findAmountRangeByUserIdAndKind(userId, TransactionKind.EXPENSE);
 
-        statsDTO.setMaxExpense(maxExpense.isPresent() ? maxExpense.getAsDouble() : null);
-        statsDTO.setMinExpense(minExpense.isPresent() ? minExpense.getAsDouble() : null);
-        statsDTO.setMaxIncome(maxIncome.isPresent() ? maxIncome.getAsDouble() : null);
-        statsDTO.setMinIncome(minIncome.isPresent() ? minIncome.getAsDouble() : null);
+        statsDTO.setMaxExpense(max(expenseRange.getMax(), archivedExpenseRange.getMax()));
+        statsDTO.setMinExpense(min(expenseRange.getMin(), archivedExpenseRange.getMin()));
+        statsDTO.setMaxIncome(max(incomeRange.getMax(), archivedIncomeRange.getMax()));
+        statsDTO.setMinIncome(min(incomeRange.getMin(), archivedIncomeRange.getMin()));
 
         logger.debug("Min/Max Income: {}/{}", statsDTO.getMinIncome(), statsDTO.getMaxIncome());
         logger.debug("Min/Max Expense: {}/{}", statsDTO.getMinExpense(), statsDTO.getMaxExpense());
@@ -92,4 +129,198 @@ public class StatsServiceImpl implements StatsService {
         return statsDTO;
     }
 
+    /**
+     * Retrieves the all-time total of a user's amounts of one kind, archived months included.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @return the total
+     */
+    public long getTotal(Long userId, TransactionKind kind) {
+        if (columnStore.isEnabled()) {
+            return columnStore.get(userId).stats(kind).getSum();
+        }
+        return getTotalFromRepositories(userId, kind);
+    }
+
+    /**
+     * Retrieves the total of a user's amounts of one kind on a single day.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @param date the day
+     * @return the day's total
+     */
+    public long getDayTotal(Long userId, TransactionKind kind, LocalDate date) {
+        if (columnStore.isEnabled()) {
+            int day = Math.toIntExact(date.toEpochDay());
+            return columnStore.get(userId).sumBetween(kind, day, day);
+        }
+        return kind == TransactionKind.EXPENSE
+                ? expenseRepository.sumAmountsByUserIdAndDate(userId, date)
+                : incomeRepository.sumAmountsByUserIdAndDate(userId, date);
+    }
+
+    private long getTotalFromRepositories(Long userId, TransactionKind kind) {
+        long hot = kind == TransactionKind.EXPENSE
+                ? expenseRepository.sumAllAmountsByUserId(userId)
+                : incomeRepository.sumAllAmountsByUserId(userId);
+        return hot + monthlySummaryRepository.sumTotalByUserIdAndKind(userId, kind);
+    }
+
+    /**
+     * Computes statistics from the in-memory columnar store instead of scanning entities.
+     *
+     * @param userId the ID of the user
+     * @param event the profiling event of the call, receives the number of aggregated rows
+     * @return a StatsDTO containing statistical information
+     */
+    private StatsDTO getStatsFromColumns(Long userId, ServiceCallEvent event) {
+        UserColumns columns = columnStore.get(userId);
+        AmountAccumulator incomeStats = columns.stats(TransactionKind.INCOME);
+        AmountAccumulator expenseStats = columns.stats(TransactionKind.EXPENSE);
+        event.setRows(incomeStats.getCount() + expenseStats.getCount());
+
+        StatsDTO statsDTO = new StatsDTO();
+        statsDTO.setIncome(incomeStats.getSum());
+        statsDTO.setExpense(expenseStats.getSum());
+        statsDTO.setBalance(incomeStats.getSum() - expenseStats.getSum());
+        setLatestEntries(statsDTO, userId);
+        setQuantiles(statsDTO, userId);
+
+        statsDTO.setMinIncome(incomeStats.getMin());
+        statsDTO.setMaxIncome(incomeStats.getMax());
+        statsDTO.setMinExpense(expenseStats.getMin());
+        statsDTO.setMaxExpense(expenseStats.getMax());
+
+        logger.debug("Column stats for userId: {} - income: {}, expense: {}", userId, statsDTO.getIncome(), statsDTO.getExpense());
+        return statsDTO;
+    }
+
+    /**
+     * Retrieves the balance (total income minus total expenses) at the end of a day.
+     * Archived months count from their first day.
+     *
+     * @param userId the ID of the user
+     * @param date the day
+     * @return the balance at the end of the day
+     */
+    public long getBalanceAt(Long userId, LocalDate date) {
+        if (columnStore.isEnabled() && columnStore.coversBalance(date, date)) {
+            return columnStore.get(userId).balanceAt(Math.toIntExact(date.toEpochDay()));
+        }
+        int periodIndex = MonthlySummary.periodIndexOf(date);
+        return incomeRepository.sumAmountsByUserIdUpTo(userId, date)
+                + monthlySummaryRepository.sumTotalByUserIdAndKindUpTo(userId, TransactionKind.INCOME, periodIndex)
+                - expenseRepository.sumAmountsByUserIdUpTo(userId, date)
+                - monthlySummaryRepository.sumTotalByUserIdAndKindUpTo(userId, TransactionKind.EXPENSE, periodIndex);
+    }
+
+    /**
+     * Retrieves the end-of-day balance for every day of a range.
+     *
+     * @param userId the ID of the user
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one point per day, in date order
+     * @throws IllegalArgumentException if the range is reversed or longer than {@value #MAX_SERIES_DAYS} days
+     */
+    public List<BalancePointDTO> getBalanceSeries(Long userId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_SERIES_DAYS) {
+            throw new IllegalArgumentException("Balance series must span 1 to " + MAX_SERIES_DAYS + " days");
+        }
+        logger.info("Fetching balance series for userId: {} from {} to {}", userId, from, to);
+        long[] balances = columnStore.isEnabled() && columnStore.coversBalance(from, to)
+                ? columnStore.get(userId).balanceSeries(Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()))
+                : balanceSeriesFromRepositories(userId, from, to, (int) days);
+
+        List<BalancePointDTO> series = new ArrayList<>(balances.length);
+        for (int i = 0; i < balances.length; i++) {
+            series.add(new BalancePointDTO(from.plusDays(i), balances[i]));
+        }
+        return series;
+    }
+
+    private long[] balanceSeriesFromRepositories(Long userId, LocalDate from, LocalDate to, int days) {
+        long[] balances = new long[days];
+        for (Income income : incomeRepository.findByUserIdAndDateBetween(userId, from, to)) {
+            if (income.getAmount() != null) {
+                balances[(int) ChronoUnit.DAYS.between(from, income.getDate())] += income.getAmount();
+            }
+        }
+        for (Expense expense : expenseRepository.findByUserIdAndDateBetween(userId, from, to)) {
+            if (expense.getAmount() != null) {
+                balances[(int) ChronoUnit.DAYS.between(from, expense.getDate())] -= expense.getAmount();
+            }
+        }
+        for (MonthlySummary summary : monthlySummaryRepository.findByUserId(userId)) {
+            LocalDate month = summary.getMonth();
+            if (summary.getTotal() != null && !month.isBefore(from) && !month.isAfter(to)) {
+                long signed = summary.getKind() == TransactionKind.EXPENSE ? -summary.getTotal() : summary.getTotal();
+                balances[(int) ChronoUnit.DAYS.between(from, month)] += signed;
+            }
+        }
+        long running = getBalanceAt(userId, from.minusDays(1));
+        for (int i = 0; i < days; i++) {
+            running += balances[i];
+            balances[i] = running;
+        }
+        return balances;
+    }
+
+    /**
+     * Retrieves percentiles of a user's amounts of one kind for each category.
+     *
+     * @param userId the ID of the user
+     * @param kind the transaction kind
+     * @return percentiles keyed by category name
+     */
+    public Map<String, QuantilesDTO> getCategoryQuantiles(Long userId, TransactionKind kind) {
+        logger.info("Fetching {} category percentiles for userId: {}", kind, userId);
+        return quantileService.getCategoryQuantiles(userId, kind);
+    }
+
+    /**
+     * Retrieves per-category totals, counts and shares of income and expenses.
+     *
+     * @param userId the ID of the user
+     * @param from first day, inclusive; null for no lower bound
+     * @param to last day, inclusive; null for no upper bound
+     * @return the category breakdown
+     * @throws IllegalArgumentException if the range is reversed
+     */
+    public CategoryBreakdownDTO getCategoryBreakdown(Long userId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return categoryBreakdownService.getBreakdown(userId, from, to);
+    }
+
+    private void setLatestEntries(StatsDTO statsDTO, Long userId) {
+        Optional<Income> optionalIncome = incomeRepository.findFirstByUserIdOrderByDateDesc(userId);
+        Optional<Expense> optionalExpense = expenseRepository.findFirstByUserIdOrderByDateDesc(userId);
+        optionalIncome.ifPresent(statsDTO::setLatestIncome);
+        optionalExpense.ifPresent(statsDTO::setLatestExpense);
+    }
+
+    private void setQuantiles(StatsDTO statsDTO, Long userId) {
+        statsDTO.setIncomeQuantiles(quantileService.getQuantiles(userId, TransactionKind.INCOME));
+        statsDTO.setExpenseQuantiles(quantileService.getQuantiles(userId, TransactionKind.EXPENSE));
+    }
+
+    private static Long min(Integer hot, Integer archived) {
+        if (hot == null || archived == null) {
+            return hot != null ? Long.valueOf(hot) : archived != null ? Long.valueOf(archived) : null;
+        }
+        return (long) Math.min(hot, archived);
+    }
+
+    private static Long max(Integer hot, Integer archived) {
+        if (hot == null || archived == null) {
+            return hot != null ? Long.valueOf(hot) : archived != null ? Long.valueOf(archived) : null;
+        }
+        return (long) Math.max(hot, archived);
+    }
+
 }
@@ -7,6 +7,7 @@ import com.FinFlow.FinanceManager.entity.User;
 public interface UserService {
 
     User registerUser(UserDTO userDTO);
+    boolean isUsernameAvailable(String username);
     User loginUser(String username, String password);
 
 }
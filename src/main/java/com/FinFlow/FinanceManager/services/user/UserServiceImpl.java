@@ -2,8 +2,13 @@ package com.FinFlow.FinanceManager.services.user;
 
 import com.FinFlow.FinanceManager.dto.UserDTO;
 import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.profiling.PasswordHashEvent;
+import com.FinFlow.FinanceManager.profiling.ServiceCallEvent;
 import com.FinFlow.FinanceManager.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -20,30 +25,76 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UsernameFilter usernameFilter;
+
+    @Autowired
+    private UsernameAvailabilityCache availabilityCache;
+
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     /**
      * Registers a new user with the provided user data.
+     * <p>
+     * The unique constraint on the username decides whether the name is free: the user is
+     * inserted directly and a violation is reported as a duplicate, which also covers
+     * concurrent registrations of the same name. Names the username filter has seen are
+     * checked first so that taken names are rejected without hashing the password.
+     * </p>
      *
      * @param userDTO Data transfer object containing user registration information.
      * @return The saved User entity.
+     * @throws DuplicateKeyException if the username is already taken
      */
     public User registerUser(UserDTO userDTO) {
-        logger.info("Registering user with username: {}", userDTO.getUsername());
-        // Check if username already exists
-        if (userRepository.findByUsername(userDTO.getUsername()).isPresent()) {
-            logger.warn("Username already exists: {}", userDTO.getUsername());
-            throw new RuntimeException("Username already exists");
+        String username = userDTO.getUsername();
+        logger.info("Registering user with username: {}", username);
+        if (usernameFilter.mightExist(username) && userRepository.findByUsername(username).isPresent()) {
+            logger.warn("Username already exists: {}", username);
+            throw new DuplicateKeyException("Username already exists");
         }
         User user = new User();
-        user.setUsername(userDTO.getUsername());
+        user.setUsername(username);
         user.setEmail(userDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
-        User savedUser = userRepository.save(user);
+        user.setPassword(encode(userDTO.getPassword()));
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            logger.warn("Username already exists: {}", username);
+            availabilityCache.markTaken(username);
+            throw new DuplicateKeyException("Username already exists", e);
+        }
+        usernameFilter.add(savedUser.getUsername());
+        availabilityCache.markTaken(savedUser.getUsername());
         logger.info("User registered successfully with id: {}", savedUser.getId());
         return savedUser;
     }
 
+    /**
+     * Tells whether a username can still be registered. Names the username filter has never
+     * seen are answered without a lookup; recent answers for the others come from the
+     * availability cache, so only the first check of a name reaches the database.
+     *
+     * @param username the username to check
+     * @return true if no user has this name
+     */
+    public boolean isUsernameAvailable(String username) {
+        if (!usernameFilter.mightExist(username)) {
+            return true;
+        }
+        Boolean cached = availabilityCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        boolean available = userRepository.findByUsername(username).isEmpty();
+        availabilityCache.put(username, available);
+        return available;
+    }
+
     /**
      * Authenticates a user with the provided username and password.
      *
@@ -54,19 +105,58 @@ public class UserServiceImpl implements UserService {
      */
     public User loginUser(String username, String password) {
         logger.info("Attempting login for username: {}", username);
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> {
-                logger.warn("User not found for username: {}", username);
-                return new RuntimeException("User not found");
-            });
+        ServiceCallEvent event = ServiceCallEvent.begin("UserService.loginUser", null);
+        try {
+            User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> {
+                    logger.warn("User not found for username: {}", username);
+                    return new RuntimeException("User not found");
+                });
+            event.setUserId(user.getId());
+            event.setRows(1);
+
+            // Compare encoded password
+            if (matches(password, user.getPassword())) {
+                logger.info("User login successful for username: {}", username);
+                return user;
+            } else {
+                logger.warn("Invalid password attempt for username: {}", username);
+                throw new RuntimeException("Invalid password");
+            }
+        } finally {
+            event.commit();
+        }
+    }
 
-        // Compare encoded password
-        if (passwordEncoder.matches(password, user.getPassword())) {
-            logger.info("User login successful for username: {}", username);
-            return user;
-        } else {
-            logger.warn("Invalid password attempt for username: {}", username);
-            throw new RuntimeException("Invalid password");
+    private String encode(String rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent(PasswordHashEvent.ENCODE);
+        event.begin();
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private boolean matches(String rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent(PasswordHashEvent.MATCH);
+        event.begin();
+        try {
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,50 @@
+package com.FinFlow.FinanceManager.services.user;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of recent username availability answers, both taken and free, configured as
+ * {@code username-availability} in {@code ehcache.xml}.
+ * <p>
+ * Keys are folded like in {@link UsernameFilter}, matching the case- and accent-insensitive
+ * unique index, so a registration marks every spelling that collides with it as taken.
+ * Registrations on other instances are seen once the entries expire; until then a name may
+ * be reported free and the registration answered with 409.
+ * </p>
+ */
+@Component
+public class UsernameAvailabilityCache {
+
+    static final String CACHE_NAME = "username-availability";
+
+    private final Cache<String, Boolean> cache;
+
+    public UsernameAvailabilityCache(CacheManager jcacheManager) {
+        this.cache = jcacheManager.getCache(CACHE_NAME, String.class, Boolean.class);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured in ehcache.xml");
+        }
+    }
+
+    /**
+     * @return the cached answer, or null if the name was not looked up recently
+     */
+    public Boolean get(String username) {
+        return cache.get(UsernameFilter.fold(username));
+    }
+
+    public void put(String username, boolean available) {
+        cache.put(UsernameFilter.fold(username), available);
+    }
+
+    /**
+     * Records that a name has just been registered.
+     */
+    public void markTaken(String username) {
+        put(username, false);
+    }
+
+}
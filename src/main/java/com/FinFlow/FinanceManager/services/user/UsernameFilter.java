@@ -0,0 +1,98 @@
+package com.FinFlow.FinanceManager.services.user;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.util.BloomFilter;
+
+/**
+ * In-memory Bloom filter of the existing usernames, loaded at startup and updated on every
+ * registration.
+ * <p>
+ * Names are folded to lower case without accents before hashing, like the database's case-
+ * and accent-insensitive collation, so the filter never reports as absent a name the unique
+ * constraint would reject. Until it is loaded every name might exist.
+ * </p>
+ * The filter only knows the registrations of this instance, so a negative answer is used
+ * only where being wrong is harmless: availability checks and skipping the pre-check of a
+ * registration, whose insert is still guarded by the unique constraint. Logins never rely
+ * on it.
+ */
+@Component
+public class UsernameFilter implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameFilter.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final BloomFilter filter;
+
+    private volatile boolean loaded;
+
+    public UsernameFilter(UserRepository userRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${finflow.users.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${finflow.users.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long count = transactionTemplate.execute(status -> {
+            long[] counted = new long[1];
+            try (Stream<String> usernames = userRepository.streamUsernames()) {
+                usernames.forEach(username -> {
+                    add(username);
+                    counted[0]++;
+                });
+            }
+            return counted[0];
+        });
+        loaded = true;
+        logger.info("Loaded {} usernames into a {} KiB Bloom filter in {} ms", count, filter.getBitCount() / 8192,
+                (System.nanoTime() - start) / 1_000_000);
+        if (count > expectedInsertions) {
+            logger.warn("{} users exceed finflow.users.username-filter.expected-insertions={}, "
+                    + "the false positive rate is above its target", count, expectedInsertions);
+        }
+    }
+
+    public void add(String username) {
+        if (username != null) {
+            filter.put(fold(username));
+        }
+    }
+
+    /**
+     * @return false only if no user with this name (up to case and accents) exists
+     */
+    public boolean mightExist(String username) {
+        return !loaded || username == null || filter.mightContain(fold(username));
+    }
+
+    static String fold(String username) {
+        String decomposed = Normalizer.normalize(username, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+}
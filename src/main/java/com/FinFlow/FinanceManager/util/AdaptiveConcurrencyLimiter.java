@@ -0,0 +1,106 @@
+package com.FinFlow.FinanceManager.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to measured latency with AIMD (additive increase,
+ * multiplicative decrease).
+ * <p>
+ * A request that completes within the latency threshold while the limit was at least half used
+ * raises the limit by one; a slow or failed request multiplies it by the backoff ratio. When
+ * the backend slows down, the limit therefore shrinks quickly towards what it can actually
+ * serve, and requests beyond it can be rejected immediately instead of queueing.
+ * </p>
+ * <p>
+ * Like TCP congestion control, the limit is cut at most once per round trip: only a request that
+ * started after the previous cut can cut it again. The requests already in flight during a
+ * latency spike were admitted under the old limit and would otherwise compound the backoff to
+ * {@code ratio^inFlight}.
+ * </p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    /**
+     * @param initialLimit the starting limit
+     * @param minLimit the lowest the limit may fall to, at least 1
+     * @param maxLimit the highest the limit may grow to
+     * @param backoffRatio the factor applied on a slow or failed request, in (0, 1)
+     * @param latencyThresholdNanos latency above which a request counts as slow
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid limiter settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if the number of requests in flight is below the limit.
+     *
+     * @return the number of requests in flight including this one, or -1 if rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns a slot taken by {@link #tryAcquire()} and adjusts the limit from the sample.
+     *
+     * @param inFlightAtAcquire the value returned by {@link #tryAcquire()}
+     * @param startNanos the {@link System#nanoTime()} at which the request started
+     * @param latencyNanos how long the request took
+     * @param failed whether the request failed on the server side
+     */
+    public void release(int inFlightAtAcquire, long startNanos, long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                if (!decreased || startNanos - lastDecreaseNanos >= 0) {
+                    limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                    lastDecreaseNanos = startNanos + latencyNanos;
+                    decreased = true;
+                }
+            } else if (inFlightAtAcquire * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+}
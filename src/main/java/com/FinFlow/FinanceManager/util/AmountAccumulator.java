@@ -0,0 +1,85 @@
+package com.FinFlow.FinanceManager.util;
+
+/**
+ * Single-pass, allocation-free accumulator of count, sum, min and max over integer amounts.
+ * <p>
+ * The sum is kept as a {@code long} and checked for overflow, so totals are exact
+ * regardless of how many rows are aggregated.
+ * </p>
+ */
+public class AmountAccumulator {
+
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Adds an amount.
+     *
+     * @param amount the amount to add
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    public void add(long amount) {
+        count++;
+        sum = Math.addExact(sum, amount);
+        if (amount < min) {
+            min = amount;
+        }
+        if (amount > max) {
+            max = amount;
+        }
+    }
+
+    /**
+     * Adds an amount, ignoring nulls.
+     *
+     * @param amount the amount to add, may be null
+     */
+    public void add(Integer amount) {
+        if (amount != null) {
+            add(amount.longValue());
+        }
+    }
+
+    /**
+     * Merges a pre-aggregated group of amounts, e.g. an archived monthly summary.
+     *
+     * @param groupCount number of amounts in the group
+     * @param groupSum sum of the group
+     * @param groupMin smallest amount of the group
+     * @param groupMax largest amount of the group
+     */
+    public void merge(long groupCount, long groupSum, long groupMin, long groupMax) {
+        if (groupCount <= 0) {
+            return;
+        }
+        count += groupCount;
+        sum = Math.addExact(sum, groupSum);
+        min = Math.min(min, groupMin);
+        max = Math.max(max, groupMax);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the smallest amount added, or null if nothing was added
+     */
+    public Long getMin() {
+        return count > 0 ? min : null;
+    }
+
+    /**
+     * @return the largest amount added, or null if nothing was added
+     */
+    public Long getMax() {
+        return count > 0 ? max : null;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.FinFlow.FinanceManager.util;
+
+/**
+ * Decides the size of a connection pool from periodic samples of its usage.
+ * <p>
+ * The pool grows by a quarter as soon as a sample shows threads waiting for a connection or a
+ * mean acquisition time above the threshold. It shrinks by a quarter only after
+ * {@code shrinkAfterSamples} consecutive samples without waiting in which at most half of the
+ * pool was in use, and never below twice the peak seen in that window. Growing fast and
+ * shrinking slowly keeps the pool from oscillating under bursty load, while idle instances
+ * give connections back to the database.
+ * </p>
+ */
+public class PoolSizePolicy {
+
+    private final int minSize;
+    private final int maxSize;
+    private final double waitThresholdMs;
+    private final int shrinkAfterSamples;
+
+    private int size;
+    private int calmSamples;
+    private int peakActive;
+
+    /**
+     * @param initialSize the current pool size
+     * @param minSize the smallest size, at least 1
+     * @param maxSize the largest size
+     * @param waitThresholdMs mean acquisition time above which the pool grows
+     * @param shrinkAfterSamples calm samples required before shrinking, at least 1
+     */
+    public PoolSizePolicy(int initialSize, int minSize, int maxSize, double waitThresholdMs, int shrinkAfterSamples) {
+        if (minSize < 1 || maxSize < minSize || shrinkAfterSamples < 1) {
+            throw new IllegalArgumentException("Invalid pool size settings");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.waitThresholdMs = waitThresholdMs;
+        this.shrinkAfterSamples = shrinkAfterSamples;
+        this.size = Math.max(minSize, Math.min(maxSize, initialSize));
+    }
+
+    /**
+     * Takes one usage sample and returns the size the pool should have.
+     *
+     * @param active connections in use
+     * @param waiting threads waiting for a connection
+     * @param meanWaitMs mean connection acquisition time since the previous sample
+     * @return the new pool size
+     */
+    public synchronized int update(int active, int waiting, double meanWaitMs) {
+        if (waiting > 0 || meanWaitMs > waitThresholdMs) {
+            calmSamples = 0;
+            peakActive = 0;
+            size = Math.min(maxSize, size + step());
+            return size;
+        }
+        peakActive = Math.max(peakActive, active);
+        if (++calmSamples >= shrinkAfterSamples) {
+            if (peakActive * 2 < size) {
+                size = Math.max(minSize, Math.max(peakActive * 2, size - step()));
+            }
+            calmSamples = 0;
+            peakActive = 0;
+        }
+        return size;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    private int step() {
+        return Math.max(1, size / 4);
+    }
+
+}
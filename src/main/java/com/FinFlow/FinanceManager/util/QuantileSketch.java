@@ -0,0 +1,105 @@
+package com.FinFlow.FinanceManager.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch over integer amounts with logarithmic buckets (DDSketch style).
+ * <p>
+ * Every amount maps to a bucket whose representative value is within {@value #RELATIVE_ACCURACY}
+ * relative error of it, so quantiles read from bucket counts carry the same guarantee. Unlike
+ * t-digest or KLL, bucket counts can be decremented, which makes deletes and updates exact.
+ * Sketches merge by adding counts per bucket, e.g. per-category sketches into a per-user one.
+ * </p>
+ * <p>
+ * Bucket 0 holds zero; positive amounts use positive buckets and negative amounts mirror them,
+ * so bucket order equals amount order. Amounts up to {@link Integer#MAX_VALUE} need about
+ * 1,100 buckets per sign.
+ * </p>
+ */
+public class QuantileSketch {
+
+    /** Relative accuracy of quantile estimates. */
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long count;
+
+    /**
+     * @param amount an amount
+     * @return the bucket holding the amount
+     */
+    public static int bucketOf(int amount) {
+        if (amount == 0) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(Math.abs((double) amount)) / LOG_GAMMA) + 1;
+        return amount > 0 ? bucket : -bucket;
+    }
+
+    /**
+     * @param bucket a bucket
+     * @return the representative amount of the bucket
+     */
+    public static long valueOf(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        int index = Math.abs(bucket) - 1;
+        long value = Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+        value = Math.max(value, 1);
+        return bucket > 0 ? value : -value;
+    }
+
+    /**
+     * Adds a (possibly negative) count to a bucket.
+     *
+     * @param bucket the bucket
+     * @param delta the count to add
+     */
+    public void add(int bucket, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        counts.merge(bucket, delta, Long::sum);
+        count += delta;
+    }
+
+    /**
+     * Adds all counts of another sketch to this one.
+     *
+     * @param other the sketch to merge in
+     */
+    public void merge(QuantileSketch other) {
+        for (Map.Entry<Integer, Long> entry : other.counts.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param quantile the quantile in [0, 1], e.g. 0.5 for the median
+     * @return the estimated amount at the quantile, or null if the sketch is empty
+     */
+    public Long quantile(double quantile) {
+        if (count <= 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return valueOf(entry.getKey());
+            }
+        }
+        return valueOf(counts.lastKey());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.FinFlow.FinanceManager.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to a normalized statement, so executions that differ only in literal values,
+ * whitespace or the length of an {@code IN} list or multi-row {@code VALUES} clause are grouped
+ * together, and derives short stable fingerprints from text.
+ */
+public final class SqlNormalizer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("(\\([^()]*\\))(?:, ?\\1)+");
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SqlNormalizer() {
+    }
+
+    /**
+     * @param sql the SQL as sent to the driver
+     * @return the statement with literals replaced by {@code ?} and lists collapsed
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = normalized.replace("( ", "(").replace(" )", ")");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?...)");
+        return REPEATED_TUPLES.matcher(normalized).replaceAll("$1");
+    }
+
+    /**
+     * @param text any text, e.g. a normalized statement or a query plan
+     * @return a 64-bit FNV-1a hash of the text as 16 hex digits
+     */
+    public static String fingerprint(String text) {
+        long hash = FNV_OFFSET;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return String.format("%016x", hash);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.FinFlow.FinanceManager.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import lombok.Value;
+
+/**
+ * Keyed token buckets with lock-free updates and a bounded, striped key table.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the
+ * generic cell rate algorithm, which behaves exactly like a token bucket of the same capacity
+ * and refill rate but can be updated with one compare-and-set. Keys are spread over
+ * independent stripes, each bounded to its share of {@code maxKeys}. A bucket whose arrival
+ * time lies in the past is full, so it is indistinguishable from a fresh one and can be
+ * evicted without changing any outcome; stripes drop such idle buckets when they overflow and
+ * on {@link #evictIdle()}.
+ * </p>
+ */
+public class TokenBuckets {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int stripeCapacity;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final LongSupplier clock;
+
+    /**
+     * @param capacity the most tokens a bucket can hold
+     * @param refillPerSecond tokens added per second
+     * @param maxKeys the most buckets kept across all stripes
+     * @param stripeCount the number of stripes, rounded up to a power of two
+     */
+    public TokenBuckets(long capacity, double refillPerSecond, int maxKeys, int stripeCount) {
+        this(capacity, refillPerSecond, maxKeys, stripeCount, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBuckets(long capacity, double refillPerSecond, int maxKeys, int stripeCount, LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0 || maxKeys < 1 || stripeCount < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.toleranceNanos = capacity * intervalNanos;
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeCapacity = Math.max(1, maxKeys / count);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes {@code cost} tokens from the bucket for {@code key} if it holds that many.
+     *
+     * @return the outcome, including the tokens left and when the bucket will be full again
+     */
+    public Result tryConsume(String key, int cost) {
+        if (cost > capacity) {
+            throw new IllegalArgumentException("Cost exceeds bucket capacity");
+        }
+        AtomicLong bucket = bucket(key);
+        long increment = cost * intervalNanos;
+        while (true) {
+            long now = clock.getAsLong();
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + increment;
+            if (next - now > toleranceNanos) {
+                long backlog = Math.max(arrival, now) - now;
+                return new Result(false, remaining(backlog), backlog, next - toleranceNanos - now);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                long backlog = next - now;
+                return new Result(true, remaining(backlog), backlog, 0);
+            }
+        }
+    }
+
+    /**
+     * Gives back {@code cost} tokens taken by an allowed {@link #tryConsume(String, int)}, for a
+     * request that was turned away by another limit after all. A bucket never holds more than
+     * its capacity, so refunding a bucket that has refilled in the meantime changes nothing.
+     */
+    public void refund(String key, int cost) {
+        AtomicLong bucket = bucket(key);
+        long decrement = cost * intervalNanos;
+        while (true) {
+            long now = clock.getAsLong();
+            long arrival = bucket.get();
+            if (arrival <= now || bucket.compareAndSet(arrival, Math.max(now, arrival - decrement))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes every bucket that has refilled completely.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private AtomicLong bucket(String key) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= stripeCapacity) {
+            evictIdle(stripe, clock.getAsLong());
+            if (stripe.size() >= stripeCapacity) {
+                // Every bucket is busy; dropping one only hands its owner a refill.
+                stripe.keySet().stream().findAny().ifPresent(stripe::remove);
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE / 2));
+    }
+
+    private void evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+    }
+
+    private long remaining(long backlogNanos) {
+        return Math.max(0, (toleranceNanos - backlogNanos) / intervalNanos);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Outcome of {@link #tryConsume(String, int)}: whether the tokens were taken, the whole
+     * tokens left, the time until the bucket is full again and, when rejected, the time until
+     * the request would be allowed.
+     */
+    @Value
+    public static class Result {
+        boolean allowed;
+        long remaining;
+        long resetNanos;
+        long retryAfterNanos;
+    }
+
+}
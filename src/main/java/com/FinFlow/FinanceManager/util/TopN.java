@@ -0,0 +1,60 @@
+package com.FinFlow.FinanceManager.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code k} greatest items offered, using a bounded min-heap.
+ * <p>
+ * Each offer is O(log k) and memory is O(k), so selecting the top k of n items costs
+ * O(n log k) instead of sorting all n.
+ * </p>
+ *
+ * @param <T> the item type
+ */
+public class TopN<T> {
+
+    private final int limit;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param limit the number of items to keep, at least 1
+     * @param order the ordering in which greater items win
+     */
+    public TopN(int limit, Comparator<? super T> order) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(limit, order);
+    }
+
+    /**
+     * Offers an item; it is kept if fewer than {@code limit} items are held or it is greater
+     * than the smallest one held.
+     *
+     * @param item the item
+     */
+    public void offer(T item) {
+        if (heap.size() < limit) {
+            heap.add(item);
+        } else if (order.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * @return the kept items, greatest first
+     */
+    public List<T> toList() {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(order.reversed());
+        return items;
+    }
+
+}
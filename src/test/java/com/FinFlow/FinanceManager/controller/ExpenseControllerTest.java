@@ -1,6 +1,7 @@
 package com.FinFlow.FinanceManager.controller;
 
 import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
 import com.FinFlow.FinanceManager.entity.Expense;
 import com.FinFlow.FinanceManager.services.expense.ExpenseService;
 import jakarta.persistence.EntityNotFoundException;
@@ -10,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import java.util.Arrays;
 import java.util.Collections;
@@ -143,11 +145,32 @@ public class ExpenseControllerTest {
         assertEquals("An error occurred while updating the expense.", response.getBody());
     }
 
+    @Test
+    void patchExpense_shouldReturnNoContentWithVersion() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        when(expenseService.patchExpense(1L, patch)).thenReturn(5L);
+
+        ResponseEntity<?> response = expenseController.patchExpense(1L, patch);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals("\"5\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void patchExpense_shouldReturnConflict_onStaleVersion() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        when(expenseService.patchExpense(1L, patch)).thenThrow(new ObjectOptimisticLockingFailureException(Expense.class, 1L));
+
+        ResponseEntity<?> response = expenseController.patchExpense(1L, patch);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     @Test
     void deleteExpense_shouldReturnOk_whenDeleted() {
-        doNothing().when(expenseService).deleteExpense(1L);
+        doNothing().when(expenseService).deleteExpense(1L, null);
 
-        ResponseEntity<?> response = expenseController.deleteExpense(1L);
+        ResponseEntity<?> response = expenseController.deleteExpense(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNull(response.getBody());
@@ -155,9 +178,9 @@ public class ExpenseControllerTest {
 
     @Test
     void deleteExpense_shouldReturnNotFound_whenEntityNotFound() {
-        doThrow(new EntityNotFoundException("Not found")).when(expenseService).deleteExpense(1L);
+        doThrow(new EntityNotFoundException("Not found")).when(expenseService).deleteExpense(1L, null);
 
-        ResponseEntity<?> response = expenseController.deleteExpense(1L);
+        ResponseEntity<?> response = expenseController.deleteExpense(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Not found", response.getBody());
@@ -165,9 +188,9 @@ public class ExpenseControllerTest {
 
     @Test
     void deleteExpense_shouldReturnInternalServerError_onOtherException() {
-        doThrow(new RuntimeException()).when(expenseService).deleteExpense(1L);
+        doThrow(new RuntimeException()).when(expenseService).deleteExpense(1L, null);
 
-        ResponseEntity<?> response = expenseController.deleteExpense(1L);
+        ResponseEntity<?> response = expenseController.deleteExpense(1L, null);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("An error occurred while deleting the expense.", response.getBody());
@@ -151,9 +151,9 @@ class IncomeControllerTest {
     @Test
     void deleteIncome_shouldReturnOk_whenSuccess() {
         Long id = 1L;
-        doNothing().when(incomeService).deleteIncome(id);
+        doNothing().when(incomeService).deleteIncome(id, null);
 
-        ResponseEntity<?> response = incomeController.deleteIncome(id);
+        ResponseEntity<?> response = incomeController.deleteIncome(id, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNull(response.getBody());
@@ -162,9 +162,9 @@ class IncomeControllerTest {
     @Test
     void deleteIncome_shouldReturnNotFound_whenEntityNotFound() {
         Long id = 1L;
-        doThrow(new EntityNotFoundException("Not found")).when(incomeService).deleteIncome(id);
+        doThrow(new EntityNotFoundException("Not found")).when(incomeService).deleteIncome(id, null);
 
-        ResponseEntity<?> response = incomeController.deleteIncome(id);
+        ResponseEntity<?> response = incomeController.deleteIncome(id, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Not found", response.getBody());
@@ -173,9 +173,9 @@ class IncomeControllerTest {
     @Test
     void deleteIncome_shouldReturnInternalServerError_onOtherException() {
         Long id = 1L;
-        doThrow(new RuntimeException()).when(incomeService).deleteIncome(id);
+        doThrow(new RuntimeException()).when(incomeService).deleteIncome(id, null);
 
-        ResponseEntity<?> response = incomeController.deleteIncome(id);
+        ResponseEntity<?> response = incomeController.deleteIncome(id, null);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("An error occurred while deleting the income.", response.getBody());
@@ -0,0 +1,63 @@
+package com.FinFlow.FinanceManager.controller;
+
+import com.FinFlow.FinanceManager.config.RateLimitInterceptor;
+import com.FinFlow.FinanceManager.util.TokenBuckets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private TokenBuckets ipBuckets;
+    private TokenBuckets userBuckets;
+    private RateLimitInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ipBuckets = new TokenBuckets(10, 0.001, 100, 1);
+        userBuckets = new TokenBuckets(3, 0.001, 100, 1);
+        interceptor = new RateLimitInterceptor(ipBuckets, userBuckets);
+        handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+    }
+
+    private MockHttpServletResponse call(String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stats/" + userId);
+        request.setRemoteAddr("10.0.0.1");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userId", userId));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler);
+        return response;
+    }
+
+    @Test
+    void preHandle_UserRejectionDoesNotChargeTheAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, call("1").getStatus());
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(429, call("1").getStatus());
+        }
+
+        MockHttpServletResponse other = call("2");
+
+        assertEquals(200, other.getStatus());
+        assertEquals("2", other.getHeader("RateLimit-Remaining"));
+        assertEquals(5, ipBuckets.tryConsume("10.0.0.1", 1).getRemaining());
+    }
+
+    @Test
+    void preHandle_ReportsTheTighterBucket() throws Exception {
+        MockHttpServletResponse response = call("1");
+
+        assertEquals(200, response.getStatus());
+        assertEquals("3", response.getHeader("RateLimit-Limit"));
+        assertEquals("2", response.getHeader("RateLimit-Remaining"));
+    }
+
+}
@@ -6,6 +6,7 @@ import com.FinFlow.FinanceManager.services.stats.StatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
+import java.time.LocalDate;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -48,4 +49,26 @@ class StatsControllerTest {
         assertEquals(mockStats, response.getBody());
         verify(statsService, times(1)).getStats(userId);
     }
+
+    @Test
+    void getBalanceSeries_InvalidRangeReturnsBadRequest() {
+        LocalDate from = LocalDate.of(2024, 6, 2);
+        LocalDate to = LocalDate.of(2024, 6, 1);
+        when(statsService.getBalanceSeries(1L, from, to)).thenThrow(new IllegalArgumentException("bad range"));
+
+        ResponseEntity<?> response = statsController.getBalanceSeries(1L, from, to);
+
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals("bad range", response.getBody());
+    }
+
+    @Test
+    void getBalance_DefaultsToToday() {
+        when(statsService.getBalanceAt(1L, LocalDate.now())).thenReturn(42L);
+
+        ResponseEntity<?> response = statsController.getBalance(1L, null);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(42L, response.getBody());
+    }
 }
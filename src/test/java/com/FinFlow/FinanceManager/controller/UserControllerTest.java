@@ -7,6 +7,7 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import static org.junit.jupiter.api.Assertions.*;
@@ -54,6 +55,27 @@ class UserControllerTest {
         assertEquals("Invalid data", result.getBody());
     }
 
+    @Test
+    void registerUser_ShouldReturnConflict_WhenUsernameTaken() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("taken");
+        when(userService.registerUser(userDTO)).thenThrow(new DuplicateKeyException("Username already exists"));
+
+        ResponseEntity<?> result = userController.registerUser(userDTO);
+
+        assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+        assertEquals("Username already exists", result.getBody());
+    }
+
+    @Test
+    void isUsernameAvailable_ShouldReturnServiceAnswer() {
+        when(userService.isUsernameAvailable("free")).thenReturn(true);
+        when(userService.isUsernameAvailable("taken")).thenReturn(false);
+
+        assertEquals(Boolean.TRUE, userController.isUsernameAvailable("free").getBody());
+        assertEquals(Boolean.FALSE, userController.isUsernameAvailable("taken").getBody());
+    }
+
     @Test
     void registerUser_ShouldReturnInternalServerError_WhenOtherException() {
         UserDTO userDTO = new UserDTO();
@@ -0,0 +1,131 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.events.TransactionsArchivedEvent;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.services.archive.ArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ArchiveServiceImplTest {
+
+    private ExpenseRepository expenseRepository;
+    private IncomeRepository incomeRepository;
+    private ArchivedTransactionRepository archivedTransactionRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+    private PlatformTransactionManager transactionManager;
+    private ApplicationEventPublisher eventPublisher;
+    private ArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository = mock(ExpenseRepository.class);
+        incomeRepository = mock(IncomeRepository.class);
+        archivedTransactionRepository = mock(ArchivedTransactionRepository.class);
+        monthlySummaryRepository = mock(MonthlySummaryRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        archiveService = new ArchiveServiceImpl(expenseRepository, incomeRepository, archivedTransactionRepository,
+                monthlySummaryRepository, new TransactionTemplate(transactionManager), eventPublisher, true, 24);
+    }
+
+    @Test
+    void getCutoff_KeepsTheHorizonInHotTables() {
+        assertEquals(LocalDate.now().withDayOfMonth(1).minusMonths(24), archiveService.getCutoff());
+    }
+
+    @Test
+    void archiveOldTransactions_NothingBeforeCutoff() {
+        when(expenseRepository.findPeriodIndexesDatedBefore(archiveService.getCutoff())).thenReturn(List.of());
+        when(incomeRepository.findPeriodIndexesDatedBefore(archiveService.getCutoff())).thenReturn(List.of());
+
+        assertEquals(0, archiveService.archiveOldTransactions());
+        verifyNoInteractions(transactionManager, archivedTransactionRepository, monthlySummaryRepository, eventPublisher);
+    }
+
+    @Test
+    void archiveOldTransactions_SummarizesCopiesAndDeletesEachMonthInOneTransaction() {
+        LocalDate first = archiveService.getCutoff().minusMonths(2);
+        LocalDate second = first.plusMonths(1);
+        when(expenseRepository.findPeriodIndexesDatedBefore(any())).thenReturn(List.of(MonthlySummary.periodIndexOf(first)));
+        when(incomeRepository.findPeriodIndexesDatedBefore(any()))
+                .thenReturn(List.of(MonthlySummary.periodIndexOf(second), MonthlySummary.periodIndexOf(first)));
+        when(expenseRepository.findUserIdsDatedBetween(first, second)).thenReturn(List.of(1L));
+        when(incomeRepository.findUserIdsDatedBetween(second, second.plusMonths(1))).thenReturn(List.of(2L));
+        when(expenseRepository.deleteAllDatedBetween(any(), any())).thenReturn(3);
+        when(incomeRepository.deleteAllDatedBetween(any(), any())).thenReturn(1);
+
+        int moved = archiveService.archiveOldTransactions();
+
+        assertEquals(8, moved);
+        InOrder inOrder = inOrder(transactionManager, monthlySummaryRepository, archivedTransactionRepository,
+                expenseRepository, incomeRepository, eventPublisher);
+        for (LocalDate month : List.of(first, second)) {
+            LocalDate next = month.plusMonths(1);
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(monthlySummaryRepository).summarizeExpenses(MonthlySummary.periodIndexOf(month), month, next);
+            inOrder.verify(monthlySummaryRepository).summarizeIncomes(MonthlySummary.periodIndexOf(month), month, next);
+            inOrder.verify(archivedTransactionRepository).copyExpenses(month, next);
+            inOrder.verify(archivedTransactionRepository).copyIncomes(month, next);
+            inOrder.verify(expenseRepository).deleteAllDatedBetween(month, next);
+            inOrder.verify(incomeRepository).deleteAllDatedBetween(month, next);
+            inOrder.verify(eventPublisher).publishEvent(any(TransactionsArchivedEvent.class));
+            inOrder.verify(transactionManager).commit(any(TransactionStatus.class));
+        }
+        verify(eventPublisher).publishEvent(new TransactionsArchivedEvent(1L, first));
+        verify(eventPublisher).publishEvent(new TransactionsArchivedEvent(2L, second));
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void archiveOldTransactions_FailureRollsBackOnlyTheFailingMonth() {
+        LocalDate first = archiveService.getCutoff().minusMonths(2);
+        LocalDate second = first.plusMonths(1);
+        when(expenseRepository.findPeriodIndexesDatedBefore(any()))
+                .thenReturn(List.of(MonthlySummary.periodIndexOf(first), MonthlySummary.periodIndexOf(second)));
+        when(expenseRepository.findUserIdsDatedBetween(any(), any())).thenReturn(List.of(1L));
+        when(archivedTransactionRepository.copyIncomes(second, second.plusMonths(1)))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        assertThrows(IllegalStateException.class, () -> archiveService.archiveOldTransactions());
+
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(expenseRepository).deleteAllDatedBetween(first, second);
+        verify(expenseRepository, never()).deleteAllDatedBetween(eq(second), any());
+        verify(incomeRepository, never()).deleteAllDatedBetween(eq(second), any());
+        verify(eventPublisher, times(1)).publishEvent(any(TransactionsArchivedEvent.class));
+        verify(eventPublisher).publishEvent(new TransactionsArchivedEvent(1L, first));
+    }
+
+    @Test
+    void archiveOldTransactions_SkipsMonthsWithoutRows() {
+        LocalDate stray = LocalDate.of(1970, 1, 1);
+        LocalDate recent = archiveService.getCutoff().minusMonths(1);
+        when(expenseRepository.findPeriodIndexesDatedBefore(any()))
+                .thenReturn(List.of(MonthlySummary.periodIndexOf(recent), MonthlySummary.periodIndexOf(stray)));
+        when(incomeRepository.findPeriodIndexesDatedBefore(any())).thenReturn(List.of());
+
+        archiveService.archiveOldTransactions();
+
+        verify(transactionManager, times(2)).getTransaction(any());
+        InOrder inOrder = inOrder(expenseRepository);
+        inOrder.verify(expenseRepository).deleteAllDatedBetween(stray, stray.plusMonths(1));
+        inOrder.verify(expenseRepository).deleteAllDatedBetween(recent, recent.plusMonths(1));
+    }
+
+}
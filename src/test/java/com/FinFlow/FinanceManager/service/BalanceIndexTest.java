@@ -0,0 +1,63 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.services.analytics.BalanceIndex;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceIndexTest {
+
+    @Test
+    void prefix_MatchesNaiveSumsWhileGrowingInBothDirections() {
+        long[] naive = new long[4000];
+        int offset = 19000;
+        BalanceIndex index = new BalanceIndex(offset - 100, offset + naive.length + 100);
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int day = random.nextInt(naive.length);
+            long delta = random.nextInt(2001) - 1000;
+            index.add(offset + day, delta);
+            naive[day] += delta;
+        }
+
+        long running = 0;
+        for (int day = 0; day < naive.length; day++) {
+            running += naive[day];
+            assertEquals(running, index.prefix(offset + day));
+        }
+        assertEquals(0, index.prefix(offset - 1));
+        assertEquals(running, index.prefix(offset + naive.length + 100));
+    }
+
+    @Test
+    void series_ReturnsRunningBalancePerDay() {
+        BalanceIndex index = new BalanceIndex(0, 1000);
+        index.add(100, 50);
+        index.add(102, -20);
+        index.add(90, 5);
+
+        assertArrayEquals(new long[] {5, 55, 55, 35, 35}, index.series(99, 103));
+        assertEquals(0, index.series(5, 4).length);
+    }
+
+    @Test
+    void prefix_EmptyIndexIsZero() {
+        assertEquals(0, new BalanceIndex(0, 20000).prefix(12345));
+    }
+
+    @Test
+    void add_DaysOutsideTheWindowDoNotGrowTheTree() {
+        BalanceIndex index = new BalanceIndex(19000, 21000);
+        index.add(20000, 100);
+        long bytes = index.estimatedBytes();
+        index.add(-700000, 7);
+        index.add(Integer.MIN_VALUE, 3);
+        index.add(2900000, 1000);
+
+        assertEquals(bytes, index.estimatedBytes());
+        assertEquals(10, index.prefix(19000));
+        assertEquals(110, index.prefix(21000));
+        assertFalse(index.covers(18999));
+        assertThrows(IllegalArgumentException.class, () -> index.prefix(21001));
+    }
+}
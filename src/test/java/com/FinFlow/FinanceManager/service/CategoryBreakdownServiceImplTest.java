@@ -0,0 +1,91 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.dto.CategoryBreakdownDTO;
+import com.FinFlow.FinanceManager.dto.CategoryShareDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsArchivedEvent;
+import com.FinFlow.FinanceManager.repository.CategoryTotal;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.services.breakdown.CategoryBreakdownServiceImpl;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryBreakdownServiceImplTest {
+
+    private ExpenseRepository expenseRepository;
+    private IncomeRepository incomeRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+    private CategoryBreakdownServiceImpl breakdownService;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository = mock(ExpenseRepository.class);
+        incomeRepository = mock(IncomeRepository.class);
+        monthlySummaryRepository = mock(MonthlySummaryRepository.class);
+        CategoryService categoryService = mock(CategoryService.class);
+        when(categoryService.getName(1)).thenReturn("Food");
+        when(categoryService.getName(2)).thenReturn("Rent");
+        breakdownService = new CategoryBreakdownServiceImpl(expenseRepository, incomeRepository,
+                monthlySummaryRepository, categoryService, 100);
+    }
+
+    @Test
+    void getBreakdown_MergesArchivedTotalsAndComputesShares() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        List<CategoryTotal> hot = List.of(total(1, 3, 100), total(null, 1, 50));
+        List<CategoryTotal> archived = List.of(total(2, 1, 250));
+        when(expenseRepository.sumByCategory(1L, from, to)).thenReturn(hot);
+        when(monthlySummaryRepository.sumByCategory(1L, TransactionKind.EXPENSE, 2024 * 12, 2024 * 12 + 11)).thenReturn(archived);
+
+        CategoryBreakdownDTO breakdown = breakdownService.getBreakdown(1L, from, to);
+
+        assertEquals(400L, breakdown.getExpenseTotal());
+        assertEquals(0L, breakdown.getIncomeTotal());
+        List<CategoryShareDTO> expense = breakdown.getExpense();
+        assertEquals("Rent", expense.get(0).getCategory());
+        assertEquals(0.625, expense.get(0).getShare(), 1e-9);
+        assertEquals("Food", expense.get(1).getCategory());
+        assertEquals(3, expense.get(1).getCount());
+        assertEquals("Uncategorized", expense.get(2).getCategory());
+    }
+
+    @Test
+    void getBreakdown_CachedUntilUsersNextWrite() {
+        breakdownService.getBreakdown(1L, null, null);
+        breakdownService.getBreakdown(1L, null, null);
+        verify(expenseRepository, times(1)).sumByCategory(anyLong(), any(), any());
+
+        breakdownService.onTransactionChanged(new TransactionChangedEvent(TransactionKind.INCOME, 2L, null, null));
+        breakdownService.getBreakdown(1L, null, null);
+        verify(expenseRepository, times(1)).sumByCategory(anyLong(), any(), any());
+
+        breakdownService.onTransactionChanged(new TransactionChangedEvent(TransactionKind.INCOME, 1L, null, null));
+        breakdownService.getBreakdown(1L, null, null);
+        verify(expenseRepository, times(2)).sumByCategory(anyLong(), any(), any());
+
+        breakdownService.onTransactionsArchived(new TransactionsArchivedEvent(1L, LocalDate.of(2022, 1, 1)));
+        breakdownService.getBreakdown(1L, null, null);
+        verify(expenseRepository, times(3)).sumByCategory(anyLong(), any(), any());
+
+        breakdownService.evictUser(1L);
+        breakdownService.getBreakdown(1L, null, null);
+        verify(expenseRepository, times(4)).sumByCategory(anyLong(), any(), any());
+    }
+
+    private CategoryTotal total(Integer categoryId, long count, long amount) {
+        CategoryTotal total = mock(CategoryTotal.class);
+        when(total.getCategoryId()).thenReturn(categoryId);
+        when(total.getCount()).thenReturn(count);
+        when(total.getTotal()).thenReturn(amount);
+        return total;
+    }
+}
@@ -0,0 +1,178 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.entity.Category;
+import com.FinFlow.FinanceManager.repository.CategoryRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryServiceImplTest {
+
+    private CategoryRepository categoryRepository;
+    private JdbcTemplate jdbcTemplate;
+    private CategoryServiceImpl categoryService;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        categoryService = new CategoryServiceImpl(categoryRepository, jdbcTemplate, 2);
+    }
+
+    private Category createCategory(Integer id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    @Test
+    void testResolveId_UsesCachedDictionary() {
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(createCategory(7, "Food")));
+
+        assertEquals(7, categoryService.resolveId(1L, "Food"));
+        assertEquals(7, categoryService.resolveId(1L, " Food "));
+        assertEquals("Food", categoryService.getName(7));
+
+        verify(categoryRepository, times(1)).findByUserId(1L);
+        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testResolveId_MatchesNamesCaseInsensitively() {
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(createCategory(7, "Food")));
+
+        assertEquals(7, categoryService.resolveId(1L, "food"));
+        assertEquals(7, categoryService.resolveId(1L, "FOOD "));
+
+        verify(categoryRepository, never()).findByUserIdAndName(anyLong(), anyString());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testResolveId_CreatesMissingCategoryOnce() {
+        when(categoryRepository.findByUserId(1L)).thenReturn(Collections.emptyList());
+        when(categoryRepository.findByUserIdAndName(1L, "Rent")).thenReturn(Optional.empty());
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Integer>>any())).thenReturn(3);
+
+        assertEquals(3, categoryService.resolveId(1L, "Rent"));
+        assertEquals(3, categoryService.resolveId(1L, "rent"));
+
+        verify(jdbcTemplate, times(1)).execute(ArgumentMatchers.<ConnectionCallback<Integer>>any());
+        verify(categoryRepository, never()).save(any(Category.class));
+    }
+
+    @Test
+    void testResolveId_ReadsTheIdBackOnTheSameConnection() throws Exception {
+        when(categoryRepository.findByUserId(1L)).thenReturn(Collections.emptyList());
+        when(categoryRepository.findByUserIdAndName(1L, "Rent")).thenReturn(Optional.empty());
+        Connection connection = mock(Connection.class);
+        PreparedStatement insert = mock(PreparedStatement.class);
+        Statement select = mock(Statement.class);
+        ResultSet lastId = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(insert);
+        when(connection.createStatement()).thenReturn(select);
+        when(select.executeQuery("SELECT LAST_INSERT_ID()")).thenReturn(lastId);
+        when(lastId.next()).thenReturn(true);
+        when(lastId.getInt(1)).thenReturn(5);
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Integer>>any()))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<Integer>>getArgument(0).doInConnection(connection));
+
+        assertEquals(5, categoryService.resolveId(1L, "Rent"));
+
+        verify(connection).prepareStatement(endsWith("ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)"));
+        verify(insert).setLong(1, 1L);
+        verify(insert).setString(2, "Rent");
+        verify(insert).executeUpdate();
+    }
+
+    @Test
+    void testResolveId_UsesRowMissingFromCacheWithoutInserting() {
+        when(categoryRepository.findByUserId(1L)).thenReturn(Collections.emptyList());
+        when(categoryRepository.findByUserIdAndName(1L, "Rent")).thenReturn(Optional.of(createCategory(4, "rent")));
+
+        assertEquals(4, categoryService.resolveId(1L, "Rent"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testResolveId_CachesNewIdsOnlyOnceTheTransactionCommits() {
+        when(categoryRepository.findByUserId(1L)).thenReturn(Collections.emptyList());
+        when(categoryRepository.findByUserIdAndName(1L, "Rent")).thenReturn(Optional.empty());
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Integer>>any())).thenReturn(3, 6);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(3, categoryService.resolveId(1L, "Rent"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(6, categoryService.resolveId(1L, "Rent"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(6, categoryService.resolveId(1L, "rent"));
+        verify(jdbcTemplate, times(2)).execute(ArgumentMatchers.<ConnectionCallback<Integer>>any());
+    }
+
+    @Test
+    void testResolveId_EvictsLeastRecentlyUsedDictionaries() {
+        when(categoryRepository.findByUserId(anyLong())).thenReturn(List.of(createCategory(7, "Food")));
+
+        categoryService.resolveId(1L, "Food");
+        categoryService.resolveId(2L, "Food");
+        categoryService.resolveId(1L, "Food");
+        categoryService.resolveId(3L, "Food");
+        categoryService.resolveId(1L, "Food");
+        categoryService.resolveId(2L, "Food");
+
+        verify(categoryRepository, times(1)).findByUserId(1L);
+        verify(categoryRepository, times(2)).findByUserId(2L);
+        verify(categoryRepository, times(1)).findByUserId(3L);
+    }
+
+    @Test
+    void testEvictUser_ForgetsRolledBackCategories() {
+        when(categoryRepository.findByUserId(1L))
+                .thenReturn(List.of(createCategory(7, "Food")))
+                .thenReturn(Collections.emptyList());
+        when(categoryRepository.findById(7)).thenReturn(Optional.empty());
+        categoryService.resolveId(1L, "Food");
+
+        categoryService.evictUser(1L);
+
+        assertNull(categoryService.getName(7));
+        when(categoryRepository.findByUserIdAndName(1L, "Food")).thenReturn(Optional.of(createCategory(9, "Food")));
+        assertEquals(9, categoryService.resolveId(1L, "Food"));
+        verify(categoryRepository, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    void testResolveId_ReturnsNullForMissingInput() {
+        assertNull(categoryService.resolveId(1L, null));
+        assertNull(categoryService.resolveId(1L, "  "));
+        assertNull(categoryService.resolveId(null, "Food"));
+        verifyNoInteractions(categoryRepository);
+    }
+}
@@ -1,15 +1,28 @@
 package com.FinFlow.FinanceManager.service;
 
 import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
+import com.FinFlow.FinanceManager.entity.ArchivedTransaction;
 import com.FinFlow.FinanceManager.entity.Expense;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.LockedRow;
+import com.FinFlow.FinanceManager.repository.TransactionPatchRepository;
 import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
 import com.FinFlow.FinanceManager.services.expense.ExpenseServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +33,18 @@ class ExpenseServiceImplTest {
     @Mock
     private ExpenseRepository expenseRepository;
 
+    @Mock
+    private TransactionPatchRepository transactionPatchRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExpenseServiceImpl expenseService;
 
@@ -63,6 +88,7 @@ class ExpenseServiceImplTest {
         assertNotNull(result);
         assertEquals("Lunch", result.getTitle());
         verify(expenseRepository, times(1)).save(any(Expense.class));
+        verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
     }
 
     @Test
@@ -81,6 +107,31 @@ class ExpenseServiceImplTest {
         verify(expenseRepository).save(existingExpense);
     }
 
+    @Test
+    void testPostExpense_DefaultsMissingDateToToday() {
+        ExpenseDTO dto = createExpenseDTO();
+        dto.setDate(null);
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Expense result = expenseService.postExpense(dto);
+
+        assertEquals(LocalDate.now(), result.getDate());
+    }
+
+    @Test
+    void testUpdateExpense_KeepsDateWhenMissing() {
+        ExpenseDTO dto = createExpenseDTO();
+        dto.setDate(null);
+        Expense existingExpense = createExpense(1L);
+        existingExpense.setDate(LocalDate.of(2024, 5, 20));
+        when(expenseRepository.findById(1L)).thenReturn(Optional.of(existingExpense));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Expense result = expenseService.updateExpense(1L, dto);
+
+        assertEquals(LocalDate.of(2024, 5, 20), result.getDate());
+    }
+
     @Test
     void testUpdateExpense_NotFound() {
         ExpenseDTO dto = createExpenseDTO();
@@ -146,21 +197,174 @@ class ExpenseServiceImplTest {
     }
 
     @Test
-    void testDeleteExpense_Success() {
-        Expense expense = createExpense(1L);
-        when(expenseRepository.findById(1L)).thenReturn(Optional.of(expense));
-        doNothing().when(expenseRepository).deleteById(1L);
+    void patchExpense_TextOnlyUpdatesWithoutReading() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        patch.setVersion(3L);
+        patch.setTitle("Renamed");
+        when(transactionPatchRepository.patch(Expense.class, 1L, 3L, Map.of("title", "Renamed"))).thenReturn(1);
+
+        assertEquals(4L, expenseService.patchExpense(1L, patch));
+        verify(expenseRepository, never()).lockRowById(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchExpense_AmountChangePublishesMovedSnapshot() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        patch.setVersion(0L);
+        patch.setAmount(75);
+        patch.setCategory("Travel");
+        LockedRow row = lockedRow(1L);
+        when(expenseRepository.lockRowById(1L, null)).thenReturn(Optional.of(row));
+        when(categoryService.resolveId(7L, "Travel")).thenReturn(9);
+        when(transactionPatchRepository.patch(eq(Expense.class), eq(1L), eq(0L), anyMap())).thenReturn(1);
+
+        assertEquals(1L, expenseService.patchExpense(1L, patch));
+
+        verify(transactionPatchRepository).patch(Expense.class, 1L, 0L, Map.of("category", "Travel", "amount", 75, "categoryId", 9));
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(20, event.getValue().getBefore().getAmount());
+        assertEquals(75, event.getValue().getAfter().getAmount());
+        assertEquals(9, event.getValue().getAfter().getCategoryId());
+        assertEquals(LocalDate.of(2024, 6, 1), event.getValue().getAfter().getDate());
+    }
+
+    @Test
+    void patchExpense_StaleVersionConflictsAndMissingRowIsNotFound() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        patch.setVersion(2L);
+        patch.setDescription("note");
+        when(transactionPatchRepository.patch(eq(Expense.class), anyLong(), eq(2L), anyMap())).thenReturn(0);
+        when(expenseRepository.existsById(1L)).thenReturn(true);
+        when(expenseRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> expenseService.patchExpense(1L, patch));
+        assertThrows(EntityNotFoundException.class, () -> expenseService.patchExpense(2L, patch));
+        patch.setVersion(null);
+        assertThrows(IllegalArgumentException.class, () -> expenseService.patchExpense(1L, patch));
+    }
 
-        assertDoesNotThrow(() -> expenseService.deleteExpense(1L));
-        verify(expenseRepository).deleteById(1L);
+    @Test
+    void testDeleteExpense_Success() {
+        LockedRow row = lockedRow(1L);
+        when(expenseRepository.lockRowById(1L, 7L)).thenReturn(Optional.of(row));
+        when(expenseRepository.deleteRowById(1L)).thenReturn(1);
+
+        assertDoesNotThrow(() -> expenseService.deleteExpense(1L, 7L));
+        verify(expenseRepository).deleteRowById(1L);
+        verify(expenseRepository, never()).findById(anyLong());
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, event.getValue().getUserId());
+        assertEquals(20, event.getValue().getBefore().getAmount());
+        assertNull(event.getValue().getAfter());
     }
 
     @Test
     void testDeleteExpense_NotFound() {
-        when(expenseRepository.findById(2L)).thenReturn(Optional.empty());
+        when(expenseRepository.lockRowById(2L, null)).thenReturn(Optional.empty());
 
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () ->
                 expenseService.deleteExpense(2L));
         assertTrue(ex.getMessage().contains("Expense not found with id: 2"));
+        verify(expenseRepository, never()).deleteRowById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteExpenses_DeletesInBatchesAndPublishesOneEvent() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        when(expenseRepository.lockRowsByUserIdAndIdIn(eq(7L), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).stream()
+                        .filter(id -> id != 3L).map(this::lockedRow).collect(Collectors.toList()));
+        when(expenseRepository.deleteRowsByUserIdAndIdIn(eq(7L), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).size());
+
+        assertEquals(500, expenseService.deleteExpenses(7L, ids));
+
+        verify(expenseRepository, times(2)).lockRowsByUserIdAndIdIn(eq(7L), anyCollection());
+        verify(expenseRepository, times(1)).deleteRowsByUserIdAndIdIn(eq(7L), anyCollection());
+        ArgumentCaptor<TransactionsDeletedEvent> event = ArgumentCaptor.forClass(TransactionsDeletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(500, event.getValue().getDeleted().size());
+        assertThrows(IllegalArgumentException.class, () -> expenseService.deleteExpenses(7L, List.of()));
+    }
+
+    @Test
+    void deleteExpensesBetween_NoRowsPublishesNothing() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(expenseRepository.lockRowsByUserIdAndDateBetween(eq(7L), eq(from), eq(to), eq(0L), any())).thenReturn(List.of());
+
+        assertEquals(0, expenseService.deleteExpensesBetween(7L, from, to));
+        verify(expenseRepository, never()).deleteRowsByUserIdAndIdIn(anyLong(), anyCollection());
+        verifyNoInteractions(eventPublisher);
+        assertThrows(IllegalArgumentException.class, () -> expenseService.deleteExpensesBetween(7L, to, from));
+    }
+
+    @Test
+    void deleteExpensesBetween_LocksAndDeletesPageByPage() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        List<LockedRow> firstPage = LongStream.rangeClosed(1, 500).mapToObj(this::lockedRow).collect(Collectors.toList());
+        List<LockedRow> lastPage = List.of(lockedRow(501L));
+        when(expenseRepository.lockRowsByUserIdAndDateBetween(eq(7L), eq(from), eq(to), eq(0L), any())).thenReturn(firstPage);
+        when(expenseRepository.lockRowsByUserIdAndDateBetween(eq(7L), eq(from), eq(to), eq(500L), any()))
+                .thenReturn(lastPage);
+        when(expenseRepository.deleteRowsByUserIdAndIdIn(eq(7L), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).size());
+
+        assertEquals(501, expenseService.deleteExpensesBetween(7L, from, to));
+
+        verify(expenseRepository, times(2)).lockRowsByUserIdAndDateBetween(eq(7L), eq(from), eq(to), anyLong(),
+                eq(PageRequest.of(0, 500)));
+        verify(expenseRepository, times(2)).deleteRowsByUserIdAndIdIn(eq(7L), anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(any(TransactionsDeletedEvent.class));
+    }
+
+    private LockedRow lockedRow(Long id) {
+        LockedRow row = mock(LockedRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getUserId()).thenReturn(7L);
+        when(row.getDate()).thenReturn(LocalDate.of(2024, 6, 1));
+        when(row.getAmount()).thenReturn(20);
+        return row;
+    }
+
+    @Test
+    void getLargestExpenses_MergesArchivedRowsByAmount() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        Expense big = new Expense();
+        big.setId(1L);
+        big.setAmount(500);
+        Expense small = new Expense();
+        small.setId(2L);
+        small.setAmount(20);
+        ArchivedTransaction archived = new ArchivedTransaction();
+        archived.setSourceId(3L);
+        archived.setAmount(100);
+        when(expenseRepository.findLargestByUserIdAndDateBetween(eq(1L), eq(from), eq(to), any()))
+                .thenReturn(new ArrayList<>(List.of(big, small)));
+        when(archivedTransactionRepository.findLargestByUserIdAndKindAndDateBetween(eq(1L), any(), eq(from), eq(to), any()))
+                .thenReturn(List.of(archived));
+
+        List<Expense> largest = expenseService.getLargestExpenses(1L, from, to, 2);
+
+        assertEquals(2, largest.size());
+        assertEquals(1L, largest.get(0).getId());
+        assertEquals(3L, largest.get(1).getId());
+    }
+
+    @Test
+    void getLargestExpenses_RejectsLimitAboveMaximum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseService.getLargestExpenses(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 1000));
+        verifyNoInteractions(expenseRepository);
     }
 }
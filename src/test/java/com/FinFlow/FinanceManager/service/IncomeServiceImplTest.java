@@ -1,15 +1,26 @@
 package com.FinFlow.FinanceManager.service;
 
 import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.dto.TransactionPatchDTO;
+import com.FinFlow.FinanceManager.entity.ArchivedTransaction;
 import com.FinFlow.FinanceManager.entity.Income;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.LockedRow;
+import com.FinFlow.FinanceManager.repository.TransactionPatchRepository;
 import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
 import com.FinFlow.FinanceManager.services.income.IncomeServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -18,6 +29,18 @@ class IncomeServiceImplTest {
     @Mock
     private IncomeRepository incomeRepository;
 
+    @Mock
+    private TransactionPatchRepository transactionPatchRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IncomeServiceImpl incomeService;
 
@@ -61,6 +84,7 @@ class IncomeServiceImplTest {
         assertNotNull(result);
         assertEquals("Salary", result.getTitle());
         verify(incomeRepository, times(1)).save(any(Income.class));
+        verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
     }
 
     @Test
@@ -79,6 +103,31 @@ class IncomeServiceImplTest {
         verify(incomeRepository).save(existingIncome);
     }
 
+    @Test
+    void testPostIncome_DefaultsMissingDateToToday() {
+        IncomeDTO dto = createIncomeDTO();
+        dto.setDate(null);
+        when(incomeRepository.save(any(Income.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Income result = incomeService.postIncome(dto);
+
+        assertEquals(LocalDate.now(), result.getDate());
+    }
+
+    @Test
+    void testUpdateIncome_KeepsDateWhenMissing() {
+        IncomeDTO dto = createIncomeDTO();
+        dto.setDate(null);
+        Income existingIncome = createIncome(1L);
+        existingIncome.setDate(LocalDate.of(2024, 5, 20));
+        when(incomeRepository.findById(1L)).thenReturn(Optional.of(existingIncome));
+        when(incomeRepository.save(any(Income.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Income result = incomeService.updateIncome(1L, dto);
+
+        assertEquals(LocalDate.of(2024, 5, 20), result.getDate());
+    }
+
     @Test
     void testUpdateIncome_NotFound() {
         IncomeDTO dto = createIncomeDTO();
@@ -144,21 +193,154 @@ class IncomeServiceImplTest {
     }
 
     @Test
-    void testDeleteIncome_Success() {
-        Income income = createIncome(1L);
-        when(incomeRepository.findById(1L)).thenReturn(Optional.of(income));
-        doNothing().when(incomeRepository).deleteById(1L);
+    void patchIncome_TextOnlyUpdatesWithoutReading() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        patch.setVersion(3L);
+        patch.setTitle("Renamed");
+        when(transactionPatchRepository.patch(Income.class, 1L, 3L, Map.of("title", "Renamed"))).thenReturn(1);
+
+        assertEquals(4L, incomeService.patchIncome(1L, patch));
+        verify(incomeRepository, never()).lockRowById(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
 
-        assertDoesNotThrow(() -> incomeService.deleteIncome(1L));
-        verify(incomeRepository).deleteById(1L);
+    @Test
+    void patchIncome_AmountChangePublishesMovedSnapshot() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        patch.setVersion(0L);
+        patch.setAmount(75);
+        patch.setCategory("Travel");
+        LockedRow row = lockedRow(1L);
+        when(incomeRepository.lockRowById(1L, null)).thenReturn(Optional.of(row));
+        when(categoryService.resolveId(7L, "Travel")).thenReturn(9);
+        when(transactionPatchRepository.patch(eq(Income.class), eq(1L), eq(0L), anyMap())).thenReturn(1);
+
+        assertEquals(1L, incomeService.patchIncome(1L, patch));
+
+        verify(transactionPatchRepository).patch(Income.class, 1L, 0L, Map.of("category", "Travel", "amount", 75, "categoryId", 9));
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(20, event.getValue().getBefore().getAmount());
+        assertEquals(75, event.getValue().getAfter().getAmount());
+        assertEquals(9, event.getValue().getAfter().getCategoryId());
+        assertEquals(LocalDate.of(2024, 6, 1), event.getValue().getAfter().getDate());
+    }
+
+    @Test
+    void patchIncome_StaleVersionConflictsAndMissingRowIsNotFound() {
+        TransactionPatchDTO patch = new TransactionPatchDTO();
+        patch.setVersion(2L);
+        patch.setDescription("note");
+        when(transactionPatchRepository.patch(eq(Income.class), anyLong(), eq(2L), anyMap())).thenReturn(0);
+        when(incomeRepository.existsById(1L)).thenReturn(true);
+        when(incomeRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> incomeService.patchIncome(1L, patch));
+        assertThrows(EntityNotFoundException.class, () -> incomeService.patchIncome(2L, patch));
+        patch.setVersion(null);
+        assertThrows(IllegalArgumentException.class, () -> incomeService.patchIncome(1L, patch));
+    }
+
+    @Test
+    void testDeleteIncome_Success() {
+        LockedRow row = lockedRow(1L);
+        when(incomeRepository.lockRowById(1L, 7L)).thenReturn(Optional.of(row));
+        when(incomeRepository.deleteRowById(1L)).thenReturn(1);
+
+        assertDoesNotThrow(() -> incomeService.deleteIncome(1L, 7L));
+        verify(incomeRepository).deleteRowById(1L);
+        verify(incomeRepository, never()).findById(anyLong());
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, event.getValue().getUserId());
+        assertEquals(20, event.getValue().getBefore().getAmount());
+        assertNull(event.getValue().getAfter());
     }
 
     @Test
     void testDeleteIncome_NotFound() {
-        when(incomeRepository.findById(2L)).thenReturn(Optional.empty());
+        when(incomeRepository.lockRowById(2L, null)).thenReturn(Optional.empty());
 
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () ->
                 incomeService.deleteIncome(2L));
         assertTrue(ex.getMessage().contains("Income not found with id: 2"));
+        verify(incomeRepository, never()).deleteRowById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteIncomes_DeletesInBatchesAndPublishesOneEvent() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        when(incomeRepository.lockRowsByUserIdAndIdIn(eq(7L), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).stream()
+                        .filter(id -> id != 3L).map(this::lockedRow).collect(Collectors.toList()));
+        when(incomeRepository.deleteRowsByUserIdAndIdIn(eq(7L), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).size());
+
+        assertEquals(500, incomeService.deleteIncomes(7L, ids));
+
+        verify(incomeRepository, times(2)).lockRowsByUserIdAndIdIn(eq(7L), anyCollection());
+        verify(incomeRepository, times(1)).deleteRowsByUserIdAndIdIn(eq(7L), anyCollection());
+        ArgumentCaptor<TransactionsDeletedEvent> event = ArgumentCaptor.forClass(TransactionsDeletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(500, event.getValue().getDeleted().size());
+        assertThrows(IllegalArgumentException.class, () -> incomeService.deleteIncomes(7L, List.of()));
+    }
+
+    @Test
+    void deleteIncomesBetween_NoRowsPublishesNothing() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(incomeRepository.lockRowsByUserIdAndDateBetween(eq(7L), eq(from), eq(to), eq(0L), any())).thenReturn(List.of());
+
+        assertEquals(0, incomeService.deleteIncomesBetween(7L, from, to));
+        verify(incomeRepository, never()).deleteRowsByUserIdAndIdIn(anyLong(), anyCollection());
+        verifyNoInteractions(eventPublisher);
+        assertThrows(IllegalArgumentException.class, () -> incomeService.deleteIncomesBetween(7L, to, from));
+    }
+
+    private LockedRow lockedRow(Long id) {
+        LockedRow row = mock(LockedRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getUserId()).thenReturn(7L);
+        when(row.getDate()).thenReturn(LocalDate.of(2024, 6, 1));
+        when(row.getAmount()).thenReturn(20);
+        return row;
+    }
+
+    @Test
+    void getLargestIncomes_MergesArchivedRowsByAmount() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        Income big = new Income();
+        big.setId(1L);
+        big.setAmount(500);
+        Income small = new Income();
+        small.setId(2L);
+        small.setAmount(20);
+        ArchivedTransaction archived = new ArchivedTransaction();
+        archived.setSourceId(3L);
+        archived.setAmount(100);
+        when(incomeRepository.findLargestByUserIdAndDateBetween(eq(1L), eq(from), eq(to), any()))
+                .thenReturn(new ArrayList<>(List.of(big, small)));
+        when(archivedTransactionRepository.findLargestByUserIdAndKindAndDateBetween(eq(1L), any(), eq(from), eq(to), any()))
+                .thenReturn(List.of(archived));
+
+        List<IncomeDTO> largest = incomeService.getLargestIncomes(1L, from, to, 2);
+
+        assertEquals(2, largest.size());
+        assertEquals(1L, largest.get(0).getId());
+        assertEquals(3L, largest.get(1).getId());
+    }
+
+    @Test
+    void getLargestIncomes_RejectsLimitAboveMaximum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> incomeService.getLargestIncomes(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 1000));
+        verifyNoInteractions(incomeRepository);
     }
 }
@@ -0,0 +1,43 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.profiling.JfrRecordingEndpoint;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingEndpointTest {
+
+    @Test
+    void stop_RecordingOmitsEnvironmentAndJvmArguments() throws Exception {
+        JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(60, 300, 10_000_000);
+
+        assertEquals(200, endpoint.start(null, "default").getStatus());
+        assertEquals(409, endpoint.start(null, null).getStatus());
+        WebEndpointResponse<Resource> response = endpoint.stop();
+
+        Path copy = Files.createTempFile("finflow-test-", ".jfr");
+        try {
+            try (InputStream in = response.getBody().getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(copy);
+            assertFalse(events.isEmpty());
+            Set<String> sensitive = Set.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+                    "jdk.JVMInformation", "jdk.SystemProcess");
+            assertTrue(events.stream().noneMatch(event -> sensitive.contains(event.getEventType().getName())));
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+        assertEquals(404, endpoint.stop().getStatus());
+    }
+
+}
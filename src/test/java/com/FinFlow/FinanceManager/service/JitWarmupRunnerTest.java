@@ -0,0 +1,109 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.config.JitWarmupRunner;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.services.analytics.TransactionColumnStore;
+import com.FinFlow.FinanceManager.services.breakdown.CategoryBreakdownService;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.services.expense.ExpenseService;
+import com.FinFlow.FinanceManager.services.income.IncomeService;
+import com.FinFlow.FinanceManager.services.stats.StatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JitWarmupRunnerTest {
+
+    private static final long USER_ID = 42L;
+
+    private UserRepository userRepository;
+    private ExpenseService expenseService;
+    private IncomeService incomeService;
+    private StatsService statsService;
+    private TransactionColumnStore columnStore;
+    private CategoryService categoryService;
+    private CategoryBreakdownService categoryBreakdownService;
+    private PlatformTransactionManager transactionManager;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        expenseService = mock(ExpenseService.class);
+        incomeService = mock(IncomeService.class);
+        statsService = mock(StatsService.class);
+        columnStore = mock(TransactionColumnStore.class);
+        categoryService = mock(CategoryService.class);
+        categoryBreakdownService = mock(CategoryBreakdownService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(USER_ID);
+            return user;
+        });
+    }
+
+    private JitWarmupRunner runner(int minIterations, long maxDurationMs, long quietCompileMs) {
+        return new JitWarmupRunner(userRepository, expenseService, incomeService, statsService, columnStore,
+                categoryService, categoryBreakdownService, new ObjectMapper(), transactionManager, eventPublisher,
+                8, 5, minIterations, maxDurationMs, quietCompileMs);
+    }
+
+    private void verifyForgotten() {
+        verify(columnStore).invalidate(USER_ID);
+        verify(categoryBreakdownService).evictUser(USER_ID);
+        verify(categoryService).evictUser(USER_ID);
+    }
+
+    @Test
+    void run_StopsAtMinIterationsOnceCompilationIsQuiet() {
+        runner(10, 60_000, Long.MAX_VALUE).run(null);
+
+        verify(statsService, times(10)).getStats(USER_ID);
+        verify(expenseService, times(6)).postExpense(any());
+        verify(incomeService, times(2)).postIncome(any());
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+        verifyForgotten();
+    }
+
+    @Test
+    void run_StopsAtTheDeadline() {
+        long start = System.nanoTime();
+
+        runner(Integer.MAX_VALUE, 100, Long.MAX_VALUE).run(null);
+
+        assertTrue(System.nanoTime() - start < 10_000_000_000L);
+        verify(statsService, atLeast(5)).getStats(USER_ID);
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+        verifyForgotten();
+    }
+
+    @Test
+    void run_LogsFailuresInsteadOfThrowing() {
+        when(statsService.getStats(USER_ID)).thenThrow(new IllegalStateException("connection reset"));
+
+        assertDoesNotThrow(() -> runner(10, 60_000, Long.MAX_VALUE).run(null));
+
+        verify(transactionManager).rollback(any());
+        verifyForgotten();
+    }
+
+    @Test
+    void run_FailureBeforeTheUserExistsHasNothingToForget() {
+        when(userRepository.save(any(User.class))).thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> runner(10, 60_000, Long.MAX_VALUE).run(null));
+
+        verifyNoInteractions(statsService, columnStore, categoryService, categoryBreakdownService);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.services.live.LiveUpdateServiceImpl;
+import com.FinFlow.FinanceManager.services.stats.StatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LiveUpdateServiceImplTest {
+
+    private StatsService statsService;
+    private LiveUpdateServiceImpl liveUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = mock(StatsService.class);
+        liveUpdateService = new LiveUpdateServiceImpl(statsService, 60_000, 4, 2, 1);
+    }
+
+    @Test
+    void onTransactionChanged_WithoutSubscribersComputesNothing() {
+        liveUpdateService.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L, null,
+                new TransactionSnapshot(LocalDate.now(), 10, "Food", 1)));
+
+        verifyNoInteractions(statsService);
+    }
+
+    @Test
+    void onTransactionChanged_ComputesTotalsAndChangedChartDay() {
+        liveUpdateService.subscribe(1L);
+        clearInvocations(statsService);
+        LocalDate today = LocalDate.now();
+
+        liveUpdateService.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L,
+                new TransactionSnapshot(today.minusYears(1), 5, "Food", 1),
+                new TransactionSnapshot(today, 10, "Food", 1)));
+
+        verify(statsService).getTotal(1L, TransactionKind.INCOME);
+        verify(statsService).getTotal(1L, TransactionKind.EXPENSE);
+        verify(statsService).getDayTotal(1L, TransactionKind.EXPENSE, today);
+        verify(statsService, never()).getDayTotal(1L, TransactionKind.EXPENSE, today.minusYears(1));
+    }
+
+    @Test
+    void subscribe_DropsOldestBeyondPerUserLimit() {
+        liveUpdateService.subscribe(1L);
+        liveUpdateService.subscribe(1L);
+        liveUpdateService.subscribe(1L);
+        liveUpdateService.subscribe(2L);
+
+        assertEquals(2, liveUpdateService.getSubscriberCount(1L));
+        assertEquals(1, liveUpdateService.getSubscriberCount(2L));
+    }
+}
@@ -0,0 +1,105 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.migration.PartitionMigration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PartitionMigrationTest {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private JdbcTemplate jdbcTemplate;
+    private PartitionMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        migration = new PartitionMigration(jdbcTemplate, 24, 3);
+    }
+
+    private void partitioned(String table, boolean partitioned) {
+        when(jdbcTemplate.queryForObject(contains("information_schema.PARTITIONS"), eq(Integer.class), eq(table)))
+                .thenReturn(partitioned ? 30 : 0);
+    }
+
+    private void existingPartitions(String table, int monthsAhead) {
+        List<String> names = new ArrayList<>(List.of("p_archive", "p_future"));
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            names.add(month.plusMonths(i).format(PARTITION_NAME));
+        }
+        when(jdbcTemplate.queryForList(contains("PARTITION_NAME FROM"), eq(String.class), eq(table))).thenReturn(names);
+    }
+
+    @Test
+    void run_IsIdempotentWhenPartitionsExist() {
+        partitioned("expense", true);
+        partitioned("income", true);
+        existingPartitions("expense", 3);
+        existingPartitions("income", 3);
+
+        migration.run(null);
+        migration.run(null);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void addFuturePartitions_SplitsOnlyMissingMonthsOffFuture() {
+        partitioned("expense", true);
+        partitioned("income", true);
+        existingPartitions("expense", 2);
+        existingPartitions("income", 3);
+
+        migration.addFuturePartitions();
+
+        String missing = LocalDate.now().withDayOfMonth(1).plusMonths(3).format(PARTITION_NAME);
+        verify(jdbcTemplate, times(1)).execute(anyString());
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE expense REORGANIZE PARTITION p_future INTO (PARTITION " + missing));
+    }
+
+    @Test
+    void run_PartitionsTableOnceAndSkipsItAfterwards() {
+        partitioned("income", true);
+        existingPartitions("income", 3);
+        when(jdbcTemplate.queryForObject(contains("information_schema.PARTITIONS"), eq(Integer.class), eq("expense")))
+                .thenReturn(0)
+                .thenReturn(30);
+        existingPartitions("expense", 3);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM expense WHERE date IS NULL"), eq(Integer.class)))
+                .thenReturn(0);
+        when(jdbcTemplate.queryForList(contains("FOREIGN KEY"), eq(String.class), eq("expense"))).thenReturn(List.of("fk_expense_user"));
+
+        migration.run(null);
+        migration.run(null);
+
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(ddl.capture());
+        assertEquals("ALTER TABLE expense DROP FOREIGN KEY fk_expense_user", ddl.getAllValues().get(0));
+        assertTrue(ddl.getAllValues().get(1).contains("MODIFY date DATE NOT NULL"));
+        assertTrue(ddl.getAllValues().get(2).startsWith("ALTER TABLE expense PARTITION BY RANGE COLUMNS(date)"));
+        assertTrue(ddl.getAllValues().get(2).endsWith("PARTITION p_future VALUES LESS THAN (MAXVALUE))"));
+    }
+
+    @Test
+    void run_LeavesTableWithUndatedRowsUnpartitioned() {
+        partitioned("expense", false);
+        partitioned("income", true);
+        existingPartitions("income", 3);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM expense WHERE date IS NULL"), eq(Integer.class)))
+                .thenReturn(2);
+
+        migration.run(null);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.migration.QuantileBackfillRunner;
+import com.FinFlow.FinanceManager.repository.AmountCount;
+import com.FinFlow.FinanceManager.repository.AmountHistogramRepository;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.util.QuantileSketch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import static org.mockito.Mockito.*;
+
+class QuantileBackfillRunnerTest {
+
+    private UserRepository userRepository;
+    private ExpenseRepository expenseRepository;
+    private IncomeRepository incomeRepository;
+    private ArchivedTransactionRepository archivedTransactionRepository;
+    private AmountHistogramRepository histogramRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        expenseRepository = mock(ExpenseRepository.class);
+        incomeRepository = mock(IncomeRepository.class);
+        archivedTransactionRepository = mock(ArchivedTransactionRepository.class);
+        histogramRepository = mock(AmountHistogramRepository.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(userRepository.findIdsFrom(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(0);
+            int size = invocation.<Pageable>getArgument(1).getPageSize();
+            return List.of(3L, 5L, 8L, 13L).stream().filter(id -> id >= fromId).limit(size).toList();
+        });
+    }
+
+    private QuantileBackfillRunner runner() {
+        return new QuantileBackfillRunner(userRepository, expenseRepository, incomeRepository,
+                archivedTransactionRepository, histogramRepository, transactionTemplate, 2);
+    }
+
+    private static AmountCount amountCount(long userId, Integer categoryId, int amount, long count) {
+        AmountCount row = mock(AmountCount.class);
+        when(row.getUserId()).thenReturn(userId);
+        when(row.getCategoryId()).thenReturn(categoryId);
+        when(row.getAmount()).thenReturn(amount);
+        when(row.getCount()).thenReturn(count);
+        return row;
+    }
+
+    @Test
+    void run_NothingToResumeDoesNothing() {
+        when(histogramRepository.findFirstUserIdWithoutSketch()).thenReturn(null);
+
+        runner().run(null);
+
+        verifyNoInteractions(userRepository, transactionTemplate);
+    }
+
+    @Test
+    void run_RebuildsEachPageFromHotAndArchivedRows() {
+        when(histogramRepository.findFirstUserIdWithoutSketch()).thenReturn(5L);
+        List<AmountCount> hot = List.of(amountCount(5, 2, 40, 3), amountCount(8, null, 7, 1));
+        List<AmountCount> archived = List.of(amountCount(5, 2, 40, 2));
+        when(expenseRepository.countAmountsByUserIdBetween(5L, 8L)).thenReturn(hot);
+        when(archivedTransactionRepository.countAmountsByKindAndUserIdBetween(TransactionKind.EXPENSE, 5L, 8L))
+                .thenReturn(archived);
+        QuantileBackfillRunner runner = runner();
+
+        runner.run(null);
+
+        InOrder inOrder = inOrder(histogramRepository, expenseRepository);
+        inOrder.verify(histogramRepository).deleteByUserIdBetween(5L, 8L);
+        inOrder.verify(expenseRepository).countAmountsByUserIdBetween(5L, 8L);
+        inOrder.verify(histogramRepository).deleteByUserIdBetween(13L, 13L);
+        verify(histogramRepository).upsert(5L, "EXPENSE", 2, QuantileSketch.bucketOf(40), 5L);
+        verify(histogramRepository).upsert(8L, "EXPENSE", 0, QuantileSketch.bucketOf(7), 1L);
+        verify(histogramRepository, times(2)).upsert(anyLong(), anyString(), anyInt(), anyInt(), anyLong());
+        verify(histogramRepository, never()).deleteByUserIdBetween(eq(3L), anyLong());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+}
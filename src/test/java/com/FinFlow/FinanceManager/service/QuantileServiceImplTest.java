@@ -0,0 +1,117 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.dto.QuantilesDTO;
+import com.FinFlow.FinanceManager.entity.AmountHistogramBucket;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.events.TransactionsDeletedEvent;
+import com.FinFlow.FinanceManager.repository.AmountHistogramRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.services.quantile.QuantileServiceImpl;
+import com.FinFlow.FinanceManager.util.QuantileSketch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QuantileServiceImplTest {
+
+    @Mock
+    private AmountHistogramRepository histogramRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @InjectMocks
+    private QuantileServiceImpl quantileService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void onTransactionChanged_UpdateMovesOneCountBetweenBuckets() {
+        when(histogramRepository.increment(anyLong(), any(), anyInt(), anyInt(), anyLong())).thenReturn(1);
+        TransactionSnapshot before = new TransactionSnapshot(LocalDate.now(), 40, "Food", 3);
+        TransactionSnapshot after = new TransactionSnapshot(LocalDate.now(), 900, "Food", 3);
+
+        quantileService.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L, before, after));
+
+        verify(histogramRepository).increment(1L, TransactionKind.EXPENSE, 3, QuantileSketch.bucketOf(40), -1);
+        verify(histogramRepository).upsert(1L, "EXPENSE", 3, QuantileSketch.bucketOf(900), 1);
+        verify(histogramRepository, never()).save(any());
+    }
+
+    @Test
+    void onTransactionsDeleted_DecrementsEachBucketOnce() {
+        when(histogramRepository.increment(anyLong(), any(), anyInt(), anyInt(), anyLong())).thenReturn(1);
+        List<TransactionSnapshot> deleted = List.of(
+                new TransactionSnapshot(LocalDate.now(), 40, "Food", 3),
+                new TransactionSnapshot(LocalDate.now(), 40, "Food", 3),
+                new TransactionSnapshot(LocalDate.now(), 40, null, null),
+                new TransactionSnapshot(LocalDate.now(), null, "Food", 3));
+
+        quantileService.onTransactionsDeleted(new TransactionsDeletedEvent(TransactionKind.EXPENSE, 1L, deleted));
+
+        verify(histogramRepository).increment(1L, TransactionKind.EXPENSE, 3, QuantileSketch.bucketOf(40), -2);
+        verify(histogramRepository).increment(1L, TransactionKind.EXPENSE, 0, QuantileSketch.bucketOf(40), -1);
+        verifyNoMoreInteractions(histogramRepository);
+    }
+
+    @Test
+    void onTransactionsCreated_IncrementsEachBucketOnce() {
+        List<TransactionSnapshot> created = List.of(
+                new TransactionSnapshot(LocalDate.now().minusDays(1), 1200, "Rent", 5),
+                new TransactionSnapshot(LocalDate.now(), 1200, "Rent", 5),
+                new TransactionSnapshot(LocalDate.now(), 15, null, null));
+
+        quantileService.onTransactionsCreated(new TransactionsCreatedEvent(TransactionKind.EXPENSE, 1L, created));
+
+        verify(histogramRepository).upsert(1L, "EXPENSE", 5, QuantileSketch.bucketOf(1200), 2);
+        verify(histogramRepository).upsert(1L, "EXPENSE", 0, QuantileSketch.bucketOf(15), 1);
+        verifyNoMoreInteractions(histogramRepository);
+    }
+
+    @Test
+    void record_UpsertsAdditionsButNeverCreatesNegativeBuckets() {
+        when(histogramRepository.increment(anyLong(), any(), anyInt(), anyInt(), anyLong())).thenReturn(0);
+
+        quantileService.record(1L, TransactionKind.INCOME, null, 500, 1);
+        quantileService.record(1L, TransactionKind.INCOME, null, 700, -1);
+
+        verify(histogramRepository).upsert(1L, "INCOME", 0, QuantileSketch.bucketOf(500), 1);
+        verify(histogramRepository).increment(1L, TransactionKind.INCOME, 0, QuantileSketch.bucketOf(700), -1);
+        verify(histogramRepository, never()).save(any());
+        verifyNoMoreInteractions(histogramRepository);
+    }
+
+    @Test
+    void getCategoryQuantiles_GroupsByCategoryName() {
+        when(histogramRepository.findByUserIdAndKind(1L, TransactionKind.EXPENSE))
+                .thenReturn(List.of(bucket(3, 40, 2), bucket(0, 10, 1), bucket(3, 900, 0)));
+        when(categoryService.getName(3)).thenReturn("Food");
+
+        Map<String, QuantilesDTO> quantiles = quantileService.getCategoryQuantiles(1L, TransactionKind.EXPENSE);
+
+        assertEquals(2, quantiles.get("Food").getCount());
+        assertEquals(QuantileSketch.valueOf(QuantileSketch.bucketOf(40)), quantiles.get("Food").getMedian());
+        assertEquals(1, quantiles.get("Uncategorized").getCount());
+    }
+
+    private AmountHistogramBucket bucket(int categoryId, int amount, long count) {
+        AmountHistogramBucket bucket = new AmountHistogramBucket();
+        bucket.setCategoryId(categoryId);
+        bucket.setBucket(QuantileSketch.bucketOf(amount));
+        bucket.setCount(count);
+        return bucket;
+    }
+}
@@ -0,0 +1,244 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.dto.RecurringTransactionDTO;
+import com.FinFlow.FinanceManager.entity.RecurrenceFrequency;
+import com.FinFlow.FinanceManager.entity.RecurringTransaction;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsCreatedEvent;
+import com.FinFlow.FinanceManager.repository.RecurringTransactionRepository;
+import com.FinFlow.FinanceManager.services.category.CategoryService;
+import com.FinFlow.FinanceManager.services.recurring.RecurringTransactionServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RecurringTransactionServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 15);
+
+    private RecurringTransactionRepository recurringRepository;
+    private CategoryService categoryService;
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private int insertedRows;
+    private List<String> insertStatements;
+
+    @BeforeEach
+    void setUp() {
+        recurringRepository = mock(RecurringTransactionRepository.class);
+        categoryService = mock(CategoryService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        insertedRows = 0;
+        insertStatements = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<Object>>any()))
+                .thenAnswer(invocation -> {
+                    insertStatements.add(invocation.getArgument(0));
+                    insertedRows += invocation.<Collection<?>>getArgument(1).size();
+                    return new int[0][];
+                });
+    }
+
+    private RecurringTransactionServiceImpl service(int maxRowsPerChunk) {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        return new RecurringTransactionServiceImpl(recurringRepository, categoryService, jdbcTemplate,
+                transactionTemplate, eventPublisher, true, 200, maxRowsPerChunk, 500);
+    }
+
+    private RecurringTransaction definition(long id, long userId, TransactionKind kind, RecurrenceFrequency frequency,
+                                            LocalDate start, LocalDate end) {
+        User user = new User();
+        user.setId(userId);
+        RecurringTransaction definition = new RecurringTransaction();
+        definition.setId(id);
+        definition.setUser(user);
+        definition.setKind(kind);
+        definition.setTitle("Recurring " + id);
+        definition.setAmount(100);
+        definition.setFrequency(frequency);
+        definition.setStartDate(start);
+        definition.setEndDate(end);
+        definition.setNextDate(start);
+        return definition;
+    }
+
+    private void dueDefinitions(RecurringTransaction... definitions) {
+        when(recurringRepository.findDueIds(eq(TODAY), anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(1);
+            List<Long> due = new ArrayList<>();
+            for (RecurringTransaction definition : definitions) {
+                if (definition.getId() >= fromId && isDue(definition)) {
+                    due.add(definition.getId());
+                }
+            }
+            return due;
+        });
+        when(recurringRepository.lockDue(anyCollection(), eq(TODAY))).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            List<RecurringTransaction> due = new ArrayList<>();
+            for (RecurringTransaction definition : definitions) {
+                if (ids.contains(definition.getId()) && isDue(definition)) {
+                    due.add(definition);
+                }
+            }
+            return due;
+        });
+    }
+
+    private static boolean isDue(RecurringTransaction definition) {
+        return definition.getNextDate() != null && !definition.getNextDate().isAfter(TODAY);
+    }
+
+    @Test
+    void occurrence_MonthlyKeepsTheStartDayWhenMonthsAreShorter() {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+
+        assertEquals(LocalDate.of(2024, 2, 29), RecurrenceFrequency.MONTHLY.occurrence(start, 1));
+        assertEquals(LocalDate.of(2024, 3, 31), RecurrenceFrequency.MONTHLY.occurrence(start, 2));
+        assertEquals(LocalDate.of(2024, 2, 14), RecurrenceFrequency.WEEKLY.occurrence(start, 2));
+    }
+
+    @Test
+    void materializeDue_CatchesUpMissedOccurrencesInOneBatchPerKind() {
+        RecurringTransaction coffee = definition(1, 7, TransactionKind.EXPENSE, RecurrenceFrequency.DAILY, TODAY.minusDays(9), null);
+        RecurringTransaction salary = definition(2, 7, TransactionKind.INCOME, RecurrenceFrequency.WEEKLY, TODAY.minusWeeks(2), null);
+        dueDefinitions(coffee, salary);
+
+        int written = service(5000).materializeDue(TODAY);
+
+        assertEquals(13, written);
+        assertEquals(2, insertStatements.size());
+        assertTrue(insertStatements.get(0).startsWith("INSERT INTO expense "));
+        assertTrue(insertStatements.get(1).startsWith("INSERT INTO income "));
+        assertEquals(10, coffee.getOccurrenceCount());
+        assertEquals(TODAY.plusDays(1), coffee.getNextDate());
+        assertEquals(3, salary.getOccurrenceCount());
+        assertEquals(TODAY.plusWeeks(1), salary.getNextDate());
+
+        ArgumentCaptor<TransactionsCreatedEvent> events = ArgumentCaptor.forClass(TransactionsCreatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(10, events.getAllValues().get(0).getCreated().size());
+        assertEquals(TransactionKind.INCOME, events.getAllValues().get(1).getKind());
+        assertEquals(3, events.getAllValues().get(1).getCreated().size());
+    }
+
+    @Test
+    void materializeDue_ContinuesLongBacklogsInFurtherChunks() {
+        RecurringTransaction first = definition(1, 7, TransactionKind.EXPENSE, RecurrenceFrequency.DAILY, TODAY.minusDays(4), null);
+        RecurringTransaction second = definition(2, 8, TransactionKind.EXPENSE, RecurrenceFrequency.DAILY, TODAY.minusDays(1), null);
+        dueDefinitions(first, second);
+
+        int written = service(2).materializeDue(TODAY);
+
+        assertEquals(7, written);
+        assertEquals(TODAY.plusDays(1), first.getNextDate());
+        assertEquals(TODAY.plusDays(1), second.getNextDate());
+        assertEquals(7, insertedRows);
+        assertEquals(4, insertStatements.size());
+    }
+
+    @Test
+    void materializeDue_StopsAtTheEndDate() {
+        RecurringTransaction trial = definition(1, 7, TransactionKind.EXPENSE, RecurrenceFrequency.WEEKLY,
+                TODAY.minusWeeks(5), TODAY.minusWeeks(3));
+        dueDefinitions(trial);
+
+        int written = service(5000).materializeDue(TODAY);
+
+        assertEquals(3, written);
+        assertNull(trial.getNextDate());
+        ArgumentCaptor<TransactionsCreatedEvent> event = ArgumentCaptor.forClass(TransactionsCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(TODAY.minusWeeks(5), TODAY.minusWeeks(4), TODAY.minusWeeks(3)),
+                event.getValue().getCreated().stream().map(TransactionSnapshot::getDate).toList());
+    }
+
+    @Test
+    void materializeDue_SkipsDefinitionsAdvancedBeforeTheyWereLocked() {
+        RecurringTransaction rent = definition(1, 7, TransactionKind.EXPENSE, RecurrenceFrequency.MONTHLY, TODAY, null);
+        RecurringTransaction salary = definition(2, 7, TransactionKind.INCOME, RecurrenceFrequency.MONTHLY, TODAY, null);
+        dueDefinitions(rent, salary);
+        when(recurringRepository.lockDue(anyCollection(), eq(TODAY))).thenAnswer(invocation -> {
+            rent.setNextDate(TODAY.plusMonths(1));
+            salary.setNextDate(TODAY.plusMonths(1));
+            return List.of();
+        });
+
+        assertEquals(0, service(5000).materializeDue(TODAY));
+
+        verify(recurringRepository).findDueIds(eq(TODAY), eq(3L), any(Pageable.class));
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void materializeDue_NothingDueWritesNothing() {
+        dueDefinitions();
+
+        assertEquals(0, service(5000).materializeDue(TODAY));
+
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void createRecurring_FutureStartIsLeftToTheJob() {
+        when(recurringRepository.save(any(RecurringTransaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryService.resolveId(7L, "Rent")).thenReturn(4);
+        RecurringTransactionDTO dto = new RecurringTransactionDTO();
+        User user = new User();
+        user.setId(7L);
+        dto.setUser(user);
+        dto.setKind(TransactionKind.EXPENSE);
+        dto.setCategory("Rent");
+        dto.setAmount(900);
+        dto.setFrequency(RecurrenceFrequency.MONTHLY);
+        dto.setStartDate(LocalDate.now().plusDays(3));
+
+        RecurringTransaction saved = service(5000).createRecurring(dto);
+
+        assertEquals(4, saved.getCategoryId());
+        assertEquals(dto.getStartDate(), saved.getNextDate());
+        assertEquals(0, saved.getOccurrenceCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void createRecurring_RejectsEndBeforeStart() {
+        RecurringTransactionDTO dto = new RecurringTransactionDTO();
+        User user = new User();
+        user.setId(7L);
+        dto.setUser(user);
+        dto.setKind(TransactionKind.INCOME);
+        dto.setAmount(900);
+        dto.setFrequency(RecurrenceFrequency.MONTHLY);
+        dto.setStartDate(TODAY);
+        dto.setEndDate(TODAY.minusDays(1));
+
+        assertThrows(IllegalArgumentException.class, () -> service(5000).createRecurring(dto));
+        verify(recurringRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteRecurring_UnknownIdThrows() {
+        when(recurringRepository.deleteByIdAndUserId(5L, 7L)).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> service(5000).deleteRecurring(5L, 7L));
+    }
+}
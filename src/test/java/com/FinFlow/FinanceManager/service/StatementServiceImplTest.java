@@ -0,0 +1,252 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.entity.StatementPartition;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlyStatementRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.repository.StatementPartitionRepository;
+import com.FinFlow.FinanceManager.repository.UserCategoryTotal;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.repository.UserTotal;
+import com.FinFlow.FinanceManager.services.archive.ArchiveService;
+import com.FinFlow.FinanceManager.services.statement.StatementServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementServiceImplTest {
+
+    private static final LocalDate MONTH = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+
+    private UserRepository userRepository;
+    private ExpenseRepository expenseRepository;
+    private IncomeRepository incomeRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+    private MonthlyStatementRepository statementRepository;
+    private StatementPartitionRepository partitionRepository;
+    private ArchiveService archiveService;
+    private JdbcTemplate jdbcTemplate;
+    private List<StatementPartition> partitions;
+    private Map<Long, Object[]> insertedRows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepository = mock(UserRepository.class);
+        expenseRepository = mock(ExpenseRepository.class);
+        incomeRepository = mock(IncomeRepository.class);
+        monthlySummaryRepository = mock(MonthlySummaryRepository.class);
+        statementRepository = mock(MonthlyStatementRepository.class);
+        partitionRepository = mock(StatementPartitionRepository.class);
+        archiveService = mock(ArchiveService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        partitions = new ArrayList<>();
+        insertedRows = new HashMap<>();
+
+        when(archiveService.getCutoff()).thenReturn(MONTH.minusMonths(12));
+        when(partitionRepository.findByStatementMonthOrderByFirstUserId(MONTH)).thenAnswer(invocation -> new ArrayList<>(partitions));
+        when(partitionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StatementPartition> saved = invocation.getArgument(0);
+            for (StatementPartition partition : saved) {
+                partition.setId((long) partitions.size() + 1);
+                partitions.add(partition);
+            }
+            return saved;
+        });
+        when(partitionRepository.lockById(anyLong())).thenAnswer(invocation -> partitions.stream()
+                .filter(partition -> partition.getId().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(userRepository.findIdsBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long first = invocation.getArgument(0);
+            long last = invocation.getArgument(1);
+            return userIds().stream().filter(id -> id >= first && id <= last).toList();
+        });
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<Object>>any()))
+                .thenAnswer(invocation -> {
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object row : invocation.<Collection<?>>getArgument(1)) {
+                        Object[] values = new Object[10];
+                        PreparedStatement statement = mock(PreparedStatement.class);
+                        doAnswer(set -> values[set.<Integer>getArgument(0)] = set.getArgument(1))
+                                .when(statement).setLong(anyInt(), anyLong());
+                        doAnswer(set -> values[set.<Integer>getArgument(0)] = set.getArgument(1))
+                                .when(statement).setObject(anyInt(), any(), anyInt());
+                        doAnswer(set -> values[set.<Integer>getArgument(0)] = set.getArgument(1))
+                                .when(statement).setObject(anyInt(), any());
+                        setter.setValues(statement, row);
+                        insertedRows.put((Long) values[1], values);
+                    }
+                    return new int[0][];
+                });
+    }
+
+    private List<Long> userIds() {
+        return List.of(3L, 5L, 8L, 13L, 21L);
+    }
+
+    private StatementServiceImpl service(int partitionSize) {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(userRepository.streamIds()).thenAnswer(invocation -> userIds().stream());
+        return new StatementServiceImpl(userRepository, expenseRepository, incomeRepository, monthlySummaryRepository,
+                statementRepository, partitionRepository, archiveService, jdbcTemplate, transactionTemplate,
+                true, 2, partitionSize, 500);
+    }
+
+    private static UserTotal userTotal(long userId, long total) {
+        UserTotal row = mock(UserTotal.class);
+        when(row.getUserId()).thenReturn(userId);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    private static UserCategoryTotal categoryTotal(long userId, Integer categoryId, long count, long total) {
+        UserCategoryTotal row = mock(UserCategoryTotal.class);
+        when(row.getUserId()).thenReturn(userId);
+        when(row.getCategoryId()).thenReturn(categoryId);
+        when(row.getCount()).thenReturn(count);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    @Test
+    void generateStatements_SplitsUsersIntoContiguousRanges() {
+        int written = service(2).generateStatements(MONTH.plusDays(10));
+
+        assertEquals(5, written);
+        assertEquals(3, partitions.size());
+        assertEquals(0L, partitions.get(0).getFirstUserId());
+        assertEquals(7L, partitions.get(0).getLastUserId());
+        assertEquals(8L, partitions.get(1).getFirstUserId());
+        assertEquals(20L, partitions.get(1).getLastUserId());
+        assertEquals(21L, partitions.get(2).getFirstUserId());
+        assertEquals(Long.MAX_VALUE, partitions.get(2).getLastUserId());
+        assertTrue(partitions.stream().allMatch(StatementPartition::isCompleted));
+        assertEquals(List.of(2, 2, 1), partitions.stream().map(StatementPartition::getUserCount).toList());
+        assertEquals(userIds(), insertedRows.keySet().stream().sorted().toList());
+        verify(statementRepository).deleteByMonthAndUserIdBetween(MONTH, 8L, 20L);
+    }
+
+    @Test
+    void generateStatements_ComputesBalancesAndTopCategory() {
+        List<UserTotal> incomeBefore = List.of(userTotal(5, 1000));
+        List<UserTotal> expenseBefore = List.of(userTotal(5, 300));
+        List<UserTotal> archivedNet = List.of(userTotal(5, 50));
+        List<UserCategoryTotal> incomes = List.of(categoryTotal(5, null, 1, 400));
+        List<UserCategoryTotal> expenses = List.of(categoryTotal(5, 9, 2, 80), categoryTotal(5, 4, 1, 80),
+                categoryTotal(5, null, 3, 120));
+        when(incomeRepository.sumByUserIdBetweenBefore(0L, Long.MAX_VALUE, MONTH)).thenReturn(incomeBefore);
+        when(expenseRepository.sumByUserIdBetweenBefore(0L, Long.MAX_VALUE, MONTH)).thenReturn(expenseBefore);
+        when(monthlySummaryRepository.sumNetByUserIdBetweenBefore(eq(0L), eq(Long.MAX_VALUE), anyInt())).thenReturn(archivedNet);
+        when(incomeRepository.sumByUserIdBetweenAndCategory(0L, Long.MAX_VALUE, MONTH, MONTH.plusMonths(1))).thenReturn(incomes);
+        when(expenseRepository.sumByUserIdBetweenAndCategory(0L, Long.MAX_VALUE, MONTH, MONTH.plusMonths(1))).thenReturn(expenses);
+
+        service(1000).generateStatements(MONTH);
+
+        Object[] row = insertedRows.get(5L);
+        assertEquals(MONTH, row[2]);
+        assertEquals(750L, row[3]);
+        assertEquals(400L, row[4]);
+        assertEquals(1L, row[5]);
+        assertEquals(280L, row[6]);
+        assertEquals(6L, row[7]);
+        assertEquals(870L, row[8]);
+        assertEquals(4, row[9]);
+
+        Object[] empty = insertedRows.get(3L);
+        assertEquals(0L, empty[3]);
+        assertEquals(0L, empty[8]);
+        assertNull(empty[9]);
+    }
+
+    @Test
+    void generateStatements_ResumesOnlyPendingPartitions() {
+        StatementServiceImpl service = service(2);
+        service.generateStatements(MONTH);
+        partitions.get(1).setCompleted(false);
+        insertedRows.clear();
+
+        int written = service.generateStatements(MONTH);
+
+        assertEquals(2, written);
+        assertEquals(List.of(8L, 13L), insertedRows.keySet().stream().sorted().toList());
+        verify(partitionRepository, times(1)).saveAll(anyList());
+        assertEquals(0, service.generateStatements(MONTH));
+    }
+
+    @Test
+    void generateStatements_FailedPartitionDoesNotUndoTheOthers() {
+        when(incomeRepository.sumByUserIdBetweenBefore(eq(8L), anyLong(), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        int written = service(2).generateStatements(MONTH);
+
+        assertEquals(3, written);
+        assertTrue(partitions.get(0).isCompleted());
+        assertFalse(partitions.get(1).isCompleted());
+        assertTrue(partitions.get(2).isCompleted());
+    }
+
+    @Test
+    void generateStatements_RejectsIncompleteAndArchivedMonths() {
+        StatementServiceImpl service = service(1000);
+
+        assertThrows(IllegalArgumentException.class, () -> service.generateStatements(LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> service.generateStatements(MONTH.minusMonths(13)));
+        verifyNoInteractions(partitionRepository, jdbcTemplate);
+    }
+
+    @Test
+    void scheduledGenerate_CatchesUpOnEarlierMonthsWithoutCompleteStatements() {
+        LocalDate cutoff = MONTH.minusMonths(12);
+        LocalDate missed = MONTH.minusMonths(3);
+        List<LocalDate> complete = new ArrayList<>();
+        for (LocalDate month = cutoff; month.isBefore(MONTH); month = month.plusMonths(1)) {
+            if (!month.equals(missed)) {
+                complete.add(month);
+            }
+        }
+        when(partitionRepository.findCompletedMonthsFrom(cutoff)).thenReturn(complete);
+
+        service(1000).scheduledGenerate();
+
+        verify(partitionRepository).findByStatementMonthOrderByFirstUserId(MONTH);
+        verify(partitionRepository).findByStatementMonthOrderByFirstUserId(missed);
+        verify(partitionRepository, never()).findByStatementMonthOrderByFirstUserId(MONTH.minusMonths(2));
+        verify(partitionRepository, never()).findByStatementMonthOrderByFirstUserId(cutoff);
+        verify(statementRepository).deleteByMonthAndUserIdBetween(missed, 0L, Long.MAX_VALUE);
+    }
+
+    @Test
+    void getStatements_DelegatesToRepository() {
+        when(statementRepository.findByUserIdOrderByStatementMonthDesc(5L)).thenReturn(List.of());
+
+        assertEquals(List.of(), service(1000).getStatements(5L));
+        verify(statementRepository).findByUserIdOrderByStatementMonthDesc(5L);
+    }
+
+    @Test
+    void generateStatements_SkipsPartitionsThatWereRemoved() {
+        StatementServiceImpl service = service(1000);
+        when(partitionRepository.lockById(anyLong())).thenReturn(Optional.empty());
+
+        assertEquals(0, service.generateStatements(MONTH));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+}
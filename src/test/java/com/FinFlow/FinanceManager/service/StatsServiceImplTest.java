@@ -1,19 +1,33 @@
 package com.FinFlow.FinanceManager.service;
 
+import com.FinFlow.FinanceManager.dto.BalancePointDTO;
 import com.FinFlow.FinanceManager.dto.GraphDTO;
+import com.FinFlow.FinanceManager.dto.QuantilesDTO;
 import com.FinFlow.FinanceManager.dto.StatsDTO;
 import com.FinFlow.FinanceManager.entity.Expense;
 import com.FinFlow.FinanceManager.entity.Income;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.repository.AmountRange;
 import com.FinFlow.FinanceManager.repository.ExpenseRepository;
 import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.repository.TransactionRow;
+import com.FinFlow.FinanceManager.services.analytics.TransactionColumnStore;
+import com.FinFlow.FinanceManager.services.quantile.QuantileService;
+import com.FinFlow.FinanceManager.services.breakdown.CategoryBreakdownService;
 import com.FinFlow.FinanceManager.services.stats.StatsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,13 +38,23 @@ class StatsServiceImplTest {
 
     private IncomeRepository incomeRepository;
     private ExpenseRepository expenseRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+    private TransactionColumnStore columnStore;
+    private QuantileService quantileService;
+    private CategoryBreakdownService categoryBreakdownService;
     private StatsServiceImpl statsService;
 
     @BeforeEach
     void setUp() {
         incomeRepository = mock(IncomeRepository.class);
         expenseRepository = mock(ExpenseRepository.class);
-        statsService = new StatsServiceImpl(incomeRepository, expenseRepository);
+        monthlySummaryRepository = mock(MonthlySummaryRepository.class);
+        AmountRange noArchive = range(null, null);
+        when(monthlySummaryRepository.findAmountRangeByUserIdAndKind(anyLong(), any())).thenReturn(noArchive);
+        columnStore = mock(TransactionColumnStore.class);
+        quantileService = mock(QuantileService.class);
+        categoryBreakdownService = mock(CategoryBreakdownService.class);
+        statsService = new StatsServiceImpl(incomeRepository, expenseRepository, monthlySummaryRepository, columnStore, quantileService, categoryBreakdownService);
     }
 
     @Test
@@ -53,34 +77,53 @@ class StatsServiceImplTest {
         assertEquals(incomes, result.getIncomeList());
     }
 
+    @Test
+    void testGetChartData_RecordsServiceCallEvent() throws Exception {
+        when(expenseRepository.findByUserIdAndDateBetween(eq(3L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Arrays.asList(new Expense(), new Expense(), new Expense()));
+        when(incomeRepository.findByUserIdAndDateBetween(eq(3L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(new Income()));
+
+        Path file = Files.createTempFile("stats-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("finflow.ServiceCall");
+            recording.start();
+            statsService.getChartData(3L);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            assertEquals("StatsService.getChartData", events.get(0).getString("operation"));
+            assertEquals(4L, events.get(0).getLong("rows"));
+            assertNotEquals(0L, events.get(0).getLong("userHash"));
+            assertNotEquals(3L, events.get(0).getLong("userHash"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     @Test
     void testGetStats_ReturnsStatsDTOWithCorrectValues() {
         Long userId = 2L;
-        double totalIncome = 1000.0;
-        double totalExpense = 400.0;
+        long totalIncome = 1000L;
+        long totalExpense = 400L;
 
         Income latestIncome = new Income();
         latestIncome.setAmount(500);
         Expense latestExpense = new Expense();
         latestExpense.setAmount(200);
 
-        List<Income> incomeList = Arrays.asList(
-                createIncome(100.0),
-                createIncome(500.0),
-                createIncome(400.0)
-        );
-        List<Expense> expenseList = Arrays.asList(
-                createExpense(50.0),
-                createExpense(200.0),
-                createExpense(150.0)
-        );
-
         when(incomeRepository.sumAllAmountsByUserId(userId)).thenReturn(totalIncome);
         when(expenseRepository.sumAllAmountsByUserId(userId)).thenReturn(totalExpense);
         when(incomeRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.of(latestIncome));
         when(expenseRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.of(latestExpense));
-        when(incomeRepository.findAll()).thenReturn(incomeList);
-        when(expenseRepository.findAll()).thenReturn(expenseList);
+        AmountRange incomeRange = range(100, 500);
+        AmountRange expenseRange = range(50, 200);
+        when(incomeRepository.findAmountRangeByUserId(userId)).thenReturn(incomeRange);
+        when(expenseRepository.findAmountRangeByUserId(userId)).thenReturn(expenseRange);
+        QuantilesDTO incomeQuantiles = new QuantilesDTO(3, 300L, 500L, 500L);
+        when(quantileService.getQuantiles(userId, TransactionKind.INCOME)).thenReturn(incomeQuantiles);
 
         StatsDTO stats = statsService.getStats(userId);
 
@@ -89,27 +132,32 @@ class StatsServiceImplTest {
         assertEquals(totalIncome - totalExpense, stats.getBalance());
         assertEquals(latestIncome, stats.getLatestIncome());
         assertEquals(latestExpense, stats.getLatestExpense());
-        assertEquals(500.0, stats.getMaxIncome());
-        assertEquals(100.0, stats.getMinIncome());
-        assertEquals(200.0, stats.getMaxExpense());
-        assertEquals(50.0, stats.getMinExpense());
+        assertEquals(500L, stats.getMaxIncome());
+        assertEquals(100L, stats.getMinIncome());
+        assertEquals(200L, stats.getMaxExpense());
+        assertEquals(50L, stats.getMinExpense());
+        assertEquals(incomeQuantiles, stats.getIncomeQuantiles());
+        verify(incomeRepository, never()).findAll();
+        verify(expenseRepository, never()).findAll();
     }
 
     @Test
     void testGetStats_WithEmptyIncomeAndExpenseLists() {
         Long userId = 3L;
-        when(incomeRepository.sumAllAmountsByUserId(userId)).thenReturn(0.0);
-        when(expenseRepository.sumAllAmountsByUserId(userId)).thenReturn(0.0);
+        when(incomeRepository.sumAllAmountsByUserId(userId)).thenReturn(0L);
+        when(expenseRepository.sumAllAmountsByUserId(userId)).thenReturn(0L);
         when(incomeRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
         when(expenseRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
-        when(incomeRepository.findAll()).thenReturn(Collections.emptyList());
-        when(expenseRepository.findAll()).thenReturn(Collections.emptyList());
+        AmountRange incomeRange = range(null, null);
+        AmountRange expenseRange = range(null, null);
+        when(incomeRepository.findAmountRangeByUserId(userId)).thenReturn(incomeRange);
+        when(expenseRepository.findAmountRangeByUserId(userId)).thenReturn(expenseRange);
 
         StatsDTO stats = statsService.getStats(userId);
 
-        assertEquals(0.0, stats.getIncome());
-        assertEquals(0.0, stats.getExpense());
-        assertEquals(0.0, stats.getBalance());
+        assertEquals(0L, stats.getIncome());
+        assertEquals(0L, stats.getExpense());
+        assertEquals(0L, stats.getBalance());
         assertNull(stats.getLatestIncome());
         assertNull(stats.getLatestExpense());
         assertNull(stats.getMaxIncome());
@@ -118,15 +166,163 @@ class StatsServiceImplTest {
         assertNull(stats.getMinExpense());
     }
 
-    private Income createIncome(double amount) {
-        Income income = new Income();
-        income.setAmount((int) amount);
-        return income;
+    @Test
+    void testGetStats_IncludesArchivedMonthlySummaries() {
+        Long userId = 4L;
+        when(incomeRepository.sumAllAmountsByUserId(userId)).thenReturn(100L);
+        when(expenseRepository.sumAllAmountsByUserId(userId)).thenReturn(40L);
+        when(monthlySummaryRepository.sumTotalByUserIdAndKind(userId, TransactionKind.INCOME)).thenReturn(900L);
+        when(monthlySummaryRepository.sumTotalByUserIdAndKind(userId, TransactionKind.EXPENSE)).thenReturn(60L);
+        when(incomeRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
+        when(expenseRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
+        AmountRange incomeRange = range(100, 100);
+        AmountRange expenseRange = range(null, null);
+        AmountRange archivedIncomeRange = range(20, 700);
+        AmountRange archivedExpenseRange = range(10, 50);
+        when(incomeRepository.findAmountRangeByUserId(userId)).thenReturn(incomeRange);
+        when(expenseRepository.findAmountRangeByUserId(userId)).thenReturn(expenseRange);
+        when(monthlySummaryRepository.findAmountRangeByUserIdAndKind(userId, TransactionKind.INCOME)).thenReturn(archivedIncomeRange);
+        when(monthlySummaryRepository.findAmountRangeByUserIdAndKind(userId, TransactionKind.EXPENSE)).thenReturn(archivedExpenseRange);
+
+        StatsDTO stats = statsService.getStats(userId);
+
+        assertEquals(1000L, stats.getIncome());
+        assertEquals(100L, stats.getExpense());
+        assertEquals(900L, stats.getBalance());
+        assertEquals(20L, stats.getMinIncome());
+        assertEquals(700L, stats.getMaxIncome());
+        assertEquals(10L, stats.getMinExpense());
+        assertEquals(50L, stats.getMaxExpense());
+    }
+
+    @Test
+    void testGetStats_FromColumnStore() {
+        Long userId = 4L;
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        statsService = new StatsServiceImpl(incomeRepository, expenseRepository, monthlySummaryRepository, store, quantileService, categoryBreakdownService);
+
+        List<TransactionRow> incomeRows = Arrays.asList(row(100), row(500), row(400));
+        List<TransactionRow> expenseRows = Arrays.asList(row(50), row(200), row(150));
+        when(incomeRepository.findRowsByUserId(userId)).thenReturn(incomeRows);
+        when(expenseRepository.findRowsByUserId(userId)).thenReturn(expenseRows);
+        when(incomeRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
+        when(expenseRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
+
+        StatsDTO stats = statsService.getStats(userId);
+
+        assertEquals(1000L, stats.getIncome());
+        assertEquals(400L, stats.getExpense());
+        assertEquals(600L, stats.getBalance());
+        assertEquals(500L, stats.getMaxIncome());
+        assertEquals(100L, stats.getMinIncome());
+        assertEquals(200L, stats.getMaxExpense());
+        assertEquals(50L, stats.getMinExpense());
+        verify(incomeRepository, never()).findAll();
+        verify(expenseRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetStats_FromColumnStore_NewUserHasZeroTotals() {
+        Long userId = 5L;
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        statsService = new StatsServiceImpl(incomeRepository, expenseRepository, monthlySummaryRepository, store, quantileService, categoryBreakdownService);
+        when(incomeRepository.findRowsByUserId(userId)).thenReturn(Collections.emptyList());
+        when(expenseRepository.findRowsByUserId(userId)).thenReturn(Collections.emptyList());
+        when(incomeRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
+        when(expenseRepository.findFirstByUserIdOrderByDateDesc(userId)).thenReturn(Optional.empty());
+
+        StatsDTO stats = statsService.getStats(userId);
+
+        assertEquals(0L, stats.getIncome());
+        assertEquals(0L, stats.getBalance());
+        assertNull(stats.getMinIncome());
+        assertNull(stats.getMaxExpense());
+    }
+
+    @Test
+    void testGetBalanceSeries_FromColumnStore() {
+        Long userId = 6L;
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        statsService = new StatsServiceImpl(incomeRepository, expenseRepository, monthlySummaryRepository, store, quantileService, categoryBreakdownService);
+        List<TransactionRow> incomeRows = Arrays.asList(row(100, LocalDate.of(2024, 6, 1)), row(50, LocalDate.of(2024, 6, 3)));
+        List<TransactionRow> expenseRows = Arrays.asList(row(30, LocalDate.of(2024, 6, 2)));
+        when(incomeRepository.findRowsByUserId(userId)).thenReturn(incomeRows);
+        when(expenseRepository.findRowsByUserId(userId)).thenReturn(expenseRows);
+
+        List<BalancePointDTO> series = statsService.getBalanceSeries(userId, LocalDate.of(2024, 5, 31), LocalDate.of(2024, 6, 3));
+
+        assertEquals(4, series.size());
+        assertEquals(new BalancePointDTO(LocalDate.of(2024, 5, 31), 0), series.get(0));
+        assertEquals(100L, series.get(1).getBalance());
+        assertEquals(70L, series.get(2).getBalance());
+        assertEquals(120L, series.get(3).getBalance());
+        assertEquals(70L, statsService.getBalanceAt(userId, LocalDate.of(2024, 6, 2)));
     }
 
-    private Expense createExpense(double amount) {
+    @Test
+    void testGetBalanceSeries_FallbackMatchesColumnStore() {
+        Long userId = 7L;
+        Income income = new Income();
+        income.setAmount(100);
+        income.setDate(LocalDate.of(2024, 6, 2));
         Expense expense = new Expense();
-        expense.setAmount((int)amount);
-        return expense;
+        expense.setAmount(30);
+        expense.setDate(LocalDate.of(2024, 6, 3));
+        LocalDate from = LocalDate.of(2024, 6, 1);
+        LocalDate to = LocalDate.of(2024, 6, 3);
+        when(incomeRepository.findByUserIdAndDateBetween(userId, from, to)).thenReturn(List.of(income));
+        when(expenseRepository.findByUserIdAndDateBetween(userId, from, to)).thenReturn(List.of(expense));
+        when(incomeRepository.sumAmountsByUserIdUpTo(userId, LocalDate.of(2024, 5, 31))).thenReturn(500L);
+        when(expenseRepository.sumAmountsByUserIdUpTo(userId, LocalDate.of(2024, 5, 31))).thenReturn(200L);
+
+        List<BalancePointDTO> series = statsService.getBalanceSeries(userId, from, to);
+
+        assertEquals(300L, series.get(0).getBalance());
+        assertEquals(400L, series.get(1).getBalance());
+        assertEquals(370L, series.get(2).getBalance());
+    }
+
+    @Test
+    void testGetBalanceAt_StrayDatesStayCheapAndOldDaysFallBack() {
+        Long userId = 8L;
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        statsService = new StatsServiceImpl(incomeRepository, expenseRepository, monthlySummaryRepository, store, quantileService, categoryBreakdownService);
+        List<TransactionRow> incomeRows = Arrays.asList(row(100, LocalDate.of(1, 1, 1)), row(50, LocalDate.of(2024, 6, 1)),
+                row(7, LocalDate.of(9999, 12, 31)));
+        when(incomeRepository.findRowsByUserId(userId)).thenReturn(incomeRows);
+        when(expenseRepository.findRowsByUserId(userId)).thenReturn(Collections.emptyList());
+        LocalDate old = LocalDate.of(1900, 1, 1);
+        when(incomeRepository.sumAmountsByUserIdUpTo(userId, old)).thenReturn(100L);
+
+        assertEquals(150L, statsService.getBalanceAt(userId, LocalDate.of(2024, 6, 1)));
+        assertEquals(157L, statsService.getTotal(userId, TransactionKind.INCOME));
+        assertEquals(100L, statsService.getBalanceAt(userId, old));
+        verify(incomeRepository).sumAmountsByUserIdUpTo(userId, old);
+        verify(incomeRepository, never()).sumAmountsByUserIdUpTo(userId, LocalDate.of(2024, 6, 1));
+    }
+
+    @Test
+    void testGetBalanceSeries_RejectsReversedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> statsService.getBalanceSeries(1L, LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 1)));
+    }
+
+    private TransactionRow row(int amount) {
+        return row(amount, LocalDate.of(2024, 6, 1));
+    }
+
+    private TransactionRow row(int amount, LocalDate date) {
+        TransactionRow row = mock(TransactionRow.class);
+        when(row.getAmount()).thenReturn(amount);
+        when(row.getDate()).thenReturn(date);
+        when(row.getCategoryId()).thenReturn(1);
+        return row;
+    }
+
+    private AmountRange range(Integer min, Integer max) {
+        AmountRange range = mock(AmountRange.class);
+        when(range.getMin()).thenReturn(min);
+        when(range.getMax()).thenReturn(max);
+        return range;
     }
 }
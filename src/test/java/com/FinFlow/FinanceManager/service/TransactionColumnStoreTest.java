@@ -0,0 +1,208 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.entity.MonthlySummary;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.events.TransactionChangedEvent;
+import com.FinFlow.FinanceManager.events.TransactionSnapshot;
+import com.FinFlow.FinanceManager.events.TransactionsArchivedEvent;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.MonthlySummaryRepository;
+import com.FinFlow.FinanceManager.repository.TransactionRow;
+import com.FinFlow.FinanceManager.services.analytics.TransactionColumnStore;
+import com.FinFlow.FinanceManager.services.analytics.UserColumns;
+import com.FinFlow.FinanceManager.util.AmountAccumulator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionColumnStoreTest {
+
+    private ExpenseRepository expenseRepository;
+    private IncomeRepository incomeRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository = mock(ExpenseRepository.class);
+        incomeRepository = mock(IncomeRepository.class);
+        monthlySummaryRepository = mock(MonthlySummaryRepository.class);
+        when(incomeRepository.findRowsByUserId(anyLong())).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void get_LoadsOnceAndAppliesEvents() {
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        List<TransactionRow> rows = List.of(row(LocalDate.of(2024, 1, 1), 30, 1));
+        when(expenseRepository.findRowsByUserId(1L)).thenReturn(rows);
+
+        UserColumns columns = store.get(1L);
+        store.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L, null,
+                new TransactionSnapshot(LocalDate.of(2024, 1, 5), 70, "Rent", 2)));
+        store.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L,
+                new TransactionSnapshot(LocalDate.of(2024, 1, 1), 30, "Food", 1),
+                new TransactionSnapshot(LocalDate.of(2024, 1, 1), 10, "Food", 1)));
+
+        AmountAccumulator stats = store.get(1L).stats(TransactionKind.EXPENSE);
+        assertSame(columns, store.get(1L));
+        assertEquals(2, stats.getCount());
+        assertEquals(80L, stats.getSum());
+        assertEquals(10L, stats.getMin());
+        assertEquals(70L, stats.getMax());
+        assertEquals(70L, columns.sumBetween(TransactionKind.EXPENSE,
+                (int) LocalDate.of(2024, 1, 2).toEpochDay(), (int) LocalDate.of(2024, 1, 31).toEpochDay()));
+        verify(expenseRepository, times(1)).findRowsByUserId(1L);
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsedUserOverBudget() {
+        List<TransactionRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(row(LocalDate.of(2024, 1, 1), i, 1));
+        }
+        when(expenseRepository.findRowsByUserId(anyLong())).thenReturn(rows);
+        // Room for roughly two users' worth of columns.
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 30_000);
+
+        store.get(1L);
+        store.get(2L);
+        store.get(1L);
+        store.get(3L);
+        store.get(1L);
+        store.get(2L);
+
+        verify(expenseRepository, times(1)).findRowsByUserId(1L);
+        verify(expenseRepository, times(2)).findRowsByUserId(2L);
+    }
+
+    @Test
+    void onTransactionsArchived_ReloadsArchivedRowsAsSummaries() {
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        List<TransactionRow> hotRows = List.of(row(LocalDate.of(2022, 1, 20), 30, 1));
+        when(expenseRepository.findRowsByUserId(1L)).thenReturn(hotRows).thenReturn(Collections.emptyList());
+        MonthlySummary summary = new MonthlySummary();
+        summary.setKind(TransactionKind.EXPENSE);
+        summary.setPeriodIndex(MonthlySummary.periodIndexOf(LocalDate.of(2022, 1, 1)));
+        summary.setRowCount(1L);
+        summary.setTotal(30L);
+        summary.setMinAmount(30);
+        summary.setMaxAmount(30);
+        int from = (int) LocalDate.of(2022, 1, 15).toEpochDay();
+        int to = (int) LocalDate.of(2022, 1, 31).toEpochDay();
+
+        assertEquals(30L, store.get(1L).sumBetween(TransactionKind.EXPENSE, from, to));
+        when(monthlySummaryRepository.findByUserId(1L)).thenReturn(List.of(summary));
+        store.onTransactionsArchived(new TransactionsArchivedEvent(1L, LocalDate.of(2022, 1, 1)));
+
+        assertEquals(0L, store.get(1L).sumBetween(TransactionKind.EXPENSE, from, to));
+        assertEquals(30L, store.get(1L).stats(TransactionKind.EXPENSE).getSum());
+    }
+
+    @Test
+    void get_ConcurrentLoadersBothDiscardResultsThatMissedAWrite() throws Exception {
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        List<TransactionRow> before = List.of(row(LocalDate.of(2024, 1, 1), 30, 1));
+        List<TransactionRow> after = List.of(row(LocalDate.of(2024, 1, 1), 30, 1), row(LocalDate.of(2024, 1, 2), 70, 1));
+        CountDownLatch firstLoading = new CountDownLatch(1);
+        CountDownLatch secondLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(expenseRepository.findRowsByUserId(1L)).thenAnswer(invocation -> {
+            int load = loads.incrementAndGet();
+            if (load > 2) {
+                return after;
+            }
+            (load == 1 ? firstLoading : secondLoading).countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return before;
+        });
+        ExecutorService loaders = Executors.newFixedThreadPool(2);
+        try {
+            Future<UserColumns> first = loaders.submit(() -> store.get(1L));
+            assertTrue(firstLoading.await(5, TimeUnit.SECONDS));
+            Future<UserColumns> second = loaders.submit(() -> store.get(1L));
+            assertTrue(secondLoading.await(5, TimeUnit.SECONDS));
+
+            store.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L, null,
+                    new TransactionSnapshot(LocalDate.of(2024, 1, 2), 70, "Food", 1)));
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            loaders.shutdownNow();
+        }
+
+        assertEquals(100L, store.get(1L).stats(TransactionKind.EXPENSE).getSum());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_LoadOverlappingAnUncompletedWriteIsNotCachedSoTheEventIsNotCountedTwice() {
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        TransactionChangedEvent created = new TransactionChangedEvent(TransactionKind.EXPENSE, 1L, null,
+                new TransactionSnapshot(LocalDate.of(2024, 1, 2), 70, "Food", 1));
+        List<TransactionRow> committed = List.of(row(LocalDate.of(2024, 1, 1), 30, 1), row(LocalDate.of(2024, 1, 2), 70, 1));
+        when(expenseRepository.findRowsByUserId(1L)).thenReturn(committed);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.onTransactionChangedPublished(created);
+            // Committed, but the after-commit listeners have not run yet.
+            assertEquals(100L, store.get(1L).stats(TransactionKind.EXPENSE).getSum());
+            store.onTransactionChanged(created);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        UserColumns columns = store.get(1L);
+        assertEquals(100L, columns.stats(TransactionKind.EXPENSE).getSum());
+        assertSame(columns, store.get(1L));
+        verify(expenseRepository, times(2)).findRowsByUserId(1L);
+    }
+
+    @Test
+    void get_RowsWithoutAmountAreLeftOutOfAggregates() {
+        TransactionColumnStore store = new TransactionColumnStore(expenseRepository, incomeRepository, monthlySummaryRepository, true, 1 << 20);
+        TransactionRow blank = mock(TransactionRow.class);
+        when(blank.getDate()).thenReturn(LocalDate.of(2024, 1, 1));
+        when(blank.getAmount()).thenReturn(null);
+        List<TransactionRow> rows = List.of(row(LocalDate.of(2024, 1, 1), 30, 1), blank);
+        when(expenseRepository.findRowsByUserId(1L)).thenReturn(rows);
+        int day = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+
+        UserColumns columns = store.get(1L);
+        store.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L, null,
+                new TransactionSnapshot(LocalDate.of(2024, 1, 1), null, "Food", 1)));
+
+        AmountAccumulator stats = columns.stats(TransactionKind.EXPENSE);
+        assertEquals(1, stats.getCount());
+        assertEquals(30L, stats.getMin());
+        assertEquals(30L, columns.sumBetween(TransactionKind.EXPENSE, day, day));
+        assertEquals(-30L, columns.balanceAt(day));
+        store.onTransactionChanged(new TransactionChangedEvent(TransactionKind.EXPENSE, 1L,
+                new TransactionSnapshot(LocalDate.of(2024, 1, 1), null, "Food", 1), null));
+        assertEquals(-30L, columns.balanceAt(day));
+    }
+
+    private TransactionRow row(LocalDate date, int amount, int categoryId) {
+        TransactionRow row = mock(TransactionRow.class);
+        when(row.getDate()).thenReturn(date);
+        when(row.getAmount()).thenReturn(amount);
+        when(row.getCategoryId()).thenReturn(categoryId);
+        return row;
+    }
+}
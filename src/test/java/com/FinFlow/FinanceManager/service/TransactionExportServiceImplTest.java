@@ -0,0 +1,161 @@
+package com.FinFlow.FinanceManager.service;
+
+import com.FinFlow.FinanceManager.dto.ExpenseDTO;
+import com.FinFlow.FinanceManager.dto.IncomeDTO;
+import com.FinFlow.FinanceManager.entity.TransactionKind;
+import com.FinFlow.FinanceManager.entity.User;
+import com.FinFlow.FinanceManager.repository.ArchivedTransactionRepository;
+import com.FinFlow.FinanceManager.repository.ExpenseRepository;
+import com.FinFlow.FinanceManager.repository.ExportRow;
+import com.FinFlow.FinanceManager.repository.IncomeRepository;
+import com.FinFlow.FinanceManager.repository.UserRepository;
+import com.FinFlow.FinanceManager.services.expense.ExpenseService;
+import com.FinFlow.FinanceManager.services.export.ExportFormat;
+import com.FinFlow.FinanceManager.services.export.ImportedRow;
+import com.FinFlow.FinanceManager.services.export.TransactionExportServiceImpl;
+import com.FinFlow.FinanceManager.services.income.IncomeService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionExportServiceImplTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private IncomeRepository incomeRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @Mock
+    private IncomeService incomeService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TransactionExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void export_CsvQuotesSpecialCharacters() throws IOException {
+        when(expenseRepository.streamExportRowsByUserId(1L)).thenReturn(Stream.of(
+                row(5L, LocalDate.of(2024, 3, 1), "Lunch, team", "said \"hi\"", "Food", 42),
+                row(6L, null, "Plain", null, null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, exportService.export(1L, TransactionKind.EXPENSE, ExportFormat.CSV, out));
+
+        assertEquals("id,date,title,description,category,amount\r\n"
+                + "5,2024-03-01,\"Lunch, team\",\"said \"\"hi\"\"\",Food,42\r\n"
+                + "6,,Plain,,,\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_WritesArchivedRowsBeforeHotRows() throws IOException {
+        when(archivedTransactionRepository.streamExportRowsByUserIdAndKind(1L, TransactionKind.INCOME))
+                .thenReturn(Stream.of(row(3L, LocalDate.of(2019, 5, 1), "Old", null, "Job", 10)));
+        when(incomeRepository.streamExportRowsByUserId(1L))
+                .thenReturn(Stream.of(row(9L, LocalDate.of(2024, 5, 1), "New", null, "Job", 20)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, exportService.export(1L, TransactionKind.INCOME, ExportFormat.CSV, out));
+
+        assertEquals("id,date,title,description,category,amount\r\n"
+                + "3,2019-05-01,Old,,Job,10\r\n"
+                + "9,2024-05-01,New,,Job,20\r\n", out.toString(StandardCharsets.UTF_8));
+        InOrder inOrder = inOrder(archivedTransactionRepository, incomeRepository);
+        inOrder.verify(archivedTransactionRepository).streamExportRowsByUserIdAndKind(1L, TransactionKind.INCOME);
+        inOrder.verify(incomeRepository).streamExportRowsByUserId(1L);
+    }
+
+    @Test
+    void export_ColumnarRoundTripsThroughImport() throws IOException {
+        List<ExportRow> rows = IntStream.range(0, 5000)
+                .mapToObj(i -> row((long) i, i % 7 == 0 ? null : LocalDate.of(2020, 1, 1).plusDays(i / 3),
+                        "Title " + (i % 10), i % 2 == 0 ? null : "note", i % 3 == 0 ? "Rent" : "Food", i % 11 == 0 ? null : i - 2500))
+                .collect(java.util.stream.Collectors.toList());
+        when(incomeRepository.streamExportRowsByUserId(1L)).thenReturn(rows.stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, TransactionKind.INCOME, ExportFormat.COLUMNAR, out);
+        User user = new User();
+        user.setId(2L);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+
+        assertEquals(5000, exportService.importColumnar(2L, new ByteArrayInputStream(out.toByteArray())));
+
+        ArgumentCaptor<IncomeDTO> imported = ArgumentCaptor.forClass(IncomeDTO.class);
+        verify(incomeService, times(5000)).postIncome(imported.capture());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verifyNoInteractions(expenseService);
+        for (int i = 0; i < rows.size(); i++) {
+            ExportRow expected = rows.get(i);
+            IncomeDTO actual = imported.getAllValues().get(i);
+            assertEquals(expected.getDate(), actual.getDate());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertSame(user, actual.getUser());
+        }
+        assertTrue(out.size() < 5000 * 8, "columnar export should stay compact, was " + out.size());
+    }
+
+    @Test
+    void importColumnar_RejectsMalformedInputAndUnknownUser() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(new User()));
+        when(userRepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(IOException.class, () -> exportService.importColumnar(2L,
+                new ByteArrayInputStream("id,date\r\n".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IOException.class, () -> exportService.importColumnar(2L,
+                new ByteArrayInputStream(new byte[] {'F', 'F', 'C', '1', 0, 5})));
+        assertThrows(EntityNotFoundException.class, () -> exportService.importColumnar(3L, new ByteArrayInputStream(new byte[0])));
+        verify(expenseService, never()).postExpense(any(ExpenseDTO.class));
+    }
+
+    private static ExportRow row(Long id, LocalDate date, String title, String description, String category, Integer amount) {
+        ImportedRow row = new ImportedRow();
+        row.setId(id);
+        row.setDate(date);
+        row.setTitle(title);
+        row.setDescription(description);
+        row.setCategory(category);
+        row.setAmount(amount);
+        return row;
+    }
+
+}
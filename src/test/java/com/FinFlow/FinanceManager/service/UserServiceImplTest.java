@@ -4,11 +4,19 @@ import com.FinFlow.FinanceManager.dto.UserDTO;
 import com.FinFlow.FinanceManager.entity.User;
 import com.FinFlow.FinanceManager.repository.UserRepository;
 import com.FinFlow.FinanceManager.services.user.UserServiceImpl;
+import com.FinFlow.FinanceManager.services.user.UsernameAvailabilityCache;
+import com.FinFlow.FinanceManager.services.user.UsernameFilter;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.sql.SQLException;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,24 +28,42 @@ class UserServiceImplTest {
     private UserRepository userRepository;
     private UserServiceImpl userService;
     private BCryptPasswordEncoder passwordEncoder;
+    private UsernameFilter usernameFilter;
+    private UsernameAvailabilityCache availabilityCache;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
         userService = new UserServiceImpl();
         passwordEncoder = new BCryptPasswordEncoder();
+        usernameFilter = new UsernameFilter(userRepository, mock(PlatformTransactionManager.class), 1000, 0.01);
+        availabilityCache = mock(UsernameAvailabilityCache.class);
+        when(availabilityCache.get(anyString())).thenReturn(null);
 
-        // Inject mock repository
+        // Inject mock repository, the username filter and the availability cache
         java.lang.reflect.Field repoField;
+        java.lang.reflect.Field filterField;
+        java.lang.reflect.Field cacheField;
         try {
             repoField = UserServiceImpl.class.getDeclaredField("userRepository");
             repoField.setAccessible(true);
             repoField.set(userService, userRepository);
+            filterField = UserServiceImpl.class.getDeclaredField("usernameFilter");
+            filterField.setAccessible(true);
+            filterField.set(userService, usernameFilter);
+            cacheField = UserServiceImpl.class.getDeclaredField("availabilityCache");
+            cacheField.setAccessible(true);
+            cacheField.set(userService, availabilityCache);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    private void loadUsernameFilter(String... usernames) {
+        when(userRepository.streamUsernames()).thenReturn(Stream.of(usernames));
+        usernameFilter.run(null);
+    }
+
     @Test
     void testRegisterUser_Success() {
         UserDTO userDTO = new UserDTO();
@@ -146,4 +172,110 @@ class UserServiceImplTest {
 
         assertEquals("Invalid password", exception.getMessage());
     }
+
+    @Test
+    void testRegisterUser_ExistingUsernameRejectedBeforeInsert() {
+        loadUsernameFilter("taken");
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("taken");
+        userDTO.setPassword("password123");
+        when(userRepository.findByUsername("taken")).thenReturn(Optional.of(new User()));
+
+        assertThrows(DuplicateKeyException.class, () -> userService.registerUser(userDTO));
+
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testRegisterUser_UnknownUsernameInsertedWithoutLookup() {
+        loadUsernameFilter("someone");
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("newcomer");
+        userDTO.setPassword("password123");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.registerUser(userDTO);
+
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository).save(any(User.class));
+        verify(availabilityCache).markTaken("newcomer");
+
+        // The new name is in the filter now, so availability is looked up
+        userService.isUsernameAvailable("Newcomer");
+        verify(userRepository).findByUsername("Newcomer");
+    }
+
+    @Test
+    void testRegisterUser_UniqueViolationBecomesDuplicate() {
+        loadUsernameFilter();
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("racer");
+        userDTO.setPassword("password123");
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("Duplicate entry"), "insert", ConstraintViolationException.ConstraintKind.UNIQUE, null);
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", violation));
+
+        assertThrows(DuplicateKeyException.class, () -> userService.registerUser(userDTO));
+        verify(availabilityCache).markTaken("racer");
+    }
+
+    @Test
+    void testRegisterUser_OtherIntegrityViolationIsRethrown() {
+        loadUsernameFilter();
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("noemail");
+        userDTO.setPassword("password123");
+        ConstraintViolationException violation = new ConstraintViolationException("not null",
+                new SQLException("Column 'email' cannot be null"), "insert",
+                ConstraintViolationException.ConstraintKind.OTHER, null);
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", violation));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> userService.registerUser(userDTO));
+        assertFalse(exception instanceof DuplicateKeyException);
+    }
+
+    @Test
+    void testIsUsernameAvailable_DefiniteNegativeSkipsLookup() {
+        loadUsernameFilter("alice", "Renée");
+
+        assertTrue(userService.isUsernameAvailable("bob"));
+        verify(userRepository, never()).findByUsername(anyString());
+
+        when(userRepository.findByUsername("ALICE")).thenReturn(Optional.of(new User()));
+        when(userRepository.findByUsername("renee")).thenReturn(Optional.empty());
+        assertFalse(userService.isUsernameAvailable("ALICE"));
+        assertTrue(userService.isUsernameAvailable("renee"));
+    }
+
+    @Test
+    void testIsUsernameAvailable_LooksUpUntilFilterLoaded() {
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.empty());
+
+        assertTrue(userService.isUsernameAvailable("bob"));
+
+        verify(userRepository).findByUsername("bob");
+    }
+
+    @Test
+    void testIsUsernameAvailable_CachedAnswerSkipsLookup() {
+        loadUsernameFilter("alice");
+        when(availabilityCache.get("alice")).thenReturn(false);
+
+        assertFalse(userService.isUsernameAvailable("alice"));
+
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testIsUsernameAvailable_LookupIsCached() {
+        loadUsernameFilter("alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.empty());
+
+        assertTrue(userService.isUsernameAvailable("alice"));
+
+        verify(availabilityCache).put("alice", true);
+    }
 }
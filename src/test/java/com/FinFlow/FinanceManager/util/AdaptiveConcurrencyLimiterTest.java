@@ -0,0 +1,77 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = 1_000_000L;
+
+    @Test
+    void tryAcquire_RejectsOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, THRESHOLD);
+
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void release_SlowRequestsShrinkLimitToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 2, 100, 0.5, THRESHOLD);
+
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            limiter.release(limiter.tryAcquire(), now, THRESHOLD * 2, false);
+            now += THRESHOLD * 3;
+        }
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_BacksOffOncePerRoundTrip() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 2, 200, 0.9, THRESHOLD);
+        int[] slots = new int[50];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = limiter.tryAcquire();
+        }
+
+        // Fifty requests admitted together all come back slow: one cut, not 0.9^50.
+        for (int i = 0; i < slots.length; i++) {
+            limiter.release(slots[i], i, THRESHOLD * 2, false);
+        }
+        assertEquals(90, limiter.getLimit());
+
+        // A request admitted after the cut that is still slow cuts again.
+        limiter.release(limiter.tryAcquire(), THRESHOLD * 3, THRESHOLD * 2, true);
+        assertEquals(81, limiter.getLimit());
+    }
+
+    @Test
+    void release_FastRequestsGrowLimitOnlyWhenUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 5, 0.5, THRESHOLD);
+
+        limiter.release(limiter.tryAcquire(), 0, 1, false);
+        assertEquals(4, limiter.getLimit());
+
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        limiter.release(second, 0, 1, false);
+        limiter.release(first, 0, 1, false);
+        assertEquals(5, limiter.getLimit());
+
+        limiter.release(limiter.tryAcquire(), 0, 1, true);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 0, 10, 0.5, THRESHOLD));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 1, 10, 1.0, THRESHOLD));
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmountAccumulatorTest {
+
+    @Test
+    void add_TracksCountSumMinMax() {
+        AmountAccumulator accumulator = new AmountAccumulator();
+        accumulator.add(30);
+        accumulator.add((Integer) null);
+        accumulator.add(-5);
+        accumulator.add(Integer.valueOf(12));
+
+        assertEquals(3, accumulator.getCount());
+        assertEquals(37L, accumulator.getSum());
+        assertEquals(-5L, accumulator.getMin());
+        assertEquals(30L, accumulator.getMax());
+    }
+
+    @Test
+    void add_SumIsExactBeyondIntRange() {
+        AmountAccumulator accumulator = new AmountAccumulator();
+        for (int i = 0; i < 3; i++) {
+            accumulator.add(Integer.MAX_VALUE);
+        }
+
+        assertEquals(3L * Integer.MAX_VALUE, accumulator.getSum());
+    }
+
+    @Test
+    void add_ThrowsOnLongOverflow() {
+        AmountAccumulator accumulator = new AmountAccumulator();
+        accumulator.add(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> accumulator.add(1L));
+    }
+
+    @Test
+    void empty_HasNullMinMax() {
+        AmountAccumulator accumulator = new AmountAccumulator();
+
+        assertEquals(0L, accumulator.getSum());
+        assertNull(accumulator.getMin());
+        assertNull(accumulator.getMax());
+    }
+}
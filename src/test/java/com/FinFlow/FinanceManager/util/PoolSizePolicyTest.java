@@ -0,0 +1,48 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizePolicyTest {
+
+    @Test
+    void update_GrowsOnWaitingUpToMaximum() {
+        PoolSizePolicy policy = new PoolSizePolicy(8, 4, 12, 5.0, 3);
+
+        assertEquals(10, policy.update(8, 3, 0.0));
+        assertEquals(12, policy.update(10, 0, 20.0));
+        assertEquals(12, policy.update(12, 5, 50.0));
+    }
+
+    @Test
+    void update_ShrinksOnlyAfterCalmWindowAndKeepsHeadroom() {
+        PoolSizePolicy policy = new PoolSizePolicy(20, 4, 40, 5.0, 3);
+
+        assertEquals(20, policy.update(2, 0, 0.1));
+        assertEquals(20, policy.update(3, 0, 0.1));
+        assertEquals(15, policy.update(1, 0, 0.1));
+
+        assertEquals(15, policy.update(8, 0, 0.1));
+        assertEquals(15, policy.update(1, 0, 0.1));
+        assertEquals(15, policy.update(1, 0, 0.1));
+    }
+
+    @Test
+    void update_WaitingResetsCalmWindow() {
+        PoolSizePolicy policy = new PoolSizePolicy(20, 4, 40, 5.0, 2);
+
+        policy.update(1, 0, 0.1);
+        assertEquals(25, policy.update(20, 1, 0.1));
+        assertEquals(25, policy.update(1, 0, 0.1));
+        assertEquals(19, policy.update(1, 0, 0.1));
+    }
+
+    @Test
+    void update_NeverShrinksBelowMinimum() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 4, 10, 5.0, 1);
+
+        assertEquals(4, policy.update(0, 0, 0.0));
+        assertEquals(4, policy.update(0, 0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizePolicy(5, 0, 10, 5.0, 1));
+    }
+}
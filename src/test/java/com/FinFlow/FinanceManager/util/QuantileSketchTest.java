@@ -0,0 +1,56 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void quantile_WithinRelativeAccuracyOfExactRank() {
+        Random random = new Random(7);
+        int[] amounts = new int[10_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 1 + random.nextInt(1_000_000);
+            sketch.add(QuantileSketch.bucketOf(amounts[i]), 1);
+        }
+        Arrays.sort(amounts);
+
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            long exact = amounts[(int) Math.ceil(q * amounts.length) - 1];
+            long estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= exact * QuantileSketch.RELATIVE_ACCURACY + 1,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+
+    @Test
+    void bucketOf_PreservesOrderAcrossSigns() {
+        int previous = QuantileSketch.bucketOf(-1_000_000);
+        for (int amount : new int[] {-1000, -1, 0, 1, 2, 1000, Integer.MAX_VALUE}) {
+            int bucket = QuantileSketch.bucketOf(amount);
+            assertTrue(bucket > previous, "amount " + amount);
+            previous = bucket;
+        }
+        assertEquals(0, QuantileSketch.valueOf(QuantileSketch.bucketOf(0)));
+        assertEquals(1, QuantileSketch.valueOf(QuantileSketch.bucketOf(1)));
+    }
+
+    @Test
+    void removeAndMerge_AreExact() {
+        QuantileSketch food = new QuantileSketch();
+        food.add(QuantileSketch.bucketOf(10), 1);
+        food.add(QuantileSketch.bucketOf(5000), 1);
+        food.add(QuantileSketch.bucketOf(5000), -1);
+        QuantileSketch rent = new QuantileSketch();
+        rent.add(QuantileSketch.bucketOf(900), 2);
+
+        food.merge(rent);
+
+        assertEquals(3, food.getCount());
+        assertEquals(QuantileSketch.valueOf(QuantileSketch.bucketOf(900)), food.quantile(0.99));
+        assertNull(new QuantileSketch().quantile(0.5));
+    }
+}
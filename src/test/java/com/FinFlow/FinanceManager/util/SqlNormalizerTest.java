@@ -0,0 +1,42 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlNormalizerTest {
+
+    @Test
+    void normalize_ReplacesLiteralsAndCollapsesWhitespace() {
+        String sql = "select e1_0.id, e1_0.amount from expense e1_0\n  where e1_0.user_id=42 and e1_0.title = 'It''s'   limit 10";
+
+        assertEquals("select e1_0.id, e1_0.amount from expense e1_0 where e1_0.user_id=? and e1_0.title = ? limit ?",
+                SqlNormalizer.normalize(sql));
+    }
+
+    @Test
+    void normalize_GroupsInListsOfAnyLength() {
+        String two = SqlNormalizer.normalize("delete from expense where user_id=? and id in (?,?)");
+        String five = SqlNormalizer.normalize("delete from expense where user_id=? and id in ( ?, ?, ?, ?, ? )");
+
+        assertEquals("delete from expense where user_id=? and id in (?...)", two);
+        assertEquals(two, five);
+    }
+
+    @Test
+    void normalize_GroupsMultiRowInserts() {
+        String one = SqlNormalizer.normalize("insert into categories (name,user_id) values (?,?)");
+        String three = SqlNormalizer.normalize("insert into categories (name,user_id) values (?,?),(?,?), (?,?)");
+
+        assertEquals("insert into categories (name,user_id) values (?...)", one);
+        assertEquals(one, three);
+    }
+
+    @Test
+    void fingerprint_IsStableAndDistinguishesTexts() {
+        String a = SqlNormalizer.fingerprint("select 1");
+
+        assertEquals(16, a.length());
+        assertEquals(a, SqlNormalizer.fingerprint("select 1"));
+        assertNotEquals(a, SqlNormalizer.fingerprint("select 2"));
+    }
+}
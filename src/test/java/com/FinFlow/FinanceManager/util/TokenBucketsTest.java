@@ -0,0 +1,74 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    @Test
+    void tryConsume_AllowsBurstThenRejectsUntilRefilled() {
+        TokenBuckets buckets = new TokenBuckets(10, 5, 100, 4, now::get);
+
+        TokenBuckets.Result first = buckets.tryConsume("a", 4);
+        assertTrue(first.isAllowed());
+        assertEquals(6, first.getRemaining());
+        assertTrue(buckets.tryConsume("a", 6).isAllowed());
+
+        TokenBuckets.Result rejected = buckets.tryConsume("a", 1);
+        assertFalse(rejected.isAllowed());
+        assertEquals(0, rejected.getRemaining());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), rejected.getRetryAfterNanos());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), rejected.getResetNanos());
+
+        assertTrue(buckets.tryConsume("b", 10).isAllowed());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertTrue(buckets.tryConsume("a", 2).isAllowed());
+        assertFalse(buckets.tryConsume("a", 1).isAllowed());
+    }
+
+    @Test
+    void refund_ReturnsTokensWithoutExceedingCapacity() {
+        TokenBuckets buckets = new TokenBuckets(10, 5, 100, 4, now::get);
+        buckets.tryConsume("a", 8);
+
+        buckets.refund("a", 5);
+        assertEquals(6, buckets.tryConsume("a", 1).getRemaining());
+
+        buckets.refund("a", 10);
+        buckets.refund("b", 3);
+        assertEquals(9, buckets.tryConsume("a", 1).getRemaining());
+        assertEquals(9, buckets.tryConsume("b", 1).getRemaining());
+    }
+
+    @Test
+    void evictIdle_RemovesOnlyFullBuckets() {
+        TokenBuckets buckets = new TokenBuckets(10, 10, 100, 4, now::get);
+        buckets.tryConsume("a", 10);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        buckets.tryConsume("b", 10);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+        buckets.evictIdle();
+
+        assertEquals(1, buckets.size());
+        assertEquals(9, buckets.tryConsume("a", 1).getRemaining());
+    }
+
+    @Test
+    void tryConsume_KeepsKeyTableBounded() {
+        TokenBuckets buckets = new TokenBuckets(10, 1, 8, 2, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(buckets.tryConsume("key" + i, 1).isAllowed());
+        }
+
+        assertTrue(buckets.size() <= 8);
+        assertThrows(IllegalArgumentException.class, () -> buckets.tryConsume("x", 11));
+    }
+
+}
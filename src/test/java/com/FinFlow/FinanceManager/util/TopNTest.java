@@ -0,0 +1,31 @@
+package com.FinFlow.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopNTest {
+
+    @Test
+    void toList_KeepsGreatestInDescendingOrder() {
+        List<Integer> values = new Random(3).ints(1000, -500, 500).boxed().collect(Collectors.toList());
+        TopN<Integer> top = new TopN<>(5, Comparator.naturalOrder());
+        values.forEach(top::offer);
+
+        List<Integer> expected = values.stream().sorted(Comparator.reverseOrder()).limit(5).collect(Collectors.toList());
+        assertEquals(expected, top.toList());
+    }
+
+    @Test
+    void toList_FewerItemsThanLimit() {
+        TopN<Integer> top = new TopN<>(10, Comparator.naturalOrder());
+        IntStream.of(2, 9, 4).forEach(top::offer);
+
+        assertEquals(List.of(9, 4, 2), top.toList());
+        assertThrows(IllegalArgumentException.class, () -> new TopN<Integer>(0, Comparator.naturalOrder()));
+    }
+}